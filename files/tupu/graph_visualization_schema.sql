@@ -23,10 +23,58 @@ CREATE TABLE IF NOT EXISTS relationships (
     relationship_type VARCHAR(20) NOT NULL,
     description TEXT,
     status BOOLEAN DEFAULT TRUE,
+    weight DOUBLE,
     FOREIGN KEY (source_node_id) REFERENCES nodes(id) ON DELETE CASCADE,
     FOREIGN KEY (target_node_id) REFERENCES nodes(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- 创建节点数据属性表
+CREATE TABLE IF NOT EXISTS node_properties (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    node_id BIGINT NOT NULL,
+    property_name VARCHAR(255) NOT NULL,
+    property_iri VARCHAR(255) NOT NULL,
+    property_value TEXT,
+    datatype VARCHAR(255),
+    language VARCHAR(32),
+    FOREIGN KEY (node_id) REFERENCES nodes(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建中心度计算结果表
+CREATE TABLE IF NOT EXISTS centrality_results (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    algorithm VARCHAR(20) NOT NULL,
+    params_key VARCHAR(64) NOT NULL,
+    params TEXT,
+    graph_version VARCHAR(32) NOT NULL,
+    result LONGTEXT,
+    created_at DATETIME
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 创建导入任务表
+CREATE TABLE IF NOT EXISTS import_jobs (
+    job_id VARCHAR(36) PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL,
+    source_path VARCHAR(1024),
+    format VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_bytes BIGINT,
+    uploaded_bytes BIGINT NOT NULL,
+    checkpoint_offset BIGINT NOT NULL,
+    triple_count BIGINT NOT NULL,
+    skipped_count BIGINT NOT NULL,
+    node_count BIGINT NOT NULL,
+    relationship_count BIGINT NOT NULL,
+    property_count BIGINT NOT NULL,
+    blank_node_scope VARCHAR(32) NOT NULL,
+    attempt_count INT NOT NULL,
+    first_error TEXT,
+    error_message TEXT,
+    created_at DATETIME,
+    updated_at DATETIME,
+    finished_at DATETIME
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- 创建索引
 CREATE INDEX idx_nodes_name ON nodes(name);
 CREATE INDEX idx_nodes_iri ON nodes(iri);
@@ -38,6 +86,15 @@ CREATE INDEX idx_relationships_target ON relationships(target_node_id);
 CREATE INDEX idx_relationships_name ON relationships(relationship_name);
 CREATE INDEX idx_relationships_type ON relationships(relationship_type);
 
+CREATE INDEX idx_node_properties_node ON node_properties(node_id);
+
+CREATE INDEX idx_centrality_results_key ON centrality_results(algorithm, params_key, graph_version);
+
+CREATE INDEX idx_import_jobs_status ON import_jobs(status);
+
 -- 添加注释
 ALTER TABLE nodes COMMENT '存储图谱中的节点数据，包括类节点和实体节点';
 ALTER TABLE relationships COMMENT '存储图谱中的关系数据，包括类属性关系和对象属性关系';
+ALTER TABLE node_properties COMMENT '存储节点的数据属性，即导入时宾语为字面量的三元组';
+ALTER TABLE centrality_results COMMENT '按算法、参数和图版本保存的中心度计算结果';
+ALTER TABLE import_jobs COMMENT '异步导入任务的状态、上传进度和处理检查点';
@@ -0,0 +1,40 @@
+package com.graph.visualization.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 中心度分析配置类
+ */
+@Configuration
+public class CentralityConfig {
+    
+    /**
+     * 中心度并行计算使用的线程池（并行度默认为CPU核数）
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool centralityForkJoinPool(@Value("${graph.centrality.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * 中心度异步计算任务的执行线程池（同时执行的任务数，超出的任务排队等待）
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor centralityJobExecutor(@Value("${graph.centrality.job-threads:2}") int jobThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(jobThreads, jobThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "centrality-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
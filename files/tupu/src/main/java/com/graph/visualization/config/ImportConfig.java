@@ -0,0 +1,46 @@
+package com.graph.visualization.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 三元组导入配置类
+ */
+@Configuration
+public class ImportConfig {
+    
+    /**
+     * 导入流水线各阶段的执行线程池（每次导入占用解析线程数 + 写入线程数 + 1 个线程，空闲线程60秒后回收）
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor importPipelineExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "import-pipeline-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    /**
+     * 异步导入任务的执行线程池（同时执行的任务数，超出的任务排队等待）
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor importJobExecutor(@Value("${graph.import.job-threads:1}") int jobThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(jobThreads, jobThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "import-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -1,12 +1,20 @@
 package com.graph.visualization.controller;
 
+import com.graph.visualization.dto.CentralityJob;
+import com.graph.visualization.dto.CentralityQueryParam;
 import com.graph.visualization.dto.CentralityResult;
+import com.graph.visualization.enums.CentralityAlgorithmEnum;
 import com.graph.visualization.service.CentralityAnalysisService;
+import com.graph.visualization.service.CentralityJobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -18,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class CentralityAnalysisController {
     
     private final CentralityAnalysisService centralityAnalysisService;
+    private final CentralityJobService centralityJobService;
     
     /**
      * 执行默认中心度分析（度中心性）
@@ -32,8 +41,8 @@ public class CentralityAnalysisController {
      * 执行度中心性分析
      */
     @GetMapping("/degree")
-    public ResponseEntity<CentralityResult> analyzeDegreeCentrality() {
-        CentralityResult result = centralityAnalysisService.analyzeDegreeCentrality();
+    public ResponseEntity<CentralityResult> analyzeDegreeCentrality(CentralityQueryParam centralityQueryParam) {
+        CentralityResult result = centralityAnalysisService.analyzeDegreeCentrality(centralityQueryParam);
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
     
@@ -41,8 +50,8 @@ public class CentralityAnalysisController {
      * 执行接近中心性分析
      */
     @GetMapping("/closeness")
-    public ResponseEntity<CentralityResult> analyzeClosenessCentrality() {
-        CentralityResult result = centralityAnalysisService.analyzeClosenessCentrality();
+    public ResponseEntity<CentralityResult> analyzeClosenessCentrality(CentralityQueryParam centralityQueryParam) {
+        CentralityResult result = centralityAnalysisService.analyzeClosenessCentrality(centralityQueryParam);
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
     
@@ -50,8 +59,66 @@ public class CentralityAnalysisController {
      * 执行中介中心性分析
      */
     @GetMapping("/betweenness")
-    public ResponseEntity<CentralityResult> analyzeBetweennessCentrality() {
-        CentralityResult result = centralityAnalysisService.analyzeBetweennessCentrality();
+    public ResponseEntity<CentralityResult> analyzeBetweennessCentrality(CentralityQueryParam centralityQueryParam) {
+        CentralityResult result = centralityAnalysisService.analyzeBetweennessCentrality(centralityQueryParam);
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
+    
+    /**
+     * 执行PageRank分析
+     */
+    @GetMapping("/pagerank")
+    public ResponseEntity<CentralityResult> analyzePageRank(CentralityQueryParam centralityQueryParam) {
+        CentralityResult result = centralityAnalysisService.analyzePageRank(centralityQueryParam);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+    
+    /**
+     * 执行特征向量中心性分析
+     */
+    @GetMapping("/eigenvector")
+    public ResponseEntity<CentralityResult> analyzeEigenvectorCentrality(CentralityQueryParam centralityQueryParam) {
+        CentralityResult result = centralityAnalysisService.analyzeEigenvectorCentrality(centralityQueryParam);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+    
+    /**
+     * 提交中心度异步计算任务（算法参数与同步接口相同，通过请求参数传递）
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<CentralityJob> submitJob(@RequestParam CentralityAlgorithmEnum algorithm,
+                                                   CentralityQueryParam centralityQueryParam) {
+        CentralityJob job = centralityJobService.submit(algorithm, centralityQueryParam);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+    
+    /**
+     * 查询中心度计算任务的状态和进度
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<CentralityJob> getJob(@PathVariable String jobId) {
+        return centralityJobService.findJob(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    
+    /**
+     * 取消中心度计算任务
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<CentralityJob> cancelJob(@PathVariable String jobId) {
+        return centralityJobService.cancel(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    
+    /**
+     * 获取已完成的中心度计算任务的结果
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<CentralityResult> getJobResult(@PathVariable String jobId) {
+        return centralityJobService.findResult(jobId)
+                .map(result -> new ResponseEntity<>(result, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
 }
@@ -1,8 +1,11 @@
 package com.graph.visualization.controller;
 
+import com.graph.visualization.dto.ImportJob;
 import com.graph.visualization.dto.ImportResult;
 import com.graph.visualization.enums.ExportFormatEnum;
+import com.graph.visualization.enums.RdfFormatEnum;
 import com.graph.visualization.service.GraphImportExportService;
+import com.graph.visualization.service.ImportJobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -13,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * 图谱导入导出控制器
@@ -23,20 +27,108 @@ import java.io.IOException;
 public class GraphImportExportController {
     
     private final GraphImportExportService graphImportExportService;
+    private final ImportJobService importJobService;
     
     /**
-     * 导入三元组文件
+     * 导入三元组文件（N-Triples、Turtle、N-Quads，未指定格式时按文件扩展名判断）
      */
     @PostMapping("/import")
-    public ResponseEntity<ImportResult> importTriples(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<ImportResult> importTriples(@RequestParam("file") MultipartFile file,
+                                                      @RequestParam(required = false) RdfFormatEnum format) {
         try {
-            ImportResult result = graphImportExportService.importTriples(file);
+            ImportResult result = graphImportExportService.importTriples(file, format);
             return new ResponseEntity<>(result, HttpStatus.OK);
         } catch (IOException e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     
+    /**
+     * 创建异步导入任务，之后分块上传文件内容（未指定格式时按文件名扩展名判断）
+     */
+    @PostMapping("/import/jobs")
+    public ResponseEntity<ImportJob> createImportJob(@RequestParam String fileName,
+                                                     @RequestParam(required = false) RdfFormatEnum format,
+                                                     @RequestParam(required = false) Long totalBytes) {
+        try {
+            return new ResponseEntity<>(importJobService.create(fileName, format, totalBytes), HttpStatus.CREATED);
+        } catch (IOException e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * 以服务器本地文件创建导入任务并开始后台导入（文件须位于 graph.import.local-dirs 配置的目录下）
+     */
+    @PostMapping("/import/jobs/local")
+    public ResponseEntity<ImportJob> createLocalImportJob(@RequestParam String path,
+                                                          @RequestParam(required = false) RdfFormatEnum format) {
+        try {
+            return new ResponseEntity<>(importJobService.createFromLocalFile(path, format), HttpStatus.ACCEPTED);
+        } catch (IOException e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * 上传一块文件内容（请求体为原始字节），offset 为本块在文件中的起始位置，中断后按任务的 uploadedBytes 继续上传
+     */
+    @PutMapping(value = "/import/jobs/{jobId}/content", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ImportJob> uploadImportContent(@PathVariable String jobId, @RequestParam long offset,
+                                                         InputStream content) {
+        try {
+            return importJobService.upload(jobId, offset, content)
+                    .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (IOException e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * 结束上传，开始后台导入
+     */
+    @PostMapping("/import/jobs/{jobId}/start")
+    public ResponseEntity<ImportJob> startImportJob(@PathVariable String jobId) {
+        try {
+            return importJobService.start(jobId)
+                    .map(job -> new ResponseEntity<>(job, HttpStatus.ACCEPTED))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (IOException e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+    
+    /**
+     * 查询导入任务的状态和进度
+     */
+    @GetMapping("/import/jobs/{jobId}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable String jobId) {
+        return importJobService.findJob(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    
+    /**
+     * 从检查点恢复执行失败的导入任务
+     */
+    @PostMapping("/import/jobs/{jobId}/resume")
+    public ResponseEntity<ImportJob> resumeImportJob(@PathVariable String jobId) {
+        return importJobService.resume(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.ACCEPTED))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    
+    /**
+     * 取消导入任务
+     */
+    @DeleteMapping("/import/jobs/{jobId}")
+    public ResponseEntity<ImportJob> cancelImportJob(@PathVariable String jobId) {
+        return importJobService.cancel(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    
     /**
      * 导出图谱数据
      */
@@ -1,6 +1,7 @@
 package com.graph.visualization.controller;
 
 import com.graph.visualization.entity.Node;
+import com.graph.visualization.entity.NodeProperty;
 import com.graph.visualization.enums.NodeTypeEnum;
 import com.graph.visualization.service.NodeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -59,6 +60,21 @@ public class NodeController {
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
     
+    /**
+     * 查询节点的数据属性
+     */
+    @Operation(summary = "查询节点的数据属性", description = "查询节点的数据属性（导入时宾语为字面量的三元组）")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "成功获取数据属性列表"),
+        @ApiResponse(responseCode = "404", description = "节点不存在")
+    })
+    @GetMapping("/{id}/properties")
+    public ResponseEntity<List<NodeProperty>> getNodeProperties(@Parameter(description = "节点ID") @PathVariable Long id) {
+        return nodeService.findNodeById(id)
+                .map(node -> new ResponseEntity<>(nodeService.findNodeProperties(id), HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+    
     /**
      * 更新节点
      */
@@ -1,14 +1,21 @@
 package com.graph.visualization.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graph.visualization.dto.PathIdResult;
 import com.graph.visualization.dto.PathQueryParam;
 import com.graph.visualization.dto.PathResult;
 import com.graph.visualization.service.PathAnalysisService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 路径分析控制器
@@ -18,7 +25,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PathAnalysisController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final PathAnalysisService pathAnalysisService;
+    private final ObjectMapper objectMapper;
     
     /**
      * 查找最短路径
@@ -40,4 +50,43 @@ public class PathAnalysisController {
         List<PathResult> results = pathAnalysisService.findAllPaths(pathQueryParam);
         return new ResponseEntity<>(results, HttpStatus.OK);
     }
+    
+    /**
+     * 流式查找所有路径（NDJSON，每行一条仅含ID的路径）
+     * <p>
+     * 源节点和目标节点在返回响应头之前校验；客户端断开连接时写入失败，搜索随即停止
+     */
+    @PostMapping(value = "/all/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllPaths(@RequestBody PathQueryParam pathQueryParam) {
+        Consumer<Predicate<PathIdResult>> search = pathAnalysisService.streamAllPaths(pathQueryParam);
+        StreamingResponseBody body = outputStream -> search.accept(path -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(path));
+                outputStream.write('\n');
+                outputStream.flush();
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+    
+    /**
+     * 加载路径中的节点和关系实体
+     */
+    @PostMapping("/hydrate")
+    public ResponseEntity<PathResult> hydratePath(@RequestBody PathIdResult pathIdResult) {
+        PathResult result = pathAnalysisService.hydratePath(pathIdResult);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+    
+    /**
+     * 查找前K条最短路径
+     */
+    @PostMapping("/k-shortest")
+    public ResponseEntity<List<PathResult>> findKShortestPaths(@RequestBody PathQueryParam pathQueryParam) {
+        List<PathResult> results = pathAnalysisService.findKShortestPaths(pathQueryParam);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
 }
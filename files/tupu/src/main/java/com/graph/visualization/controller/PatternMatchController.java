@@ -1,15 +1,21 @@
 package com.graph.visualization.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.graph.visualization.dto.PatternMatchParam;
+import com.graph.visualization.dto.PatternMatchTrace;
+import com.graph.visualization.dto.PatternQueryParam;
 import com.graph.visualization.service.PatternMatchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -21,7 +27,10 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PatternMatchController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    
     private final PatternMatchService patternMatchService;
+    private final ObjectMapper objectMapper;
     
     /**
      * 执行模式匹配
@@ -31,4 +40,49 @@ public class PatternMatchController {
         List<Map<String, Object>> matches = patternMatchService.findPatternMatches(patternMatchParam);
         return new ResponseEntity<>(matches, HttpStatus.OK);
     }
+    
+    /**
+     * 执行模式查询语句
+     */
+    @PostMapping("/query")
+    public ResponseEntity<List<Map<String, Object>>> queryPattern(@RequestBody PatternQueryParam patternQueryParam) {
+        List<Map<String, Object>> matches = patternMatchService.queryPattern(patternQueryParam);
+        return new ResponseEntity<>(matches, HttpStatus.OK);
+    }
+    
+    /**
+     * 诊断模式匹配：执行搜索并返回跟踪结果
+     */
+    @PostMapping("/match/explain")
+    public ResponseEntity<PatternMatchTrace> explainPatternMatch(@RequestBody PatternMatchParam patternMatchParam) {
+        return new ResponseEntity<>(patternMatchService.explainPatternMatch(patternMatchParam), HttpStatus.OK);
+    }
+    
+    /**
+     * 诊断模式查询语句：执行搜索并返回跟踪结果
+     */
+    @PostMapping("/query/explain")
+    public ResponseEntity<PatternMatchTrace> explainPatternQuery(@RequestBody PatternQueryParam patternQueryParam) {
+        return new ResponseEntity<>(patternMatchService.explainPatternQuery(patternQueryParam), HttpStatus.OK);
+    }
+    
+    /**
+     * 流式执行模式匹配（NDJSON，每行一个仅含ID的匹配实例）
+     * <p>
+     * 客户端断开连接时写入失败，搜索随即停止
+     */
+    @PostMapping(value = "/match/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamPatternMatches(@RequestBody PatternMatchParam patternMatchParam) {
+        StreamingResponseBody body = outputStream -> patternMatchService.streamPatternMatches(patternMatchParam, match -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(match));
+                outputStream.write('\n');
+                outputStream.flush();
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
 }
@@ -0,0 +1,67 @@
+package com.graph.visualization.dto;
+
+import com.graph.visualization.enums.CentralityAlgorithmEnum;
+import com.graph.visualization.enums.CentralityJobStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 中心度计算任务状态DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CentralityJob {
+    /**
+     * 任务ID
+     */
+    private String jobId;
+    
+    /**
+     * 中心度算法
+     */
+    private CentralityAlgorithmEnum algorithm;
+    
+    /**
+     * 任务状态
+     */
+    private CentralityJobStatusEnum status;
+    
+    /**
+     * 当前阶段已完成的工作量（源节点数、采样数或迭代次数）
+     */
+    private Long processed;
+    
+    /**
+     * 当前阶段的总工作量
+     */
+    private Long total;
+    
+    /**
+     * 计算使用的图版本（图内容指纹）
+     */
+    private String graphVersion;
+    
+    /**
+     * 结果是否直接取自已保存的结果
+     */
+    private Boolean fromStore;
+    
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+    
+    /**
+     * 提交时间
+     */
+    private LocalDateTime submittedAt;
+    
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedAt;
+}
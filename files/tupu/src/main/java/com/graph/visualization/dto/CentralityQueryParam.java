@@ -0,0 +1,98 @@
+package com.graph.visualization.dto;
+
+import com.graph.visualization.enums.DegreeDirectionEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 中心度查询参数DTO（通过请求参数绑定）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CentralityQueryParam {
+    /**
+     * 是否在线程池中并行计算各源节点（默认否）
+     */
+    private Boolean parallel;
+    
+    /**
+     * 返回的重要节点数量（默认5）
+     */
+    private Integer topK;
+    
+    /**
+     * 是否使用增量维护的结果（仅用于精确计算的接近中心性和中介中心性，默认否）：
+     * 首次使用时全量计算一次，之后每次编辑只重新处理受影响的源节点
+     */
+    private Boolean incremental;
+    
+    /**
+     * 是否采样近似计算（仅用于接近中心性和中介中心性，默认否）
+     */
+    private Boolean approximate;
+    
+    /**
+     * 采样数：中介中心性为节点对数，接近中心性为枢轴源节点数（为空时由误差上界推算）
+     */
+    private Integer sampleSize;
+    
+    /**
+     * 目标误差：中介中心性为按节点对比例的误差，接近中心性为相对于直径的平均距离误差（默认0.05）
+     */
+    private Double errorBound;
+    
+    /**
+     * 置信度（默认0.9）
+     */
+    private Double confidence;
+    
+    /**
+     * 度计算方向（仅用于度中心性，默认BOTH）
+     */
+    private DegreeDirectionEnum direction;
+    
+    /**
+     * 只统计指定类型的关系（仅用于度中心性）
+     */
+    private RelationshipTypeEnum relationshipType;
+    
+    /**
+     * 只统计指定名称的关系（仅用于度中心性）
+     */
+    private String relationshipName;
+    
+    /**
+     * 是否返回按方向和关系类型的度分解（仅用于度中心性，默认否）
+     */
+    private Boolean breakdown;
+    
+    /**
+     * 阻尼系数（仅用于PageRank，默认0.85）
+     */
+    private Double dampingFactor;
+    
+    /**
+     * 个性化节点ID列表（仅用于PageRank，为空时随机跳转在所有节点上均匀分布）
+     */
+    private List<Long> personalizationNodeIds;
+    
+    /**
+     * 个性化节点对应的权重（与个性化节点ID一一对应，为空时各节点权重相同）
+     */
+    private List<Double> personalizationWeights;
+    
+    /**
+     * 收敛阈值（用于PageRank和特征向量中心性，默认1e-6）
+     */
+    private Double tolerance;
+    
+    /**
+     * 最大迭代次数（用于PageRank和特征向量中心性，默认100）
+     */
+    private Integer maxIterations;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,7 +20,57 @@ public class CentralityResult {
     private Map<Long, Double> centralityValues;
     
     /**
-     * 最重要的节点ID列表
+     * 最重要的节点列表（按中心度从高到低排列）
      */
-    private Map<Long, String> importantNodes;
+    private List<RankedNode> importantNodes;
+    
+    /**
+     * 是否为采样近似结果
+     */
+    private Boolean approximate;
+    
+    /**
+     * 近似计算使用的采样数
+     */
+    private Integer sampleSize;
+    
+    /**
+     * 近似计算的误差上界，与 centralityValues 中的中心度值单位相同（绝对误差）
+     */
+    private Double errorBound;
+    
+    /**
+     * 接近中心性近似计算时平均最短路径长度的误差上界（按跳数，其他算法为空）
+     */
+    private Double distanceErrorBound;
+    
+    /**
+     * 误差上界成立的置信度
+     */
+    private Double confidence;
+    
+    /**
+     * 节点ID到入度的映射（度分解）
+     */
+    private Map<Long, Double> inDegreeValues;
+    
+    /**
+     * 节点ID到出度的映射（度分解）
+     */
+    private Map<Long, Double> outDegreeValues;
+    
+    /**
+     * 关系类型到（节点ID到该类型关系的度）映射的映射（度分解，方向与度中心性一致）
+     */
+    private Map<String, Map<Long, Double>> relationshipTypeValues;
+    
+    /**
+     * 迭代算法实际执行的迭代次数
+     */
+    private Integer iterations;
+    
+    /**
+     * 迭代算法是否在最大迭代次数内收敛
+     */
+    private Boolean converged;
 }
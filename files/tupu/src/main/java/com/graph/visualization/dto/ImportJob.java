@@ -0,0 +1,117 @@
+package com.graph.visualization.dto;
+
+import com.graph.visualization.enums.ImportJobStatusEnum;
+import com.graph.visualization.enums.RdfFormatEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入任务状态DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+    /**
+     * 任务ID
+     */
+    private String jobId;
+    
+    /**
+     * 文件名
+     */
+    private String fileName;
+    
+    /**
+     * 服务器本地文件路径，上传的文件为空
+     */
+    private String sourcePath;
+    
+    /**
+     * 文件格式
+     */
+    private RdfFormatEnum format;
+    
+    /**
+     * 任务状态
+     */
+    private ImportJobStatusEnum status;
+    
+    /**
+     * 声明的文件大小（字节），未声明时为空
+     */
+    private Long totalBytes;
+    
+    /**
+     * 已上传的字节数，继续上传时以此作为偏移量
+     */
+    private Long uploadedBytes;
+    
+    /**
+     * 已处理的字节数（包括正在处理的分段）
+     */
+    private Long processedBytes;
+    
+    /**
+     * 检查点：已处理并提交的字节数，恢复执行时从这里继续
+     */
+    private Long checkpointOffset;
+    
+    /**
+     * 已解析的三元组数
+     */
+    private Long tripleCount;
+    
+    /**
+     * 因格式不正确而跳过的语句数
+     */
+    private Long skippedCount;
+    
+    /**
+     * 新建的节点数
+     */
+    private Long nodeCount;
+    
+    /**
+     * 新建的关系数
+     */
+    private Long relationshipCount;
+    
+    /**
+     * 新建的节点数据属性数
+     */
+    private Long propertyCount;
+    
+    /**
+     * 本次执行的处理速度（三元组/秒），未在执行时为空
+     */
+    private Double triplesPerSecond;
+    
+    /**
+     * 开始执行的次数（包括恢复执行）
+     */
+    private Integer attemptCount;
+    
+    /**
+     * 第一条被跳过的语句的错误信息
+     */
+    private String firstError;
+    
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+    
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+    
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedAt;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * 导入结果DTO
  */
@@ -20,4 +22,24 @@ public class ImportResult {
      * 导入的关系数量
      */
     private Integer relationshipCount;
+    
+    /**
+     * 导入的节点数据属性数量（宾语为字面量的三元组）
+     */
+    private Integer propertyCount;
+    
+    /**
+     * 因格式不正确而跳过的语句数量
+     */
+    private Integer skippedCount;
+    
+    /**
+     * 导入耗时（毫秒）
+     */
+    private Long elapsedMillis;
+    
+    /**
+     * 导入流水线各阶段的统计
+     */
+    private List<ImportStageMetrics> stages;
 }
@@ -0,0 +1,43 @@
+package com.graph.visualization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 导入流水线阶段统计DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportStageMetrics {
+    /**
+     * 阶段名称（read、parse、resolve、write）
+     */
+    private String stage;
+    
+    /**
+     * 线程数
+     */
+    private Integer threadCount;
+    
+    /**
+     * 处理的数据块数（read、parse）或批数（resolve、write）
+     */
+    private Long unitCount;
+    
+    /**
+     * 处理的三元组数
+     */
+    private Long tripleCount;
+    
+    /**
+     * 各线程累计的处理时间（毫秒），不含在队列上的等待
+     */
+    private Long busyMillis;
+    
+    /**
+     * 各线程累计等待上游数据或下游队列空位的时间（毫秒），持续偏高说明该阶段不是瓶颈
+     */
+    private Long blockedMillis;
+}
@@ -0,0 +1,30 @@
+package com.graph.visualization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 仅包含节点ID和关系ID的路径DTO（用于流式返回，实体按需加载）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PathIdResult {
+    /**
+     * 路径长度
+     */
+    private Integer pathLength;
+    
+    /**
+     * 路径中的节点ID列表
+     */
+    private List<Long> nodeIds;
+    
+    /**
+     * 路径中的关系ID列表
+     */
+    private List<Long> relationshipIds;
+}
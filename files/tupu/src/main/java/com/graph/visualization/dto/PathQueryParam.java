@@ -1,9 +1,12 @@
 package com.graph.visualization.dto;
 
+import com.graph.visualization.enums.PathWeightModeEnum;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 /**
  * 路径查询参数DTO
  */
@@ -27,7 +30,32 @@ public class PathQueryParam {
     private Integer maxDepth;
     
     /**
-     * 最大路径数（仅用于全通路径查询）
+     * 最大路径数（用于全通路径查询和前K条最短路径查询）
      */
     private Integer maxPathCount;
+    
+    /**
+     * 代价计算方式（为空或HOP时按跳数计算）
+     */
+    private PathWeightModeEnum weightMode;
+    
+    /**
+     * 代价表：按关系类型计算时键为关系类型名称，按关系名称计算时键为关系名称
+     */
+    private Map<String, Double> costs;
+    
+    /**
+     * 代价表中未列出或权重为空的关系所使用的默认代价（默认为1）
+     */
+    private Double defaultCost;
+    
+    /**
+     * 是否使用路标（landmark）启发式的A*搜索（仅加权模式有效）
+     */
+    private Boolean useLandmarks;
+    
+    /**
+     * 时间预算（毫秒，仅用于流式全通路径查询，为空时使用默认值）
+     */
+    private Long timeoutMillis;
 }
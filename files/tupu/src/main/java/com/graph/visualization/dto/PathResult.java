@@ -29,4 +29,9 @@ public class PathResult {
      * 路径中的关系列表
      */
     private List<Relationship> relationships;
+    
+    /**
+     * 路径总代价（加权模式下为各关系代价之和，否则等于路径长度）
+     */
+    private Double totalCost;
 }
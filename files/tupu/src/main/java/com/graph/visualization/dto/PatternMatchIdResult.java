@@ -0,0 +1,25 @@
+package com.graph.visualization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 仅包含节点ID和关系ID的模式匹配实例DTO（用于流式返回，实体按需加载）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatternMatchIdResult {
+    /**
+     * 匹配的节点ID列表（按所选节点顺序）
+     */
+    private List<Long> nodeIds;
+    
+    /**
+     * 匹配的关系ID列表（按所选关系顺序）
+     */
+    private List<Long> relationshipIds;
+}
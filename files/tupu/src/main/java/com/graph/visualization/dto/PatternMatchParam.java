@@ -22,4 +22,24 @@ public class PatternMatchParam {
      * 选中的关系ID列表
      */
     private List<Long> selectedRelationships;
+    
+    /**
+     * 最大匹配数（为空时使用默认值），自同构产生的相同节点集合和关系集合只计一次
+     */
+    private Integer maxMatchCount;
+    
+    /**
+     * 时间预算（毫秒，为空时使用默认值）
+     */
+    private Long timeoutMillis;
+    
+    /**
+     * 是否在线程池中并行搜索各起点候选（默认否）
+     */
+    private Boolean parallel;
+    
+    /**
+     * 是否记录匹配跟踪（默认否）：记录候选尝试、关系检查和回溯次数以及采样的搜索事件，结果输出到日志
+     */
+    private Boolean debug;
 }
@@ -0,0 +1,75 @@
+package com.graph.visualization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 模式匹配跟踪结果DTO（用于诊断慢查询）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatternMatchTrace {
+    /**
+     * 匹配顺序（模式节点编号，按所选节点或查询中节点首次出现的顺序从0编号）
+     */
+    private List<Integer> order;
+    
+    /**
+     * 按模式节点编号的候选节点数
+     */
+    private List<Integer> candidateCounts;
+    
+    /**
+     * 尝试映射的候选节点总数
+     */
+    private Long candidatesTried;
+    
+    /**
+     * 按匹配顺序各层尝试的候选节点数
+     */
+    private List<Long> candidatesTriedByDepth;
+    
+    /**
+     * 扩展和闭合关系时检查的邻接关系数
+     */
+    private Long edgesChecked;
+    
+    /**
+     * 没有产生任何匹配就被撤销的候选映射数
+     */
+    private Long backtracks;
+    
+    /**
+     * 返回的匹配数
+     */
+    private Integer matchCount;
+    
+    /**
+     * 因自同构被去掉的重复匹配数
+     */
+    private Long duplicateCount;
+    
+    /**
+     * 是否因超出时间预算而停止
+     */
+    private Boolean timedOut;
+    
+    /**
+     * 搜索耗时（毫秒）
+     */
+    private Long elapsedMillis;
+    
+    /**
+     * 搜索使用的工作线程数
+     */
+    private Integer workerCount;
+    
+    /**
+     * 采样的候选尝试事件（按时间顺序，只保留最近的若干条）
+     */
+    private List<PatternTraceSample> samples;
+}
@@ -0,0 +1,33 @@
+package com.graph.visualization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 模式匹配跟踪中采样的一次候选尝试DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatternTraceSample {
+    /**
+     * 搜索深度（匹配顺序中的位置）
+     */
+    private Integer depth;
+    
+    /**
+     * 模式节点编号
+     */
+    private Integer patternNode;
+    
+    /**
+     * 尝试映射到的节点ID
+     */
+    private Long nodeId;
+    
+    /**
+     * 与已匹配节点之间的关系是否都存在
+     */
+    private Boolean accepted;
+}
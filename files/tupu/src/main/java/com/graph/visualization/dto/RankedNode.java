@@ -0,0 +1,33 @@
+package com.graph.visualization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 按中心度排序的节点DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedNode {
+    /**
+     * 名次（从1开始）
+     */
+    private Integer rank;
+    
+    /**
+     * 节点ID
+     */
+    private Long nodeId;
+    
+    /**
+     * 节点名称
+     */
+    private String nodeName;
+    
+    /**
+     * 中心度值
+     */
+    private Double value;
+}
@@ -0,0 +1,66 @@
+package com.graph.visualization.entity;
+
+import com.graph.visualization.enums.CentralityAlgorithmEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 中心度计算结果实体类
+ * <p>
+ * 按算法、参数和图版本保存计算结果，图内容未变化时重复的查询直接读取已保存的结果。
+ */
+@Data
+@Entity
+@Table(name = "centrality_results",
+       indexes = @Index(name = "idx_centrality_results_key", columnList = "algorithm, paramsKey, graphVersion"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class CentralityResultRecord {
+    /**
+     * 结果ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /**
+     * 中心度算法
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CentralityAlgorithmEnum algorithm;
+    
+    /**
+     * 计算参数摘要（参数JSON的SHA-256）
+     */
+    @Column(nullable = false, length = 64)
+    private String paramsKey;
+    
+    /**
+     * 计算参数JSON
+     */
+    @Column(columnDefinition = "TEXT")
+    private String params;
+    
+    /**
+     * 图版本（图内容指纹）
+     */
+    @Column(nullable = false, length = 32)
+    private String graphVersion;
+    
+    /**
+     * 计算结果JSON
+     */
+    @Lob
+    @Column(columnDefinition = "LONGTEXT")
+    private String result;
+    
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,141 @@
+package com.graph.visualization.entity;
+
+import com.graph.visualization.enums.ImportJobStatusEnum;
+import com.graph.visualization.enums.RdfFormatEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 导入任务实体类
+ * <p>
+ * 保存任务状态、上传进度和处理检查点：检查点之前的文件内容已全部提交，服务重启后从检查点继续处理。
+ */
+@Data
+@Entity
+@Table(name = "import_jobs", indexes = @Index(name = "idx_import_jobs_status", columnList = "status"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobRecord {
+    /**
+     * 任务ID
+     */
+    @Id
+    @Column(length = 36)
+    private String jobId;
+    
+    /**
+     * 文件名
+     */
+    @Column(nullable = false)
+    private String fileName;
+    
+    /**
+     * 服务器本地文件路径，为空时为上传到暂存目录的文件
+     */
+    @Column(length = 1024)
+    private String sourcePath;
+    
+    /**
+     * 文件格式
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RdfFormatEnum format;
+    
+    /**
+     * 任务状态
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatusEnum status;
+    
+    /**
+     * 声明的文件大小（字节），未声明时为空
+     */
+    private Long totalBytes;
+    
+    /**
+     * 已上传的字节数
+     */
+    @Column(nullable = false)
+    private Long uploadedBytes;
+    
+    /**
+     * 检查点：已处理并提交的字节数
+     */
+    @Column(nullable = false)
+    private Long checkpointOffset;
+    
+    /**
+     * 检查点之前解析的三元组数
+     */
+    @Column(nullable = false)
+    private Long tripleCount;
+    
+    /**
+     * 检查点之前跳过的语句数
+     */
+    @Column(nullable = false)
+    private Long skippedCount;
+    
+    /**
+     * 检查点之前新建的节点数
+     */
+    @Column(nullable = false)
+    private Long nodeCount;
+    
+    /**
+     * 检查点之前新建的关系数
+     */
+    @Column(nullable = false)
+    private Long relationshipCount;
+    
+    /**
+     * 检查点之前新建的节点数据属性数
+     */
+    @Column(nullable = false)
+    private Long propertyCount;
+    
+    /**
+     * 空白节点作用域，恢复执行时沿用，同名空白节点对应同一节点
+     */
+    @Column(nullable = false, length = 32)
+    private String blankNodeScope;
+    
+    /**
+     * 开始执行的次数（包括恢复执行）
+     */
+    @Column(nullable = false)
+    private Integer attemptCount;
+    
+    /**
+     * 第一条被跳过的语句的错误信息
+     */
+    @Column(columnDefinition = "TEXT")
+    private String firstError;
+    
+    /**
+     * 失败原因
+     */
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+    
+    /**
+     * 最后更新时间
+     */
+    private LocalDateTime updatedAt;
+    
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedAt;
+}
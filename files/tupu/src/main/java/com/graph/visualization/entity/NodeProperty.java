@@ -0,0 +1,54 @@
+package com.graph.visualization.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 节点数据属性实体类（宾语为字面量的三元组）
+ */
+@Data
+@Entity
+@Table(name = "node_properties")
+@NoArgsConstructor
+@AllArgsConstructor
+public class NodeProperty {
+    /**
+     * 属性ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /**
+     * 所属节点ID
+     */
+    private Long nodeId;
+    
+    /**
+     * 属性名称（谓语IRI的最后一部分）
+     */
+    private String propertyName;
+    
+    /**
+     * 属性IRI（谓语IRI）
+     */
+    private String propertyIri;
+    
+    /**
+     * 属性值（字面量的词法形式）
+     */
+    @Column(columnDefinition = "TEXT")
+    private String propertyValue;
+    
+    /**
+     * 字面量数据类型IRI，普通字符串和带语言标签的字符串为空
+     */
+    private String datatype;
+    
+    /**
+     * 字面量语言标签
+     */
+    private String language;
+}
@@ -52,4 +52,9 @@ public class Relationship {
      * 关系状态（true为活跃，false为非活跃）
      */
     private Boolean status = true;
+    
+    /**
+     * 关系权重（用于加权路径分析，可为空）
+     */
+    private Double weight;
 }
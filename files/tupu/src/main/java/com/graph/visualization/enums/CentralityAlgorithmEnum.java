@@ -0,0 +1,31 @@
+package com.graph.visualization.enums;
+
+/**
+ * 中心度算法枚举
+ */
+public enum CentralityAlgorithmEnum {
+    /**
+     * 度中心性
+     */
+    DEGREE,
+    
+    /**
+     * 接近中心性
+     */
+    CLOSENESS,
+    
+    /**
+     * 中介中心性
+     */
+    BETWEENNESS,
+    
+    /**
+     * PageRank
+     */
+    PAGERANK,
+    
+    /**
+     * 特征向量中心性
+     */
+    EIGENVECTOR
+}
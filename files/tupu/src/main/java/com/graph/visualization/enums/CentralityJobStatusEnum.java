@@ -0,0 +1,31 @@
+package com.graph.visualization.enums;
+
+/**
+ * 中心度计算任务状态枚举
+ */
+public enum CentralityJobStatusEnum {
+    /**
+     * 等待执行
+     */
+    PENDING,
+    
+    /**
+     * 执行中
+     */
+    RUNNING,
+    
+    /**
+     * 已完成
+     */
+    COMPLETED,
+    
+    /**
+     * 执行失败
+     */
+    FAILED,
+    
+    /**
+     * 已取消
+     */
+    CANCELLED
+}
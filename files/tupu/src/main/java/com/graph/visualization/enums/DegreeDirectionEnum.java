@@ -0,0 +1,21 @@
+package com.graph.visualization.enums;
+
+/**
+ * 度计算方向枚举
+ */
+public enum DegreeDirectionEnum {
+    /**
+     * 出度与入度（自环只计一次）
+     */
+    BOTH,
+    
+    /**
+     * 出度（节点作为关系源节点）
+     */
+    OUT,
+    
+    /**
+     * 入度（节点作为关系目标节点）
+     */
+    IN
+}
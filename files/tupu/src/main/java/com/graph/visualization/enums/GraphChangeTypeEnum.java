@@ -0,0 +1,31 @@
+package com.graph.visualization.enums;
+
+/**
+ * 图变更类型枚举
+ */
+public enum GraphChangeTypeEnum {
+    /**
+     * 新增或更新节点
+     */
+    NODE_UPSERTED,
+    
+    /**
+     * 删除节点
+     */
+    NODE_DELETED,
+    
+    /**
+     * 新增或更新关系
+     */
+    RELATIONSHIP_UPSERTED,
+    
+    /**
+     * 删除关系
+     */
+    RELATIONSHIP_DELETED,
+    
+    /**
+     * 批量变更（如导入），需要整体重新加载
+     */
+    RELOAD
+}
@@ -0,0 +1,36 @@
+package com.graph.visualization.enums;
+
+/**
+ * 导入任务状态枚举
+ */
+public enum ImportJobStatusEnum {
+    /**
+     * 等待上传文件内容
+     */
+    UPLOADING,
+    
+    /**
+     * 上传完成，等待执行
+     */
+    PENDING,
+    
+    /**
+     * 执行中
+     */
+    RUNNING,
+    
+    /**
+     * 已完成
+     */
+    COMPLETED,
+    
+    /**
+     * 执行失败（可从检查点恢复）
+     */
+    FAILED,
+    
+    /**
+     * 已取消
+     */
+    CANCELLED
+}
@@ -0,0 +1,26 @@
+package com.graph.visualization.enums;
+
+/**
+ * 路径代价计算方式枚举
+ */
+public enum PathWeightModeEnum {
+    /**
+     * 按跳数计算（每条关系代价为1）
+     */
+    HOP,
+    
+    /**
+     * 按关系类型取代价
+     */
+    RELATIONSHIP_TYPE,
+    
+    /**
+     * 按关系名称取代价
+     */
+    RELATIONSHIP_NAME,
+    
+    /**
+     * 取关系的数值权重属性
+     */
+    PROPERTY
+}
@@ -0,0 +1,21 @@
+package com.graph.visualization.enums;
+
+/**
+ * RDF导入格式枚举
+ */
+public enum RdfFormatEnum {
+    /**
+     * N-Triples格式（.nt）
+     */
+    NTRIPLES,
+    
+    /**
+     * Turtle格式（.ttl）
+     */
+    TURTLE,
+    
+    /**
+     * N-Quads格式（.nq），图名被忽略
+     */
+    NQUADS
+}
@@ -0,0 +1,215 @@
+package com.graph.visualization.graph;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 基于采样的近似中心度
+ * <p>
+ * 中介中心性采用 Riondato–Kornaropoulos 算法：均匀采样 r 个有序节点对，在每对节点的所有最短路径中
+ * 均匀抽取一条，对路径上的中介节点计数。只要 r ≥ (c/ε²)(⌊log2(VD−2)⌋ + 1 + ln(1/δ))，
+ * 其中 VD 为顶点直径（最长最短路径上的节点数），则以不低于 1−δ 的概率所有节点的
+ * 估计值（按节点对比例）与真实值之差同时不超过 ε。采样数与节点数无关，小图上可能超过节点数，
+ * 此时逐个源节点精确计算的代价更低，由调用方改为精确计算。
+ * <p>
+ * 接近中心性采用 Eppstein–Wang 枢轴采样：均匀采样 k 个枢轴源节点做广度优先搜索，
+ * 以到各枢轴的平均距离估计平均最短路径长度。由 Hoeffding 不等式和对所有节点的联合界，
+ * 以不低于 1−δ 的概率所有节点的平均距离误差不超过 Δ·sqrt(ln(2n/δ) / 2k)，Δ 为直径。
+ */
+public final class CentralitySampler {
+
+    /**
+     * Riondato–Kornaropoulos 样本量公式中的常数
+     */
+    private static final double RK_CONSTANT = 0.5;
+
+    private CentralitySampler() {
+    }
+
+    /**
+     * 估计图的直径上界
+     * <p>
+     * 对每个连通分量从任一节点做一次广度优先搜索，分量直径不超过该节点离心率的两倍。
+     *
+     * @return 各连通分量直径上界的最大值（按跳数）
+     */
+    public static int diameterBound(GraphSnapshot snapshot, int[] activeNodes) {
+        ShortestPathWorkspace workspace = new ShortestPathWorkspace(snapshot);
+        boolean[] seen = new boolean[snapshot.nodeCount()];
+        int bound = 0;
+        for (int v : activeNodes) {
+            if (seen[v]) {
+                continue;
+            }
+            int reached = workspace.search(v, false);
+            for (int i = 0; i < reached; i++) {
+                seen[workspace.reachedNode(i)] = true;
+            }
+            int eccentricity = workspace.distance(workspace.reachedNode(reached - 1));
+            bound = Math.max(bound, Math.min(2 * eccentricity, reached - 1));
+        }
+        return bound;
+    }
+
+    /**
+     * 中介中心性达到给定误差所需的节点对采样数
+     *
+     * @param errorBound 按节点对比例的误差 ε
+     * @param confidence 置信度 1−δ
+     */
+    public static int betweennessSampleSize(double errorBound, double confidence, int diameter) {
+        return (int) Math.ceil(RK_CONSTANT / (errorBound * errorBound) * betweennessComplexity(confidence, diameter));
+    }
+
+    /**
+     * 给定节点对采样数时中介中心性的误差（按节点对比例）
+     */
+    public static double betweennessErrorBound(int sampleSize, double confidence, int diameter) {
+        return Math.sqrt(RK_CONSTANT * betweennessComplexity(confidence, diameter) / sampleSize);
+    }
+
+    private static double betweennessComplexity(double confidence, int diameter) {
+        int vertexDiameter = diameter + 1;
+        int logTerm = vertexDiameter > 2 ? 31 - Integer.numberOfLeadingZeros(vertexDiameter - 2) : 0;
+        return logTerm + 1 + Math.log(1.0 / (1.0 - confidence));
+    }
+
+    /**
+     * 接近中心性的平均距离误差达到 errorBound·直径 所需的枢轴数
+     */
+    public static int closenessSampleSize(double errorBound, double confidence, int nodeCount) {
+        return (int) Math.ceil(closenessComplexity(confidence, nodeCount) / (2 * errorBound * errorBound));
+    }
+
+    /**
+     * 给定枢轴数时接近中心性的平均距离误差（按跳数）
+     */
+    public static double closenessErrorBound(int sampleSize, double confidence, int nodeCount, int diameter) {
+        return diameter * Math.sqrt(closenessComplexity(confidence, nodeCount) / (2.0 * sampleSize));
+    }
+
+    /**
+     * 由平均距离误差换算接近中心性值的误差
+     * <p>
+     * 接近中心性为平均距离的倒数，可达节点的真实和估计平均距离都不小于1，
+     * 因此 |1/d̂ − 1/d| = |d − d̂| / (d·d̂) 不超过平均距离误差；两者都在 (0, 1] 内，误差也不超过1。
+     */
+    public static double closenessValueErrorBound(double distanceErrorBound) {
+        return Math.min(distanceErrorBound, 1.0);
+    }
+
+    private static double closenessComplexity(double confidence, int nodeCount) {
+        return Math.log(2.0 * Math.max(nodeCount, 1) / (1.0 - confidence));
+    }
+
+    /**
+     * 采样估计中介中心性，结果与精确计算的尺度一致（有序节点对，不归一化）
+     */
+    public static double[] sampleBetweenness(GraphSnapshot snapshot, ForkJoinPool pool, int[] activeNodes,
+                                             int sampleSize, long seed, ProgressMonitor monitor) {
+        int nodeCount = snapshot.nodeCount();
+        int n = activeNodes.length;
+        double[] betweenness = new double[nodeCount];
+        if (n < 3 || sampleSize <= 0) {
+            return betweenness;
+        }
+
+        int[] samples = new int[sampleSize];
+        for (int i = 0; i < sampleSize; i++) {
+            samples[i] = i;
+        }
+        List<SampleWorkspace> workspaces = ParallelSourceRunner.run(pool, samples,
+                () -> new SampleWorkspace(snapshot), (workspace, sample) -> {
+                    // 每个样本使用独立的随机数序列，结果与执行顺序无关
+                    SplittableRandom random = new SplittableRandom(seed + sample * 0x9E3779B97F4A7C15L);
+                    int source = activeNodes[random.nextInt(n)];
+                    int target = activeNodes[random.nextInt(n - 1)];
+                    if (target == source) {
+                        target = activeNodes[n - 1];
+                    }
+                    workspace.paths.search(source, true);
+                    if (workspace.paths.distance(target) < 0) {
+                        return;
+                    }
+                    for (int v = workspace.paths.samplePredecessor(target, random.nextDouble()); v != source;
+                         v = workspace.paths.samplePredecessor(v, random.nextDouble())) {
+                        workspace.values[v] += 1.0;
+                    }
+                }, monitor);
+
+        // 合并并外推到全部有序节点对
+        double scale = (double) n * (n - 1) / sampleSize;
+        for (SampleWorkspace workspace : workspaces) {
+            for (int v = 0; v < nodeCount; v++) {
+                betweenness[v] += workspace.values[v] * scale;
+            }
+        }
+        return betweenness;
+    }
+
+    /**
+     * 采样估计接近中心性：可达枢轴数 / 到可达枢轴的距离之和
+     * <p>
+     * 枢轴取全部节点时与精确计算结果一致。
+     */
+    public static double[] sampleCloseness(GraphSnapshot snapshot, ForkJoinPool pool, int[] activeNodes,
+                                           int sampleSize, long seed, ProgressMonitor monitor) {
+        int nodeCount = snapshot.nodeCount();
+        int n = activeNodes.length;
+        int k = Math.min(sampleSize, n);
+
+        // 不放回地均匀选取 k 个枢轴（部分 Fisher–Yates 洗牌）
+        int[] pivots = activeNodes.clone();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int swap = pivots[i];
+            pivots[i] = pivots[j];
+            pivots[j] = swap;
+        }
+        int[] sources = new int[k];
+        System.arraycopy(pivots, 0, sources, 0, k);
+
+        List<SampleWorkspace> workspaces = ParallelSourceRunner.run(pool, sources,
+                () -> new SampleWorkspace(snapshot), (workspace, pivot) -> {
+                    int reached = workspace.paths.search(pivot, false);
+                    for (int i = 1; i < reached; i++) {
+                        int v = workspace.paths.reachedNode(i);
+                        workspace.values[v] += workspace.paths.distance(v);
+                        workspace.counts[v]++;
+                    }
+                }, monitor);
+
+        double[] totalDistance = new double[nodeCount];
+        long[] reachedPivots = new long[nodeCount];
+        for (SampleWorkspace workspace : workspaces) {
+            for (int v = 0; v < nodeCount; v++) {
+                totalDistance[v] += workspace.values[v];
+                reachedPivots[v] += workspace.counts[v];
+            }
+        }
+        double[] closeness = new double[nodeCount];
+        for (int v : activeNodes) {
+            if (reachedPivots[v] > 0) {
+                closeness[v] = reachedPivots[v] / totalDistance[v];
+            }
+        }
+        return closeness;
+    }
+
+    /**
+     * 采样工作线程的工作区：最短路径工作数组及局部累加结果
+     */
+    private static final class SampleWorkspace {
+        private final ShortestPathWorkspace paths;
+        private final double[] values;
+        private final int[] counts;
+
+        private SampleWorkspace(GraphSnapshot snapshot) {
+            this.paths = new ShortestPathWorkspace(snapshot);
+            this.values = new double[snapshot.nodeCount()];
+            this.counts = new int[snapshot.nodeCount()];
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.graph.visualization.graph;
+
+import java.util.Arrays;
+
+/**
+ * 基于原始数组的二叉最小堆（double 键 + int 值）
+ * <p>
+ * 不支持减小键值，采用惰性插入：同一值可以多次入堆，由调用方在出堆时丢弃过期条目。
+ */
+public final class DoubleMinHeap {
+
+    private double[] keys;
+    private int[] values;
+    private int size;
+
+    public DoubleMinHeap(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        keys = new double[capacity];
+        values = new int[capacity];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 堆顶键值
+     */
+    public double peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * 堆顶值
+     */
+    public int peekValue() {
+        return values[0];
+    }
+
+    /**
+     * 入堆
+     */
+    public void push(double key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * 弹出堆顶并返回其值
+     */
+    public int poll() {
+        int result = values[0];
+        int last = --size;
+        if (last > 0) {
+            double key = keys[last];
+            int value = values[last];
+            int i = 0;
+            int half = last >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < last && keys[right] < keys[child]) {
+                    child = right;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package com.graph.visualization.graph;
+
+import com.graph.visualization.enums.PathWeightModeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 边代价模型
+ * <p>
+ * 在查询开始时把代价表解析为按关系类型序号或关系名称编码索引的原始数组，
+ * 搜索过程中每条边的代价只需一次数组读取。
+ */
+public final class EdgeCostModel {
+
+    private static final RelationshipTypeEnum[] RELATIONSHIP_TYPES = RelationshipTypeEnum.values();
+
+    private final PathWeightModeEnum mode;
+    private final double defaultCost;
+    private final double[] typeCosts;
+    private final double[] nameCosts;
+    private final String cacheKey;
+
+    private EdgeCostModel(PathWeightModeEnum mode, double defaultCost, double[] typeCosts, double[] nameCosts,
+                          String cacheKey) {
+        this.mode = mode;
+        this.defaultCost = defaultCost;
+        this.typeCosts = typeCosts;
+        this.nameCosts = nameCosts;
+        this.cacheKey = cacheKey;
+    }
+
+    /**
+     * 按跳数计算的代价模型
+     */
+    public static EdgeCostModel hops() {
+        return new EdgeCostModel(PathWeightModeEnum.HOP, 1.0, null, null, PathWeightModeEnum.HOP.name());
+    }
+
+    /**
+     * 根据查询参数构建代价模型
+     *
+     * @param mode        代价计算方式，为空时按跳数计算
+     * @param costs       代价表
+     * @param defaultCost 默认代价，为空时为1
+     */
+    public static EdgeCostModel of(GraphSnapshot snapshot, PathWeightModeEnum mode, Map<String, Double> costs,
+                                   Double defaultCost) {
+        if (mode == null || mode == PathWeightModeEnum.HOP) {
+            return hops();
+        }
+        double fallback = defaultCost == null ? 1.0 : defaultCost;
+        checkCost("默认代价", fallback);
+        Map<String, Double> sortedCosts = new TreeMap<>();
+        if (costs != null) {
+            costs.forEach((key, cost) -> {
+                checkCost(key, cost);
+                sortedCosts.put(key, cost);
+            });
+        }
+
+        double[] typeCosts = null;
+        double[] nameCosts = null;
+        if (mode == PathWeightModeEnum.RELATIONSHIP_TYPE) {
+            typeCosts = new double[RELATIONSHIP_TYPES.length];
+            for (RelationshipTypeEnum type : RELATIONSHIP_TYPES) {
+                typeCosts[type.ordinal()] = sortedCosts.getOrDefault(type.name(), fallback);
+            }
+        } else if (mode == PathWeightModeEnum.RELATIONSHIP_NAME) {
+            nameCosts = new double[snapshot.relationshipNameCount()];
+            Arrays.fill(nameCosts, fallback);
+            for (Map.Entry<String, Double> entry : sortedCosts.entrySet()) {
+                int code = snapshot.relationshipNameCode(entry.getKey());
+                if (code >= 0) {
+                    nameCosts[code] = entry.getValue();
+                }
+            }
+        }
+
+        String cacheKey = mode.name() + "|" + fallback + "|" + sortedCosts;
+        return new EdgeCostModel(mode, fallback, typeCosts, nameCosts, cacheKey);
+    }
+
+    /**
+     * 是否按跳数计算（所有边代价均为1）
+     */
+    public boolean isUnit() {
+        return mode == PathWeightModeEnum.HOP;
+    }
+
+    /**
+     * 代价模型的规范化描述，用于缓存键
+     */
+    public String cacheKey() {
+        return cacheKey;
+    }
+
+    /**
+     * 计算边的代价
+     */
+    public double cost(GraphSnapshot snapshot, int e) {
+        switch (mode) {
+            case RELATIONSHIP_TYPE: {
+                RelationshipTypeEnum type = snapshot.edgeType(e);
+                return type == null ? defaultCost : typeCosts[type.ordinal()];
+            }
+            case RELATIONSHIP_NAME: {
+                int code = snapshot.edgeNameCode(e);
+                return code < 0 || code >= nameCosts.length ? defaultCost : nameCosts[code];
+            }
+            case PROPERTY: {
+                double weight = snapshot.edgeWeight(e);
+                return Double.isNaN(weight) || weight < 0 ? defaultCost : weight;
+            }
+            default:
+                return 1.0;
+        }
+    }
+
+    private static void checkCost(String name, Double cost) {
+        if (cost == null || cost.isNaN() || cost.isInfinite() || cost < 0) {
+            throw new IllegalArgumentException("代价必须为非负有限数值: " + name + "=" + cost);
+        }
+    }
+}
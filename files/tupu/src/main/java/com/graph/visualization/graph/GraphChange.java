@@ -0,0 +1,81 @@
+package com.graph.visualization.graph;
+
+import com.graph.visualization.entity.Node;
+import com.graph.visualization.entity.Relationship;
+import com.graph.visualization.enums.GraphChangeTypeEnum;
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 图变更事件
+ * <p>
+ * 由节点/关系服务在写操作后发布，事务提交后由 {@link GraphSnapshotManager} 应用到内存图快照。
+ * 只携带拓扑相关字段，不持有实体引用。
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class GraphChange {
+    
+    private final GraphChangeTypeEnum changeType;
+    
+    private final Long nodeId;
+    
+    private final NodeTypeEnum nodeType;
+    
+    private final Long relationshipId;
+    
+    private final Long sourceNodeId;
+    
+    private final Long targetNodeId;
+    
+    private final RelationshipTypeEnum relationshipType;
+    
+    private final String relationshipName;
+    
+    private final Double weight;
+    
+    /**
+     * 节点新增或更新
+     */
+    public static GraphChange nodeUpserted(Node node) {
+        return new GraphChange(GraphChangeTypeEnum.NODE_UPSERTED, node.getId(), node.getNodeType(),
+                null, null, null, null, null, null);
+    }
+    
+    /**
+     * 节点删除
+     */
+    public static GraphChange nodeDeleted(Long nodeId) {
+        return new GraphChange(GraphChangeTypeEnum.NODE_DELETED, nodeId, null,
+                null, null, null, null, null, null);
+    }
+    
+    /**
+     * 关系新增或更新
+     */
+    public static GraphChange relationshipUpserted(Relationship relationship) {
+        return new GraphChange(GraphChangeTypeEnum.RELATIONSHIP_UPSERTED, null, null,
+                relationship.getId(), relationship.getSourceNodeId(), relationship.getTargetNodeId(),
+                relationship.getRelationshipType(), relationship.getRelationshipName(), relationship.getWeight());
+    }
+    
+    /**
+     * 关系删除
+     */
+    public static GraphChange relationshipDeleted(Long relationshipId) {
+        return new GraphChange(GraphChangeTypeEnum.RELATIONSHIP_DELETED, null, null,
+                relationshipId, null, null, null, null, null);
+    }
+    
+    /**
+     * 批量变更，快照需要整体重新加载
+     */
+    public static GraphChange reload() {
+        return new GraphChange(GraphChangeTypeEnum.RELOAD, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.graph.visualization.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 以快照下标表示的路径
+ * <p>
+ * nodes 长度比 edges 多一，edges[i] 连接 nodes[i] 与 nodes[i+1]。
+ */
+@Getter
+@AllArgsConstructor
+public final class GraphPath {
+    
+    private final int[] nodes;
+    
+    private final int[] edges;
+    
+    /**
+     * 路径总代价
+     */
+    private final double cost;
+    
+    /**
+     * 路径长度（关系数量）
+     */
+    public int length() {
+        return edges.length;
+    }
+}
@@ -0,0 +1,823 @@
+package com.graph.visualization.graph;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 内存图快照（压缩稀疏行 CSR 表示 + 增量覆盖层）
+ * <p>
+ * 节点ID被映射为稠密下标，关系ID被映射为稠密边下标。出边和入边分别以 offsets + 边下标数组的形式存储，
+ * 遍历时不产生任何装箱对象。
+ * <p>
+ * 快照不可变，可被多个线程安全共享。增删改通过 {@link #apply(GraphChange)} 生成新快照：
+ * 新快照与旧快照共享底层 CSR 数组，只在覆盖层中记录新增的节点/边、删除标记以及被修改节点的邻接行；
+ * 覆盖层积累到一定规模后由 {@link #compact()} 重新压实为纯 CSR 结构。
+ */
+public final class GraphSnapshot {
+
+    private static final NodeTypeEnum[] NODE_TYPES = NodeTypeEnum.values();
+    private static final RelationshipTypeEnum[] RELATIONSHIP_TYPES = RelationshipTypeEnum.values();
+    private static final int[] EMPTY_ROW = new int[0];
+
+    private final Csr base;
+    private final Delta delta;
+    private final long version;
+
+    /**
+     * 内容指纹，首次使用时计算
+     */
+    private volatile String fingerprint;
+
+    private GraphSnapshot(Csr base, Delta delta, long version) {
+        this.base = base;
+        this.delta = delta;
+        this.version = version;
+    }
+
+    /**
+     * 快照版本号，每应用一次变更加一，压实不改变版本号
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * 图内容指纹
+     * <p>
+     * 对每个有效节点（ID、类型）和每条有效边（ID、端点、类型、名称、权重）分别求哈希后相加，
+     * 与下标分配顺序和变更历史无关，内容相同的图在重启后仍得到相同的指纹，可用于持久化结果的版本标识。
+     */
+    public String fingerprint() {
+        String result = fingerprint;
+        if (result == null) {
+            long nodeHash = 0;
+            for (int v = 0; v < nodeCount(); v++) {
+                if (isNodeActive(v)) {
+                    NodeTypeEnum type = nodeType(v);
+                    nodeHash += mix(nodeId(v) * 31 + (type == null ? -1 : type.ordinal()));
+                }
+            }
+            long edgeHash = 0;
+            for (int e = 0; e < edgeCount(); e++) {
+                if (isEdgeActive(e)) {
+                    RelationshipTypeEnum type = edgeType(e);
+                    long h = mix(edgeId(e));
+                    h = mix(h ^ nodeId(edgeSource(e)));
+                    h = mix(h ^ nodeId(edgeTarget(e)));
+                    h = mix(h ^ (type == null ? -1 : type.ordinal()));
+                    h = mix(h ^ Objects.hashCode(edgeName(e)));
+                    h = mix(h ^ Double.doubleToLongBits(edgeWeight(e)));
+                    edgeHash += h;
+                }
+            }
+            result = String.format("%016x%016x", mix(nodeHash ^ activeNodeCount()), mix(edgeHash ^ activeEdgeCount()));
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    /**
+     * SplitMix64 混合函数
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 节点下标空间大小（包含已删除的节点，遍历时需配合 {@link #isNodeActive(int)} 使用）
+     */
+    public int nodeCount() {
+        return base.nodeIds.length + delta.addedNodeCount;
+    }
+
+    /**
+     * 有效节点数量
+     */
+    public int activeNodeCount() {
+        return nodeCount() - delta.removedNodes.cardinality();
+    }
+
+    /**
+     * 节点是否有效（未被删除）
+     */
+    public boolean isNodeActive(int v) {
+        return !delta.removedNodes.get(v);
+    }
+
+    /**
+     * 边下标空间大小（包含已删除的边，遍历时需配合 {@link #isEdgeActive(int)} 使用）
+     */
+    public int edgeCount() {
+        return base.edgeIds.length + delta.addedEdgeCount;
+    }
+
+    /**
+     * 有效边数量
+     */
+    public int activeEdgeCount() {
+        return edgeCount() - delta.removedEdges.cardinality();
+    }
+
+    /**
+     * 边是否有效（未被删除）
+     */
+    public boolean isEdgeActive(int e) {
+        return !delta.removedEdges.get(e);
+    }
+
+    /**
+     * 覆盖层中累计的变更数量，为0表示快照已压实
+     */
+    public int deltaSize() {
+        return delta.operations;
+    }
+
+    /**
+     * 根据节点下标获取节点ID
+     */
+    public long nodeId(int v) {
+        int baseCount = base.nodeIds.length;
+        return v < baseCount ? base.nodeIds[v] : delta.addedNodeIds[v - baseCount];
+    }
+
+    /**
+     * 根据节点ID获取有效节点下标，不存在时返回-1
+     */
+    public int indexOf(Long nodeId) {
+        if (nodeId == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(base.nodeIds, nodeId);
+        if (index >= 0 && isNodeActive(index)) {
+            return index;
+        }
+        Integer added = delta.addedNodeIndex.get(nodeId);
+        return added != null && isNodeActive(added) ? added : -1;
+    }
+
+    /**
+     * 获取节点类型
+     */
+    public NodeTypeEnum nodeType(int v) {
+        int baseCount = base.nodeIds.length;
+        byte ordinal;
+        if (v >= baseCount) {
+            ordinal = delta.addedNodeTypes[v - baseCount];
+        } else if (!delta.nodeTypeOverrides.isEmpty() && delta.nodeTypeOverrides.containsKey(v)) {
+            ordinal = delta.nodeTypeOverrides.get(v);
+        } else {
+            ordinal = base.nodeTypes[v];
+        }
+        return ordinal < 0 ? null : NODE_TYPES[ordinal];
+    }
+
+    /**
+     * 根据边下标获取关系ID
+     */
+    public long edgeId(int e) {
+        int baseCount = base.edgeIds.length;
+        return e < baseCount ? base.edgeIds[e] : delta.addedEdgeIds[e - baseCount];
+    }
+
+    /**
+     * 根据关系ID获取有效边下标，不存在时返回-1
+     */
+    public int edgeIndexOf(Long relationshipId) {
+        if (relationshipId == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(base.edgeIds, relationshipId);
+        if (index >= 0 && isEdgeActive(index)) {
+            return index;
+        }
+        Integer added = delta.addedEdgeIndex.get(relationshipId);
+        return added != null && isEdgeActive(added) ? added : -1;
+    }
+
+    /**
+     * 边的源节点下标
+     */
+    public int edgeSource(int e) {
+        int baseCount = base.edgeIds.length;
+        return e < baseCount ? base.edgeSources[e] : delta.addedEdgeSources[e - baseCount];
+    }
+
+    /**
+     * 边的目标节点下标
+     */
+    public int edgeTarget(int e) {
+        int baseCount = base.edgeIds.length;
+        return e < baseCount ? base.edgeTargets[e] : delta.addedEdgeTargets[e - baseCount];
+    }
+
+    /**
+     * 获取边相对于节点v的另一端节点下标
+     */
+    public int opposite(int e, int v) {
+        int source = edgeSource(e);
+        return source == v ? edgeTarget(e) : source;
+    }
+
+    /**
+     * 获取关系类型
+     */
+    public RelationshipTypeEnum edgeType(int e) {
+        int baseCount = base.edgeIds.length;
+        byte ordinal = e < baseCount ? base.edgeTypes[e] : delta.addedEdgeTypes[e - baseCount];
+        return ordinal < 0 ? null : RELATIONSHIP_TYPES[ordinal];
+    }
+
+    /**
+     * 获取关系名称编码（-1表示空）
+     */
+    public int edgeNameCode(int e) {
+        int baseCount = base.edgeIds.length;
+        return e < baseCount ? base.edgeNameCodes[e] : delta.addedEdgeNameCodes[e - baseCount];
+    }
+
+    /**
+     * 获取关系名称
+     */
+    public String edgeName(int e) {
+        int code = edgeNameCode(e);
+        return code < 0 ? null : delta.relationshipNames[code];
+    }
+
+    /**
+     * 获取关系权重，权重为空时返回 NaN
+     */
+    public double edgeWeight(int e) {
+        int baseCount = base.edgeIds.length;
+        return e < baseCount ? base.edgeWeights[e] : delta.addedEdgeWeights[e - baseCount];
+    }
+
+    /**
+     * 关系名称字典大小
+     */
+    public int relationshipNameCount() {
+        return delta.relationshipNames.length;
+    }
+
+    /**
+     * 获取关系名称对应的编码，不存在时返回-1
+     */
+    public int relationshipNameCode(String relationshipName) {
+        Integer code = relationshipName == null ? null : delta.relationshipNameCodes.get(relationshipName);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * 获取节点邻接行所在的边下标数组（只读），需配合 rowStart/rowEnd 使用
+     *
+     * @param outgoing true为出边，false为入边
+     */
+    public int[] rowEdges(int v, boolean outgoing) {
+        int[] patched = patchedRow(v, outgoing);
+        if (patched != null) {
+            return patched;
+        }
+        return outgoing ? base.outEdges : base.inEdges;
+    }
+
+    /**
+     * 节点邻接行在 rowEdges 数组中的起始位置（包含）
+     */
+    public int rowStart(int v, boolean outgoing) {
+        if (patchedRow(v, outgoing) != null) {
+            return 0;
+        }
+        return outgoing ? base.outOffsets[v] : base.inOffsets[v];
+    }
+
+    /**
+     * 节点邻接行在 rowEdges 数组中的结束位置（不包含）
+     */
+    public int rowEnd(int v, boolean outgoing) {
+        int[] patched = patchedRow(v, outgoing);
+        if (patched != null) {
+            return patched.length;
+        }
+        return outgoing ? base.outOffsets[v + 1] : base.inOffsets[v + 1];
+    }
+
+    /**
+     * 节点的度（出度 + 入度，自环计两次）
+     */
+    public int degree(int v) {
+        return rowEnd(v, true) - rowStart(v, true) + rowEnd(v, false) - rowStart(v, false);
+    }
+
+    /**
+     * 获取被覆盖层替换的邻接行，未被替换时返回null
+     */
+    private int[] patchedRow(int v, boolean outgoing) {
+        if (v >= base.nodeIds.length) {
+            int[] row = (outgoing ? delta.patchedOut : delta.patchedIn).get(v);
+            return row != null ? row : EMPTY_ROW;
+        }
+        Map<Integer, int[]> patched = outgoing ? delta.patchedOut : delta.patchedIn;
+        return patched.isEmpty() ? null : patched.get(v);
+    }
+
+    /**
+     * 复制节点当前的邻接行
+     */
+    private int[] copyRow(int v, boolean outgoing) {
+        return Arrays.copyOfRange(rowEdges(v, outgoing), rowStart(v, outgoing), rowEnd(v, outgoing));
+    }
+
+    /**
+     * 应用一次图变更，返回新的快照（当前快照保持不变）
+     * <p>
+     * 变更应用是幂等的：重复应用同一变更或应用已包含在快照中的变更不会改变结果，
+     * 因此加载期间提交的写操作可以安全地重放。
+     */
+    public GraphSnapshot apply(GraphChange change) {
+        Delta next = delta.copy();
+        boolean changed = switch (change.getChangeType()) {
+            case NODE_UPSERTED -> upsertNode(next, change);
+            case NODE_DELETED -> deleteNode(next, change.getNodeId());
+            case RELATIONSHIP_UPSERTED -> upsertRelationship(next, change);
+            case RELATIONSHIP_DELETED -> deleteRelationship(next, change.getRelationshipId());
+            default -> throw new IllegalArgumentException("不支持的增量变更类型: " + change.getChangeType());
+        };
+        if (!changed) {
+            return this;
+        }
+        next.operations++;
+        return new GraphSnapshot(base, next, version + 1);
+    }
+
+    private boolean upsertNode(Delta next, GraphChange change) {
+        byte ordinal = ordinalOf(change.getNodeType());
+        int v = indexOf(change.getNodeId());
+        if (v >= 0) {
+            if (nodeType(v) == change.getNodeType()) {
+                return false;
+            }
+            if (v >= base.nodeIds.length) {
+                next.addedNodeTypes[v - base.nodeIds.length] = ordinal;
+            } else {
+                next.nodeTypeOverrides.put(v, ordinal);
+            }
+            return true;
+        }
+
+        v = nodeCount();
+        next.ensureNodeCapacity();
+        next.addedNodeIds[next.addedNodeCount] = change.getNodeId();
+        next.addedNodeTypes[next.addedNodeCount] = ordinal;
+        next.addedNodeCount++;
+        next.addedNodeIndex.put(change.getNodeId(), v);
+        return true;
+    }
+
+    private boolean deleteNode(Delta next, Long nodeId) {
+        int v = indexOf(nodeId);
+        if (v < 0) {
+            return false;
+        }
+        // 删除节点时同时移除其所有关联边
+        for (int direction = 0; direction < 2; direction++) {
+            boolean outgoing = direction == 0;
+            int[] edges = rowEdges(v, outgoing);
+            for (int p = rowStart(v, outgoing), end = rowEnd(v, outgoing); p < end; p++) {
+                removeEdge(next, edges[p]);
+            }
+        }
+        next.patchedOut.put(v, EMPTY_ROW);
+        next.patchedIn.put(v, EMPTY_ROW);
+        next.removedNodes.set(v);
+        return true;
+    }
+
+    private boolean upsertRelationship(Delta next, GraphChange change) {
+        int existing = edgeIndexOf(change.getRelationshipId());
+        int source = indexOf(change.getSourceNodeId());
+        int target = indexOf(change.getTargetNodeId());
+        if (existing >= 0 && edgeSource(existing) == source && edgeTarget(existing) == target
+                && edgeType(existing) == change.getRelationshipType()
+                && Objects.equals(edgeName(existing), change.getRelationshipName())
+                && Double.compare(edgeWeight(existing), weightOf(change.getWeight())) == 0) {
+            return false;
+        }
+        if (existing >= 0) {
+            removeEdge(next, existing);
+        }
+        if (source < 0 || target < 0) {
+            return existing >= 0; // 端点不存在的关系不进入快照
+        }
+
+        int e = base.edgeIds.length + next.addedEdgeCount;
+        next.ensureEdgeCapacity();
+        int slot = next.addedEdgeCount++;
+        next.addedEdgeIds[slot] = change.getRelationshipId();
+        next.addedEdgeSources[slot] = source;
+        next.addedEdgeTargets[slot] = target;
+        next.addedEdgeTypes[slot] = ordinalOf(change.getRelationshipType());
+        next.addedEdgeNameCodes[slot] = next.nameCodeOf(change.getRelationshipName());
+        next.addedEdgeWeights[slot] = weightOf(change.getWeight());
+        next.addedEdgeIndex.put(change.getRelationshipId(), e);
+
+        appendToRow(next, source, true, e);
+        appendToRow(next, target, false, e);
+        return true;
+    }
+
+    private boolean deleteRelationship(Delta next, Long relationshipId) {
+        int e = edgeIndexOf(relationshipId);
+        if (e < 0) {
+            return false;
+        }
+        removeEdge(next, e);
+        return true;
+    }
+
+    /**
+     * 在覆盖层中移除一条边，并替换两个端点的邻接行
+     */
+    private void removeEdge(Delta next, int e) {
+        if (next.removedEdges.get(e)) {
+            return;
+        }
+        next.removedEdges.set(e);
+        removeFromRow(next, edgeSource(e), true, e);
+        removeFromRow(next, edgeTarget(e), false, e);
+    }
+
+    private void removeFromRow(Delta next, int v, boolean outgoing, int e) {
+        Map<Integer, int[]> patched = outgoing ? next.patchedOut : next.patchedIn;
+        int[] row = patched.containsKey(v) ? patched.get(v) : copyRow(v, outgoing);
+        int[] filtered = new int[row.length];
+        int size = 0;
+        for (int edge : row) {
+            if (edge != e) {
+                filtered[size++] = edge;
+            }
+        }
+        patched.put(v, Arrays.copyOf(filtered, size));
+    }
+
+    private void appendToRow(Delta next, int v, boolean outgoing, int e) {
+        Map<Integer, int[]> patched = outgoing ? next.patchedOut : next.patchedIn;
+        int[] row = patched.containsKey(v) ? patched.get(v) : copyRow(v, outgoing);
+        int[] appended = Arrays.copyOf(row, row.length + 1);
+        appended[row.length] = e;
+        patched.put(v, appended);
+    }
+
+    /**
+     * 将基础 CSR 与覆盖层合并为新的纯 CSR 快照（版本号不变）
+     */
+    public GraphSnapshot compact() {
+        if (delta.operations == 0) {
+            return this;
+        }
+        Builder builder = new Builder();
+        for (int v = 0; v < nodeCount(); v++) {
+            if (isNodeActive(v)) {
+                builder.addNode(nodeId(v), nodeType(v));
+            }
+        }
+        for (int e = 0; e < edgeCount(); e++) {
+            if (isEdgeActive(e)) {
+                double weight = edgeWeight(e);
+                builder.addEdge(edgeId(e), nodeId(edgeSource(e)), nodeId(edgeTarget(e)), edgeType(e), edgeName(e),
+                        Double.isNaN(weight) ? null : weight);
+            }
+        }
+        return builder.version(version).build();
+    }
+
+    private static byte ordinalOf(Enum<?> value) {
+        return (byte) (value == null ? -1 : value.ordinal());
+    }
+
+    private static double weightOf(Double weight) {
+        return weight == null ? Double.NaN : weight;
+    }
+
+    /**
+     * 基础 CSR 结构，创建后不再修改，在各版本快照间共享
+     */
+    private static final class Csr {
+        /**
+         * 节点下标到节点ID的映射（按ID升序）
+         */
+        private final long[] nodeIds;
+
+        /**
+         * 节点类型（枚举序号，-1表示空）
+         */
+        private final byte[] nodeTypes;
+
+        /**
+         * 边下标到关系ID的映射（按ID升序）
+         */
+        private final long[] edgeIds;
+        private final int[] edgeSources;
+        private final int[] edgeTargets;
+
+        /**
+         * 关系类型（枚举序号，-1表示空）
+         */
+        private final byte[] edgeTypes;
+
+        /**
+         * 关系名称编码，对应名称字典下标（-1表示空）
+         */
+        private final int[] edgeNameCodes;
+
+        /**
+         * 关系权重（NaN表示空）
+         */
+        private final double[] edgeWeights;
+
+        private final int[] outOffsets;
+        private final int[] outEdges;
+        private final int[] inOffsets;
+        private final int[] inEdges;
+
+        private Csr(long[] nodeIds, byte[] nodeTypes, long[] edgeIds, int[] edgeSources, int[] edgeTargets,
+                    byte[] edgeTypes, int[] edgeNameCodes, double[] edgeWeights) {
+            this.nodeIds = nodeIds;
+            this.nodeTypes = nodeTypes;
+            this.edgeIds = edgeIds;
+            this.edgeSources = edgeSources;
+            this.edgeTargets = edgeTargets;
+            this.edgeTypes = edgeTypes;
+            this.edgeNameCodes = edgeNameCodes;
+            this.edgeWeights = edgeWeights;
+
+            int nodeCount = nodeIds.length;
+            int edgeCount = edgeIds.length;
+            this.outOffsets = new int[nodeCount + 1];
+            this.inOffsets = new int[nodeCount + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                outOffsets[edgeSources[e] + 1]++;
+                inOffsets[edgeTargets[e] + 1]++;
+            }
+            for (int v = 0; v < nodeCount; v++) {
+                outOffsets[v + 1] += outOffsets[v];
+                inOffsets[v + 1] += inOffsets[v];
+            }
+            this.outEdges = new int[edgeCount];
+            this.inEdges = new int[edgeCount];
+            int[] outCursor = Arrays.copyOf(outOffsets, nodeCount);
+            int[] inCursor = Arrays.copyOf(inOffsets, nodeCount);
+            for (int e = 0; e < edgeCount; e++) {
+                outEdges[outCursor[edgeSources[e]]++] = e;
+                inEdges[inCursor[edgeTargets[e]]++] = e;
+            }
+        }
+    }
+
+    /**
+     * 增量覆盖层，每次变更复制一份后修改（写时复制），规模受压实阈值约束
+     */
+    private static final class Delta {
+        private long[] addedNodeIds = new long[0];
+        private byte[] addedNodeTypes = new byte[0];
+        private int addedNodeCount;
+        private Map<Long, Integer> addedNodeIndex = new HashMap<>();
+        private Map<Integer, Byte> nodeTypeOverrides = new HashMap<>();
+        private BitSet removedNodes = new BitSet();
+
+        private long[] addedEdgeIds = new long[0];
+        private int[] addedEdgeSources = new int[0];
+        private int[] addedEdgeTargets = new int[0];
+        private byte[] addedEdgeTypes = new byte[0];
+        private int[] addedEdgeNameCodes = new int[0];
+        private double[] addedEdgeWeights = new double[0];
+        private int addedEdgeCount;
+        private Map<Long, Integer> addedEdgeIndex = new HashMap<>();
+        private BitSet removedEdges = new BitSet();
+
+        /**
+         * 被替换的邻接行（节点下标 -> 有效边下标数组）
+         */
+        private Map<Integer, int[]> patchedOut = new HashMap<>();
+        private Map<Integer, int[]> patchedIn = new HashMap<>();
+
+        /**
+         * 关系名称字典（只追加）
+         */
+        private String[] relationshipNames = new String[0];
+        private Map<String, Integer> relationshipNameCodes = new HashMap<>();
+
+        private int operations;
+
+        private Delta copy() {
+            Delta copy = new Delta();
+            copy.addedNodeIds = addedNodeIds.clone();
+            copy.addedNodeTypes = addedNodeTypes.clone();
+            copy.addedNodeCount = addedNodeCount;
+            copy.addedNodeIndex = new HashMap<>(addedNodeIndex);
+            copy.nodeTypeOverrides = new HashMap<>(nodeTypeOverrides);
+            copy.removedNodes = (BitSet) removedNodes.clone();
+            copy.addedEdgeIds = addedEdgeIds.clone();
+            copy.addedEdgeSources = addedEdgeSources.clone();
+            copy.addedEdgeTargets = addedEdgeTargets.clone();
+            copy.addedEdgeTypes = addedEdgeTypes.clone();
+            copy.addedEdgeNameCodes = addedEdgeNameCodes.clone();
+            copy.addedEdgeWeights = addedEdgeWeights.clone();
+            copy.addedEdgeCount = addedEdgeCount;
+            copy.addedEdgeIndex = new HashMap<>(addedEdgeIndex);
+            copy.removedEdges = (BitSet) removedEdges.clone();
+            copy.patchedOut = new HashMap<>(patchedOut);
+            copy.patchedIn = new HashMap<>(patchedIn);
+            copy.relationshipNames = relationshipNames;
+            copy.relationshipNameCodes = relationshipNameCodes;
+            copy.operations = operations;
+            return copy;
+        }
+
+        /**
+         * 保证新增节点数组有空位
+         */
+        private void ensureNodeCapacity() {
+            if (addedNodeCount == addedNodeIds.length) {
+                int capacity = Math.max(16, addedNodeCount * 2);
+                addedNodeIds = Arrays.copyOf(addedNodeIds, capacity);
+                addedNodeTypes = Arrays.copyOf(addedNodeTypes, capacity);
+            }
+        }
+
+        private void ensureEdgeCapacity() {
+            if (addedEdgeCount == addedEdgeIds.length) {
+                int capacity = Math.max(16, addedEdgeCount * 2);
+                addedEdgeIds = Arrays.copyOf(addedEdgeIds, capacity);
+                addedEdgeSources = Arrays.copyOf(addedEdgeSources, capacity);
+                addedEdgeTargets = Arrays.copyOf(addedEdgeTargets, capacity);
+                addedEdgeTypes = Arrays.copyOf(addedEdgeTypes, capacity);
+                addedEdgeNameCodes = Arrays.copyOf(addedEdgeNameCodes, capacity);
+                addedEdgeWeights = Arrays.copyOf(addedEdgeWeights, capacity);
+            }
+        }
+
+        private int nameCodeOf(String relationshipName) {
+            if (relationshipName == null) {
+                return -1;
+            }
+            Integer code = relationshipNameCodes.get(relationshipName);
+            if (code != null) {
+                return code;
+            }
+            code = relationshipNames.length;
+            relationshipNames = Arrays.copyOf(relationshipNames, code + 1);
+            relationshipNames[code] = relationshipName;
+            relationshipNameCodes = new HashMap<>(relationshipNameCodes);
+            relationshipNameCodes.put(relationshipName, code);
+            return code;
+        }
+    }
+
+    /**
+     * 快照构建器
+     * <p>
+     * 节点和边可以按任意顺序添加，构建时统一按ID排序；端点不存在的边会被丢弃。
+     */
+    public static final class Builder {
+        private long[] nodeIds = new long[1024];
+        private byte[] nodeTypes = new byte[1024];
+        private int nodeCount;
+
+        private long[] edgeIds = new long[1024];
+        private long[] edgeSourceIds = new long[1024];
+        private long[] edgeTargetIds = new long[1024];
+        private byte[] edgeTypes = new byte[1024];
+        private int[] edgeNameCodes = new int[1024];
+        private double[] edgeWeights = new double[1024];
+        private int edgeCount;
+
+        private final Map<String, Integer> nameCodes = new HashMap<>();
+        private long version;
+
+        /**
+         * 添加节点
+         */
+        public Builder addNode(long nodeId, NodeTypeEnum nodeType) {
+            if (nodeCount == nodeIds.length) {
+                int capacity = nodeCount * 2;
+                nodeIds = Arrays.copyOf(nodeIds, capacity);
+                nodeTypes = Arrays.copyOf(nodeTypes, capacity);
+            }
+            nodeIds[nodeCount] = nodeId;
+            nodeTypes[nodeCount] = ordinalOf(nodeType);
+            nodeCount++;
+            return this;
+        }
+
+        /**
+         * 添加边
+         */
+        public Builder addEdge(long relationshipId, long sourceNodeId, long targetNodeId,
+                               RelationshipTypeEnum relationshipType, String relationshipName, Double weight) {
+            if (edgeCount == edgeIds.length) {
+                int capacity = edgeCount * 2;
+                edgeIds = Arrays.copyOf(edgeIds, capacity);
+                edgeSourceIds = Arrays.copyOf(edgeSourceIds, capacity);
+                edgeTargetIds = Arrays.copyOf(edgeTargetIds, capacity);
+                edgeTypes = Arrays.copyOf(edgeTypes, capacity);
+                edgeNameCodes = Arrays.copyOf(edgeNameCodes, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            }
+            edgeIds[edgeCount] = relationshipId;
+            edgeSourceIds[edgeCount] = sourceNodeId;
+            edgeTargetIds[edgeCount] = targetNodeId;
+            edgeTypes[edgeCount] = ordinalOf(relationshipType);
+            edgeNameCodes[edgeCount] = relationshipName == null ? -1
+                    : nameCodes.computeIfAbsent(relationshipName, name -> nameCodes.size());
+            edgeWeights[edgeCount] = weightOf(weight);
+            edgeCount++;
+            return this;
+        }
+
+        /**
+         * 设置快照版本号
+         */
+        public Builder version(long version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * 构建快照
+         */
+        public GraphSnapshot build() {
+            int[] nodeOrder = sortedOrder(nodeIds, nodeCount);
+            long[] sortedNodeIds = new long[nodeCount];
+            byte[] sortedNodeTypes = new byte[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                sortedNodeIds[i] = nodeIds[nodeOrder[i]];
+                sortedNodeTypes[i] = nodeTypes[nodeOrder[i]];
+            }
+
+            int[] edgeOrder = sortedOrder(edgeIds, edgeCount);
+            long[] keptEdgeIds = new long[edgeCount];
+            int[] keptSources = new int[edgeCount];
+            int[] keptTargets = new int[edgeCount];
+            byte[] keptTypes = new byte[edgeCount];
+            int[] keptNameCodes = new int[edgeCount];
+            double[] keptWeights = new double[edgeCount];
+            int kept = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                int e = edgeOrder[i];
+                int source = Arrays.binarySearch(sortedNodeIds, edgeSourceIds[e]);
+                int target = Arrays.binarySearch(sortedNodeIds, edgeTargetIds[e]);
+                if (source < 0 || target < 0) {
+                    continue; // 跳过端点不存在的关系
+                }
+                keptEdgeIds[kept] = edgeIds[e];
+                keptSources[kept] = source;
+                keptTargets[kept] = target;
+                keptTypes[kept] = edgeTypes[e];
+                keptNameCodes[kept] = edgeNameCodes[e];
+                keptWeights[kept] = edgeWeights[e];
+                kept++;
+            }
+
+            Delta delta = new Delta();
+            delta.relationshipNames = new String[nameCodes.size()];
+            nameCodes.forEach((name, code) -> delta.relationshipNames[code] = name);
+            delta.relationshipNameCodes = new HashMap<>(nameCodes);
+
+            Csr csr = new Csr(sortedNodeIds, sortedNodeTypes,
+                    Arrays.copyOf(keptEdgeIds, kept), Arrays.copyOf(keptSources, kept),
+                    Arrays.copyOf(keptTargets, kept), Arrays.copyOf(keptTypes, kept),
+                    Arrays.copyOf(keptNameCodes, kept), Arrays.copyOf(keptWeights, kept));
+            return new GraphSnapshot(csr, delta, version);
+        }
+
+        /**
+         * 计算按ID升序排列的下标顺序（输入通常已有序，此时直接返回恒等顺序）
+         */
+        private static int[] sortedOrder(long[] ids, int count) {
+            int[] order = new int[count];
+            boolean sorted = true;
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+                if (i > 0 && ids[i - 1] >= ids[i]) {
+                    sorted = false;
+                }
+            }
+            if (sorted) {
+                return order;
+            }
+            long[] sortedIds = Arrays.copyOf(ids, count);
+            Arrays.sort(sortedIds);
+            for (int i = 0; i < count; i++) {
+                order[Arrays.binarySearch(sortedIds, ids[i])] = i;
+            }
+            return order;
+        }
+    }
+}
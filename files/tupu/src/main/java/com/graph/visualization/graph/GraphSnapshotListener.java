@@ -0,0 +1,24 @@
+package com.graph.visualization.graph;
+
+/**
+ * 图快照切换的监听器
+ * <p>
+ * 回调在 {@link GraphSnapshotManager} 的锁内按切换顺序同步调用，实现应尽快返回（例如只把事件放入自己的队列）。
+ */
+public interface GraphSnapshotListener {
+
+    /**
+     * 一次增量变更已应用，before 与 after 的节点下标一致（after 可能追加了新节点）
+     */
+    void onChangeApplied(GraphSnapshot before, GraphSnapshot after, GraphChange change);
+
+    /**
+     * 快照已压实：内容与 before 相同，但节点和边的下标可能重新分配
+     */
+    void onCompacted(GraphSnapshot before, GraphSnapshot after);
+
+    /**
+     * 快照已重新加载或失效，内容可能任意变化
+     */
+    void onReset();
+}
@@ -0,0 +1,51 @@
+package com.graph.visualization.graph;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import com.graph.visualization.repository.NodeRepository;
+import com.graph.visualization.repository.RelationshipRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * 内存图快照加载器
+ * <p>
+ * 通过投影查询流式读取节点和关系的拓扑字段，不加载完整实体。
+ * 两个查询以 MySQL 逐行流式结果集返回，同一连接上一次只能打开一个，因此依次读取并在读完后立即关闭。
+ */
+@Component
+@RequiredArgsConstructor
+public class GraphSnapshotLoader {
+
+    private final NodeRepository nodeRepository;
+    private final RelationshipRepository relationshipRepository;
+
+    /**
+     * 从数据库加载完整的图快照
+     *
+     * @param version 新快照的版本号
+     */
+    @Transactional(readOnly = true)
+    public GraphSnapshot load(long version) {
+        GraphSnapshot.Builder builder = new GraphSnapshot.Builder().version(version);
+
+        try (Stream<Object[]> rows = nodeRepository.streamTopology()) {
+            rows.forEach(row -> builder.addNode((Long) row[0], (NodeTypeEnum) row[1]));
+        }
+
+        try (Stream<Object[]> rows = relationshipRepository.streamTopology()) {
+            rows.forEach(row -> {
+                if (row[1] == null || row[2] == null) {
+                    return; // 跳过端点缺失的关系
+                }
+                builder.addEdge((Long) row[0], (Long) row[1], (Long) row[2],
+                        (RelationshipTypeEnum) row[3], (String) row[4], (Double) row[5]);
+            });
+        }
+
+        return builder.build();
+    }
+}
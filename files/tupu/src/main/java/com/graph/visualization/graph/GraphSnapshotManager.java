@@ -0,0 +1,170 @@
+package com.graph.visualization.graph;
+
+import com.graph.visualization.enums.GraphChangeTypeEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 内存图快照管理器
+ * <p>
+ * 持有路径分析、中心度分析和模式匹配共享的图快照。快照在首次使用时从数据库加载一次，
+ * 之后所有请求直接读取内存中的 CSR 结构，不再对 nodes/relationships 表做全表扫描。
+ * <p>
+ * 节点/关系的写操作以 {@link GraphChange} 事件的形式在事务提交后增量应用到快照覆盖层，
+ * 后台任务在覆盖层超过阈值时将其压实为新的 CSR 结构，压实期间到达的变更会在切换前重放。
+ * 每次切换快照时通知已注册的 {@link GraphSnapshotListener}。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphSnapshotManager {
+
+    private final GraphSnapshotLoader graphSnapshotLoader;
+
+    @Value("${graph.snapshot.compaction-threshold:10000}")
+    private int compactionThreshold;
+
+    private volatile GraphSnapshot snapshot;
+
+    /**
+     * 自上次加载以来应用过的变更（用于压实完成后重放）
+     */
+    private final List<GraphChange> changeLog = new ArrayList<>();
+    private final List<Long> changeLogVersions = new ArrayList<>();
+
+    /**
+     * 快照世代，每次重新加载或失效时加一，用于丢弃过期的压实结果
+     */
+    private long generation;
+
+    private long lastVersion;
+
+    private final List<GraphSnapshotListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 获取当前图快照，尚未加载时从数据库加载
+     */
+    public GraphSnapshot getSnapshot() {
+        GraphSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 注册快照切换监听器
+     */
+    public void addListener(GraphSnapshotListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 从数据库重新加载图快照
+     */
+    public synchronized GraphSnapshot refresh() {
+        return load();
+    }
+
+    /**
+     * 丢弃当前快照，下次使用时重新加载
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+        generation++;
+        clearChangeLog();
+        listeners.forEach(GraphSnapshotListener::onReset);
+    }
+
+    /**
+     * 事务提交后将图变更应用到快照；快照尚未加载时忽略（加载时会直接读到最新数据）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGraphChange(GraphChange change) {
+        if (change.getChangeType() == GraphChangeTypeEnum.RELOAD) {
+            invalidate();
+            return;
+        }
+        GraphSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        GraphSnapshot next = current.apply(change);
+        if (next != current) {
+            snapshot = next;
+            lastVersion = next.version();
+            changeLog.add(change);
+            changeLogVersions.add(next.version());
+            for (GraphSnapshotListener listener : listeners) {
+                listener.onChangeApplied(current, next, change);
+            }
+        }
+    }
+
+    /**
+     * 覆盖层超过阈值时在后台压实快照
+     */
+    @Scheduled(fixedDelayString = "${graph.snapshot.compaction-interval-ms:30000}")
+    public void compactIfNeeded() {
+        GraphSnapshot current;
+        long currentGeneration;
+        synchronized (this) {
+            current = snapshot;
+            currentGeneration = generation;
+        }
+        if (current == null || current.deltaSize() < compactionThreshold) {
+            return;
+        }
+
+        // 压实在锁外进行，不阻塞写操作
+        GraphSnapshot compacted = current.compact();
+
+        synchronized (this) {
+            if (generation != currentGeneration || snapshot == null) {
+                return; // 压实期间快照已被重新加载或失效
+            }
+            // 重放压实期间到达的变更
+            int replayed = 0;
+            for (int i = 0; i < changeLog.size(); i++) {
+                if (changeLogVersions.get(i) > current.version()) {
+                    compacted = compacted.apply(changeLog.get(i));
+                    replayed++;
+                }
+            }
+            GraphSnapshot previous = snapshot;
+            snapshot = compacted;
+            clearChangeLog();
+            for (GraphSnapshotListener listener : listeners) {
+                listener.onCompacted(previous, compacted);
+            }
+            log.debug("图快照压实完成，版本={}，重放变更数={}", compacted.version(), replayed);
+        }
+    }
+
+    private GraphSnapshot load() {
+        GraphSnapshot loaded = graphSnapshotLoader.load(++lastVersion);
+        snapshot = loaded;
+        generation++;
+        clearChangeLog();
+        listeners.forEach(GraphSnapshotListener::onReset);
+        return loaded;
+    }
+
+    private void clearChangeLog() {
+        changeLog.clear();
+        changeLogVersions.clear();
+    }
+}
@@ -0,0 +1,254 @@
+package com.graph.visualization.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 增量维护的接近中心性与中介中心性（无向、按跳数）
+ * <p>
+ * 中介中心性是各源节点 Brandes 依赖值之和，接近中心性也只取决于各源节点自己的最短路径距离，
+ * 因此图变更后只需重新处理最短路径 DAG 发生变化的源节点：减去其在旧图上的贡献，再加上在新图上的贡献。
+ * <p>
+ * 边 (u, v) 属于源节点 s 的最短路径 DAG 当且仅当在包含该边的图上 |d(s,u) − d(s,v)| = 1。
+ * 删除的边在变更前的图上判断、新增的边在变更后的图上判断，两者都不满足的源节点在变更前后 DAG 完全相同。
+ * 由于图是无向的，d(s,u) 即从 u 出发的距离，每个端点只需一次广度优先搜索即可判断所有源节点。
+ * <p>
+ * 实例不是线程安全的，由调用方保证串行更新。
+ */
+public final class IncrementalCentrality {
+
+    /**
+     * 一次变更涉及的端点超过该数量时直接全量重算
+     */
+    private static final int MAX_ENDPOINTS = 64;
+
+    private GraphSnapshot snapshot;
+    private double[] betweenness;
+    private double[] closeness;
+
+    private IncrementalCentrality(GraphSnapshot snapshot, double[] betweenness, double[] closeness) {
+        this.snapshot = snapshot;
+        this.betweenness = betweenness;
+        this.closeness = closeness;
+    }
+
+    /**
+     * 对快照做一次全量计算
+     */
+    public static IncrementalCentrality compute(GraphSnapshot snapshot, ForkJoinPool pool, ProgressMonitor monitor) {
+        IncrementalCentrality centrality = new IncrementalCentrality(snapshot,
+                new double[snapshot.nodeCount()], new double[snapshot.nodeCount()]);
+        centrality.addContributions(snapshot, activeNodes(snapshot, null), pool, monitor);
+        return centrality;
+    }
+
+    /**
+     * 当前结果对应的快照
+     */
+    public GraphSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 按节点下标的中介中心性（有序节点对，不归一化，与全量 Brandes 计算一致）
+     */
+    public double[] betweenness() {
+        return betweenness;
+    }
+
+    /**
+     * 按节点下标的接近中心性
+     */
+    public double[] closeness() {
+        return closeness;
+    }
+
+    /**
+     * 将结果更新到 after：after 与当前快照的节点下标一致，removedEdges 为当前快照中被删除的边，
+     * addedEdges 为 after 中新增的边
+     *
+     * @return 重新处理的源节点数量
+     */
+    public int update(GraphSnapshot after, int[] removedEdges, int[] addedEdges, ForkJoinPool pool) {
+        GraphSnapshot before = snapshot;
+        betweenness = Arrays.copyOf(betweenness, after.nodeCount());
+        closeness = Arrays.copyOf(closeness, after.nodeCount());
+        for (int v = 0; v < after.nodeCount(); v++) {
+            if (!after.isNodeActive(v)) {
+                betweenness[v] = 0;
+                closeness[v] = 0;
+            }
+        }
+        snapshot = after;
+
+        boolean[] affected = new boolean[after.nodeCount()];
+        boolean bounded = markAffected(before, removedEdges, affected) && markAffected(after, addedEdges, affected);
+        int affectedCount = 0;
+        for (boolean a : affected) {
+            if (a) {
+                affectedCount++;
+            }
+        }
+        // 每个受影响的源节点需要处理两次，受影响的节点过多时全量重算更快
+        if (!bounded || 2 * affectedCount >= after.activeNodeCount()) {
+            Arrays.fill(betweenness, 0);
+            Arrays.fill(closeness, 0);
+            addContributions(after, activeNodes(after, null), pool, ProgressMonitor.NONE);
+            return after.activeNodeCount();
+        }
+        if (affectedCount == 0) {
+            return 0;
+        }
+
+        double[] previous = sumContributions(before, activeNodes(before, affected), pool);
+        for (int v = 0; v < previous.length; v++) {
+            betweenness[v] = Math.max(0, betweenness[v] - previous[v]);
+        }
+        addContributions(after, activeNodes(after, affected), pool, ProgressMonitor.NONE);
+        return affectedCount;
+    }
+
+    /**
+     * 压实后按节点ID把结果映射到新快照的下标（内容不变，只是下标重新分配）
+     */
+    public void remap(GraphSnapshot compacted) {
+        double[] remappedBetweenness = new double[compacted.nodeCount()];
+        double[] remappedCloseness = new double[compacted.nodeCount()];
+        for (int v = 0; v < compacted.nodeCount(); v++) {
+            if (compacted.isNodeActive(v)) {
+                int previous = snapshot.indexOf(compacted.nodeId(v));
+                if (previous >= 0) {
+                    remappedBetweenness[v] = betweenness[previous];
+                    remappedCloseness[v] = closeness[previous];
+                }
+            }
+        }
+        snapshot = compacted;
+        betweenness = remappedBetweenness;
+        closeness = remappedCloseness;
+    }
+
+    /**
+     * 标记 DAG 包含给定边之一的源节点（边在 graph 上判断）
+     *
+     * @return 端点数量未超过上限时返回true；否则不做标记并返回false
+     */
+    private static boolean markAffected(GraphSnapshot graph, int[] edges, boolean[] affected) {
+        Map<Integer, int[]> distances = new HashMap<>();
+        for (int e : edges) {
+            int u = graph.edgeSource(e);
+            int v = graph.edgeTarget(e);
+            if (u != v) {
+                distances.putIfAbsent(u, null);
+                distances.putIfAbsent(v, null);
+            }
+        }
+        if (distances.size() > MAX_ENDPOINTS) {
+            return false;
+        }
+        for (Integer endpoint : new ArrayList<>(distances.keySet())) {
+            distances.put(endpoint, distancesFrom(graph, endpoint));
+        }
+        for (int e : edges) {
+            int u = graph.edgeSource(e);
+            int v = graph.edgeTarget(e);
+            if (u == v) {
+                continue; // 自环不在任何最短路径上
+            }
+            int[] fromU = distances.get(u);
+            int[] fromV = distances.get(v);
+            for (int s = 0; s < fromU.length; s++) {
+                if (fromU[s] >= 0 && fromV[s] >= 0 && Math.abs(fromU[s] - fromV[s]) == 1) {
+                    affected[s] = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 从 source 出发的广度优先搜索距离，不可达为-1
+     */
+    private static int[] distancesFrom(GraphSnapshot graph, int source) {
+        ShortestPathWorkspace workspace = new ShortestPathWorkspace(graph);
+        int[] distance = new int[graph.nodeCount()];
+        Arrays.fill(distance, -1);
+        int reached = workspace.search(source, false);
+        for (int i = 0; i < reached; i++) {
+            int v = workspace.reachedNode(i);
+            distance[v] = workspace.distance(v);
+        }
+        return distance;
+    }
+
+    /**
+     * 把 sources 在 graph 上的中介中心性贡献加到结果上，并重新计算它们的接近中心性
+     */
+    private void addContributions(GraphSnapshot graph, int[] sources, ForkJoinPool pool, ProgressMonitor monitor) {
+        double[] closenessValues = closeness;
+        List<Workspace> workspaces = ParallelSourceRunner.run(pool, sources, () -> new Workspace(graph),
+                (workspace, source) -> {
+                    int reached = workspace.paths.search(source, true);
+                    workspace.paths.accumulate(workspace.betweenness, 1.0);
+                    long totalDistance = 0;
+                    for (int i = 1; i < reached; i++) {
+                        totalDistance += workspace.paths.distance(workspace.paths.reachedNode(i));
+                    }
+                    closenessValues[source] = reached > 1 ? (double) (reached - 1) / totalDistance : 0;
+                }, monitor);
+        for (Workspace workspace : workspaces) {
+            for (int v = 0; v < workspace.betweenness.length; v++) {
+                betweenness[v] += workspace.betweenness[v];
+            }
+        }
+    }
+
+    /**
+     * sources 在 graph 上的中介中心性贡献之和
+     */
+    private static double[] sumContributions(GraphSnapshot graph, int[] sources, ForkJoinPool pool) {
+        double[] total = new double[graph.nodeCount()];
+        List<Workspace> workspaces = ParallelSourceRunner.run(pool, sources, () -> new Workspace(graph),
+                (workspace, source) -> {
+                    workspace.paths.search(source, true);
+                    workspace.paths.accumulate(workspace.betweenness, 1.0);
+                });
+        for (Workspace workspace : workspaces) {
+            for (int v = 0; v < total.length; v++) {
+                total[v] += workspace.betweenness[v];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * graph 中的有效节点，filter 不为空时只保留被标记的节点
+     */
+    private static int[] activeNodes(GraphSnapshot graph, boolean[] filter) {
+        int[] nodes = new int[graph.nodeCount()];
+        int count = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (graph.isNodeActive(v) && (filter == null || filter[v])) {
+                nodes[count++] = v;
+            }
+        }
+        return Arrays.copyOf(nodes, count);
+    }
+
+    /**
+     * 工作线程的工作区：最短路径工作数组及局部累加结果
+     */
+    private static final class Workspace {
+        private final ShortestPathWorkspace paths;
+        private final double[] betweenness;
+
+        private Workspace(GraphSnapshot graph) {
+            this.paths = new ShortestPathWorkspace(graph);
+            this.betweenness = new double[graph.nodeCount()];
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.graph.visualization.graph;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 增量中心度管理器
+ * <p>
+ * 首次请求增量中心度时做一次全量计算，之后监听图快照的变更，只重新处理最短路径 DAG 受影响的源节点，
+ * 使接近中心性和中介中心性在每次编辑后保持最新而无需全量重算。
+ * 所有计算和更新都在同一个后台线程中按快照切换的顺序串行执行，不阻塞写操作。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IncrementalCentralityManager implements GraphSnapshotListener {
+
+    private final GraphSnapshotManager graphSnapshotManager;
+    private final ForkJoinPool centralityForkJoinPool;
+
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "incremental-centrality");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 当前维护的结果，只在更新线程中读写
+     */
+    private IncrementalCentrality state;
+
+    @PostConstruct
+    public void register() {
+        graphSnapshotManager.addListener(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /**
+     * 获取增量维护的中心度，尚未计算时做一次全量计算
+     * <p>
+     * 在此之前已切换的快照变更会先被应用，返回的结果与某个最近的快照一致。
+     *
+     * @param monitor 全量计算时的进度回调
+     */
+    public Scores getScores(ProgressMonitor monitor) {
+        // 先在调用线程中确保快照已加载，加载触发的重置事件排在本次计算之前
+        graphSnapshotManager.getSnapshot();
+        try {
+            return updater.submit(() -> {
+                if (state == null) {
+                    state = IncrementalCentrality.compute(graphSnapshotManager.getSnapshot(), centralityForkJoinPool,
+                            monitor);
+                }
+                return new Scores(state.snapshot(), state.betweenness().clone(), state.closeness().clone());
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("计算已取消");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void onChangeApplied(GraphSnapshot before, GraphSnapshot after, GraphChange change) {
+        updater.execute(() -> {
+            if (state == null || state.snapshot().version() >= after.version()) {
+                return; // 未在维护，或结果计算时已包含该变更
+            }
+            if (state.snapshot() != before) {
+                state = null; // 错过了中间的变更，下次使用时重新计算
+                return;
+            }
+            int[][] edges = changedEdges(before, after, change);
+            int processed = state.update(after, edges[0], edges[1], centralityForkJoinPool);
+            log.debug("增量中心度已更新，变更类型={}，重新处理的源节点数={}", change.getChangeType(), processed);
+        });
+    }
+
+    @Override
+    public void onCompacted(GraphSnapshot before, GraphSnapshot after) {
+        updater.execute(() -> {
+            if (state == null) {
+                return;
+            }
+            if (state.snapshot() == before) {
+                state.remap(after);
+            } else if (state.snapshot().version() < after.version()) {
+                state = null;
+            }
+        });
+    }
+
+    @Override
+    public void onReset() {
+        updater.execute(() -> state = null);
+    }
+
+    /**
+     * 变更删除的边（before 中的下标）和新增的边（after 中的下标）
+     */
+    private static int[][] changedEdges(GraphSnapshot before, GraphSnapshot after, GraphChange change) {
+        int[] none = new int[0];
+        switch (change.getChangeType()) {
+            case RELATIONSHIP_UPSERTED: {
+                int removed = before.edgeIndexOf(change.getRelationshipId());
+                int added = after.edgeIndexOf(change.getRelationshipId());
+                if (removed >= 0 && added >= 0 && before.edgeSource(removed) == after.edgeSource(added)
+                        && before.edgeTarget(removed) == after.edgeTarget(added)) {
+                    return new int[][]{none, none}; // 只修改了属性，拓扑不变
+                }
+                return new int[][]{removed >= 0 ? new int[]{removed} : none, added >= 0 ? new int[]{added} : none};
+            }
+            case RELATIONSHIP_DELETED: {
+                int removed = before.edgeIndexOf(change.getRelationshipId());
+                return new int[][]{removed >= 0 ? new int[]{removed} : none, none};
+            }
+            case NODE_DELETED: {
+                int v = before.indexOf(change.getNodeId());
+                if (v < 0) {
+                    return new int[][]{none, none};
+                }
+                int[] out = before.rowEdges(v, true);
+                int[] in = before.rowEdges(v, false);
+                int outStart = before.rowStart(v, true);
+                int outEnd = before.rowEnd(v, true);
+                int inStart = before.rowStart(v, false);
+                int inEnd = before.rowEnd(v, false);
+                int[] removed = new int[(outEnd - outStart) + (inEnd - inStart)];
+                int count = 0;
+                for (int p = outStart; p < outEnd; p++) {
+                    removed[count++] = out[p];
+                }
+                for (int p = inStart; p < inEnd; p++) {
+                    if (before.edgeSource(in[p]) != v) { // 自环已在出边中
+                        removed[count++] = in[p];
+                    }
+                }
+                return new int[][]{Arrays.copyOf(removed, count), none};
+            }
+            default:
+                return new int[][]{none, none};
+        }
+    }
+
+    /**
+     * 某个快照上的中心度结果（按节点下标）
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Scores {
+        private final GraphSnapshot snapshot;
+        private final double[] betweenness;
+        private final double[] closeness;
+    }
+}
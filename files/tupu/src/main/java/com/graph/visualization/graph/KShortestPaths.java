@@ -0,0 +1,161 @@
+package com.graph.visualization.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * K 条最短无环路径（Yen 算法，无向）
+ * <p>
+ * 每条新路径只从上一条路径的偏离点之后开始生成偏离路径（Lawler 改进），
+ * 偏离搜索以到目标节点的反向最短路径树作为 A* 启发值：禁用节点和边只会使真实距离变大，
+ * 因此该启发值在整个过程中始终是一致的下界，偏离搜索通常只需沿最短路径树扩展很少的节点。
+ */
+public final class KShortestPaths {
+
+    private KShortestPaths() {
+    }
+
+    /**
+     * 按代价从小到大查找前 k 条无环路径
+     *
+     * @param maxHops 路径最大跳数，为空表示不限制
+     */
+    public static List<GraphPath> find(GraphSnapshot snapshot, EdgeCostModel costModel, int source, int target,
+                                       int k, Integer maxHops) {
+        List<GraphPath> result = new ArrayList<>();
+        if (k <= 0) {
+            return result;
+        }
+
+        double[] toTarget = WeightedPathSearch.distancesFrom(snapshot, costModel, target);
+        if (toTarget[source] == Double.POSITIVE_INFINITY) {
+            return result;
+        }
+        IntToDoubleFunction heuristic = v -> toTarget[v];
+        WeightedPathSearch search = new WeightedPathSearch(snapshot, costModel);
+
+        GraphPath first = search.search(source, target, maxHops, heuristic, null, null);
+        if (first == null) {
+            return result;
+        }
+
+        List<Candidate> accepted = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(
+                Comparator.<Candidate>comparingDouble(c -> c.path.getCost()).thenComparingInt(c -> c.path.length()));
+        Set<EdgeSequence> seen = new HashSet<>();
+        seen.add(new EdgeSequence(first.getEdges()));
+        candidates.add(new Candidate(first, 0));
+
+        BitSet bannedNodes = new BitSet(snapshot.nodeCount());
+        BitSet bannedEdges = new BitSet(snapshot.edgeCount());
+        while (!candidates.isEmpty() && accepted.size() < k) {
+            Candidate current = candidates.poll();
+            accepted.add(current);
+            result.add(current.path);
+            if (accepted.size() == k) {
+                break;
+            }
+
+            int[] nodes = current.path.getNodes();
+            int[] edges = current.path.getEdges();
+            double rootCost = 0;
+            for (int i = 0; i < current.deviation; i++) {
+                rootCost += costModel.cost(snapshot, edges[i]);
+            }
+
+            for (int i = current.deviation; i < edges.length; i++) {
+                if (maxHops == null || i < maxHops) {
+                    bannedNodes.clear();
+                    bannedEdges.clear();
+                    // 禁用与当前根路径相同的已选路径在偏离点的下一条边
+                    for (Candidate path : accepted) {
+                        if (sharesRoot(path.path, nodes, edges, i)) {
+                            bannedEdges.set(path.path.getEdges()[i]);
+                        }
+                    }
+                    // 根路径上的节点（偏离点除外）不能再次经过，保证路径无环
+                    for (int j = 0; j < i; j++) {
+                        bannedNodes.set(nodes[j]);
+                    }
+
+                    GraphPath spur = search.search(nodes[i], target, maxHops == null ? null : maxHops - i,
+                            heuristic, bannedNodes, bannedEdges);
+                    if (spur != null) {
+                        GraphPath path = join(nodes, edges, i, rootCost, spur);
+                        if (seen.add(new EdgeSequence(path.getEdges()))) {
+                            candidates.add(new Candidate(path, i));
+                        }
+                    }
+                }
+                rootCost += costModel.cost(snapshot, edges[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 判断路径的前 length 条边是否与根路径相同
+     */
+    private static boolean sharesRoot(GraphPath path, int[] nodes, int[] edges, int length) {
+        if (path.length() <= length) {
+            return false;
+        }
+        return Arrays.equals(path.getEdges(), 0, length, edges, 0, length)
+                && path.getNodes()[0] == nodes[0];
+    }
+
+    /**
+     * 拼接根路径（前 rootLength 条边）与偏离路径
+     */
+    private static GraphPath join(int[] nodes, int[] edges, int rootLength, double rootCost, GraphPath spur) {
+        int length = rootLength + spur.length();
+        int[] joinedNodes = Arrays.copyOf(nodes, length + 1);
+        int[] joinedEdges = Arrays.copyOf(edges, length);
+        System.arraycopy(spur.getNodes(), 0, joinedNodes, rootLength, spur.getNodes().length);
+        System.arraycopy(spur.getEdges(), 0, joinedEdges, rootLength, spur.length());
+        return new GraphPath(joinedNodes, joinedEdges, rootCost + spur.getCost());
+    }
+
+    /**
+     * 候选路径及其偏离点位置
+     */
+    private static final class Candidate {
+        private final GraphPath path;
+        private final int deviation;
+
+        private Candidate(GraphPath path, int deviation) {
+            this.path = path;
+            this.deviation = deviation;
+        }
+    }
+
+    /**
+     * 以边序列标识路径，用于候选路径去重
+     */
+    private static final class EdgeSequence {
+        private final int[] edges;
+        private final int hash;
+
+        private EdgeSequence(int[] edges) {
+            this.edges = edges;
+            this.hash = Arrays.hashCode(edges);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof EdgeSequence && Arrays.equals(edges, ((EdgeSequence) o).edges);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.graph.visualization.graph;
+
+import java.util.Arrays;
+
+/**
+ * 路标（landmark）索引，为 A* 搜索提供基于三角不等式的下界（ALT 启发式）
+ * <p>
+ * 对于无向图，任意路标 L 满足 d(v, t) >= |d(L, t) - d(L, v)|，取所有路标中的最大值作为启发值，
+ * 该启发函数是一致的。路标采用最远点策略选取：优先选取尚未被任何路标覆盖的连通分量中的节点，
+ * 其次选取与已有路标距离最远的节点。
+ */
+public final class LandmarkIndex {
+
+    private final double[][] distances;
+
+    private LandmarkIndex(double[][] distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * 构建路标索引
+     *
+     * @param landmarkCount 路标数量
+     */
+    public static LandmarkIndex build(GraphSnapshot snapshot, EdgeCostModel costModel, int landmarkCount) {
+        int nodeCount = snapshot.nodeCount();
+        double[] nearest = new double[nodeCount]; // 到已选路标的最小距离
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+
+        // 第一个路标取度最大的节点
+        int landmark = -1;
+        for (int v = 0; v < nodeCount; v++) {
+            if (snapshot.isNodeActive(v) && (landmark < 0 || snapshot.degree(v) > snapshot.degree(landmark))) {
+                landmark = v;
+            }
+        }
+
+        double[][] distances = new double[Math.max(0, landmarkCount)][];
+        int built = 0;
+        while (landmark >= 0 && built < distances.length) {
+            double[] distance = WeightedPathSearch.distancesFrom(snapshot, costModel, landmark);
+            distances[built++] = distance;
+
+            int next = -1;
+            double farthest = -1;
+            for (int v = 0; v < nodeCount; v++) {
+                if (!snapshot.isNodeActive(v)) {
+                    continue;
+                }
+                nearest[v] = Math.min(nearest[v], distance[v]);
+                if (nearest[v] > farthest && nearest[v] > 0) {
+                    farthest = nearest[v];
+                    next = v;
+                }
+            }
+            landmark = next;
+        }
+
+        double[][] result = new double[built][];
+        System.arraycopy(distances, 0, result, 0, built);
+        return new LandmarkIndex(result);
+    }
+
+    /**
+     * 估计节点 v 到目标节点的最小代价下界
+     */
+    public double estimate(int v, int target) {
+        double best = 0;
+        for (double[] distance : distances) {
+            double toTarget = distance[target];
+            double toNode = distance[v];
+            if (toTarget == Double.POSITIVE_INFINITY || toNode == Double.POSITIVE_INFINITY) {
+                continue; // 路标与节点不在同一连通分量，无法提供下界
+            }
+            double bound = Math.abs(toTarget - toNode);
+            if (bound > best) {
+                best = bound;
+            }
+        }
+        return best;
+    }
+}
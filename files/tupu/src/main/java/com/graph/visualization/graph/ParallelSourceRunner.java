@@ -0,0 +1,95 @@
+package com.graph.visualization.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 多源计算的并行执行器
+ * <p>
+ * 各源节点的计算相互独立。执行器向线程池提交与并行度相同数量的工作任务，
+ * 每个工作任务创建一份自己的工作区（如最短路径工作数组和局部结果），
+ * 然后从共享计数器中按块领取源节点直到全部处理完毕，因此工作区在整个计算中只分配一次且无需加锁。
+ * 调用方在返回后合并各工作区的局部结果。
+ */
+public final class ParallelSourceRunner {
+
+    /**
+     * 每次领取的源节点数量
+     */
+    private static final int CHUNK_SIZE = 16;
+
+    private ParallelSourceRunner() {
+    }
+
+    /**
+     * 单个源节点的计算
+     */
+    @FunctionalInterface
+    public interface SourceTask<W> {
+        void process(W workspace, int source);
+    }
+
+    /**
+     * 对所有源节点执行计算
+     *
+     * @param pool             线程池，为空时在当前线程顺序执行
+     * @param sources          源节点下标
+     * @param workspaceFactory 工作区工厂，每个工作任务调用一次
+     * @return 各工作任务使用的工作区
+     */
+    public static <W> List<W> run(ForkJoinPool pool, int[] sources, Supplier<W> workspaceFactory,
+                                  SourceTask<W> task) {
+        return run(pool, sources, workspaceFactory, task, ProgressMonitor.NONE);
+    }
+
+    /**
+     * 对所有源节点执行计算，每处理完一块源节点报告一次进度并检查是否已取消
+     *
+     * @throws java.util.concurrent.CancellationException 计算被取消
+     */
+    public static <W> List<W> run(ForkJoinPool pool, int[] sources, Supplier<W> workspaceFactory,
+                                  SourceTask<W> task, ProgressMonitor monitor) {
+        monitor.start(sources.length);
+        List<W> workspaces = new ArrayList<>();
+        if (pool == null || sources.length <= CHUNK_SIZE) {
+            W workspace = workspaceFactory.get();
+            for (int start = 0; start < sources.length; start += CHUNK_SIZE) {
+                monitor.checkCancelled();
+                int end = Math.min(start + CHUNK_SIZE, sources.length);
+                for (int j = start; j < end; j++) {
+                    task.process(workspace, sources[j]);
+                }
+                monitor.advance(end - start);
+            }
+            workspaces.add(workspace);
+            return workspaces;
+        }
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        int workerCount = Math.min(pool.getParallelism(), (sources.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        List<ForkJoinTask<W>> workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(pool.submit(() -> {
+                W workspace = workspaceFactory.get();
+                int start;
+                while ((start = nextChunk.getAndAdd(CHUNK_SIZE)) < sources.length) {
+                    monitor.checkCancelled();
+                    int end = Math.min(start + CHUNK_SIZE, sources.length);
+                    for (int j = start; j < end; j++) {
+                        task.process(workspace, sources[j]);
+                    }
+                    monitor.advance(end - start);
+                }
+                return workspace;
+            }));
+        }
+        for (ForkJoinTask<W> worker : workers) {
+            workspaces.add(worker.join());
+        }
+        return workspaces;
+    }
+}
@@ -0,0 +1,234 @@
+package com.graph.visualization.graph;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 基于幂迭代的 PageRank 与特征向量中心性
+ * <p>
+ * 迭代在两块预先分配的 double[] 缓冲区之间交替进行，每轮按节点区间并行拉取（pull）邻居的上一轮值，
+ * 写入只发生在各自区间内，因此无需同步；每轮不分配新的数组。
+ */
+public final class PowerIteration {
+
+    /**
+     * 并行计算时每个区间的最小节点数
+     */
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private PowerIteration() {
+    }
+
+    /**
+     * 幂迭代结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Result {
+        /**
+         * 按节点下标存储的中心度值
+         */
+        private final double[] values;
+        private final int iterations;
+        private final boolean converged;
+    }
+
+    /**
+     * 按节点区间计算并返回该区间的部分和
+     */
+    @FunctionalInterface
+    private interface RangeFunction {
+        double apply(int start, int end);
+    }
+
+    /**
+     * PageRank（有向，沿关系方向传播）
+     *
+     * @param damping         阻尼系数
+     * @param personalization 按节点下标的个性化向量（和为1），为空时在所有有效节点上均匀分布
+     * @param tolerance       收敛阈值：两轮之间 L1 差值小于 节点数×tolerance 时停止
+     * @param pool            线程池，为空时顺序执行
+     * @param monitor         进度回调，每轮迭代报告一次
+     */
+    public static Result pageRank(GraphSnapshot snapshot, ForkJoinPool pool, double damping, double[] personalization,
+                                  double tolerance, int maxIterations, ProgressMonitor monitor) {
+        int nodeCount = snapshot.nodeCount();
+        int activeCount = snapshot.activeNodeCount();
+        double[] restart = personalization;
+        if (restart == null) {
+            restart = new double[nodeCount];
+            for (int v = 0; v < nodeCount; v++) {
+                if (snapshot.isNodeActive(v)) {
+                    restart[v] = 1.0 / activeCount;
+                }
+            }
+        }
+        double[] teleport = restart;
+
+        // 出度的倒数，出度为0的节点（悬挂节点）的值按个性化向量重新分配
+        double[] inverseOutDegree = new double[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            int outDegree = snapshot.rowEnd(v, true) - snapshot.rowStart(v, true);
+            inverseOutDegree[v] = outDegree > 0 ? 1.0 / outDegree : 0;
+        }
+
+        double[] current = teleport.clone();
+        double[] next = new double[nodeCount];
+        int iteration = 0;
+        boolean converged = false;
+        monitor.start(maxIterations);
+        while (iteration < maxIterations && !converged) {
+            monitor.checkCancelled();
+            double[] previous = current;
+            double[] updated = next;
+            double dangling = sum(pool, nodeCount, (start, end) -> {
+                double partial = 0;
+                for (int v = start; v < end; v++) {
+                    if (inverseOutDegree[v] == 0 && snapshot.isNodeActive(v)) {
+                        partial += previous[v];
+                    }
+                }
+                return partial;
+            });
+            double difference = sum(pool, nodeCount, (start, end) -> {
+                double partial = 0;
+                for (int v = start; v < end; v++) {
+                    if (!snapshot.isNodeActive(v)) {
+                        updated[v] = 0;
+                        continue;
+                    }
+                    double incoming = 0;
+                    int[] edges = snapshot.rowEdges(v, false);
+                    for (int p = snapshot.rowStart(v, false), rowEnd = snapshot.rowEnd(v, false); p < rowEnd; p++) {
+                        int u = snapshot.edgeSource(edges[p]);
+                        incoming += previous[u] * inverseOutDegree[u];
+                    }
+                    double value = (1 - damping) * teleport[v] + damping * (incoming + dangling * teleport[v]);
+                    updated[v] = value;
+                    partial += Math.abs(value - previous[v]);
+                }
+                return partial;
+            });
+            current = updated;
+            next = previous;
+            iteration++;
+            converged = difference < activeCount * tolerance;
+            monitor.advance(1);
+        }
+        return new Result(current, iteration, converged);
+    }
+
+    /**
+     * 特征向量中心性（无向）
+     * <p>
+     * 对 A+I 做幂迭代：与邻接矩阵 A 的主特征向量相同，但在二部图上同样收敛。结果按 L2 范数归一化。
+     *
+     * @param tolerance 收敛阈值：两轮之间 L1 差值小于 节点数×tolerance 时停止
+     * @param monitor   进度回调，每轮迭代报告一次
+     */
+    public static Result eigenvector(GraphSnapshot snapshot, ForkJoinPool pool, double tolerance, int maxIterations,
+                                     ProgressMonitor monitor) {
+        int nodeCount = snapshot.nodeCount();
+        int activeCount = snapshot.activeNodeCount();
+        double[] current = new double[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            if (snapshot.isNodeActive(v)) {
+                current[v] = 1.0 / activeCount;
+            }
+        }
+        double[] next = new double[nodeCount];
+        int iteration = 0;
+        boolean converged = false;
+        monitor.start(maxIterations);
+        while (iteration < maxIterations && !converged) {
+            monitor.checkCancelled();
+            double[] previous = current;
+            double[] updated = next;
+            double squaredNorm = sum(pool, nodeCount, (start, end) -> {
+                double partial = 0;
+                for (int v = start; v < end; v++) {
+                    if (!snapshot.isNodeActive(v)) {
+                        updated[v] = 0;
+                        continue;
+                    }
+                    double value = previous[v];
+                    for (int direction = 0; direction < 2; direction++) {
+                        boolean outgoing = direction == 0;
+                        int[] edges = snapshot.rowEdges(v, outgoing);
+                        for (int p = snapshot.rowStart(v, outgoing), rowEnd = snapshot.rowEnd(v, outgoing); p < rowEnd; p++) {
+                            value += previous[snapshot.opposite(edges[p], v)];
+                        }
+                    }
+                    updated[v] = value;
+                    partial += value * value;
+                }
+                return partial;
+            });
+            double norm = squaredNorm > 0 ? Math.sqrt(squaredNorm) : 1;
+            double difference = sum(pool, nodeCount, (start, end) -> {
+                double partial = 0;
+                for (int v = start; v < end; v++) {
+                    updated[v] /= norm;
+                    partial += Math.abs(updated[v] - previous[v]);
+                }
+                return partial;
+            });
+            current = updated;
+            next = previous;
+            iteration++;
+            converged = difference < activeCount * tolerance;
+            monitor.advance(1);
+        }
+        return new Result(current, iteration, converged);
+    }
+
+    /**
+     * 将 [0, n) 划分为区间分别计算后求和，pool 为空或 n 较小时在当前线程顺序执行
+     */
+    private static double sum(ForkJoinPool pool, int n, RangeFunction function) {
+        if (pool == null || n < 2 * MIN_CHUNK_SIZE) {
+            return function.apply(0, n);
+        }
+        int chunkCount = Math.min(pool.getParallelism() * 4, n / MIN_CHUNK_SIZE);
+        int chunkSize = (n + chunkCount - 1) / chunkCount;
+        List<ForkJoinTask<Double>> tasks = new ArrayList<>(chunkCount);
+        for (int start = 0; start < n; start += chunkSize) {
+            int chunkStart = start;
+            int chunkEnd = Math.min(start + chunkSize, n);
+            tasks.add(pool.submit(() -> function.apply(chunkStart, chunkEnd)));
+        }
+        // 按区间顺序求和，结果与执行顺序无关
+        double total = 0;
+        for (ForkJoinTask<Double> task : tasks) {
+            total += task.join();
+        }
+        return total;
+    }
+
+    /**
+     * 将按节点下标的权重归一化为个性化向量（忽略无效节点和非正权重），权重全部无效时返回null
+     */
+    public static double[] normalize(GraphSnapshot snapshot, double[] weights) {
+        double total = 0;
+        for (int v = 0; v < weights.length; v++) {
+            if (snapshot.isNodeActive(v) && weights[v] > 0) {
+                total += weights[v];
+            }
+        }
+        if (total <= 0) {
+            return null;
+        }
+        double[] normalized = new double[weights.length];
+        for (int v = 0; v < weights.length; v++) {
+            if (snapshot.isNodeActive(v) && weights[v] > 0) {
+                normalized[v] = weights[v] / total;
+            }
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,55 @@
+package com.graph.visualization.graph;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * 长时间计算的进度回调与取消检查
+ * <p>
+ * 实现必须是线程安全的：并行计算时多个工作线程会同时调用。
+ */
+public interface ProgressMonitor {
+
+    /**
+     * 不记录进度、永不取消的空实现
+     */
+    ProgressMonitor NONE = new ProgressMonitor() {
+        @Override
+        public void start(long total) {
+        }
+
+        @Override
+        public void advance(long amount) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * 开始一个新的计算阶段
+     *
+     * @param total 该阶段的工作量（例如源节点数或最大迭代次数）
+     */
+    void start(long total);
+
+    /**
+     * 完成了一部分工作
+     */
+    void advance(long amount);
+
+    /**
+     * 计算是否已被取消
+     */
+    boolean isCancelled();
+
+    /**
+     * 已取消时抛出 {@link CancellationException}
+     */
+    default void checkCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("计算已取消");
+        }
+    }
+}
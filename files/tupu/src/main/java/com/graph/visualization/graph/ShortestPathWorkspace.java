@@ -0,0 +1,166 @@
+package com.graph.visualization.graph;
+
+import java.util.Arrays;
+
+/**
+ * 单源最短路径（无向、按跳数）的工作数组
+ * <p>
+ * 持有按节点数分配的距离、最短路径数、依赖值和访问队列，每次搜索后只重置访问过的位置，
+ * 同一实例可以对多个源节点依次复用。实例不是线程安全的，并行计算时每个工作线程使用各自的实例。
+ */
+public final class ShortestPathWorkspace {
+
+    private final GraphSnapshot snapshot;
+
+    /**
+     * 到源节点的跳数，未访问为-1
+     */
+    private final int[] distance;
+
+    /**
+     * 源节点到各节点的最短路径数（平行边分别计数）
+     */
+    private final double[] sigma;
+
+    /**
+     * Brandes 依赖值
+     */
+    private final double[] delta;
+
+    /**
+     * 按距离排序的访问队列，queue[0..reached) 有效
+     */
+    private final int[] queue;
+    private int reached;
+
+    public ShortestPathWorkspace(GraphSnapshot snapshot) {
+        this.snapshot = snapshot;
+        int nodeCount = snapshot.nodeCount();
+        this.distance = new int[nodeCount];
+        this.sigma = new double[nodeCount];
+        this.delta = new double[nodeCount];
+        this.queue = new int[nodeCount];
+        Arrays.fill(distance, -1);
+    }
+
+    /**
+     * 广度优先搜索计算从源节点到所有可达节点的跳数
+     *
+     * @param countPaths 是否同时统计最短路径数
+     * @return 可达节点数量（包含源节点）
+     */
+    public int search(int source, boolean countPaths) {
+        reset();
+        int head = 0;
+        int tail = 0;
+        distance[source] = 0;
+        sigma[source] = 1;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int nextDistance = distance[current] + 1;
+            for (int direction = 0; direction < 2; direction++) {
+                boolean outgoing = direction == 0;
+                int[] edges = snapshot.rowEdges(current, outgoing);
+                for (int p = snapshot.rowStart(current, outgoing), end = snapshot.rowEnd(current, outgoing); p < end; p++) {
+                    int neighbor = snapshot.opposite(edges[p], current);
+                    if (distance[neighbor] < 0) {
+                        distance[neighbor] = nextDistance;
+                        queue[tail++] = neighbor;
+                    }
+                    if (countPaths && distance[neighbor] == nextDistance) {
+                        sigma[neighbor] += sigma[current];
+                    }
+                }
+            }
+        }
+
+        reached = tail;
+        return tail;
+    }
+
+    /**
+     * 在 {@link #search(int, boolean)}（统计最短路径数）之后按 Brandes 算法反向累加依赖值，
+     * 并将源节点对各中介节点的贡献加到 betweenness 上
+     *
+     * @param scale 贡献的缩放系数（精确计算时为1）
+     */
+    public void accumulate(double[] betweenness, double scale) {
+        // 按距离从远到近处理，前驱为距离恰好小一的邻居
+        for (int i = reached - 1; i > 0; i--) {
+            int current = queue[i];
+            int previousDistance = distance[current] - 1;
+            double coefficient = (1.0 + delta[current]) / sigma[current];
+            for (int direction = 0; direction < 2; direction++) {
+                boolean outgoing = direction == 0;
+                int[] edges = snapshot.rowEdges(current, outgoing);
+                for (int p = snapshot.rowStart(current, outgoing), end = snapshot.rowEnd(current, outgoing); p < end; p++) {
+                    int neighbor = snapshot.opposite(edges[p], current);
+                    if (distance[neighbor] == previousDistance) {
+                        delta[neighbor] += sigma[neighbor] * coefficient;
+                    }
+                }
+            }
+            betweenness[current] += delta[current] * scale;
+        }
+    }
+
+    /**
+     * 在 {@link #search(int, boolean)}（统计最短路径数）之后，按最短路径数加权随机选取节点的一个前驱，
+     * 从目标节点反复调用即可在所有最短路径中均匀随机地抽取一条
+     *
+     * @param random [0, 1) 之间的随机数
+     */
+    public int samplePredecessor(int v, double random) {
+        double threshold = random * sigma[v];
+        int previousDistance = distance[v] - 1;
+        int candidate = -1;
+        for (int direction = 0; direction < 2; direction++) {
+            boolean outgoing = direction == 0;
+            int[] edges = snapshot.rowEdges(v, outgoing);
+            for (int p = snapshot.rowStart(v, outgoing), end = snapshot.rowEnd(v, outgoing); p < end; p++) {
+                int neighbor = snapshot.opposite(edges[p], v);
+                if (distance[neighbor] == previousDistance) {
+                    candidate = neighbor;
+                    threshold -= sigma[neighbor];
+                    if (threshold < 0) {
+                        return neighbor;
+                    }
+                }
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * 到源节点的跳数，未访问为-1
+     */
+    public int distance(int v) {
+        return distance[v];
+    }
+
+    /**
+     * 按距离排序的第 i 个可达节点（第0个为源节点）
+     */
+    public int reachedNode(int i) {
+        return queue[i];
+    }
+
+    /**
+     * 本次搜索到的可达节点数量（包含源节点）
+     */
+    public int reached() {
+        return reached;
+    }
+
+    private void reset() {
+        for (int i = 0; i < reached; i++) {
+            int v = queue[i];
+            distance[v] = -1;
+            sigma[v] = 0;
+            delta[v] = 0;
+        }
+        reached = 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.graph.visualization.graph;
+
+/**
+ * 按中心度值选取前 k 个节点
+ * <p>
+ * 维护容量为 k 的最小堆（堆顶为当前入选节点中最差的一个），逐个扫描节点，
+ * 只有优于堆顶的节点才替换堆顶并下沉，复杂度 O(n log k)，不需要对全部节点排序。
+ * 值相同时节点ID较小的优先，结果与节点下标的分配顺序无关。
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * 选取快照中有效节点按值从大到小的前 k 个
+     *
+     * @param values 按节点下标存储的值
+     * @return 入选节点的下标，按值从大到小排列
+     */
+    public static int[] select(GraphSnapshot snapshot, double[] values, int k) {
+        int limit = Math.min(k, snapshot.activeNodeCount());
+        if (limit <= 0) {
+            return new int[0];
+        }
+        int[] heap = new int[limit];
+        int size = 0;
+        for (int v = 0; v < snapshot.nodeCount(); v++) {
+            if (!snapshot.isNodeActive(v)) {
+                continue;
+            }
+            if (size < limit) {
+                heap[size] = v;
+                siftUp(snapshot, values, heap, size++);
+            } else if (better(snapshot, values, v, heap[0])) {
+                heap[0] = v;
+                siftDown(snapshot, values, heap, size);
+            }
+        }
+
+        // 依次取出堆顶（最差的节点）从后往前填充，得到从大到小的顺序
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(snapshot, values, heap, i);
+        }
+        return result;
+    }
+
+    /**
+     * a 是否排在 b 之前
+     */
+    private static boolean better(GraphSnapshot snapshot, double[] values, int a, int b) {
+        int comparison = Double.compare(values[a], values[b]);
+        return comparison > 0 || (comparison == 0 && snapshot.nodeId(a) < snapshot.nodeId(b));
+    }
+
+    private static void siftUp(GraphSnapshot snapshot, double[] values, int[] heap, int i) {
+        int v = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(snapshot, values, heap[parent], v)) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = v;
+    }
+
+    private static void siftDown(GraphSnapshot snapshot, double[] values, int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int v = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && better(snapshot, values, heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!better(snapshot, values, v, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = v;
+    }
+}
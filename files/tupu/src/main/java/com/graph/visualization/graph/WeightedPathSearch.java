@@ -0,0 +1,223 @@
+package com.graph.visualization.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * 加权最短路径搜索（Dijkstra / A*，无向）
+ * <p>
+ * 实例持有按节点数分配的工作数组，每次搜索只重置被访问过的位置，
+ * 因此同一实例可以在一次请求内被反复调用（例如 K 条最短路径的偏离搜索）。实例不是线程安全的。
+ * <p>
+ * 限制跳数时以 (节点, 跳数) 作为搜索状态：同一节点可以以更少的跳数被再次确定，
+ * 被某个已入堆状态在代价和跳数上同时支配的状态不会入堆。
+ */
+public final class WeightedPathSearch {
+
+    private final GraphSnapshot snapshot;
+    private final EdgeCostModel costModel;
+
+    /**
+     * 已入堆的最小代价及其跳数
+     */
+    private final double[] bestCost;
+    private final int[] bestHops;
+
+    /**
+     * 已出堆（确定）的最小跳数，Integer.MAX_VALUE 表示未确定
+     */
+    private final int[] settledHops;
+    private int[] touched;
+    private int touchedCount;
+
+    private final DoubleMinHeap heap;
+
+    /**
+     * 搜索状态（节点、跳数、前驱状态、经过的边、代价），按入堆顺序编号
+     */
+    private int[] stateNode = new int[1024];
+    private int[] stateHops = new int[1024];
+    private int[] stateParent = new int[1024];
+    private int[] stateEdge = new int[1024];
+    private double[] stateCost = new double[1024];
+    private int stateCount;
+
+    public WeightedPathSearch(GraphSnapshot snapshot, EdgeCostModel costModel) {
+        this.snapshot = snapshot;
+        this.costModel = costModel;
+        int nodeCount = snapshot.nodeCount();
+        this.bestCost = new double[nodeCount];
+        this.bestHops = new int[nodeCount];
+        this.settledHops = new int[nodeCount];
+        Arrays.fill(bestCost, Double.POSITIVE_INFINITY);
+        Arrays.fill(settledHops, Integer.MAX_VALUE);
+        this.touched = new int[64];
+        this.heap = new DoubleMinHeap(1024);
+    }
+
+    /**
+     * 查找代价最小的路径
+     *
+     * @param maxHops      最大跳数，为空表示不限制
+     * @param heuristic    A* 启发函数（须为一致的下界），为空时退化为 Dijkstra
+     * @param bannedNodes  禁止经过的节点，可为空
+     * @param bannedEdges  禁止经过的边，可为空
+     * @return 最短路径，不存在时返回null
+     */
+    public GraphPath search(int source, int target, Integer maxHops, IntToDoubleFunction heuristic,
+                            BitSet bannedNodes, BitSet bannedEdges) {
+        reset();
+        if (bannedNodes != null && (bannedNodes.get(source) || bannedNodes.get(target))) {
+            return null;
+        }
+        boolean hopLimited = maxHops != null;
+        int hopLimit = hopLimited ? maxHops : Integer.MAX_VALUE;
+
+        touch(source);
+        bestCost[source] = 0;
+        bestHops[source] = 0;
+        heap.push(heuristic == null ? 0 : heuristic.applyAsDouble(source), newState(source, 0, -1, -1, 0));
+
+        while (!heap.isEmpty()) {
+            int state = heap.poll();
+            int current = stateNode[state];
+            int hops = stateHops[state];
+            if (isSettled(current, hops, hopLimited)) {
+                continue; // 已以不多于当前的跳数确定，当前状态被支配
+            }
+            settledHops[current] = hops;
+
+            if (current == target) {
+                return buildPath(state);
+            }
+            if (hops >= hopLimit) {
+                continue;
+            }
+
+            double currentCost = stateCost[state];
+            int nextHops = hops + 1;
+            for (int direction = 0; direction < 2; direction++) {
+                boolean outgoing = direction == 0;
+                int[] edges = snapshot.rowEdges(current, outgoing);
+                for (int p = snapshot.rowStart(current, outgoing), end = snapshot.rowEnd(current, outgoing); p < end; p++) {
+                    int edge = edges[p];
+                    if (bannedEdges != null && bannedEdges.get(edge)) {
+                        continue;
+                    }
+                    int next = snapshot.opposite(edge, current);
+                    if (bannedNodes != null && bannedNodes.get(next)) {
+                        continue;
+                    }
+                    if (isSettled(next, nextHops, hopLimited)) {
+                        continue;
+                    }
+                    double nextCost = currentCost + costModel.cost(snapshot, edge);
+                    touch(next);
+                    if (nextCost < bestCost[next]) {
+                        bestCost[next] = nextCost;
+                        bestHops[next] = nextHops;
+                    } else if (!hopLimited || nextHops >= bestHops[next]) {
+                        continue; // 被已入堆的状态支配
+                    }
+                    double priority = heuristic == null ? nextCost : nextCost + heuristic.applyAsDouble(next);
+                    heap.push(priority, newState(next, nextHops, state, edge, nextCost));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 节点是否已被确定：不限跳数时确定一次即可，限跳数时需以不多于给定的跳数确定
+     */
+    private boolean isSettled(int v, int hops, boolean hopLimited) {
+        return hopLimited ? settledHops[v] <= hops : settledHops[v] != Integer.MAX_VALUE;
+    }
+
+    private GraphPath buildPath(int state) {
+        int length = stateHops[state];
+        int[] nodes = new int[length + 1];
+        int[] edges = new int[length];
+        double cost = stateCost[state];
+        for (int i = length; state >= 0; i--) {
+            nodes[i] = stateNode[state];
+            if (i > 0) {
+                edges[i - 1] = stateEdge[state];
+            }
+            state = stateParent[state];
+        }
+        return new GraphPath(nodes, edges, cost);
+    }
+
+    private int newState(int node, int hops, int parent, int edge, double cost) {
+        if (stateCount == stateNode.length) {
+            int capacity = stateCount * 2;
+            stateNode = Arrays.copyOf(stateNode, capacity);
+            stateHops = Arrays.copyOf(stateHops, capacity);
+            stateParent = Arrays.copyOf(stateParent, capacity);
+            stateEdge = Arrays.copyOf(stateEdge, capacity);
+            stateCost = Arrays.copyOf(stateCost, capacity);
+        }
+        stateNode[stateCount] = node;
+        stateHops[stateCount] = hops;
+        stateParent[stateCount] = parent;
+        stateEdge[stateCount] = edge;
+        stateCost[stateCount] = cost;
+        return stateCount++;
+    }
+
+    private void touch(int v) {
+        if (bestCost[v] == Double.POSITIVE_INFINITY && settledHops[v] == Integer.MAX_VALUE) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = v;
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            bestCost[v] = Double.POSITIVE_INFINITY;
+            settledHops[v] = Integer.MAX_VALUE;
+        }
+        touchedCount = 0;
+        stateCount = 0;
+        heap.clear();
+    }
+
+    /**
+     * 计算从源节点到所有节点的最小代价（不可达为正无穷）
+     */
+    public static double[] distancesFrom(GraphSnapshot snapshot, EdgeCostModel costModel, int source) {
+        double[] distance = new double[snapshot.nodeCount()];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        boolean[] settled = new boolean[snapshot.nodeCount()];
+        DoubleMinHeap heap = new DoubleMinHeap(1024);
+        distance[source] = 0;
+        heap.push(0, source);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (settled[current]) {
+                continue;
+            }
+            settled[current] = true;
+            double currentCost = distance[current];
+            for (int direction = 0; direction < 2; direction++) {
+                boolean outgoing = direction == 0;
+                int[] edges = snapshot.rowEdges(current, outgoing);
+                for (int p = snapshot.rowStart(current, outgoing), end = snapshot.rowEnd(current, outgoing); p < end; p++) {
+                    int edge = edges[p];
+                    int next = snapshot.opposite(edge, current);
+                    double nextCost = currentCost + costModel.cost(snapshot, edge);
+                    if (nextCost < distance[next]) {
+                        distance[next] = nextCost;
+                        heap.push(nextCost, next);
+                    }
+                }
+            }
+        }
+        return distance;
+    }
+}
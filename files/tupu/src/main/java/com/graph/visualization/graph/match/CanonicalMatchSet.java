@@ -0,0 +1,55 @@
+package com.graph.visualization.graph.match;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按规范形式去重的匹配集合
+ * <p>
+ * 模式存在自同构时，同一组图节点和图边会以不同的节点映射被多次报告。
+ * 规范形式为排序后的节点下标接排序后的边下标（同一模式的匹配长度固定），只比较覆盖的节点集合和边集合。
+ * 集合是线程安全的，并行匹配的各工作线程共享同一个集合。
+ */
+public final class CanonicalMatchSet {
+
+    private final Set<Key> keys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 加入一个匹配
+     *
+     * @return 相同的节点集合和边集合此前未出现过时返回true
+     */
+    public boolean add(int[] nodes, int[] edges) {
+        int[] values = new int[nodes.length + edges.length];
+        System.arraycopy(nodes, 0, values, 0, nodes.length);
+        System.arraycopy(edges, 0, values, nodes.length, edges.length);
+        Arrays.sort(values, 0, nodes.length);
+        Arrays.sort(values, nodes.length, values.length);
+        return keys.add(new Key(values));
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private static final class Key {
+        private final int[] values;
+        private final int hash;
+
+        private Key(int[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(values, ((Key) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
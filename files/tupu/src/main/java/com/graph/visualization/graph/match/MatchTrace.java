@@ -0,0 +1,148 @@
+package com.graph.visualization.graph.match;
+
+import java.util.List;
+
+/**
+ * 匹配搜索的跟踪记录
+ * <p>
+ * 只在调用方为 {@link SubgraphMatcher.Search} 设置跟踪时才记录，未设置时搜索中只有一次空引用判断。
+ * 记录内容为计数器（尝试的候选、检查的边、回溯次数、按深度的候选尝试次数）
+ * 以及按固定间隔采样的候选尝试事件，事件保存在定长的环形缓冲区中，只保留最近的若干条。
+ * 每个搜索线程使用自己的实例，结束后由 {@link #merge} 合并，实例不是线程安全的。
+ */
+public final class MatchTrace {
+
+    private final int sampleInterval;
+    private final int[] sampleDepths;
+    private final int[] samplePatternNodes;
+    private final int[] sampleGraphNodes;
+    private final boolean[] sampleAccepted;
+    private int sampleCount;
+
+    long candidatesTried;
+    long edgesChecked;
+    long backtracks;
+    long matches;
+    final long[] candidatesByDepth;
+
+    /**
+     * @param patternSize    模式节点数
+     * @param sampleInterval 每隔多少次候选尝试采样一次
+     * @param bufferSize     环形缓冲区保留的采样事件数
+     */
+    public MatchTrace(int patternSize, int sampleInterval, int bufferSize) {
+        if (sampleInterval <= 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException("采样间隔和缓冲区大小必须大于0");
+        }
+        this.sampleInterval = sampleInterval;
+        this.sampleDepths = new int[bufferSize];
+        this.samplePatternNodes = new int[bufferSize];
+        this.sampleGraphNodes = new int[bufferSize];
+        this.sampleAccepted = new boolean[bufferSize];
+        this.candidatesByDepth = new long[patternSize];
+    }
+
+    /**
+     * 记录一次候选尝试，accepted 表示闭合的模式边是否都找到了对应的图边
+     */
+    void candidateTried(int depth, int patternNode, int graphNode, boolean accepted) {
+        if (candidatesTried++ % sampleInterval == 0) {
+            int slot = sampleCount++ % sampleDepths.length;
+            sampleDepths[slot] = depth;
+            samplePatternNodes[slot] = patternNode;
+            sampleGraphNodes[slot] = graphNode;
+            sampleAccepted[slot] = accepted;
+        }
+        candidatesByDepth[depth]++;
+    }
+
+    /**
+     * 合并多个线程的跟踪记录，采样事件按各实例依次追加
+     */
+    public static MatchTrace merge(List<MatchTrace> traces, int patternSize, int sampleInterval, int bufferSize) {
+        MatchTrace merged = new MatchTrace(patternSize, sampleInterval, bufferSize);
+        for (MatchTrace trace : traces) {
+            merged.candidatesTried += trace.candidatesTried;
+            merged.edgesChecked += trace.edgesChecked;
+            merged.backtracks += trace.backtracks;
+            merged.matches += trace.matches;
+            for (int depth = 0; depth < patternSize; depth++) {
+                merged.candidatesByDepth[depth] += trace.candidatesByDepth[depth];
+            }
+            for (int i = 0; i < trace.sampleSize(); i++) {
+                int slot = merged.sampleCount++ % merged.sampleDepths.length;
+                merged.sampleDepths[slot] = trace.sampleDepth(i);
+                merged.samplePatternNodes[slot] = trace.samplePatternNode(i);
+                merged.sampleGraphNodes[slot] = trace.sampleGraphNode(i);
+                merged.sampleAccepted[slot] = trace.isSampleAccepted(i);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 尝试映射的候选节点数
+     */
+    public long candidatesTried() {
+        return candidatesTried;
+    }
+
+    /**
+     * 扩展和闭合模式边时检查的邻接边数
+     */
+    public long edgesChecked() {
+        return edgesChecked;
+    }
+
+    /**
+     * 没有产生任何匹配就被撤销的候选映射数
+     */
+    public long backtracks() {
+        return backtracks;
+    }
+
+    /**
+     * 搜索报告的匹配数（去重之前）
+     */
+    public long matches() {
+        return matches;
+    }
+
+    /**
+     * 第 depth 层（按匹配顺序）尝试的候选节点数
+     */
+    public long candidatesTriedAtDepth(int depth) {
+        return candidatesByDepth[depth];
+    }
+
+    /**
+     * 缓冲区中保留的采样事件数
+     */
+    public int sampleSize() {
+        return Math.min(sampleCount, sampleDepths.length);
+    }
+
+    /**
+     * 第 i 个保留的采样事件（按时间从早到晚）在缓冲区中的位置
+     */
+    private int slot(int i) {
+        int start = sampleCount > sampleDepths.length ? sampleCount % sampleDepths.length : 0;
+        return (start + i) % sampleDepths.length;
+    }
+
+    public int sampleDepth(int i) {
+        return sampleDepths[slot(i)];
+    }
+
+    public int samplePatternNode(int i) {
+        return samplePatternNodes[slot(i)];
+    }
+
+    public int sampleGraphNode(int i) {
+        return sampleGraphNodes[slot(i)];
+    }
+
+    public boolean isSampleAccepted(int i) {
+        return sampleAccepted[slot(i)];
+    }
+}
@@ -0,0 +1,87 @@
+package com.graph.visualization.graph.match;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 待匹配的模式图
+ * <p>
+ * 模式节点和模式边按添加顺序编号。节点可以限定类型，边是有向的，可以限定关系类型和关系名称，
+ * 限定条件为空表示匹配任意值。
+ */
+public final class Pattern {
+
+    private final List<NodeTypeEnum> nodeTypes = new ArrayList<>();
+    private final List<PatternEdge> edges = new ArrayList<>();
+
+    /**
+     * 添加模式节点
+     *
+     * @param nodeType 节点类型，为空时匹配任意类型
+     * @return 模式节点编号
+     */
+    public int addNode(NodeTypeEnum nodeType) {
+        nodeTypes.add(nodeType);
+        return nodeTypes.size() - 1;
+    }
+
+    /**
+     * 添加从 source 指向 target 的模式边
+     *
+     * @param relationshipType 关系类型，为空时匹配任意类型
+     * @param relationshipName 关系名称，为空时匹配任意名称
+     * @return 模式边编号
+     */
+    public int addEdge(int source, int target, RelationshipTypeEnum relationshipType, String relationshipName) {
+        if (source < 0 || source >= nodeTypes.size() || target < 0 || target >= nodeTypes.size()) {
+            throw new IllegalArgumentException("模式边的端点不存在: " + source + " -> " + target);
+        }
+        edges.add(new PatternEdge(source, target, relationshipType, relationshipName));
+        return edges.size() - 1;
+    }
+
+    public int nodeCount() {
+        return nodeTypes.size();
+    }
+
+    public int edgeCount() {
+        return edges.size();
+    }
+
+    public NodeTypeEnum nodeType(int p) {
+        return nodeTypes.get(p);
+    }
+
+    public int edgeSource(int pe) {
+        return edges.get(pe).source;
+    }
+
+    public int edgeTarget(int pe) {
+        return edges.get(pe).target;
+    }
+
+    public RelationshipTypeEnum edgeType(int pe) {
+        return edges.get(pe).relationshipType;
+    }
+
+    public String edgeName(int pe) {
+        return edges.get(pe).relationshipName;
+    }
+
+    private static final class PatternEdge {
+        private final int source;
+        private final int target;
+        private final RelationshipTypeEnum relationshipType;
+        private final String relationshipName;
+
+        private PatternEdge(int source, int target, RelationshipTypeEnum relationshipType, String relationshipName) {
+            this.source = source;
+            this.target = target;
+            this.relationshipType = relationshipType;
+            this.relationshipName = relationshipName;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.graph.visualization.graph.match;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.graph.GraphSnapshot;
+
+import java.util.Arrays;
+
+/**
+ * 模式匹配的标签索引
+ * <p>
+ * 按节点类型以及“具有某名称的出边/入边”分别保存有序的节点下标数组，
+ * 用于快速得到模式节点的候选集合，而不必扫描全部节点；各分组的大小及按名称的边数同时作为查询计划的基数统计。
+ * 索引对应一个不可变的快照，构建代价为 O(V+E)。
+ */
+public final class PatternIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final GraphSnapshot snapshot;
+
+    /**
+     * 按节点类型序号+1（0表示类型为空）分组的节点
+     */
+    private final int[][] nodesByType;
+
+    /**
+     * 按关系名称编码分组的、具有该名称出边（入边）的节点
+     */
+    private final int[][] nodesByOutName;
+    private final int[][] nodesByInName;
+
+    /**
+     * 按关系名称编码统计的有效边数
+     */
+    private final int[] edgeCountsByName;
+
+    private PatternIndex(GraphSnapshot snapshot, int[][] nodesByType, int[][] nodesByOutName,
+                         int[][] nodesByInName, int[] edgeCountsByName) {
+        this.snapshot = snapshot;
+        this.nodesByType = nodesByType;
+        this.nodesByOutName = nodesByOutName;
+        this.nodesByInName = nodesByInName;
+        this.edgeCountsByName = edgeCountsByName;
+    }
+
+    /**
+     * 为快照构建索引
+     */
+    public static PatternIndex build(GraphSnapshot snapshot) {
+        int nodeCount = snapshot.nodeCount();
+        int[] typeCounts = new int[NodeTypeEnum.values().length + 1];
+        for (int v = 0; v < nodeCount; v++) {
+            if (snapshot.isNodeActive(v)) {
+                typeCounts[typeSlot(snapshot.nodeType(v))]++;
+            }
+        }
+        int[][] nodesByType = new int[typeCounts.length][];
+        for (int t = 0; t < typeCounts.length; t++) {
+            nodesByType[t] = new int[typeCounts[t]];
+        }
+        int[] filled = new int[typeCounts.length];
+        for (int v = 0; v < nodeCount; v++) {
+            if (snapshot.isNodeActive(v)) {
+                int slot = typeSlot(snapshot.nodeType(v));
+                nodesByType[slot][filled[slot]++] = v;
+            }
+        }
+        int[] edgeCountsByName = new int[snapshot.relationshipNameCount()];
+        for (int e = 0; e < snapshot.edgeCount(); e++) {
+            if (snapshot.isEdgeActive(e) && snapshot.edgeNameCode(e) >= 0) {
+                edgeCountsByName[snapshot.edgeNameCode(e)]++;
+            }
+        }
+        return new PatternIndex(snapshot, nodesByType, groupByName(snapshot, true), groupByName(snapshot, false),
+                edgeCountsByName);
+    }
+
+    /**
+     * 按关系名称分组具有该名称出边（入边）的节点：先计数再填充，节点按下标递增遍历，因此各组天然有序
+     */
+    private static int[][] groupByName(GraphSnapshot snapshot, boolean outgoing) {
+        int nameCount = snapshot.relationshipNameCount();
+        int[] counts = new int[nameCount];
+        int[] lastNode = new int[nameCount];
+        Arrays.fill(lastNode, -1);
+        forEachNodeName(snapshot, outgoing, lastNode, (v, code) -> counts[code]++);
+
+        int[][] groups = new int[nameCount][];
+        for (int c = 0; c < nameCount; c++) {
+            groups[c] = new int[counts[c]];
+        }
+        int[] filled = new int[nameCount];
+        Arrays.fill(lastNode, -1);
+        forEachNodeName(snapshot, outgoing, lastNode, (v, code) -> groups[code][filled[code]++] = v);
+        return groups;
+    }
+
+    /**
+     * 对每个节点的每个不同的出边（入边）名称调用一次 action
+     */
+    private static void forEachNodeName(GraphSnapshot snapshot, boolean outgoing, int[] lastNode,
+                                        NodeNameAction action) {
+        for (int v = 0; v < snapshot.nodeCount(); v++) {
+            if (!snapshot.isNodeActive(v)) {
+                continue;
+            }
+            int[] edges = snapshot.rowEdges(v, outgoing);
+            for (int p = snapshot.rowStart(v, outgoing), end = snapshot.rowEnd(v, outgoing); p < end; p++) {
+                int code = snapshot.edgeNameCode(edges[p]);
+                if (code >= 0 && lastNode[code] != v) {
+                    lastNode[code] = v;
+                    action.accept(v, code);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface NodeNameAction {
+        void accept(int v, int nameCode);
+    }
+
+    private static int typeSlot(NodeTypeEnum nodeType) {
+        return nodeType == null ? 0 : nodeType.ordinal() + 1;
+    }
+
+    /**
+     * 索引对应的快照
+     */
+    public GraphSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 指定类型的节点（有序）
+     */
+    public int[] nodesOfType(NodeTypeEnum nodeType) {
+        return nodesByType[typeSlot(nodeType)];
+    }
+
+    /**
+     * 具有指定名称出边（outgoing 为 false 时为入边）的节点（有序），名称编码无效时返回空数组
+     */
+    public int[] nodesWithEdgeName(int nameCode, boolean outgoing) {
+        int[][] groups = outgoing ? nodesByOutName : nodesByInName;
+        return nameCode >= 0 && nameCode < groups.length ? groups[nameCode] : EMPTY;
+    }
+
+    /**
+     * 指定名称的有效边数，名称编码无效时返回0
+     */
+    public int edgeCountWithName(int nameCode) {
+        return nameCode >= 0 && nameCode < edgeCountsByName.length ? edgeCountsByName[nameCode] : 0;
+    }
+}
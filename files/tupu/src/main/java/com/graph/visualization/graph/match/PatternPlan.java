@@ -0,0 +1,229 @@
+package com.graph.visualization.graph.match;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+
+import java.util.Arrays;
+
+/**
+ * 编译后的模式查询计划
+ * <p>
+ * 计划是模式节点的扩展顺序：从第一个节点的候选出发，依次沿与已匹配节点相连的模式边扩展下一个节点。
+ * 顺序由基于基数统计的代价模型选择：
+ * <ul>
+ *     <li>节点基数：按节点类型的节点数，以及具有所需名称出边/入边的节点数中的最小值；
+ *     名称精确匹配估计为1个节点，含通配符的名称和本体名称按固定选择率估计；</li>
+ *     <li>扩展扇出：限定名称的边为该名称的边数 / 具有该名称出边（入边）的节点数，否则为平均度；</li>
+ *     <li>代价为各步中间结果行数之和，依次尝试每个节点作为起点，每步贪心选择使中间结果最小的相邻节点。</li>
+ * </ul>
+ * 扩展顺序只影响匹配速度而不影响结果，因此计划可以在图变化后继续复用。
+ */
+public final class PatternPlan {
+
+    /**
+     * 含通配符的名称条件、本体名称条件的估计选择率
+     */
+    private static final double PREDICATE_SELECTIVITY = 0.1;
+
+    private final PatternQuery query;
+    private final int[] order;
+    private final double estimatedCost;
+
+    private PatternPlan(PatternQuery query, int[] order, double estimatedCost) {
+        this.query = query;
+        this.order = order;
+        this.estimatedCost = estimatedCost;
+    }
+
+    /**
+     * 使用索引中的基数统计为查询选择扩展顺序
+     */
+    public static PatternPlan compile(PatternQuery query, PatternIndex index) {
+        Pattern pattern = query.pattern();
+        int size = pattern.nodeCount();
+        double nodeCount = Math.max(1, index.snapshot().activeNodeCount());
+        double averageDegree = index.snapshot().activeEdgeCount() / nodeCount;
+
+        int[] nameCodes = new int[pattern.edgeCount()];
+        for (int pe = 0; pe < pattern.edgeCount(); pe++) {
+            String name = pattern.edgeName(pe);
+            nameCodes[pe] = name == null ? -1 : index.snapshot().relationshipNameCode(name);
+        }
+        double[] cardinality = new double[size];
+        for (int p = 0; p < size; p++) {
+            cardinality[p] = estimateCardinality(query, index, nameCodes, p, nodeCount);
+        }
+        // 从 source 扩展到 target（outgoing）或反向扩展的扇出
+        double[][] fanout = new double[pattern.edgeCount()][2];
+        for (int pe = 0; pe < pattern.edgeCount(); pe++) {
+            for (int direction = 0; direction < 2; direction++) {
+                boolean outgoing = direction == 0;
+                if (pattern.edgeName(pe) == null) {
+                    fanout[pe][direction] = averageDegree;
+                } else if (nameCodes[pe] < 0) {
+                    fanout[pe][direction] = 0;
+                } else {
+                    fanout[pe][direction] = (double) index.edgeCountWithName(nameCodes[pe])
+                            / Math.max(1, index.nodesWithEdgeName(nameCodes[pe], outgoing).length);
+                }
+            }
+        }
+
+        int[] bestOrder = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int root = 0; root < size; root++) {
+            int[] order = new int[size];
+            double cost = greedyOrder(pattern, root, cardinality, fanout, nodeCount, order);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestOrder = order;
+            }
+        }
+        return new PatternPlan(query, bestOrder, bestCost);
+    }
+
+    public PatternQuery query() {
+        return query;
+    }
+
+    /**
+     * 模式节点的扩展顺序
+     */
+    public int[] order() {
+        return order.clone();
+    }
+
+    /**
+     * 估计的代价（各步中间结果行数之和）
+     */
+    public double estimatedCost() {
+        return estimatedCost;
+    }
+
+    private static double estimateCardinality(PatternQuery query, PatternIndex index, int[] nameCodes, int p,
+                                              double nodeCount) {
+        Pattern pattern = query.pattern();
+        NodeTypeEnum nodeType = pattern.nodeType(p);
+        double cardinality = nodeType != null ? index.nodesOfType(nodeType).length : nodeCount;
+        for (int pe = 0; pe < pattern.edgeCount(); pe++) {
+            if (pattern.edgeName(pe) == null) {
+                continue;
+            }
+            if (pattern.edgeSource(pe) == p) {
+                cardinality = Math.min(cardinality, index.nodesWithEdgeName(nameCodes[pe], true).length);
+            }
+            if (pattern.edgeTarget(pe) == p) {
+                cardinality = Math.min(cardinality, index.nodesWithEdgeName(nameCodes[pe], false).length);
+            }
+        }
+        String name = query.nodeName(p);
+        if (name != null) {
+            cardinality = name.indexOf('*') >= 0 ? cardinality * PREDICATE_SELECTIVITY : Math.min(cardinality, 1);
+        }
+        if (query.nodeOntologyName(p) != null) {
+            cardinality *= PREDICATE_SELECTIVITY;
+        }
+        return cardinality;
+    }
+
+    /**
+     * 从 root 开始贪心地安排扩展顺序
+     *
+     * @return 估计的代价
+     */
+    private static double greedyOrder(Pattern pattern, int root, double[] cardinality, double[][] fanout,
+                                      double nodeCount, int[] order) {
+        int size = pattern.nodeCount();
+        boolean[] ordered = new boolean[size];
+        int count = 0;
+        double rows = 0;
+        double cost = 0;
+        int next = root;
+        while (true) {
+            if (next < 0) {
+                // 新的连通分量：中间结果与该分量起点的候选做笛卡尔积
+                for (int p = 0; p < size; p++) {
+                    if (!ordered[p] && (next < 0 || cardinality[p] < cardinality[next])) {
+                        next = p;
+                    }
+                }
+                rows = count == 0 ? cardinality[next] : rows * cardinality[next];
+            } else if (count == 0) {
+                rows = cardinality[next];
+            } else {
+                rows = expandedRows(pattern, ordered, next, rows, cardinality, fanout, nodeCount);
+            }
+            ordered[next] = true;
+            order[count++] = next;
+            cost += rows;
+            if (count == size) {
+                return cost;
+            }
+
+            next = -1;
+            double bestRows = Double.POSITIVE_INFINITY;
+            for (int p = 0; p < size; p++) {
+                if (ordered[p] || !isAdjacent(pattern, ordered, p)) {
+                    continue;
+                }
+                double estimate = expandedRows(pattern, ordered, p, rows, cardinality, fanout, nodeCount);
+                if (estimate < bestRows) {
+                    bestRows = estimate;
+                    next = p;
+                }
+            }
+        }
+    }
+
+    /**
+     * 在已匹配的中间结果上扩展节点 p 后的估计行数：沿扇出最小的边扩展，
+     * 再乘以 p 满足自身条件的比例以及其余闭合边存在的概率
+     */
+    private static double expandedRows(Pattern pattern, boolean[] ordered, int p, double rows,
+                                       double[] cardinality, double[][] fanout, double nodeCount) {
+        double bestFanout = Double.POSITIVE_INFINITY;
+        double closingSelectivity = 1;
+        for (int pe = 0; pe < pattern.edgeCount(); pe++) {
+            int source = pattern.edgeSource(pe);
+            int target = pattern.edgeTarget(pe);
+            double edgeFanout;
+            if (target == p && (ordered[source] || source == p)) {
+                edgeFanout = fanout[pe][0];
+            } else if (source == p && ordered[target]) {
+                edgeFanout = fanout[pe][1];
+            } else {
+                continue;
+            }
+            if (source == target) {
+                closingSelectivity *= Math.min(1, edgeFanout / nodeCount);
+                continue;
+            }
+            if (edgeFanout < bestFanout) {
+                if (bestFanout != Double.POSITIVE_INFINITY) {
+                    closingSelectivity *= Math.min(1, bestFanout / nodeCount);
+                }
+                bestFanout = edgeFanout;
+            } else {
+                closingSelectivity *= Math.min(1, edgeFanout / nodeCount);
+            }
+        }
+        if (bestFanout == Double.POSITIVE_INFINITY) {
+            return rows * cardinality[p] * closingSelectivity;
+        }
+        return rows * bestFanout * (cardinality[p] / nodeCount) * closingSelectivity;
+    }
+
+    private static boolean isAdjacent(Pattern pattern, boolean[] ordered, int p) {
+        for (int pe = 0; pe < pattern.edgeCount(); pe++) {
+            if ((pattern.edgeSource(pe) == p && ordered[pattern.edgeTarget(pe)])
+                    || (pattern.edgeTarget(pe) == p && ordered[pattern.edgeSource(pe)])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "PatternPlan{order=" + Arrays.toString(order) + ", estimatedCost=" + estimatedCost + "}";
+    }
+}
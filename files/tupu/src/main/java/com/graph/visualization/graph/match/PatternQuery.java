@@ -0,0 +1,67 @@
+package com.graph.visualization.graph.match;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 解析后的模式查询
+ * <p>
+ * 由模式图以及模式节点上无法在内存快照中判断的条件（节点名称、本体名称）组成，
+ * 这些条件在执行时由调用方查询数据库后转换为候选限制。变量名为空表示匿名节点或匿名关系。
+ */
+public final class PatternQuery {
+
+    private final Pattern pattern;
+    private final List<String> nodeVariables;
+    private final List<String> edgeVariables;
+    private final List<String> nodeNames;
+    private final List<String> nodeOntologyNames;
+
+    PatternQuery(Pattern pattern, List<String> nodeVariables, List<String> edgeVariables, List<String> nodeNames,
+                 List<String> nodeOntologyNames) {
+        this.pattern = pattern;
+        this.nodeVariables = Collections.unmodifiableList(nodeVariables);
+        this.edgeVariables = Collections.unmodifiableList(edgeVariables);
+        this.nodeNames = Collections.unmodifiableList(nodeNames);
+        this.nodeOntologyNames = Collections.unmodifiableList(nodeOntologyNames);
+    }
+
+    public Pattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * 按模式节点编号的变量名
+     */
+    public List<String> nodeVariables() {
+        return nodeVariables;
+    }
+
+    /**
+     * 按模式边编号的变量名
+     */
+    public List<String> edgeVariables() {
+        return edgeVariables;
+    }
+
+    /**
+     * 模式节点的名称条件，可包含通配符 *，为空表示不限定
+     */
+    public String nodeName(int p) {
+        return nodeNames.get(p);
+    }
+
+    /**
+     * 模式节点的本体名称条件，可包含通配符 *，为空表示不限定
+     */
+    public String nodeOntologyName(int p) {
+        return nodeOntologyNames.get(p);
+    }
+
+    /**
+     * 模式节点是否带有需要查询数据库的条件
+     */
+    public boolean hasNodePredicate(int p) {
+        return nodeNames.get(p) != null || nodeOntologyNames.get(p) != null;
+    }
+}
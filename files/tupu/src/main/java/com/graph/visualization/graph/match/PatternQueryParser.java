@@ -0,0 +1,331 @@
+package com.graph.visualization.graph.match;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 模式查询语言的解析器
+ * <p>
+ * 语法与 Cypher 的 MATCH 子句相近，多条路径以逗号分隔，同名变量表示同一个节点：
+ * <pre>
+ * query    := path (',' path)*
+ * path     := node (edge node)*
+ * node     := '(' 变量? (':' 节点类型 | ':' '*')? properties? ')'
+ * edge     := '-' ('[' 变量? (':' 关系类型 | ':' '*')? properties? ']')? '-' '&gt;'
+ *           | '&lt;' '-' ('[' ... ']')? '-'
+ * properties := '{' 属性名 ':' 字符串 (',' 属性名 ':' 字符串)* '}'
+ * </pre>
+ * 节点属性为 name（节点名称）和 ontology（本体名称），值中的 * 匹配任意字符串；关系属性为 name（关系名称，精确匹配）。
+ * 省略变量、类型或属性表示不限定，类型写作 * 与省略相同。例如：
+ * <pre>
+ * (a:INDIVIDUAL {name: '张*'})-[:OBJECT_RELATION {name: '属于'}]-&gt;(b:CLASS), (a)&lt;--(c)
+ * </pre>
+ */
+public final class PatternQueryParser {
+
+    private static final String PUNCTUATION = "()[]{}:,-<>*";
+
+    private final List<Token> tokens;
+    private int position;
+
+    private final List<NodeTypeEnum> nodeTypes = new ArrayList<>();
+    private final List<String> nodeVariables = new ArrayList<>();
+    private final List<String> nodeNames = new ArrayList<>();
+    private final List<String> nodeOntologyNames = new ArrayList<>();
+    private final Map<String, Integer> nodesByVariable = new HashMap<>();
+    private final List<EdgeSpec> edges = new ArrayList<>();
+    private final Set<String> edgeVariables = new HashSet<>();
+
+    private PatternQueryParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * 解析查询语句
+     *
+     * @throws IllegalArgumentException 语法错误
+     */
+    public static PatternQuery parse(String text) {
+        return new PatternQueryParser(tokenize(text)).parseQuery();
+    }
+
+    /**
+     * 查询语句的规范形式：去掉字符串以外的空白，字符串统一为单引号形式，用作计划缓存的键
+     *
+     * @throws IllegalArgumentException 存在无法识别的字符
+     */
+    public static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder();
+        Token previous = null;
+        for (Token token : tokenize(text)) {
+            // 相邻的两个标识符之间需要保留分隔
+            if (previous != null && previous.kind == TokenKind.IDENTIFIER && token.kind == TokenKind.IDENTIFIER) {
+                normalized.append(' ');
+            }
+            if (token.kind == TokenKind.STRING) {
+                normalized.append('\'').append(token.text.replace("\\", "\\\\").replace("'", "\\'")).append('\'');
+            } else {
+                normalized.append(token.text);
+            }
+            previous = token;
+        }
+        return normalized.toString();
+    }
+
+    private PatternQuery parseQuery() {
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("查询语句不能为空");
+        }
+        parsePath();
+        while (accept(",")) {
+            parsePath();
+        }
+        if (position < tokens.size()) {
+            throw error("多余的内容");
+        }
+
+        Pattern pattern = new Pattern();
+        for (NodeTypeEnum nodeType : nodeTypes) {
+            pattern.addNode(nodeType);
+        }
+        List<String> variables = new ArrayList<>();
+        for (EdgeSpec edge : edges) {
+            pattern.addEdge(edge.source, edge.target, edge.relationshipType, edge.relationshipName);
+            variables.add(edge.variable);
+        }
+        return new PatternQuery(pattern, nodeVariables, variables, nodeNames, nodeOntologyNames);
+    }
+
+    private void parsePath() {
+        int left = parseNode();
+        while (peek("-") || peek("<")) {
+            EdgeSpec edge = parseEdge();
+            int right = parseNode();
+            edge.source = edge.forward ? left : right;
+            edge.target = edge.forward ? right : left;
+            edges.add(edge);
+            left = right;
+        }
+    }
+
+    private int parseNode() {
+        expect("(");
+        String variable = acceptIdentifier();
+        NodeTypeEnum nodeType = null;
+        if (accept(":")) {
+            if (!accept("*")) {
+                String typeName = expectIdentifier("节点类型");
+                try {
+                    nodeType = NodeTypeEnum.valueOf(typeName.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("未知的节点类型: " + typeName);
+                }
+            }
+        }
+        String name = null;
+        String ontologyName = null;
+        if (accept("{")) {
+            do {
+                String key = expectIdentifier("属性名");
+                expect(":");
+                String value = expectString();
+                if ("name".equals(key)) {
+                    name = value;
+                } else if ("ontology".equals(key)) {
+                    ontologyName = value;
+                } else {
+                    throw new IllegalArgumentException("未知的节点属性: " + key + "，可用属性为 name、ontology");
+                }
+            } while (accept(","));
+            expect("}");
+        }
+        expect(")");
+
+        Integer existing = variable != null ? nodesByVariable.get(variable) : null;
+        if (existing == null) {
+            nodeTypes.add(nodeType);
+            nodeVariables.add(variable);
+            nodeNames.add(name);
+            nodeOntologyNames.add(ontologyName);
+            int p = nodeTypes.size() - 1;
+            if (variable != null) {
+                nodesByVariable.put(variable, p);
+            }
+            return p;
+        }
+        // 再次出现的变量只能补充条件，不能与之前的条件冲突
+        nodeTypes.set(existing, merge(variable, nodeTypes.get(existing), nodeType));
+        nodeNames.set(existing, merge(variable, nodeNames.get(existing), name));
+        nodeOntologyNames.set(existing, merge(variable, nodeOntologyNames.get(existing), ontologyName));
+        return existing;
+    }
+
+    private EdgeSpec parseEdge() {
+        EdgeSpec edge = new EdgeSpec();
+        boolean incoming = accept("<");
+        expect("-");
+        if (accept("[")) {
+            edge.variable = acceptIdentifier();
+            if (edge.variable != null && !edgeVariables.add(edge.variable)) {
+                throw new IllegalArgumentException("关系变量重复: " + edge.variable);
+            }
+            if (accept(":")) {
+                if (!accept("*")) {
+                    String typeName = expectIdentifier("关系类型");
+                    try {
+                        edge.relationshipType = RelationshipTypeEnum.valueOf(typeName.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("未知的关系类型: " + typeName);
+                    }
+                }
+            }
+            if (accept("{")) {
+                String key = expectIdentifier("属性名");
+                if (!"name".equals(key)) {
+                    throw new IllegalArgumentException("未知的关系属性: " + key + "，可用属性为 name");
+                }
+                expect(":");
+                edge.relationshipName = expectString();
+                expect("}");
+            }
+            expect("]");
+        }
+        expect("-");
+        boolean outgoing = accept(">");
+        if (incoming == outgoing) {
+            throw error("关系必须且只能指定一个方向（-> 或 <-）");
+        }
+        edge.forward = outgoing;
+        return edge;
+    }
+
+    private static <T> T merge(String variable, T previous, T current) {
+        if (previous != null && current != null && !Objects.equals(previous, current)) {
+            throw new IllegalArgumentException("变量 " + variable + " 的条件与之前的定义冲突");
+        }
+        return previous != null ? previous : current;
+    }
+
+    private boolean peek(String punctuation) {
+        return position < tokens.size() && tokens.get(position).kind == TokenKind.PUNCTUATION
+                && tokens.get(position).text.equals(punctuation);
+    }
+
+    private boolean accept(String punctuation) {
+        if (peek(punctuation)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String punctuation) {
+        if (!accept(punctuation)) {
+            throw error("此处应为 " + punctuation);
+        }
+    }
+
+    private String acceptIdentifier() {
+        if (position < tokens.size() && tokens.get(position).kind == TokenKind.IDENTIFIER) {
+            return tokens.get(position++).text;
+        }
+        return null;
+    }
+
+    private String expectIdentifier(String description) {
+        String identifier = acceptIdentifier();
+        if (identifier == null) {
+            throw error("此处应为" + description);
+        }
+        return identifier;
+    }
+
+    private String expectString() {
+        if (position < tokens.size() && tokens.get(position).kind == TokenKind.STRING) {
+            return tokens.get(position++).text;
+        }
+        throw error("此处应为字符串");
+    }
+
+    private IllegalArgumentException error(String message) {
+        if (position >= tokens.size()) {
+            return new IllegalArgumentException("查询语句意外结束：" + message);
+        }
+        Token token = tokens.get(position);
+        return new IllegalArgumentException("查询语句第 " + (token.offset + 1) + " 个字符处（" + token.text + "）："
+                + message);
+    }
+
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"') {
+                StringBuilder value = new StringBuilder();
+                int start = i++;
+                while (true) {
+                    if (i >= text.length()) {
+                        throw new IllegalArgumentException("查询语句第 " + (start + 1) + " 个字符处的字符串未结束");
+                    }
+                    char next = text.charAt(i++);
+                    if (next == c) {
+                        break;
+                    }
+                    if (next == '\\' && i < text.length()) {
+                        next = text.charAt(i++);
+                    }
+                    value.append(next);
+                }
+                tokens.add(new Token(TokenKind.STRING, value.toString(), start));
+            } else if (Character.isLetterOrDigit(c) || c == '_') {
+                int start = i;
+                while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenKind.IDENTIFIER, text.substring(start, i), start));
+            } else if (PUNCTUATION.indexOf(c) >= 0) {
+                tokens.add(new Token(TokenKind.PUNCTUATION, String.valueOf(c), i));
+                i++;
+            } else {
+                throw new IllegalArgumentException("查询语句第 " + (i + 1) + " 个字符无法识别: " + c);
+            }
+        }
+        return tokens;
+    }
+
+    private enum TokenKind {
+        IDENTIFIER, STRING, PUNCTUATION
+    }
+
+    private static final class Token {
+        private final TokenKind kind;
+        private final String text;
+        private final int offset;
+
+        private Token(TokenKind kind, String text, int offset) {
+            this.kind = kind;
+            this.text = text;
+            this.offset = offset;
+        }
+    }
+
+    private static final class EdgeSpec {
+        private String variable;
+        private RelationshipTypeEnum relationshipType;
+        private String relationshipName;
+        private boolean forward;
+        private int source;
+        private int target;
+    }
+}
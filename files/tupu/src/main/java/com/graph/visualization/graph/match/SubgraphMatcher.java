@@ -0,0 +1,542 @@
+package com.graph.visualization.graph.match;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import com.graph.visualization.graph.GraphSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 子图同构匹配引擎（VF2++ 风格）
+ * <p>
+ * 匹配分三步：
+ * <ol>
+ *     <li>候选集合：对每个模式节点，从标签索引中取节点类型、所需出边/入边名称以及调用方给出的候选限制对应的最小分组，
+ *     再按其余标签和出度/入度下界过滤，得到有序的候选节点；</li>
+ *     <li>匹配顺序：从候选最少的模式节点开始按广度优先分层，每层内优先选择与已排序节点连接最多、
+ *     度最大、候选最少的节点，使每一步都尽早受到已匹配节点的约束（也可由查询计划给定）；</li>
+ *     <li>回溯搜索：除每个连通分量的第一个节点外，新节点只在已匹配父节点的邻接行中沿模式边的方向和标签扩展，
+ *     并检查候选集合、单射性以及与所有已匹配节点之间的模式边。</li>
+ * </ol>
+ * 每个节点映射只报告一次，模式边取第一组可行的图边分配（平行的模式边分配到不同的图边）。
+ * 匹配器构建后只读，可被多个线程共享，每个线程使用各自的 {@link Search}。
+ */
+public final class SubgraphMatcher {
+
+    /**
+     * 匹配结果回调
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * 找到一个匹配
+         *
+         * @param nodes 按模式节点编号的图节点下标（数组会被复用，需要保存时请复制）
+         * @param edges 按模式边编号的图边下标（数组会被复用，需要保存时请复制）
+         * @return 是否继续查找
+         */
+        boolean onMatch(int[] nodes, int[] edges);
+    }
+
+    private final GraphSnapshot snapshot;
+    private final Pattern pattern;
+    private final int patternSize;
+
+    /**
+     * 模式边的关系名称编码，-1表示不限定
+     */
+    private final int[] nameCodes;
+
+    /**
+     * 按模式节点编号的候选节点（有序）及其位图
+     */
+    private final int[][] candidates;
+    private final BitSet[] candidateSets;
+
+    /**
+     * 匹配顺序，以及每个位置用于扩展的父模式边（-1表示连通分量的第一个节点）
+     * 和在该位置闭合（另一端已匹配或为自环）的模式边
+     */
+    private final int[] order;
+    private final int[] parentEdges;
+    private final int[][] closingEdges;
+
+    public SubgraphMatcher(PatternIndex index, Pattern pattern) {
+        this(index, pattern, null, null);
+    }
+
+    /**
+     * @param order        预先确定的匹配顺序（模式节点编号的排列），为空时按 VF2++ 规则计算
+     * @param allowedNodes 按模式节点编号的额外候选限制（有序的节点下标），元素为空表示不限制
+     */
+    public SubgraphMatcher(PatternIndex index, Pattern pattern, int[] order, int[][] allowedNodes) {
+        if (pattern.nodeCount() == 0) {
+            throw new IllegalArgumentException("模式中至少需要一个节点");
+        }
+        this.snapshot = index.snapshot();
+        this.pattern = pattern;
+        this.patternSize = pattern.nodeCount();
+
+        int edgeCount = pattern.edgeCount();
+        boolean satisfiable = true;
+        nameCodes = new int[edgeCount];
+        for (int pe = 0; pe < edgeCount; pe++) {
+            String name = pattern.edgeName(pe);
+            nameCodes[pe] = name == null ? -1 : snapshot.relationshipNameCode(name);
+            if (name != null && nameCodes[pe] < 0) {
+                satisfiable = false; // 图中不存在该名称的关系
+            }
+        }
+
+        List<List<Integer>> incident = new ArrayList<>();
+        for (int p = 0; p < patternSize; p++) {
+            incident.add(new ArrayList<>());
+        }
+        for (int pe = 0; pe < edgeCount; pe++) {
+            incident.get(pattern.edgeSource(pe)).add(pe);
+            if (pattern.edgeTarget(pe) != pattern.edgeSource(pe)) {
+                incident.get(pattern.edgeTarget(pe)).add(pe);
+            }
+        }
+
+        candidates = new int[patternSize][];
+        candidateSets = new BitSet[patternSize];
+        for (int p = 0; p < patternSize; p++) {
+            int[] allowed = allowedNodes != null ? allowedNodes[p] : null;
+            candidates[p] = satisfiable ? computeCandidates(index, p, allowed) : new int[0];
+            candidateSets[p] = new BitSet(snapshot.nodeCount());
+            for (int v : candidates[p]) {
+                candidateSets[p].set(v);
+            }
+        }
+
+        this.order = order != null ? checkOrder(order) : computeOrder(incident);
+        int[] position = new int[patternSize];
+        for (int i = 0; i < patternSize; i++) {
+            position[this.order[i]] = i;
+        }
+        parentEdges = new int[patternSize];
+        closingEdges = new int[patternSize][];
+        for (int i = 0; i < patternSize; i++) {
+            int p = this.order[i];
+            parentEdges[i] = -1;
+            List<Integer> closing = new ArrayList<>();
+            for (int pe : incident.get(p)) {
+                int other = other(pe, p);
+                if (position[other] > i) {
+                    continue;
+                }
+                closing.add(pe);
+                // 父边优先选择限定了关系名称的边，扩展时分支更少
+                if (other != p && (parentEdges[i] < 0 || (nameCodes[parentEdges[i]] < 0 && nameCodes[pe] >= 0))) {
+                    parentEdges[i] = pe;
+                }
+            }
+            closingEdges[i] = closing.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * 匹配顺序中第一个模式节点的候选，即搜索的起点
+     */
+    public int[] startCandidates() {
+        return candidates[order[0]];
+    }
+
+    /**
+     * 匹配顺序（模式节点编号）
+     */
+    public int[] order() {
+        return order.clone();
+    }
+
+    /**
+     * 模式节点的候选节点数量
+     */
+    public int candidateCount(int p) {
+        return candidates[p].length;
+    }
+
+    /**
+     * 创建一个搜索状态（每个线程一个）
+     */
+    public Search newSearch() {
+        return new Search();
+    }
+
+    /**
+     * 从所有起点查找匹配
+     *
+     * @return 是否查找完毕（回调要求停止时返回false）
+     */
+    public boolean match(MatchHandler handler) {
+        Search search = newSearch();
+        for (int start : startCandidates()) {
+            if (!search.run(start, handler)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int[] checkOrder(int[] order) {
+        boolean[] seen = new boolean[patternSize];
+        if (order.length != patternSize) {
+            throw new IllegalArgumentException("匹配顺序必须包含全部模式节点");
+        }
+        for (int p : order) {
+            if (p < 0 || p >= patternSize || seen[p]) {
+                throw new IllegalArgumentException("匹配顺序必须是模式节点的排列");
+            }
+            seen[p] = true;
+        }
+        return order.clone();
+    }
+
+    /**
+     * 计算模式节点的候选：取限定条件中最小的有序分组，再用其余条件过滤
+     */
+    private int[] computeCandidates(PatternIndex index, int p, int[] allowed) {
+        int outDegree = 0;
+        int inDegree = 0;
+        List<int[]> groups = new ArrayList<>();
+        if (allowed != null) {
+            groups.add(allowed);
+        }
+        NodeTypeEnum nodeType = pattern.nodeType(p);
+        if (nodeType != null) {
+            groups.add(index.nodesOfType(nodeType));
+        }
+        for (int pe = 0; pe < pattern.edgeCount(); pe++) {
+            if (pattern.edgeSource(pe) == p) {
+                outDegree++;
+                if (nameCodes[pe] >= 0) {
+                    groups.add(index.nodesWithEdgeName(nameCodes[pe], true));
+                }
+            }
+            if (pattern.edgeTarget(pe) == p) {
+                inDegree++;
+                if (nameCodes[pe] >= 0) {
+                    groups.add(index.nodesWithEdgeName(nameCodes[pe], false));
+                }
+            }
+        }
+        int[] smallest = null;
+        for (int[] group : groups) {
+            if (smallest == null || group.length < smallest.length) {
+                smallest = group;
+            }
+        }
+
+        int bound = smallest != null ? smallest.length : snapshot.nodeCount();
+        int[] result = new int[bound];
+        int count = 0;
+        for (int i = 0; i < bound; i++) {
+            int v = smallest != null ? smallest[i] : i;
+            if (!snapshot.isNodeActive(v)
+                    || snapshot.rowEnd(v, true) - snapshot.rowStart(v, true) < outDegree
+                    || snapshot.rowEnd(v, false) - snapshot.rowStart(v, false) < inDegree) {
+                continue;
+            }
+            boolean accepted = true;
+            for (int[] group : groups) {
+                if (group != smallest && Arrays.binarySearch(group, v) < 0) {
+                    accepted = false;
+                    break;
+                }
+            }
+            if (accepted) {
+                result[count++] = v;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * VF2++ 匹配顺序
+     */
+    private int[] computeOrder(List<List<Integer>> incident) {
+        int[] result = new int[patternSize];
+        int count = 0;
+        boolean[] visited = new boolean[patternSize];
+        int[] connections = new int[patternSize];
+        while (count < patternSize) {
+            // 每个连通分量从候选最少（其次度最大）的节点开始
+            int root = -1;
+            for (int p = 0; p < patternSize; p++) {
+                if (!visited[p] && (root < 0 || candidates[p].length < candidates[root].length
+                        || (candidates[p].length == candidates[root].length
+                        && incident.get(p).size() > incident.get(root).size()))) {
+                    root = p;
+                }
+            }
+            visited[root] = true;
+            List<Integer> level = new ArrayList<>();
+            level.add(root);
+            while (!level.isEmpty()) {
+                List<Integer> remaining = new ArrayList<>(level);
+                while (!remaining.isEmpty()) {
+                    int best = 0;
+                    for (int j = 1; j < remaining.size(); j++) {
+                        if (precedes(remaining.get(j), remaining.get(best), connections, incident)) {
+                            best = j;
+                        }
+                    }
+                    int p = remaining.remove(best);
+                    result[count++] = p;
+                    for (int pe : incident.get(p)) {
+                        connections[other(pe, p)]++;
+                    }
+                }
+                List<Integer> next = new ArrayList<>();
+                for (int p : level) {
+                    for (int pe : incident.get(p)) {
+                        int neighbor = other(pe, p);
+                        if (!visited[neighbor]) {
+                            visited[neighbor] = true;
+                            next.add(neighbor);
+                        }
+                    }
+                }
+                level = next;
+            }
+        }
+        return result;
+    }
+
+    private boolean precedes(int a, int b, int[] connections, List<List<Integer>> incident) {
+        if (connections[a] != connections[b]) {
+            return connections[a] > connections[b];
+        }
+        if (incident.get(a).size() != incident.get(b).size()) {
+            return incident.get(a).size() > incident.get(b).size();
+        }
+        return candidates[a].length < candidates[b].length;
+    }
+
+    private int other(int pe, int p) {
+        int source = pattern.edgeSource(pe);
+        return source == p ? pattern.edgeTarget(pe) : source;
+    }
+
+    private boolean edgeMatches(int pe, int e) {
+        if (nameCodes[pe] >= 0 && snapshot.edgeNameCode(e) != nameCodes[pe]) {
+            return false;
+        }
+        RelationshipTypeEnum relationshipType = pattern.edgeType(pe);
+        return relationshipType == null || snapshot.edgeType(e) == relationshipType;
+    }
+
+    /**
+     * 单个线程的搜索状态：当前映射和各层的扩展缓冲区，全部为原始数组
+     */
+    public final class Search {
+        private final int[] nodes = new int[patternSize];
+        private final int[] edges = new int[pattern.edgeCount()];
+        private final int[][] expansions = new int[patternSize][];
+        private boolean hasDeadline;
+        private long deadline;
+        private boolean timedOut;
+        private long steps;
+        private MatchTrace trace;
+
+        private Search() {
+            Arrays.fill(nodes, -1);
+            Arrays.fill(edges, -1);
+            for (int i = 0; i < patternSize; i++) {
+                expansions[i] = new int[8];
+            }
+        }
+
+        /**
+         * 设置时间预算，超出后搜索停止
+         *
+         * @param deadlineNanos 截止时间（{@link System#nanoTime()}）
+         */
+        public void setDeadline(long deadlineNanos) {
+            this.hasDeadline = true;
+            this.deadline = deadlineNanos;
+        }
+
+        /**
+         * 设置跟踪记录，之后的搜索过程计入其中（为空时不记录）
+         */
+        public void setTrace(MatchTrace trace) {
+            this.trace = trace;
+        }
+
+        public MatchTrace trace() {
+            return trace;
+        }
+
+        /**
+         * 搜索是否因超出时间预算而停止
+         */
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * 查找第一个模式节点映射到 start 的所有匹配
+         *
+         * @return 是否查找完毕（回调要求停止或超出时间预算时返回false）
+         */
+        public boolean run(int start, MatchHandler handler) {
+            if (timedOut) {
+                return false;
+            }
+            if (!candidateSets[order[0]].get(start)) {
+                return true;
+            }
+            return extend(0, start, handler);
+        }
+
+        /**
+         * 将第 depth 个模式节点映射到 v，分配闭合的模式边后继续下一层
+         */
+        private boolean extend(int depth, int v, MatchHandler handler) {
+            // 每隔一定步数检查一次时间预算
+            if ((++steps & 0x3FF) == 0 && hasDeadline && System.nanoTime() - deadline > 0) {
+                timedOut = true;
+            }
+            if (timedOut) {
+                return false;
+            }
+            int p = order[depth];
+            nodes[p] = v;
+            boolean proceed = true;
+            boolean accepted = assignEdges(depth, 0);
+            if (trace == null) {
+                if (accepted) {
+                    proceed = descend(depth + 1, handler);
+                }
+            } else {
+                trace.candidateTried(depth, p, v, accepted);
+                long matchesBefore = trace.matches;
+                if (accepted) {
+                    proceed = descend(depth + 1, handler);
+                }
+                if (trace.matches == matchesBefore) {
+                    trace.backtracks++;
+                }
+            }
+            for (int pe : closingEdges[depth]) {
+                edges[pe] = -1;
+            }
+            nodes[p] = -1;
+            return proceed;
+        }
+
+        private boolean descend(int depth, MatchHandler handler) {
+            if (depth == patternSize) {
+                if (trace != null) {
+                    trace.matches++;
+                }
+                return handler.onMatch(nodes, edges);
+            }
+            int p = order[depth];
+            int parentEdge = parentEdges[depth];
+            if (parentEdge < 0) {
+                // 新的连通分量，遍历全部候选
+                for (int v : candidates[p]) {
+                    if (!isMapped(v, depth) && !extend(depth, v, handler)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            // 沿父边从已匹配的节点扩展，平行边导致的重复邻居只尝试一次
+            int anchor = nodes[other(parentEdge, p)];
+            boolean outgoing = pattern.edgeTarget(parentEdge) == p;
+            int[] row = snapshot.rowEdges(anchor, outgoing);
+            int[] buffer = expansions[depth];
+            int size = 0;
+            int rowStart = snapshot.rowStart(anchor, outgoing);
+            int rowEnd = snapshot.rowEnd(anchor, outgoing);
+            if (trace != null) {
+                trace.edgesChecked += rowEnd - rowStart;
+            }
+            for (int q = rowStart; q < rowEnd; q++) {
+                int e = row[q];
+                int v = outgoing ? snapshot.edgeTarget(e) : snapshot.edgeSource(e);
+                if (candidateSets[p].get(v) && edgeMatches(parentEdge, e)) {
+                    if (size == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, size * 2);
+                        expansions[depth] = buffer;
+                    }
+                    buffer[size++] = v;
+                }
+            }
+            Arrays.sort(buffer, 0, size);
+            for (int j = 0; j < size; j++) {
+                int v = buffer[j];
+                if ((j > 0 && v == buffer[j - 1]) || isMapped(v, depth)) {
+                    continue;
+                }
+                if (!extend(depth, v, handler)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 为第 depth 层闭合的模式边（从第 j 条开始）分配互不相同的图边，找到一组可行分配即返回true
+         * <p>
+         * 不同层闭合的模式边连接的节点对不同，不会争用同一条图边，因此只需在层内回溯。
+         */
+        private boolean assignEdges(int depth, int j) {
+            int[] closing = closingEdges[depth];
+            if (j == closing.length) {
+                return true;
+            }
+            int pe = closing[j];
+            int source = nodes[pattern.edgeSource(pe)];
+            int target = nodes[pattern.edgeTarget(pe)];
+            // 遍历较短的邻接行
+            boolean fromSource = snapshot.rowEnd(source, true) - snapshot.rowStart(source, true)
+                    <= snapshot.rowEnd(target, false) - snapshot.rowStart(target, false);
+            int anchor = fromSource ? source : target;
+            int expected = fromSource ? target : source;
+            int[] row = snapshot.rowEdges(anchor, fromSource);
+            for (int q = snapshot.rowStart(anchor, fromSource), end = snapshot.rowEnd(anchor, fromSource); q < end; q++) {
+                if (trace != null) {
+                    trace.edgesChecked++;
+                }
+                int e = row[q];
+                if ((fromSource ? snapshot.edgeTarget(e) : snapshot.edgeSource(e)) != expected
+                        || !edgeMatches(pe, e) || isAssigned(e, closing, j)) {
+                    continue;
+                }
+                edges[pe] = e;
+                if (assignEdges(depth, j + 1)) {
+                    return true;
+                }
+            }
+            edges[pe] = -1;
+            return false;
+        }
+
+        private boolean isAssigned(int e, int[] closing, int count) {
+            for (int i = 0; i < count; i++) {
+                if (edges[closing[i]] == e) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isMapped(int v, int depth) {
+            for (int i = 0; i < depth; i++) {
+                if (nodes[order[i]] == v) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
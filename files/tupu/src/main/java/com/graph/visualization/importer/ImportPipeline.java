@@ -0,0 +1,655 @@
+package com.graph.visualization.importer;
+
+import com.graph.visualization.enums.RdfFormatEnum;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分阶段的三元组导入流水线
+ * <p>
+ * 读取 → 解析 → IRI 解析 → 写入，阶段之间以有界队列连接，下游跟不上时上游在入队时阻塞（背压），
+ * 在途数据量由队列容量和批大小限定：
+ * <ul>
+ *     <li>读取（调用线程）：把输入切分为按行对齐的数据块；输入为 {@link ByteBuffer}（如内存映射的文件）时
+ *     数据块是它的切片，不复制；</li>
+ *     <li>解析（多线程）：每个数据块由 {@link RdfStreamParser} 直接解析为 {@link TripleBatch}；</li>
+ *     <li>IRI 解析（单线程）：{@link IriResolver} 不是线程安全的，节点的创建也在这一阶段完成；</li>
+ *     <li>写入（多线程）：批量插入关系和数据属性，每批一个事务。</li>
+ * </ul>
+ * Turtle 的语句可以跨行且前缀声明作用于之后的全部内容，不能按行切分，由调用线程顺序解析后直接进入 IRI 解析阶段。
+ * <p>
+ * 任一阶段出错时记录第一个异常，其余阶段在下一次出入队时中止，{@link #run} 抛出该异常；已提交的批次保留。
+ * 各阶段的处理量、忙碌时间和阻塞时间在运行过程中即可读取。每个实例只运行一次。
+ */
+public class ImportPipeline {
+
+    private static final long POLL_MILLIS = 100;
+
+    private static final Chunk END_OF_CHUNKS = new Chunk(-1, -1, null);
+    private static final TripleBatch END_OF_BATCHES = new TripleBatch();
+    private static final ResolvedBatch END_OF_ROWS = new ResolvedBatch(List.of(), List.of());
+
+    private final ExecutorService executor;
+    private final TripleBatchWriter writer;
+    private final int parserThreads;
+    private final int writerThreads;
+    private final int chunkSize;
+    private final int batchSize;
+
+    private final BlockingQueue<Chunk> chunks;
+    private final BlockingQueue<TripleBatch> parsedBatches;
+    private final BlockingQueue<ResolvedBatch> resolvedBatches;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private String blankNodeScope = RdfStreamParser.newBlankNodeScope();
+    private long inputOffset;
+
+    private final Stage readStage;
+    private final Stage parseStage;
+    private final Stage resolveStage;
+    private final Stage writeStage;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final LongAdder tripleCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    /**
+     * @param executor      执行解析、IRI 解析和写入阶段的线程池，需能同时运行 parserThreads + writerThreads + 1 个任务
+     * @param iriResolver   已预加载的IRI解析层
+     * @param parserThreads 解析线程数
+     * @param writerThreads 写入线程数
+     * @param chunkSize     读取阶段每个数据块的字节数（超长的行会使数据块扩大）
+     * @param batchSize     每批的三元组数
+     * @param queueCapacity 各阶段之间队列的容量
+     */
+    public ImportPipeline(ExecutorService executor, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                          IriResolver iriResolver, int parserThreads, int writerThreads, int chunkSize, int batchSize,
+                          int queueCapacity) {
+        if (parserThreads <= 0 || writerThreads <= 0 || chunkSize <= 0 || batchSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("线程数、数据块大小、批大小和队列容量必须大于0");
+        }
+        this.executor = executor;
+        this.writer = new TripleBatchWriter(jdbcTemplate, transactionTemplate, iriResolver);
+        this.parserThreads = parserThreads;
+        this.writerThreads = writerThreads;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.chunks = new ArrayBlockingQueue<>(queueCapacity);
+        this.parsedBatches = new ArrayBlockingQueue<>(queueCapacity);
+        this.resolvedBatches = new ArrayBlockingQueue<>(queueCapacity);
+        this.readStage = new Stage("read", 1);
+        this.parseStage = new Stage("parse", parserThreads);
+        this.resolveStage = new Stage("resolve", 1);
+        this.writeStage = new Stage("write", writerThreads);
+    }
+
+    /**
+     * 设置空白节点的作用域（只在运行前调用），同一文件分多次导入时各次使用相同的作用域，同名空白节点对应同一节点
+     */
+    public void setBlankNodeScope(String blankNodeScope) {
+        this.blankNodeScope = blankNodeScope;
+    }
+
+    /**
+     * 设置输入在整个文件中的起始位置（只在运行前调用），分段导入时错误信息中的文件偏移以整个文件计
+     */
+    public void setInputOffset(long inputOffset) {
+        this.inputOffset = inputOffset;
+    }
+
+    /**
+     * 设置是否为重放模式（只在运行前调用）：跳过数据库中已存在的相同关系和数据属性，
+     * 用于从检查点恢复时重新处理上次中断前已部分提交的数据
+     */
+    public void setSkipExisting(boolean skipExisting) {
+        writer.setSkipExisting(skipExisting);
+    }
+
+    /**
+     * 中止运行，{@link #run} 抛出 {@link CancellationException}，已提交的批次保留
+     */
+    public void cancel() {
+        fail(new CancellationException("导入已取消"));
+    }
+
+    /**
+     * 运行流水线直到输入结束且全部批次写入，输入流由调用方关闭
+     *
+     * @throws IllegalArgumentException Turtle 语法错误
+     */
+    public void run(InputStream in, RdfFormatEnum format) throws IOException {
+        run(format, () -> {
+            if (format != RdfFormatEnum.TURTLE) {
+                readChunks(in);
+            } else {
+                parseStream(in, format);
+            }
+        });
+    }
+
+    /**
+     * 运行流水线，解析 content 中 position 到 limit 之间的全部字节（不改变 content 的位置）
+     *
+     * @throws IllegalArgumentException Turtle 语法错误
+     */
+    public void run(ByteBuffer content, RdfFormatEnum format) throws IOException {
+        run(format, () -> {
+            if (format != RdfFormatEnum.TURTLE) {
+                sliceChunks(content);
+            } else {
+                parseBuffer(content, format);
+            }
+        });
+    }
+
+    /**
+     * 启动解析、IRI 解析和写入阶段，在调用线程上执行 source（读取阶段，Turtle 为读取和解析）
+     */
+    private void run(RdfFormatEnum format, StageTask source) throws IOException {
+        boolean chunked = format != RdfFormatEnum.TURTLE;
+        int parsers = chunked ? parserThreads : 0;
+        CountDownLatch finished = new CountDownLatch(parsers + 1 + writerThreads);
+        AtomicInteger activeParsers = new AtomicInteger(parsers);
+        for (int i = 0; i < parsers; i++) {
+            submit(finished, () -> parseChunks(format, activeParsers));
+        }
+        submit(finished, this::resolveBatches);
+        for (int i = 0; i < writerThreads; i++) {
+            submit(finished, this::writeBatches);
+        }
+
+        try {
+            source.run();
+        } catch (Throwable e) {
+            fail(e);
+        }
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            fail(e);
+            Thread.currentThread().interrupt();
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException("导入已中断", error);
+        }
+    }
+
+    /**
+     * 已读取的字节数
+     */
+    public long bytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * 已解析的三元组数
+     */
+    public long tripleCount() {
+        return tripleCount.sum();
+    }
+
+    /**
+     * 因格式不正确而跳过的语句数
+     */
+    public long skippedCount() {
+        return skippedCount.sum();
+    }
+
+    /**
+     * 第一条被跳过的语句的错误信息，没有时为空
+     */
+    public String firstError() {
+        return firstError.get();
+    }
+
+    public long nodeCount() {
+        return writer.nodeCount();
+    }
+
+    public long relationshipCount() {
+        return writer.relationshipCount();
+    }
+
+    public long propertyCount() {
+        return writer.propertyCount();
+    }
+
+    /**
+     * 各阶段的统计，按流水线顺序
+     */
+    public List<Stage> stages() {
+        return List.of(readStage, parseStage, resolveStage, writeStage);
+    }
+
+    // ---------------------------------------------------------------- 各阶段
+
+    /**
+     * 读取阶段：切分为按行对齐的数据块，行尾之后的剩余字节移到下一个数据块开头
+     */
+    private void readChunks(InputStream in) throws IOException, InterruptedException {
+        byte[] buffer = new byte[chunkSize];
+        int length = 0;
+        long index = 0;
+        while (true) {
+            long start = System.nanoTime();
+            int read = 0;
+            while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) >= 0) {
+                length += read;
+            }
+            boolean eof = read < 0;
+            int end = eof ? length : lastLineEnd(buffer, length);
+            if (end == 0 && !eof) {
+                // 整个数据块内没有换行，扩大后继续读取
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                readStage.busy(System.nanoTime() - start);
+                continue;
+            }
+            byte[] next = eof ? null : new byte[Math.max(chunkSize, length - end)];
+            if (next != null) {
+                System.arraycopy(buffer, end, next, 0, length - end);
+            }
+            readStage.busy(System.nanoTime() - start);
+            if (end > 0) {
+                long offset = inputOffset + bytesRead.getAndAdd(end);
+                readStage.processed(0);
+                put(chunks, new Chunk(index++, offset, ByteBuffer.wrap(buffer, 0, end)), readStage);
+            }
+            if (eof) {
+                break;
+            }
+            length -= end;
+            buffer = next;
+        }
+        for (int i = 0; i < parserThreads; i++) {
+            put(chunks, END_OF_CHUNKS, readStage);
+        }
+    }
+
+    /**
+     * 读取阶段（缓冲区输入）：按行对齐切分为缓冲区的切片
+     */
+    private void sliceChunks(ByteBuffer content) throws InterruptedException {
+        int position = content.position();
+        int limit = content.limit();
+        long index = 0;
+        while (position < limit) {
+            long start = System.nanoTime();
+            int end = position + Math.min(chunkSize, limit - position);
+            if (end < limit) {
+                int lineEnd = lastLineEnd(content, position, end);
+                // 整个数据块内没有换行时延伸到下一个换行
+                end = lineEnd > position ? lineEnd : nextLineEnd(content, end, limit);
+            }
+            ByteBuffer slice = content.slice(position, end - position);
+            readStage.busy(System.nanoTime() - start);
+            long offset = inputOffset + bytesRead.getAndAdd(end - position);
+            readStage.processed(0);
+            put(chunks, new Chunk(index++, offset, slice), readStage);
+            position = end;
+        }
+        for (int i = 0; i < parserThreads; i++) {
+            put(chunks, END_OF_CHUNKS, readStage);
+        }
+    }
+
+    private static int lastLineEnd(ByteBuffer content, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (content.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return from;
+    }
+
+    private static int nextLineEnd(ByteBuffer content, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (content.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    private static int lastLineEnd(byte[] buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 解析阶段：每个数据块独立解析，按批大小交给 IRI 解析阶段
+     */
+    private void parseChunks(RdfFormatEnum format, AtomicInteger activeParsers) throws InterruptedException {
+        try {
+            while (true) {
+                Chunk chunk = take(chunks, parseStage);
+                if (chunk == END_OF_CHUNKS) {
+                    break;
+                }
+                BatchCollector collector = new BatchCollector(parseStage);
+                long start = System.nanoTime();
+                RdfStreamParser parser = new RdfStreamParser(chunk.content, format, collector);
+                parser.setBlankNodeScope(blankNodeScope);
+                parser.parse();
+                collector.flush();
+                parseStage.busy(System.nanoTime() - start - collector.blockedNanos);
+                parseStage.processed(parser.tripleCount());
+                recordParser(parser, "第 " + (chunk.index + 1) + " 个数据块（文件偏移 " + chunk.offset
+                        + " 字节）");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (activeParsers.decrementAndGet() == 0 && failure.get() == null) {
+                put(parsedBatches, END_OF_BATCHES, parseStage);
+            }
+        }
+    }
+
+    /**
+     * Turtle：在调用线程上顺序解析整个输入
+     */
+    private void parseStream(InputStream in, RdfFormatEnum format) throws IOException, InterruptedException {
+        BatchCollector collector = new BatchCollector(parseStage);
+        long start = System.nanoTime();
+        RdfStreamParser parser = new RdfStreamParser(new CountingInputStream(in), format, collector);
+        parser.setBlankNodeScope(blankNodeScope);
+        parser.parse();
+        collector.flush();
+        parseStage.busy(System.nanoTime() - start - collector.blockedNanos);
+        parseStage.processed(parser.tripleCount());
+        recordParser(parser, "");
+        put(parsedBatches, END_OF_BATCHES, parseStage);
+    }
+
+    /**
+     * Turtle（缓冲区输入）：在调用线程上顺序解析整个缓冲区
+     */
+    private void parseBuffer(ByteBuffer content, RdfFormatEnum format) throws IOException, InterruptedException {
+        BatchCollector collector = new BatchCollector(parseStage);
+        long start = System.nanoTime();
+        RdfStreamParser parser = new RdfStreamParser(content, format, collector);
+        parser.setBlankNodeScope(blankNodeScope);
+        parser.parse();
+        collector.flush();
+        bytesRead.addAndGet(content.remaining());
+        parseStage.busy(System.nanoTime() - start - collector.blockedNanos);
+        parseStage.processed(parser.tripleCount());
+        recordParser(parser, "");
+        put(parsedBatches, END_OF_BATCHES, parseStage);
+    }
+
+    private void recordParser(RdfStreamParser parser, String location) {
+        tripleCount.add(parser.tripleCount());
+        skippedCount.add(parser.skippedCount());
+        if (parser.firstError() != null) {
+            firstError.compareAndSet(null, location + parser.firstError());
+        }
+    }
+
+    /**
+     * IRI 解析阶段：解析IRI、创建节点，交给写入阶段
+     */
+    private void resolveBatches() throws InterruptedException {
+        while (true) {
+            TripleBatch batch = take(parsedBatches, resolveStage);
+            if (batch == END_OF_BATCHES) {
+                break;
+            }
+            long start = System.nanoTime();
+            ResolvedBatch rows = writer.resolve(batch);
+            resolveStage.busy(System.nanoTime() - start);
+            resolveStage.processed(batch.size());
+            put(resolvedBatches, rows, resolveStage);
+        }
+        for (int i = 0; i < writerThreads; i++) {
+            put(resolvedBatches, END_OF_ROWS, resolveStage);
+        }
+    }
+
+    /**
+     * 写入阶段
+     */
+    private void writeBatches() throws InterruptedException {
+        while (true) {
+            ResolvedBatch rows = take(resolvedBatches, writeStage);
+            if (rows == END_OF_ROWS) {
+                break;
+            }
+            long start = System.nanoTime();
+            writer.write(rows);
+            writeStage.busy(System.nanoTime() - start);
+            writeStage.processed(rows.size());
+        }
+    }
+
+    // ---------------------------------------------------------------- 队列与失败处理
+
+    private void submit(CountDownLatch finished, StageTask task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                finished.countDown();
+            }
+        });
+    }
+
+    private void fail(Throwable e) {
+        // 其他阶段因此中止时抛出的取消异常不覆盖最初的异常
+        if (!(e instanceof CancellationException) || failure.get() == null) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T item, Stage stage) throws InterruptedException {
+        long start = System.nanoTime();
+        while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkFailure();
+        }
+        stage.blocked(System.nanoTime() - start);
+    }
+
+    private <T> T take(BlockingQueue<T> queue, Stage stage) throws InterruptedException {
+        long start = System.nanoTime();
+        T item;
+        while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            checkFailure();
+        }
+        stage.blocked(System.nanoTime() - start);
+        return item;
+    }
+
+    private void checkFailure() {
+        if (failure.get() != null) {
+            throw new CancellationException("导入已中止");
+        }
+    }
+
+    private interface StageTask {
+        void run() throws Exception;
+    }
+
+    /**
+     * 把解析结果按批大小分批交给 IRI 解析阶段，记录入队时的阻塞时间
+     */
+    private final class BatchCollector implements RdfTripleHandler {
+        private final Stage stage;
+        private TripleBatch batch = new TripleBatch();
+        private long blockedNanos;
+
+        private BatchCollector(Stage stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        public void onResource(String subject, String predicate, String object) {
+            batch.addResource(subject, predicate, object);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onLiteral(String subject, String predicate, String value, String datatype, String language) {
+            batch.addLiteral(subject, predicate, value, datatype, language);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.size() == 0) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                put(parsedBatches, batch, stage);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("导入已中断");
+            }
+            blockedNanos += System.nanoTime() - start;
+            batch = new TripleBatch();
+        }
+    }
+
+    /**
+     * 统计 Turtle 顺序解析时读取的字节数
+     */
+    private final class CountingInputStream extends InputStream {
+        private final InputStream in;
+
+        private CountingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                bytesRead.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                bytesRead.addAndGet(read);
+            }
+            return read;
+        }
+    }
+
+    /**
+     * 按行对齐的数据块，offset 为其在输入中的起始字节位置，content 的 position 到 limit 为数据块内容
+     */
+    private static final class Chunk {
+        private final long index;
+        private final long offset;
+        private final ByteBuffer content;
+
+        private Chunk(long index, long offset, ByteBuffer content) {
+            this.index = index;
+            this.offset = offset;
+            this.content = content;
+        }
+    }
+
+    /**
+     * 一个阶段的统计：处理的三元组数、处理单元数（数据块或批），以及各线程累计的忙碌时间和在队列上的阻塞时间
+     */
+    public static final class Stage {
+        private final String name;
+        private final int threadCount;
+        private final LongAdder units = new LongAdder();
+        private final LongAdder triples = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();
+
+        private Stage(String name, int threadCount) {
+            this.name = name;
+            this.threadCount = threadCount;
+        }
+
+        private void processed(long tripleCount) {
+            units.increment();
+            triples.add(tripleCount);
+        }
+
+        private void busy(long nanos) {
+            busyNanos.add(nanos);
+        }
+
+        private void blocked(long nanos) {
+            blockedNanos.add(nanos);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public int threadCount() {
+            return threadCount;
+        }
+
+        /**
+         * 处理的数据块数（读取、解析阶段）或批数（IRI 解析、写入阶段）
+         */
+        public long unitCount() {
+            return units.sum();
+        }
+
+        /**
+         * 处理的三元组数（读取阶段为0）
+         */
+        public long tripleCount() {
+            return triples.sum();
+        }
+
+        public long busyMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(busyNanos.sum());
+        }
+
+        /**
+         * 等待上游数据或下游队列空位的时间
+         */
+        public long blockedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(blockedNanos.sum());
+        }
+    }
+}
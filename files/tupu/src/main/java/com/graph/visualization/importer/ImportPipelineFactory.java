@@ -0,0 +1,57 @@
+package com.graph.visualization.importer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 按 graph.import.* 配置创建导入流水线
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportPipelineFactory {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor importPipelineExecutor;
+
+    @Value("${graph.import.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${graph.import.iri-cache-size:5000000}")
+    private int iriCacheSize;
+
+    @Value("${graph.import.parser-threads:0}")
+    private int parserThreads;
+
+    @Value("${graph.import.writer-threads:2}")
+    private int writerThreads;
+
+    @Value("${graph.import.chunk-size:4194304}")
+    private int chunkSize;
+
+    @Value("${graph.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    /**
+     * 创建IRI解析层（尚未预加载）
+     */
+    public IriResolver createResolver() {
+        return new IriResolver(jdbcTemplate, iriCacheSize);
+    }
+
+    /**
+     * 创建导入流水线
+     *
+     * @param iriResolver 已预加载的IRI解析层
+     */
+    public ImportPipeline create(IriResolver iriResolver) {
+        return new ImportPipeline(importPipelineExecutor, jdbcTemplate, transactionTemplate, iriResolver,
+                parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors(), writerThreads,
+                chunkSize, batchSize, queueCapacity);
+    }
+}
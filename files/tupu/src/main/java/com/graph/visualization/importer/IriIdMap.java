@@ -0,0 +1,177 @@
+package com.graph.visualization.importer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 紧凑的 IRI→节点ID 开放寻址哈希表
+ * <p>
+ * IRI 以 UTF-8 字节顺序存放在按页分配的字节数组中，槽位只保存哈希值、键的地址（页号、页内偏移、长度打包为一个 long）
+ * 和节点ID，不为每个条目创建 String、Long 或链表节点对象。冲突时线性探测，装载因子超过 3/4 时扩容。
+ * 条目数达到上限后不再加入新条目，调用方需自行处理未能缓存的键。实例不是线程安全的。
+ */
+public final class IriIdMap {
+
+    private static final int PAGE_BITS = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int LENGTH_BITS = 16;
+    private static final int MAX_KEY_LENGTH = (1 << LENGTH_BITS) - 1;
+
+    private final int maxSize;
+    private final List<byte[]> pages = new ArrayList<>();
+    private int pageOffset = PAGE_SIZE;
+
+    private int[] hashes;
+    private long[] addresses;
+    private long[] ids;
+    private int size;
+
+    /**
+     * @param maxSize 最多保存的条目数
+     */
+    public IriIdMap(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("IRI缓存容量必须大于0");
+        }
+        this.maxSize = maxSize;
+        allocate(1024);
+    }
+
+    /**
+     * IRI 的 UTF-8 编码，作为 {@link #get} 和 {@link #put} 的键
+     */
+    public static byte[] encode(String iri) {
+        return iri.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 键的64位哈希（FNV-1a 后做 murmur3 的末尾混合），同时用于哈希表和布隆过滤器
+     */
+    public static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 查找键对应的节点ID
+     *
+     * @param hash {@link #hash} 的结果
+     * @return 节点ID，不存在时返回-1
+     */
+    public long get(byte[] key, long hash) {
+        int h = slotHash(hash);
+        int mask = hashes.length - 1;
+        for (int slot = h & mask; hashes[slot] != 0; slot = (slot + 1) & mask) {
+            if (hashes[slot] == h && keyEquals(addresses[slot], key)) {
+                return ids[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 加入或更新一个条目
+     *
+     * @return 条目已保存时返回true；达到容量上限或键过长而未保存时返回false
+     */
+    public boolean put(byte[] key, long hash, long id) {
+        int h = slotHash(hash);
+        int mask = hashes.length - 1;
+        int slot = h & mask;
+        for (; hashes[slot] != 0; slot = (slot + 1) & mask) {
+            if (hashes[slot] == h && keyEquals(addresses[slot], key)) {
+                ids[slot] = id;
+                return true;
+            }
+        }
+        if (size >= maxSize || key.length > MAX_KEY_LENGTH) {
+            return false;
+        }
+        hashes[slot] = h;
+        addresses[slot] = store(key);
+        ids[slot] = id;
+        if (++size > hashes.length / 4 * 3) {
+            rehash();
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 是否已达到容量上限
+     */
+    public boolean isFull() {
+        return size >= maxSize;
+    }
+
+    /**
+     * 槽位中的哈希值，0 表示空槽
+     */
+    private static int slotHash(long hash) {
+        int h = (int) (hash ^ (hash >>> 32));
+        return h == 0 ? 1 : h;
+    }
+
+    private long store(byte[] key) {
+        if (pageOffset + key.length > PAGE_SIZE) {
+            pages.add(new byte[PAGE_SIZE]);
+            pageOffset = 0;
+        }
+        int page = pages.size() - 1;
+        System.arraycopy(key, 0, pages.get(page), pageOffset, key.length);
+        long address = ((((long) page << PAGE_BITS) | pageOffset) << LENGTH_BITS) | key.length;
+        pageOffset += key.length;
+        return address;
+    }
+
+    private boolean keyEquals(long address, byte[] key) {
+        int length = (int) (address & MAX_KEY_LENGTH);
+        if (length != key.length) {
+            return false;
+        }
+        long location = address >>> LENGTH_BITS;
+        byte[] page = pages.get((int) (location >>> PAGE_BITS));
+        int offset = (int) (location & (PAGE_SIZE - 1));
+        return Arrays.equals(page, offset, offset + length, key, 0, length);
+    }
+
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        addresses = new long[capacity];
+        ids = new long[capacity];
+    }
+
+    private void rehash() {
+        int[] oldHashes = hashes;
+        long[] oldAddresses = addresses;
+        long[] oldIds = ids;
+        allocate(oldHashes.length * 2);
+        int mask = hashes.length - 1;
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] == 0) {
+                continue;
+            }
+            int slot = oldHashes[i] & mask;
+            while (hashes[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = oldHashes[i];
+            addresses[slot] = oldAddresses[i];
+            ids[slot] = oldIds[i];
+        }
+    }
+}
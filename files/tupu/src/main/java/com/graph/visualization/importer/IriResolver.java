@@ -0,0 +1,167 @@
+package com.graph.visualization.importer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 导入时的 IRI→节点ID 解析层
+ * <p>
+ * 导入开始时一次流式扫描节点表：前 cacheSize 个IRI连同ID放入 {@link IriIdMap}，全部IRI加入 {@link BloomFilter}。
+ * 解析时缓存命中直接得到ID；未命中且布隆过滤器判断不存在的IRI一定是新节点，无需访问数据库；
+ * 只有布隆过滤器判断可能存在的IRI（缓存容量之外的已有节点或误判）按组批量查询数据库。
+ * 导入中新创建的节点同样加入缓存和布隆过滤器，文件中再次出现时不会被当作新节点。
+ * <p>
+ * 预加载之后由其他请求写入的节点不在布隆过滤器中，同时导入相同IRI时以节点表的唯一约束报错。
+ * 实例不是线程安全的，每次导入使用一个实例。
+ */
+public class IriResolver {
+
+    /**
+     * 按IRI查询节点ID时每条 IN 查询的参数个数
+     */
+    static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int cacheSize;
+    private IriIdMap cache;
+    private BloomFilter bloomFilter;
+
+    private long cacheHits;
+    private long databaseLookups;
+    private long falsePositives;
+
+    /**
+     * @param cacheSize 内存中缓存的 IRI→ID 条目数上限
+     */
+    public IriResolver(JdbcTemplate jdbcTemplate, int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * 流式扫描节点表，建立缓存和布隆过滤器
+     *
+     * @return 已有节点数
+     */
+    public long preload() {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM nodes", Long.class);
+        long nodeCount = existing != null ? existing : 0;
+        cache = new IriIdMap(cacheSize);
+        // 新创建的节点也会加入，按已有节点数加缓存容量估计元素数
+        bloomFilter = new BloomFilter(nodeCount + cacheSize, FALSE_POSITIVE_RATE);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT id, iri FROM nodes",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // MySQL 驱动只在 fetchSize 为 Integer.MIN_VALUE 时逐行流式返回结果
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, rs -> {
+            register(rs.getString(2), rs.getLong(1));
+        });
+        return nodeCount;
+    }
+
+    /**
+     * 解析一组IRI，已存在节点的ID写入 resolved
+     *
+     * @return 数据库中不存在的IRI（保持传入顺序）
+     */
+    public Set<String> resolve(Collection<String> iris, Map<String, Long> resolved) {
+        Set<String> missing = new LinkedHashSet<>();
+        List<String> candidates = new ArrayList<>();
+        for (String iri : iris) {
+            byte[] key = IriIdMap.encode(iri);
+            long hash = IriIdMap.hash(key);
+            long id = cache.get(key, hash);
+            if (id >= 0) {
+                resolved.put(iri, id);
+                cacheHits++;
+            } else if (bloomFilter.mightContain(hash)) {
+                candidates.add(iri);
+            } else {
+                missing.add(iri);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            lookup(candidates, resolved);
+            for (String iri : candidates) {
+                if (!resolved.containsKey(iri)) {
+                    missing.add(iri);
+                    falsePositives++;
+                }
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * 按组批量查询数据库中IRI对应的节点ID，结果写入 resolved 并加入缓存
+     */
+    public void lookup(Collection<String> iris, Map<String, Long> resolved) {
+        List<String> chunk = new ArrayList<>(Math.min(iris.size(), LOOKUP_CHUNK_SIZE));
+        for (String iri : iris) {
+            chunk.add(iri);
+            if (chunk.size() == LOOKUP_CHUNK_SIZE) {
+                lookupChunk(chunk, resolved);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            lookupChunk(chunk, resolved);
+        }
+    }
+
+    private void lookupChunk(List<String> iris, Map<String, Long> resolved) {
+        String sql = "SELECT id, iri FROM nodes WHERE iri IN (" + String.join(",", Collections.nCopies(iris.size(), "?"))
+                + ")";
+        jdbcTemplate.query(sql, rs -> {
+            String iri = rs.getString(2);
+            long id = rs.getLong(1);
+            resolved.put(iri, id);
+            register(iri, id);
+        }, iris.toArray());
+        databaseLookups++;
+    }
+
+    /**
+     * 记录一个IRI和节点ID：加入布隆过滤器，缓存未满时加入缓存
+     */
+    public void register(String iri, long id) {
+        byte[] key = IriIdMap.encode(iri);
+        long hash = IriIdMap.hash(key);
+        bloomFilter.add(hash);
+        cache.put(key, hash, id);
+    }
+
+    /**
+     * 缓存命中的IRI数
+     */
+    public long cacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * 查询数据库的次数（每次最多 {@link #LOOKUP_CHUNK_SIZE} 个IRI）
+     */
+    public long databaseLookups() {
+        return databaseLookups;
+    }
+
+    /**
+     * 布隆过滤器判断可能存在、查询后确认不存在的IRI数
+     */
+    public long falsePositives() {
+        return falsePositives;
+    }
+}
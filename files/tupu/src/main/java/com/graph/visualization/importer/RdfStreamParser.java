@@ -0,0 +1,908 @@
+package com.graph.visualization.importer;
+
+import com.graph.visualization.enums.RdfFormatEnum;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * N-Triples / Turtle / N-Quads 的流式解析器
+ * <p>
+ * 直接在 UTF-8 字节上解析（各格式的分隔符都是 ASCII，多字节字符不会与之混淆），数据来自输入流时
+ * 使用可扩展的滑动窗口，只保留当前词法单元；也可以直接解析内存中或内存映射的 {@link ByteBuffer}。
+ * 不含转义的 IRI、空白节点和语言标签直接由窗口中的字节驻留为字符串（{@link TermInterner}），
+ * 重复的 IRI 不再解码和分配；字面量按词法形式解码。解析出的三元组逐个推送给 {@link RdfTripleHandler}。
+ * <p>
+ * Turtle 支持 @prefix/@base 及 SPARQL 形式的 PREFIX/BASE、前缀名、相对 IRI、a、谓语列表（;）、
+ * 宾语列表（,）、匿名空白节点 [...]、集合 (...)、长字符串以及数值和布尔字面量。
+ * N-Triples 和 N-Quads 按行解析，格式不正确的语句跳过并计数；Turtle 语句可以跨行，出错时抛出异常。
+ * 实例不是线程安全的，每个实例只解析一次。
+ */
+public final class RdfStreamParser {
+
+    public static final String RDF_NAMESPACE = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+    public static final String XSD_NAMESPACE = "http://www.w3.org/2001/XMLSchema#";
+
+    private static final String RDF_TYPE = RDF_NAMESPACE + "type";
+    private static final String RDF_FIRST = RDF_NAMESPACE + "first";
+    private static final String RDF_REST = RDF_NAMESPACE + "rest";
+    private static final String RDF_NIL = RDF_NAMESPACE + "nil";
+    private static final String XSD_INTEGER = XSD_NAMESPACE + "integer";
+    private static final String XSD_DECIMAL = XSD_NAMESPACE + "decimal";
+    private static final String XSD_DOUBLE = XSD_NAMESPACE + "double";
+    private static final String XSD_BOOLEAN = XSD_NAMESPACE + "boolean";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INTERNER_CAPACITY = 1 << 16;
+
+    private final RdfFormatEnum format;
+    private final RdfTripleHandler handler;
+    private final InputStream in;
+    private final TermInterner interner = new TermInterner(INTERNER_CAPACITY);
+    private final Map<String, byte[]> prefixes = new HashMap<>();
+    private String blankNodePrefix;
+    private byte[] blankNodePrefixBytes;
+
+    /**
+     * 输入窗口：[mark, limit) 为已读入且需要保留的字节，pos 为当前位置。
+     * 从输入流读取时 array 为窗口的底层数组，补充数据时把 mark 之后的字节移到数组开头
+     */
+    private ByteBuffer buffer;
+    private byte[] array;
+    private int pos;
+    private int limit;
+    private int mark;
+    private boolean eof;
+    private long line = 1;
+
+    private String base;
+    private long anonymousCount;
+    private byte[] scratch = new byte[256];
+    private ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+    private int scratchLength;
+
+    private String literalValue;
+    private String literalDatatype;
+    private String literalLanguage;
+
+    private long tripleCount;
+    private long skippedCount;
+    private String firstError;
+
+    /**
+     * 解析输入流，输入流由调用方关闭
+     */
+    public RdfStreamParser(InputStream in, RdfFormatEnum format, RdfTripleHandler handler) {
+        this(format, handler, in);
+        this.array = new byte[BUFFER_SIZE];
+        this.buffer = ByteBuffer.wrap(array);
+    }
+
+    /**
+     * 解析 content 中 position 到 limit 之间的全部字节（可以是内存映射的缓冲区），不改变 content 的位置
+     */
+    public RdfStreamParser(ByteBuffer content, RdfFormatEnum format, RdfTripleHandler handler) {
+        this(format, handler, null);
+        this.buffer = content;
+        this.array = content.hasArray() && content.arrayOffset() == 0 ? content.array() : null;
+        this.pos = content.position();
+        this.mark = pos;
+        this.limit = content.limit();
+        this.eof = true;
+    }
+
+    private RdfStreamParser(RdfFormatEnum format, RdfTripleHandler handler, InputStream in) {
+        this.format = format;
+        this.handler = handler;
+        this.in = in;
+        setBlankNodeScope(newBlankNodeScope());
+    }
+
+    /**
+     * 生成新的空白节点作用域标识
+     */
+    public static String newBlankNodeScope() {
+        return Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    }
+
+    /**
+     * 设置空白节点的作用域，需在 {@link #parse} 之前调用。默认每个实例使用新的作用域；
+     * 同一文件分块并行解析时各块使用相同的作用域，使同名空白节点对应同一个节点
+     * （只有 Turtle 会生成匿名空白节点，它不分块解析）
+     *
+     * @param scope 由字母和数字组成的标识
+     */
+    public void setBlankNodeScope(String scope) {
+        this.blankNodePrefix = "_:" + scope;
+        this.blankNodePrefixBytes = blankNodePrefix.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 解析全部输入
+     *
+     * @throws IllegalArgumentException Turtle 语法错误
+     */
+    public void parse() throws IOException {
+        try {
+            while (true) {
+                skipWhitespace();
+                if (peek() < 0) {
+                    return;
+                }
+                if (format == RdfFormatEnum.TURTLE) {
+                    turtleStatement();
+                } else {
+                    lineStatement();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 推送给回调的三元组数
+     */
+    public long tripleCount() {
+        return tripleCount;
+    }
+
+    /**
+     * 因格式不正确而跳过的语句数（只用于 N-Triples 和 N-Quads）
+     */
+    public long skippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * 第一条被跳过的语句的错误信息，没有时为空
+     */
+    public String firstError() {
+        return firstError;
+    }
+
+    /**
+     * 驻留的术语中命中已有字符串的比例
+     */
+    public double internHitRate() {
+        long total = interner.hits() + interner.misses();
+        return total == 0 ? 0 : (double) interner.hits() / total;
+    }
+
+    /**
+     * 已解析到的行号
+     */
+    public long line() {
+        return line;
+    }
+
+    // ---------------------------------------------------------------- N-Triples / N-Quads
+
+    private void lineStatement() {
+        String subject;
+        String predicate;
+        String object = null;
+        try {
+            subject = peek() == '_' ? blankNode() : iriRef();
+            skipSpaces();
+            predicate = iriRef();
+            skipSpaces();
+            int c = peek();
+            if (c == '<') {
+                object = iriRef();
+            } else if (c == '_') {
+                object = blankNode();
+            } else if (c == '"') {
+                stringLiteral();
+            } else {
+                throw error("此处应为IRI、空白节点或字面量");
+            }
+            skipSpaces();
+            if (format == RdfFormatEnum.NQUADS && peek() != '.') {
+                // 图名不影响导入
+                if (peek() == '_') {
+                    blankNode();
+                } else {
+                    iriRef();
+                }
+                skipSpaces();
+            }
+            expect('.');
+            skipSpaces();
+            c = peek();
+            if (c >= 0 && c != '\n' && c != '\r' && c != '#') {
+                throw error("语句结束后有多余内容");
+            }
+        } catch (IllegalArgumentException e) {
+            skippedCount++;
+            if (firstError == null) {
+                firstError = e.getMessage();
+            }
+            skipLine();
+            return;
+        }
+        if (object != null) {
+            emitResource(subject, predicate, object);
+        } else {
+            emitLiteral(subject, predicate);
+        }
+    }
+
+    private void skipSpaces() {
+        int c;
+        while ((c = peek()) == ' ' || c == '\t') {
+            pos++;
+        }
+    }
+
+    private void skipLine() {
+        int c;
+        while ((c = peek()) >= 0) {
+            mark = pos;
+            pos++;
+            if (c == '\n') {
+                line++;
+                return;
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- Turtle
+
+    private void turtleStatement() {
+        int c = peek();
+        if (c == '@') {
+            pos++;
+            if (isKeyword("prefix", false)) {
+                pos += 6;
+                prefixDirective();
+                skipWhitespace();
+                expect('.');
+            } else if (isKeyword("base", false)) {
+                pos += 4;
+                skipWhitespace();
+                base = iriRef();
+                skipWhitespace();
+                expect('.');
+            } else {
+                throw error("未知的指令");
+            }
+            return;
+        }
+        if (isKeyword("PREFIX", true)) {
+            pos += 6;
+            prefixDirective();
+            return;
+        }
+        if (isKeyword("BASE", true)) {
+            pos += 4;
+            skipWhitespace();
+            base = iriRef();
+            return;
+        }
+
+        String subject;
+        if (c == '[') {
+            subject = blankNodePropertyList();
+            skipWhitespace();
+            if (peek() == '.') {
+                pos++;
+                return;
+            }
+        } else if (c == '(') {
+            subject = collection();
+            skipWhitespace();
+        } else {
+            subject = resource();
+            skipWhitespace();
+        }
+        predicateObjectList(subject);
+        skipWhitespace();
+        expect('.');
+    }
+
+    private void prefixDirective() {
+        skipWhitespace();
+        mark = pos;
+        int c;
+        while ((c = peek()) != ':') {
+            if (!isNameChar(c) && c != '.') {
+                throw error("此处应为前缀名");
+            }
+            pos++;
+        }
+        String prefix = interner.intern(buffer, mark, pos);
+        pos++;
+        skipWhitespace();
+        prefixes.put(prefix, iriRef().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void predicateObjectList(String subject) {
+        while (true) {
+            String predicate = verb();
+            skipWhitespace();
+            objectList(subject, predicate);
+            skipWhitespace();
+            if (peek() != ';') {
+                return;
+            }
+            while (peek() == ';') {
+                pos++;
+                skipWhitespace();
+            }
+            int c = peek();
+            if (c == '.' || c == ']' || c < 0) {
+                return;
+            }
+        }
+    }
+
+    private void objectList(String subject, String predicate) {
+        object(subject, predicate);
+        skipWhitespace();
+        while (peek() == ',') {
+            pos++;
+            skipWhitespace();
+            object(subject, predicate);
+            skipWhitespace();
+        }
+    }
+
+    private String verb() {
+        if (peek() == 'a' && isDelimiter(peekAt(1))) {
+            pos++;
+            return RDF_TYPE;
+        }
+        return peek() == '<' ? iriRef() : prefixedName();
+    }
+
+    private void object(String subject, String predicate) {
+        int c = peek();
+        if (c == '<' || (c == '_' && peekAt(1) == ':')) {
+            emitResource(subject, predicate, resource());
+        } else if (c == '[') {
+            emitResource(subject, predicate, blankNodePropertyList());
+        } else if (c == '(') {
+            emitResource(subject, predicate, collection());
+        } else if (c == '"' || c == '\'') {
+            stringLiteral();
+            emitLiteral(subject, predicate);
+        } else if (isDigit(c) || c == '+' || c == '-' || (c == '.' && isDigit(peekAt(1)))) {
+            numericLiteral();
+            emitLiteral(subject, predicate);
+        } else if (isKeyword("true", false) || isKeyword("false", false)) {
+            mark = pos;
+            pos += c == 't' ? 4 : 5;
+            literalValue = c == 't' ? "true" : "false";
+            literalDatatype = XSD_BOOLEAN;
+            literalLanguage = null;
+            emitLiteral(subject, predicate);
+        } else {
+            emitResource(subject, predicate, prefixedName());
+        }
+    }
+
+    private String resource() {
+        int c = peek();
+        if (c == '<') {
+            return iriRef();
+        }
+        if (c == '_' && peekAt(1) == ':') {
+            return blankNode();
+        }
+        return prefixedName();
+    }
+
+    private String blankNodePropertyList() {
+        expect('[');
+        String node = newBlankNode();
+        skipWhitespace();
+        if (peek() != ']') {
+            predicateObjectList(node);
+            skipWhitespace();
+        }
+        expect(']');
+        return node;
+    }
+
+    /**
+     * 集合展开为 rdf:first / rdf:rest 链表，空集合为 rdf:nil
+     */
+    private String collection() {
+        expect('(');
+        skipWhitespace();
+        if (peek() == ')') {
+            pos++;
+            return RDF_NIL;
+        }
+        String head = newBlankNode();
+        String current = head;
+        while (true) {
+            object(current, RDF_FIRST);
+            skipWhitespace();
+            if (peek() == ')') {
+                pos++;
+                emitResource(current, RDF_REST, RDF_NIL);
+                return head;
+            }
+            if (peek() < 0) {
+                throw error("集合未结束");
+            }
+            String next = newBlankNode();
+            emitResource(current, RDF_REST, next);
+            current = next;
+        }
+    }
+
+    private String prefixedName() {
+        mark = pos;
+        int c;
+        while ((c = peek()) != ':') {
+            if (!isNameChar(c) && !(c == '.' && pos > mark && isNameChar(peekAt(1)))) {
+                throw error(c < 0 ? "意外的文件结尾" : "无法识别的内容");
+            }
+            pos++;
+        }
+        String prefix = interner.intern(buffer, mark, pos);
+        byte[] namespace = prefixes.get(prefix);
+        if (namespace == null) {
+            throw error("未定义的前缀: " + prefix);
+        }
+        pos++;
+        scratchLength = 0;
+        appendScratch(namespace, 0, namespace.length);
+        while (true) {
+            c = peek();
+            if (isNameChar(c) || c == ':') {
+                appendScratch(c);
+                pos++;
+            } else if (c == '%') {
+                if (!isHex(peekAt(1)) || !isHex(peekAt(2))) {
+                    throw error("无效的百分号编码");
+                }
+                appendScratch('%');
+                appendScratch(peekAt(1));
+                appendScratch(peekAt(2));
+                pos += 3;
+            } else if (c == '\\' && peekAt(1) >= 0) {
+                appendScratch(peekAt(1));
+                pos += 2;
+            } else if (c == '.' && isLocalChar(peekAt(1))) {
+                appendScratch('.');
+                pos++;
+            } else {
+                break;
+            }
+        }
+        return interner.intern(scratchBuffer, 0, scratchLength);
+    }
+
+    // ---------------------------------------------------------------- 词法单元
+
+    private String iriRef() {
+        expect('<');
+        mark = pos;
+        boolean escaped = false;
+        int c;
+        while ((c = peek()) != '>') {
+            if (c < 0 || c == '\n' || c == ' ' || c == '<' || c == '"') {
+                throw error("IRI未结束或包含非法字符");
+            }
+            if (c == '\\') {
+                if (!escaped) {
+                    scratchLength = 0;
+                    appendScratch(buffer, mark, pos);
+                    escaped = true;
+                }
+                pos++;
+                int kind = peek();
+                if (kind != 'u' && kind != 'U') {
+                    throw error("IRI中无效的转义");
+                }
+                pos++;
+                appendCodePoint(hexValue(kind == 'u' ? 4 : 8));
+                continue;
+            }
+            if (escaped) {
+                appendScratch(c);
+            }
+            pos++;
+        }
+        String iri;
+        if (!escaped) {
+            if (base != null && !isAbsolute(buffer, mark, pos)) {
+                scratchLength = 0;
+                appendScratch(buffer, mark, pos);
+                iri = resolve();
+            } else {
+                iri = interner.intern(buffer, mark, pos);
+            }
+        } else {
+            iri = base != null && !isAbsolute(scratchBuffer, 0, scratchLength)
+                    ? resolve() : interner.intern(scratchBuffer, 0, scratchLength);
+        }
+        pos++;
+        return iri;
+    }
+
+    /**
+     * 以 base 解析 scratch 中的相对 IRI
+     */
+    private String resolve() {
+        String relative = new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+        if (relative.isEmpty()) {
+            return base;
+        }
+        try {
+            return URI.create(base).resolve(relative).toString();
+        } catch (IllegalArgumentException e) {
+            return base + relative;
+        }
+    }
+
+    private String blankNode() {
+        if (peek() != '_' || peekAt(1) != ':') {
+            throw error("此处应为空白节点");
+        }
+        pos += 2;
+        mark = pos;
+        int c;
+        while (isNameChar(c = peek()) || (c == '.' && isNameChar(peekAt(1)))) {
+            pos++;
+        }
+        if (pos == mark) {
+            throw error("空白节点标识为空");
+        }
+        // 带标识的空白节点为 前缀_标识，匿名空白节点为 前缀.序号，两者不会相同
+        scratchLength = 0;
+        appendScratch(blankNodePrefixBytes, 0, blankNodePrefixBytes.length);
+        appendScratch('_');
+        appendScratch(buffer, mark, pos);
+        return interner.intern(scratchBuffer, 0, scratchLength);
+    }
+
+    private String newBlankNode() {
+        return blankNodePrefix + "." + (++anonymousCount);
+    }
+
+    private void stringLiteral() {
+        int quote = peek();
+        if (quote != '"' && (quote != '\'' || format != RdfFormatEnum.TURTLE)) {
+            throw error("此处应为字符串");
+        }
+        boolean longString = format == RdfFormatEnum.TURTLE && peekAt(1) == quote && peekAt(2) == quote;
+        pos += longString ? 3 : 1;
+        mark = pos;
+        boolean escaped = false;
+        while (true) {
+            int c = peek();
+            if (c < 0) {
+                throw error("字符串未结束");
+            }
+            if (c == quote && (!longString || (peekAt(1) == quote && peekAt(2) == quote && peekAt(3) != quote))) {
+                break;
+            }
+            if (c == '\n' || c == '\r') {
+                if (!longString) {
+                    throw error("字符串中不能有换行");
+                }
+                if (c == '\n') {
+                    line++;
+                }
+            }
+            if (c == '\\') {
+                if (!escaped) {
+                    scratchLength = 0;
+                    appendScratch(buffer, mark, pos);
+                    escaped = true;
+                }
+                pos++;
+                unescape();
+                continue;
+            }
+            if (escaped) {
+                appendScratch(c);
+            }
+            pos++;
+        }
+        literalValue = escaped ? new String(scratch, 0, scratchLength, StandardCharsets.UTF_8) : decode(mark, pos);
+        pos += longString ? 3 : 1;
+        literalDatatype = null;
+        literalLanguage = null;
+        int c = peek();
+        if (c == '@') {
+            pos++;
+            mark = pos;
+            while (isLetter(c = peek()) || (pos > mark && (isDigit(c) || c == '-'))) {
+                pos++;
+            }
+            if (pos == mark) {
+                throw error("语言标签为空");
+            }
+            literalLanguage = interner.intern(buffer, mark, pos);
+        } else if (c == '^' && peekAt(1) == '^') {
+            pos += 2;
+            literalDatatype = peek() == '<' || format != RdfFormatEnum.TURTLE ? iriRef() : prefixedName();
+        }
+    }
+
+    private void unescape() {
+        int c = peek();
+        pos++;
+        switch (c) {
+            case 't' -> appendScratch('\t');
+            case 'b' -> appendScratch('\b');
+            case 'n' -> appendScratch('\n');
+            case 'r' -> appendScratch('\r');
+            case 'f' -> appendScratch('\f');
+            case '"', '\'', '\\' -> appendScratch(c);
+            case 'u' -> appendCodePoint(hexValue(4));
+            case 'U' -> appendCodePoint(hexValue(8));
+            default -> throw error("无效的转义字符");
+        }
+    }
+
+    private void numericLiteral() {
+        mark = pos;
+        int c = peek();
+        if (c == '+' || c == '-') {
+            pos++;
+        }
+        int digits = skipDigits();
+        literalDatatype = XSD_INTEGER;
+        if (peek() == '.' && isDigit(peekAt(1))) {
+            pos++;
+            digits += skipDigits();
+            literalDatatype = XSD_DECIMAL;
+        }
+        c = peek();
+        if (c == 'e' || c == 'E') {
+            pos++;
+            c = peek();
+            if (c == '+' || c == '-') {
+                pos++;
+            }
+            if (skipDigits() == 0) {
+                throw error("指数部分缺少数字");
+            }
+            literalDatatype = XSD_DOUBLE;
+        }
+        if (digits == 0) {
+            throw error("无效的数值");
+        }
+        literalValue = decode(mark, pos);
+        literalLanguage = null;
+    }
+
+    private int skipDigits() {
+        int count = 0;
+        while (isDigit(peek())) {
+            pos++;
+            count++;
+        }
+        return count;
+    }
+
+    private int hexValue(int length) {
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            int c = peek();
+            if (!isHex(c)) {
+                throw error("无效的Unicode转义");
+            }
+            value = value * 16 + Character.digit(c, 16);
+            pos++;
+        }
+        return value;
+    }
+
+    private void skipWhitespace() {
+        while (true) {
+            mark = pos;
+            int c = peek();
+            if (c == '\n') {
+                line++;
+                pos++;
+            } else if (c == ' ' || c == '\t' || c == '\r') {
+                pos++;
+            } else if (c == '#') {
+                while ((c = peek()) >= 0 && c != '\n') {
+                    mark = pos;
+                    pos++;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void expect(int expected) {
+        if (peek() != expected) {
+            throw error("此处应为 " + (char) expected);
+        }
+        pos++;
+    }
+
+    /**
+     * 当前位置是否为关键字（其后不是名称字符）
+     */
+    private boolean isKeyword(String keyword, boolean ignoreCase) {
+        for (int i = 0; i < keyword.length(); i++) {
+            int c = peekAt(i);
+            char k = keyword.charAt(i);
+            if (c != k && !(ignoreCase && Character.toUpperCase(c) == k)) {
+                return false;
+            }
+        }
+        int next = peekAt(keyword.length());
+        return !isNameChar(next) && next != ':';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("第 " + line + " 行：" + message);
+    }
+
+    // ---------------------------------------------------------------- 输入窗口
+
+    private int peek() {
+        if (pos >= limit && !refill()) {
+            return -1;
+        }
+        return buffer.get(pos) & 0xff;
+    }
+
+    private int peekAt(int offset) {
+        while (pos + offset >= limit) {
+            if (!refill()) {
+                return -1;
+            }
+        }
+        return buffer.get(pos + offset) & 0xff;
+    }
+
+    /**
+     * 从输入流补充数据，保留 mark 之后的字节
+     *
+     * @return 没有更多数据时返回false
+     */
+    private boolean refill() {
+        if (eof) {
+            return false;
+        }
+        if (mark > 0) {
+            System.arraycopy(array, mark, array, 0, limit - mark);
+            pos -= mark;
+            limit -= mark;
+            mark = 0;
+        }
+        if (limit == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+            buffer = ByteBuffer.wrap(array);
+        }
+        try {
+            int read;
+            do {
+                read = in.read(array, limit, array.length - limit);
+            } while (read == 0);
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+            limit += read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String decode(int from, int to) {
+        if (array != null) {
+            return new String(array, from, to - from, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void emitResource(String subject, String predicate, String object) {
+        handler.onResource(subject, predicate, object);
+        tripleCount++;
+    }
+
+    private void emitLiteral(String subject, String predicate) {
+        handler.onLiteral(subject, predicate, literalValue, literalDatatype, literalLanguage);
+        tripleCount++;
+    }
+
+    // ---------------------------------------------------------------- 暂存区
+
+    private void appendScratch(int b) {
+        if (scratchLength == scratch.length) {
+            growScratch(scratchLength + 1);
+        }
+        scratch[scratchLength++] = (byte) b;
+    }
+
+    private void appendScratch(byte[] bytes, int from, int to) {
+        growScratch(scratchLength + to - from);
+        System.arraycopy(bytes, from, scratch, scratchLength, to - from);
+        scratchLength += to - from;
+    }
+
+    private void appendScratch(ByteBuffer source, int from, int to) {
+        growScratch(scratchLength + to - from);
+        source.get(from, scratch, scratchLength, to - from);
+        scratchLength += to - from;
+    }
+
+    private void appendCodePoint(int codePoint) {
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw error("无效的Unicode码点");
+        }
+        byte[] bytes = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+        appendScratch(bytes, 0, bytes.length);
+    }
+
+    private void growScratch(int capacity) {
+        if (capacity > scratch.length) {
+            scratch = Arrays.copyOf(scratch, Math.max(capacity, scratch.length * 2));
+            scratchBuffer = ByteBuffer.wrap(scratch);
+        }
+    }
+
+    // ---------------------------------------------------------------- 字符类别
+
+    /**
+     * 名称字符：字母、数字、_、-，以及所有非 ASCII 字符（UTF-8 多字节序列的各字节）
+     */
+    private static boolean isNameChar(int c) {
+        return c >= 0x80 || isLetter(c) || isDigit(c) || c == '_' || c == '-';
+    }
+
+    private static boolean isLocalChar(int c) {
+        return isNameChar(c) || c == ':' || c == '%' || c == '\\';
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHex(int c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c < 0 || c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '<' || c == '[' || c == '(' || c == '#';
+    }
+
+    /**
+     * IRI 是否带有协议名（字母开头，由字母、数字、+、-、. 组成，后跟冒号）
+     */
+    private static boolean isAbsolute(ByteBuffer bytes, int from, int to) {
+        if (from >= to || !isLetter(bytes.get(from))) {
+            return false;
+        }
+        for (int i = from + 1; i < to; i++) {
+            int c = bytes.get(i);
+            if (c == ':') {
+                return true;
+            }
+            if (!isLetter(c) && !isDigit(c) && c != '+' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.graph.visualization.importer;
+
+/**
+ * RDF解析结果的回调
+ * <p>
+ * 解析器每解析出一个三元组调用一次。IRI 和空白节点标识由解析器驻留，重复出现时为同一个 String 实例；
+ * 空白节点标识以 "_:" 开头，并带有每次解析唯一的前缀，不同文件中的同名空白节点不会被合并。
+ */
+public interface RdfTripleHandler {
+    /**
+     * 宾语为资源（IRI 或空白节点）的三元组
+     */
+    void onResource(String subject, String predicate, String object);
+
+    /**
+     * 宾语为字面量的三元组
+     *
+     * @param datatype 数据类型IRI，普通字符串和带语言标签的字符串为空
+     * @param language 语言标签，没有时为空
+     */
+    void onLiteral(String subject, String predicate, String value, String datatype, String language);
+}
@@ -0,0 +1,21 @@
+package com.graph.visualization.importer;
+
+import java.util.List;
+
+/**
+ * IRI 解析后待写入的一批关系行和节点数据属性行
+ */
+final class ResolvedBatch {
+
+    final List<Object[]> relationshipRows;
+    final List<Object[]> propertyRows;
+
+    ResolvedBatch(List<Object[]> relationshipRows, List<Object[]> propertyRows) {
+        this.relationshipRows = relationshipRows;
+        this.propertyRows = propertyRows;
+    }
+
+    int size() {
+        return relationshipRows.size() + propertyRows.size();
+    }
+}
@@ -0,0 +1,74 @@
+package com.graph.visualization.importer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 按 UTF-8 字节驻留术语字符串
+ * <p>
+ * 直接映射的定长缓存：字节区间按哈希落到一个槽位，槽位中的字节与之相同时直接返回已有的 String，
+ * 不复制也不解码；否则解码并替换该槽位。重复出现的谓语、类型和主语 IRI 因此只解码一次，内存占用固定。
+ * 实例不是线程安全的。
+ */
+final class TermInterner {
+
+    private final byte[][] keys;
+    private final String[] values;
+    private final int mask;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity 槽位数，向上取为2的幂
+     */
+    TermInterner(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+        this.keys = new byte[size][];
+        this.values = new String[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * 返回 buffer 中 [from, to) 的字节按 UTF-8 解码得到的字符串
+     */
+    String intern(ByteBuffer buffer, int from, int to) {
+        int h = 0x811c9dc5;
+        for (int i = from; i < to; i++) {
+            h = (h ^ buffer.get(i)) * 0x01000193;
+        }
+        int slot = (h ^ (h >>> 16)) & mask;
+        byte[] key = keys[slot];
+        if (key != null && matches(key, buffer, from, to)) {
+            hits++;
+            return values[slot];
+        }
+        misses++;
+        key = new byte[to - from];
+        buffer.get(from, key);
+        String value = new String(key, StandardCharsets.UTF_8);
+        keys[slot] = key;
+        values[slot] = value;
+        return value;
+    }
+
+    private static boolean matches(byte[] key, ByteBuffer buffer, int from, int to) {
+        if (key.length != to - from) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buffer.get(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long hits() {
+        return hits;
+    }
+
+    long misses() {
+        return misses;
+    }
+}
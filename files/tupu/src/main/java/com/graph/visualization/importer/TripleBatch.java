@@ -0,0 +1,44 @@
+package com.graph.visualization.importer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 解析阶段产生的一批三元组
+ * <p>
+ * 宾语为资源的三元组为 [主语, 谓语, 宾语]，宾语为字面量的三元组为 [主语, 谓语, 值, 数据类型, 语言标签]。
+ */
+final class TripleBatch {
+
+    final List<String[]> resources = new ArrayList<>();
+    final List<String[]> literals = new ArrayList<>();
+
+    void addResource(String subject, String predicate, String object) {
+        resources.add(new String[]{subject, predicate, object});
+    }
+
+    void addLiteral(String subject, String predicate, String value, String datatype, String language) {
+        literals.add(new String[]{subject, predicate, value, datatype, language});
+    }
+
+    int size() {
+        return resources.size() + literals.size();
+    }
+
+    /**
+     * 批内作为主语或资源宾语出现的全部IRI
+     */
+    Set<String> nodeIris() {
+        Set<String> iris = new LinkedHashSet<>();
+        for (String[] triple : resources) {
+            iris.add(triple[0]);
+            iris.add(triple[2]);
+        }
+        for (String[] triple : literals) {
+            iris.add(triple[0]);
+        }
+        return iris;
+    }
+}
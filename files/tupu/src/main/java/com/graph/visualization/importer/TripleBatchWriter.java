@@ -0,0 +1,212 @@
+package com.graph.visualization.importer;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 三元组批的数据库写入
+ * <p>
+ * 分为两步：{@link #resolve} 由 {@link IriResolver} 把批内IRI解析为已有节点ID，
+ * 不存在的节点以 JDBC 批量插入创建后再按组查询其ID，得到待写入的关系行和数据属性行；
+ * {@link #write} 批量插入这些行（宾语为资源的三元组写为关系，宾语为字面量的三元组写为主语节点的数据属性）。
+ * <p>
+ * 节点和关系主键为自增列，不经过 JPA 实体，因此插入可以按批发送（MySQL 需开启 rewriteBatchedStatements 合并为多行插入）。
+ * 每次节点创建和每批写入各自在一个事务中提交。resolve 只能由一个线程调用，write 可以由多个线程并发调用。
+ * <p>
+ * 重放模式下 resolve 会去掉数据库中已存在的相同关系（主语、宾语、谓语IRI）和相同数据属性，
+ * 用于从检查点恢复时重新处理上次中断前已部分提交的数据。
+ */
+final class TripleBatchWriter {
+
+    private static final String INSERT_NODE_SQL =
+            "INSERT INTO nodes (name, iri, node_type, status) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_RELATIONSHIP_SQL =
+            "INSERT INTO relationships (source_node_id, target_node_id, relationship_name, relationship_type, " +
+            "description, status) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PROPERTY_SQL =
+            "INSERT INTO node_properties (node_id, property_name, property_iri, property_value, datatype, language) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IriResolver iriResolver;
+    private final Map<String, Long> batchNodeIds = new HashMap<>();
+    private volatile boolean skipExisting;
+
+    private final AtomicLong nodeCount = new AtomicLong();
+    private final AtomicLong relationshipCount = new AtomicLong();
+    private final AtomicLong propertyCount = new AtomicLong();
+
+    /**
+     * @param iriResolver 已预加载的IRI解析层
+     */
+    TripleBatchWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, IriResolver iriResolver) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.iriResolver = iriResolver;
+    }
+
+    /**
+     * 解析批内IRI并创建不存在的节点
+     *
+     * @return 待写入的关系行和数据属性行
+     */
+    ResolvedBatch resolve(TripleBatch batch) {
+        batchNodeIds.clear();
+        Set<String> newIris = iriResolver.resolve(batch.nodeIris(), batchNodeIds);
+        Set<Long> existingSubjects = new HashSet<>();
+        if (skipExisting) {
+            // 新建节点上不可能已有关系和属性，只需检查已存在的主语
+            for (String[] triple : batch.resources) {
+                addIfPresent(existingSubjects, batchNodeIds.get(triple[0]));
+            }
+            for (String[] triple : batch.literals) {
+                addIfPresent(existingSubjects, batchNodeIds.get(triple[0]));
+            }
+        }
+        insertNodes(newIris);
+
+        List<Object[]> relationshipRows = new ArrayList<>(batch.resources.size());
+        for (String[] triple : batch.resources) {
+            relationshipRows.add(new Object[]{batchNodeIds.get(triple[0]), batchNodeIds.get(triple[2]),
+                    extractNameFromIri(triple[1]), RelationshipTypeEnum.OBJECT_RELATION.name(), triple[1], true});
+        }
+        List<Object[]> propertyRows = new ArrayList<>(batch.literals.size());
+        for (String[] triple : batch.literals) {
+            propertyRows.add(new Object[]{batchNodeIds.get(triple[0]), extractNameFromIri(triple[1]), triple[1],
+                    triple[2], triple[3], triple[4]});
+        }
+        if (!existingSubjects.isEmpty()) {
+            removeExistingRows(existingSubjects, relationshipRows, propertyRows);
+        }
+        return new ResolvedBatch(relationshipRows, propertyRows);
+    }
+
+    /**
+     * 设置是否为重放模式（只在开始解析前调用）
+     */
+    void setSkipExisting(boolean skipExisting) {
+        this.skipExisting = skipExisting;
+    }
+
+    /**
+     * 在一个事务中批量插入关系行和数据属性行
+     */
+    void write(ResolvedBatch batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!batch.relationshipRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_RELATIONSHIP_SQL, batch.relationshipRows);
+            }
+            if (!batch.propertyRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_PROPERTY_SQL, batch.propertyRows);
+            }
+        });
+        relationshipCount.addAndGet(batch.relationshipRows.size());
+        propertyCount.addAndGet(batch.propertyRows.size());
+    }
+
+    /**
+     * 新创建的节点数
+     */
+    long nodeCount() {
+        return nodeCount.get();
+    }
+
+    /**
+     * 新创建的关系数
+     */
+    long relationshipCount() {
+        return relationshipCount.get();
+    }
+
+    /**
+     * 新创建的节点数据属性数
+     */
+    long propertyCount() {
+        return propertyCount.get();
+    }
+
+    private void insertNodes(Set<String> iris) {
+        if (iris.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(iris.size());
+        for (String iri : iris) {
+            rows.add(new Object[]{extractNameFromIri(iri), iri, NodeTypeEnum.INDIVIDUAL.name(), true});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_NODE_SQL, rows));
+        nodeCount.addAndGet(iris.size());
+        // 批量插入不保证返回生成的主键，插入后按IRI查询
+        iriResolver.lookup(iris, batchNodeIds);
+        for (String iri : iris) {
+            if (!batchNodeIds.containsKey(iri)) {
+                throw new IllegalStateException("节点插入后未能查询到ID: " + iri);
+            }
+        }
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * 按主语分组查询已存在的关系和数据属性，从待写入的行中去掉相同的行
+     */
+    private void removeExistingRows(Set<Long> subjects, List<Object[]> relationshipRows,
+                                    List<Object[]> propertyRows) {
+        Set<List<Object>> existing = new HashSet<>();
+        List<Long> chunk = new ArrayList<>(Math.min(subjects.size(), IriResolver.LOOKUP_CHUNK_SIZE));
+        for (Long subject : subjects) {
+            chunk.add(subject);
+            if (chunk.size() == IriResolver.LOOKUP_CHUNK_SIZE) {
+                queryExistingRows(chunk, existing);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            queryExistingRows(chunk, existing);
+        }
+        relationshipRows.removeIf(row -> existing.contains(Arrays.asList(row[0], row[1], row[4])));
+        propertyRows.removeIf(row -> existing.contains(Arrays.asList(row[0], row[2], row[3], row[4], row[5])));
+    }
+
+    private void queryExistingRows(List<Long> subjects, Set<List<Object>> existing) {
+        String placeholders = String.join(",", Collections.nCopies(subjects.size(), "?"));
+        jdbcTemplate.query("SELECT source_node_id, target_node_id, description FROM relationships " +
+                        "WHERE source_node_id IN (" + placeholders + ")",
+                rs -> {
+                    existing.add(Arrays.asList(rs.getLong(1), rs.getLong(2), rs.getString(3)));
+                }, subjects.toArray());
+        jdbcTemplate.query("SELECT node_id, property_iri, property_value, datatype, language FROM node_properties " +
+                        "WHERE node_id IN (" + placeholders + ")",
+                rs -> {
+                    existing.add(Arrays.asList(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getString(5)));
+                }, subjects.toArray());
+    }
+
+    /**
+     * 从IRI中提取名称：取最后一个 / 或 # 之后的部分
+     */
+    static String extractNameFromIri(String iri) {
+        int lastSeparatorIndex = Math.max(iri.lastIndexOf('/'), iri.lastIndexOf('#'));
+        if (lastSeparatorIndex >= 0 && lastSeparatorIndex < iri.length() - 1) {
+            return iri.substring(lastSeparatorIndex + 1);
+        }
+        return iri;
+    }
+}
@@ -0,0 +1,34 @@
+package com.graph.visualization.repository;
+
+import com.graph.visualization.entity.CentralityResultRecord;
+import com.graph.visualization.enums.CentralityAlgorithmEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * 中心度计算结果数据访问接口
+ */
+@Repository
+public interface CentralityResultRecordRepository extends JpaRepository<CentralityResultRecord, Long> {
+    /**
+     * 查找指定算法、参数和图版本的最新结果
+     */
+    Optional<CentralityResultRecord> findFirstByAlgorithmAndParamsKeyAndGraphVersionOrderByIdDesc(
+            CentralityAlgorithmEnum algorithm, String paramsKey, String graphVersion);
+    
+    /**
+     * 删除指定算法和参数在其他图版本上的结果
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CentralityResultRecord r WHERE r.algorithm = :algorithm AND r.paramsKey = :paramsKey " +
+           "AND r.graphVersion <> :graphVersion")
+    int deleteStale(@Param("algorithm") CentralityAlgorithmEnum algorithm, @Param("paramsKey") String paramsKey,
+                    @Param("graphVersion") String graphVersion);
+}
@@ -0,0 +1,26 @@
+package com.graph.visualization.repository;
+
+import com.graph.visualization.entity.ImportJobRecord;
+import com.graph.visualization.enums.ImportJobStatusEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 导入任务数据访问接口
+ */
+@Repository
+public interface ImportJobRecordRepository extends JpaRepository<ImportJobRecord, String> {
+    /**
+     * 查找处于指定状态的任务
+     */
+    List<ImportJobRecord> findByStatusIn(Collection<ImportJobStatusEnum> statuses);
+    
+    /**
+     * 查找处于指定状态且在指定时间之前最后更新的任务
+     */
+    List<ImportJobRecord> findByStatusAndUpdatedAtBefore(ImportJobStatusEnum status, LocalDateTime updatedAt);
+}
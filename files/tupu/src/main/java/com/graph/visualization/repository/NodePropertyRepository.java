@@ -0,0 +1,18 @@
+package com.graph.visualization.repository;
+
+import com.graph.visualization.entity.NodeProperty;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 节点数据属性访问接口
+ */
+@Repository
+public interface NodePropertyRepository extends JpaRepository<NodeProperty, Long> {
+    /**
+     * 查找节点的全部数据属性
+     */
+    List<NodeProperty> findByNodeId(Long nodeId);
+}
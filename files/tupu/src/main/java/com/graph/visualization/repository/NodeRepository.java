@@ -2,13 +2,17 @@ package com.graph.visualization.repository;
 
 import com.graph.visualization.entity.Node;
 import com.graph.visualization.enums.NodeTypeEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 节点数据访问接口
@@ -35,4 +39,19 @@ public interface NodeRepository extends JpaRepository<Node, Long> {
      */
     @Query("SELECT n FROM Node n WHERE n.name LIKE %:keyword% OR n.description LIKE %:keyword%")
     List<Node> findByKeyword(@Param("keyword") String keyword);
+    
+    /**
+     * 按名称和本体名称查找节点ID（LIKE 模式，以 ! 转义，参数为空时不限定），用于模式查询的节点条件
+     */
+    @Query("SELECT n.id FROM Node n WHERE (:name IS NULL OR n.name LIKE :name ESCAPE '!') " +
+           "AND (:ontologyName IS NULL OR n.ontologyName LIKE :ontologyName ESCAPE '!')")
+    List<Long> findIdsByNameAndOntologyName(@Param("name") String name, @Param("ontologyName") String ontologyName);
+    
+    /**
+     * 按ID顺序流式读取节点拓扑信息（[id, nodeType]），用于构建内存图快照
+     */
+    // MySQL 驱动只在 fetchSize 为 Integer.MIN_VALUE 时逐行流式返回结果，其他取值仍会把整个结果集读入内存
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT n.id, n.nodeType FROM Node n ORDER BY n.id")
+    Stream<Object[]> streamTopology();
 }
@@ -2,12 +2,16 @@ package com.graph.visualization.repository;
 
 import com.graph.visualization.entity.Relationship;
 import com.graph.visualization.enums.RelationshipTypeEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 关系数据访问接口
@@ -45,4 +49,14 @@ public interface RelationshipRepository extends JpaRepository<Relationship, Long
      */
     @Query("SELECT r FROM Relationship r WHERE r.sourceNodeId = :nodeId OR r.targetNodeId = :nodeId")
     List<Relationship> findRelationshipsByNodeId(@Param("nodeId") Long nodeId);
+    
+    /**
+     * 按ID顺序流式读取关系拓扑信息（[id, sourceNodeId, targetNodeId, relationshipType, relationshipName, weight]），
+     * 用于构建内存图快照
+     */
+    // MySQL 驱动只在 fetchSize 为 Integer.MIN_VALUE 时逐行流式返回结果，其他取值仍会把整个结果集读入内存
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT r.id, r.sourceNodeId, r.targetNodeId, r.relationshipType, r.relationshipName, r.weight " +
+           "FROM Relationship r ORDER BY r.id")
+    Stream<Object[]> streamTopology();
 }
@@ -1,6 +1,9 @@
 package com.graph.visualization.service;
 
+import com.graph.visualization.dto.CentralityQueryParam;
 import com.graph.visualization.dto.CentralityResult;
+import com.graph.visualization.enums.CentralityAlgorithmEnum;
+import com.graph.visualization.graph.ProgressMonitor;
 
 /**
  * 中心度分析服务接口
@@ -14,15 +17,31 @@ public interface CentralityAnalysisService {
     /**
      * 获取度中心性（Degree Centrality）
      */
-    CentralityResult analyzeDegreeCentrality();
+    CentralityResult analyzeDegreeCentrality(CentralityQueryParam centralityQueryParam);
     
     /**
      * 获取接近中心性（Closeness Centrality）
      */
-    CentralityResult analyzeClosenessCentrality();
+    CentralityResult analyzeClosenessCentrality(CentralityQueryParam centralityQueryParam);
     
     /**
      * 获取中介中心性（Betweenness Centrality）
      */
-    CentralityResult analyzeBetweennessCentrality();
+    CentralityResult analyzeBetweennessCentrality(CentralityQueryParam centralityQueryParam);
+    
+    /**
+     * 获取PageRank
+     */
+    CentralityResult analyzePageRank(CentralityQueryParam centralityQueryParam);
+    
+    /**
+     * 获取特征向量中心性（Eigenvector Centrality）
+     */
+    CentralityResult analyzeEigenvectorCentrality(CentralityQueryParam centralityQueryParam);
+    
+    /**
+     * 执行指定算法的中心度分析，计算过程中通过 monitor 报告进度并响应取消
+     */
+    CentralityResult analyze(CentralityAlgorithmEnum algorithm, CentralityQueryParam centralityQueryParam,
+                             ProgressMonitor monitor);
 }
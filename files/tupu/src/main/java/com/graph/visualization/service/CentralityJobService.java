@@ -0,0 +1,36 @@
+package com.graph.visualization.service;
+
+import com.graph.visualization.dto.CentralityJob;
+import com.graph.visualization.dto.CentralityQueryParam;
+import com.graph.visualization.dto.CentralityResult;
+import com.graph.visualization.enums.CentralityAlgorithmEnum;
+
+import java.util.Optional;
+
+/**
+ * 中心度异步计算任务服务接口
+ */
+public interface CentralityJobService {
+    
+    /**
+     * 提交中心度计算任务
+     * <p>
+     * 当前图版本上已有相同算法和参数的保存结果时任务直接完成；相同的任务正在执行时返回该任务。
+     */
+    CentralityJob submit(CentralityAlgorithmEnum algorithm, CentralityQueryParam centralityQueryParam);
+    
+    /**
+     * 查询任务状态和进度
+     */
+    Optional<CentralityJob> findJob(String jobId);
+    
+    /**
+     * 取消任务（已结束的任务不受影响）
+     */
+    Optional<CentralityJob> cancel(String jobId);
+    
+    /**
+     * 获取已完成任务的结果，任务不存在或尚未完成时返回空
+     */
+    Optional<CentralityResult> findResult(String jobId);
+}
@@ -2,6 +2,7 @@ package com.graph.visualization.service;
 
 import com.graph.visualization.dto.ImportResult;
 import com.graph.visualization.enums.ExportFormatEnum;
+import com.graph.visualization.enums.RdfFormatEnum;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -13,12 +14,15 @@ import java.io.IOException;
 public interface GraphImportExportService {
     /**
      * 导入三元组文件到图谱
+     * <p>
+     * 按批提交，导入中途失败时已提交的批次保留
      * 
      * @param file 上传的文件
-     * @return 导入结果，包含导入的节点数和关系数
+     * @param format 文件格式，为空时按文件扩展名判断
+     * @return 导入结果，包含导入的节点数、关系数、数据属性数和各阶段统计
      * @throws IOException 如果文件处理出错
      */
-    ImportResult importTriples(MultipartFile file) throws IOException;
+    ImportResult importTriples(MultipartFile file, RdfFormatEnum format) throws IOException;
     
     /**
      * 导出图谱数据
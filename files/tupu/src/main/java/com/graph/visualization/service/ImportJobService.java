@@ -0,0 +1,64 @@
+package com.graph.visualization.service;
+
+import com.graph.visualization.dto.ImportJob;
+import com.graph.visualization.enums.RdfFormatEnum;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * 三元组异步导入任务服务接口
+ * <p>
+ * 文件内容分块上传到服务端暂存文件（或直接使用服务器本地文件），上传完成后在后台分段导入，每段提交后记录检查点；
+ * 失败或服务重启后从检查点继续，不需要重新上传。
+ */
+public interface ImportJobService {
+    
+    /**
+     * 创建导入任务
+     *
+     * @param fileName   文件名，未指定格式时按扩展名判断
+     * @param format     文件格式，可为空
+     * @param totalBytes 文件大小，可为空；指定时上传完整后才能开始处理
+     */
+    ImportJob create(String fileName, RdfFormatEnum format, Long totalBytes) throws IOException;
+    
+    /**
+     * 以服务器本地文件创建导入任务并开始处理，文件须位于 graph.import.local-dirs 配置的目录下，不复制文件
+     *
+     * @param path   文件路径
+     * @param format 文件格式，为空时按扩展名判断
+     */
+    ImportJob createFromLocalFile(String path, RdfFormatEnum format) throws IOException;
+    
+    /**
+     * 上传一块文件内容
+     * <p>
+     * 偏移量不能超过已上传的字节数；小于已上传的字节数时从偏移量处覆盖，用于重传响应丢失的块。
+     *
+     * @param offset  本块在文件中的起始位置
+     * @param content 本块内容
+     */
+    Optional<ImportJob> upload(String jobId, long offset, InputStream content) throws IOException;
+    
+    /**
+     * 结束上传并开始后台处理
+     */
+    Optional<ImportJob> start(String jobId) throws IOException;
+    
+    /**
+     * 查询任务状态和进度
+     */
+    Optional<ImportJob> findJob(String jobId);
+    
+    /**
+     * 取消任务（已提交的数据保留；已完成或已取消的任务不受影响，失败的任务取消后不能再恢复）
+     */
+    Optional<ImportJob> cancel(String jobId);
+    
+    /**
+     * 从检查点恢复执行失败的任务
+     */
+    Optional<ImportJob> resume(String jobId);
+}
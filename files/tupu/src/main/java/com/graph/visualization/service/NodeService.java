@@ -1,6 +1,7 @@
 package com.graph.visualization.service;
 
 import com.graph.visualization.entity.Node;
+import com.graph.visualization.entity.NodeProperty;
 import com.graph.visualization.enums.NodeTypeEnum;
 
 import java.util.List;
@@ -44,4 +45,9 @@ public interface NodeService {
      * 根据关键词搜索节点
      */
     List<Node> searchNodesByKeyword(String keyword);
+    
+    /**
+     * 查找节点的数据属性
+     */
+    List<NodeProperty> findNodeProperties(Long nodeId);
 }
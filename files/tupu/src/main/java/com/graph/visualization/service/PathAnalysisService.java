@@ -1,9 +1,12 @@
 package com.graph.visualization.service;
 
+import com.graph.visualization.dto.PathIdResult;
 import com.graph.visualization.dto.PathQueryParam;
 import com.graph.visualization.dto.PathResult;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 路径分析服务接口
@@ -18,4 +21,22 @@ public interface PathAnalysisService {
      * 查找两个节点之间的所有路径
      */
     List<PathResult> findAllPaths(PathQueryParam pathQueryParam);
+    
+    /**
+     * 流式查找两个节点之间的所有路径
+     * <p>
+     * 调用时立即校验源节点和目标节点，节点不存在时抛出异常；返回的搜索在传入消费者时才执行，
+     * 每找到一条路径立即交给消费者。消费者返回false（例如客户端已断开）、达到最大路径数或超出时间预算时停止搜索
+     */
+    Consumer<Predicate<PathIdResult>> streamAllPaths(PathQueryParam pathQueryParam);
+    
+    /**
+     * 根据节点ID和关系ID加载路径中的实体
+     */
+    PathResult hydratePath(PathIdResult pathIdResult);
+    
+    /**
+     * 按长度（或代价）从小到大查找两个节点之间的前K条无环路径
+     */
+    List<PathResult> findKShortestPaths(PathQueryParam pathQueryParam);
 }
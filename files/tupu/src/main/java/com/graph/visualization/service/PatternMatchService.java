@@ -1,11 +1,15 @@
 package com.graph.visualization.service;
 
+import com.graph.visualization.dto.PatternMatchIdResult;
 import com.graph.visualization.dto.PatternMatchParam;
+import com.graph.visualization.dto.PatternMatchTrace;
+import com.graph.visualization.dto.PatternQueryParam;
 import com.graph.visualization.entity.Node;
 import com.graph.visualization.entity.Relationship;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * 模式匹配服务接口
@@ -18,4 +22,29 @@ public interface PatternMatchService {
      * @return 匹配的子图实例列表，每个实例包含节点和关系的映射
      */
     List<Map<String, Object>> findPatternMatches(PatternMatchParam patternMatchParam);
+    
+    /**
+     * 流式查找匹配的子图实例，每找到一个实例立即交给消费者
+     * <p>
+     * 消费者返回false（例如客户端已断开）、达到最大匹配数或超出时间预算时停止搜索
+     */
+    void streamPatternMatches(PatternMatchParam patternMatchParam, Predicate<PatternMatchIdResult> consumer);
+    
+    /**
+     * 执行模式查询语句
+     * 
+     * @param patternQueryParam 模式查询参数
+     * @return 匹配的子图实例列表，每个实例包含节点、关系以及具名变量绑定的ID
+     */
+    List<Map<String, Object>> queryPattern(PatternQueryParam patternQueryParam);
+    
+    /**
+     * 记录跟踪地执行模式匹配，只返回跟踪结果（候选数、各层尝试次数、回溯次数、采样事件等）
+     */
+    PatternMatchTrace explainPatternMatch(PatternMatchParam patternMatchParam);
+    
+    /**
+     * 记录跟踪地执行模式查询语句，只返回跟踪结果
+     */
+    PatternMatchTrace explainPatternQuery(PatternQueryParam patternQueryParam);
 }
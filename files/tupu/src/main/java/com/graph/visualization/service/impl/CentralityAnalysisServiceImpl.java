@@ -1,16 +1,29 @@
 package com.graph.visualization.service.impl;
 
+import com.graph.visualization.dto.CentralityQueryParam;
 import com.graph.visualization.dto.CentralityResult;
+import com.graph.visualization.dto.RankedNode;
 import com.graph.visualization.entity.Node;
-import com.graph.visualization.entity.Relationship;
+import com.graph.visualization.enums.CentralityAlgorithmEnum;
+import com.graph.visualization.enums.DegreeDirectionEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import com.graph.visualization.graph.CentralitySampler;
+import com.graph.visualization.graph.GraphSnapshot;
+import com.graph.visualization.graph.GraphSnapshotManager;
+import com.graph.visualization.graph.IncrementalCentralityManager;
+import com.graph.visualization.graph.ParallelSourceRunner;
+import com.graph.visualization.graph.PowerIteration;
+import com.graph.visualization.graph.ProgressMonitor;
+import com.graph.visualization.graph.ShortestPathWorkspace;
+import com.graph.visualization.graph.TopK;
 import com.graph.visualization.repository.NodeRepository;
-import com.graph.visualization.repository.RelationshipRepository;
 import com.graph.visualization.service.CentralityAnalysisService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 中心度分析服务实现类
@@ -19,271 +32,504 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CentralityAnalysisServiceImpl implements CentralityAnalysisService {
     
+    /**
+     * 近似计算的默认误差上界和置信度
+     */
+    private static final double DEFAULT_ERROR_BOUND = 0.05;
+    private static final double DEFAULT_CONFIDENCE = 0.9;
+    
+    /**
+     * 幂迭代的默认参数
+     */
+    private static final double DEFAULT_DAMPING_FACTOR = 0.85;
+    private static final double DEFAULT_TOLERANCE = 1e-6;
+    private static final int DEFAULT_MAX_ITERATIONS = 100;
+    
+    /**
+     * 默认返回的重要节点数量
+     */
+    private static final int DEFAULT_TOP_K = 5;
+    
     private final NodeRepository nodeRepository;
-    private final RelationshipRepository relationshipRepository;
+    private final GraphSnapshotManager graphSnapshotManager;
+    private final ForkJoinPool centralityForkJoinPool;
+    private final IncrementalCentralityManager incrementalCentralityManager;
     
     @Override
     public CentralityResult analyzeCentrality() {
         // 默认使用度中心性分析
-        return analyzeDegreeCentrality();
+        return analyzeDegreeCentrality(new CentralityQueryParam());
     }
     
     @Override
-    public CentralityResult analyzeDegreeCentrality() {
-        List<Node> nodes = nodeRepository.findAll();
-        Map<Long, Double> centralityValues = new HashMap<>();
-        
-        // 计算每个节点的度（连接数）
-        for (Node node : nodes) {
-            Long nodeId = node.getId();
-            List<Relationship> relationships = relationshipRepository.findRelationshipsByNodeId(nodeId);
-            centralityValues.put(nodeId, (double) relationships.size());
-        }
-        
-        // 找出最重要的节点（度最高的节点）
-        Map<Long, String> importantNodes = findImportantNodes(centralityValues, nodes);
-        
-        CentralityResult result = new CentralityResult();
-        result.setCentralityValues(centralityValues);
-        result.setImportantNodes(importantNodes);
-        
-        return result;
+    public CentralityResult analyzeDegreeCentrality(CentralityQueryParam centralityQueryParam) {
+        return analyze(CentralityAlgorithmEnum.DEGREE, centralityQueryParam, ProgressMonitor.NONE);
     }
     
     @Override
-    public CentralityResult analyzeClosenessCentrality() {
-        List<Node> nodes = nodeRepository.findAll();
-        Map<Long, Double> centralityValues = new HashMap<>();
+    public CentralityResult analyzeClosenessCentrality(CentralityQueryParam centralityQueryParam) {
+        return analyze(CentralityAlgorithmEnum.CLOSENESS, centralityQueryParam, ProgressMonitor.NONE);
+    }
+    
+    @Override
+    public CentralityResult analyzeBetweennessCentrality(CentralityQueryParam centralityQueryParam) {
+        return analyze(CentralityAlgorithmEnum.BETWEENNESS, centralityQueryParam, ProgressMonitor.NONE);
+    }
+    
+    @Override
+    public CentralityResult analyzePageRank(CentralityQueryParam centralityQueryParam) {
+        return analyze(CentralityAlgorithmEnum.PAGERANK, centralityQueryParam, ProgressMonitor.NONE);
+    }
+    
+    @Override
+    public CentralityResult analyzeEigenvectorCentrality(CentralityQueryParam centralityQueryParam) {
+        return analyze(CentralityAlgorithmEnum.EIGENVECTOR, centralityQueryParam, ProgressMonitor.NONE);
+    }
+    
+    @Override
+    public CentralityResult analyze(CentralityAlgorithmEnum algorithm, CentralityQueryParam centralityQueryParam,
+                                    ProgressMonitor monitor) {
+        CentralityQueryParam param = centralityQueryParam != null ? centralityQueryParam : new CentralityQueryParam();
+        if (param.getTopK() != null && param.getTopK() <= 0) {
+            throw new IllegalArgumentException("重要节点数量必须大于0: " + param.getTopK());
+        }
+        switch (algorithm) {
+            case DEGREE:
+                return degreeCentrality(param);
+            case CLOSENESS:
+                return closenessCentrality(param, monitor);
+            case BETWEENNESS:
+                return betweennessCentrality(param, monitor);
+            case PAGERANK:
+                return pageRank(param, monitor);
+            case EIGENVECTOR:
+                return eigenvectorCentrality(param, monitor);
+            default:
+                throw new IllegalArgumentException("不支持的中心度算法: " + algorithm);
+        }
+    }
+    
+    /**
+     * 度中心性
+     */
+    private CentralityResult degreeCentrality(CentralityQueryParam param) {
+        DegreeDirectionEnum direction = param.getDirection() != null ? param.getDirection() : DegreeDirectionEnum.BOTH;
+        boolean breakdown = Boolean.TRUE.equals(param.getBreakdown());
         
-        // 构建邻接表表示图
-        Map<Long, List<Long>> adjacencyList = buildAdjacencyList();
+        // 使用共享的内存图快照，对所有关系做一次扫描同时统计出度和入度
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        int nodeCount = snapshot.nodeCount();
+        int nameCode = param.getRelationshipName() != null
+                ? snapshot.relationshipNameCode(param.getRelationshipName()) : -1;
+        double[] outDegree = new double[nodeCount];
+        double[] inDegree = new double[nodeCount];
+        double[] degree = new double[nodeCount];
+        double[][] typeDegree = breakdown ? new double[RelationshipTypeEnum.values().length][] : null;
         
-        // 计算每个节点的接近中心性
-        for (Node node : nodes) {
-            Long nodeId = node.getId();
-            
-            // 使用广度优先搜索计算到所有其他节点的最短路径长度
-            Map<Long, Integer> distances = calculateShortestPaths(nodeId, adjacencyList);
-            
-            // 计算接近中心性：1 / 平均最短路径长度
-            int totalDistance = 0;
-            int reachableNodes = 0;
-            
-            for (Map.Entry<Long, Integer> entry : distances.entrySet()) {
-                if (!entry.getKey().equals(nodeId) && entry.getValue() < Integer.MAX_VALUE) {
-                    totalDistance += entry.getValue();
-                    reachableNodes++;
+        if (param.getRelationshipName() == null || nameCode >= 0) {
+            for (int e = 0; e < snapshot.edgeCount(); e++) {
+                if (!snapshot.isEdgeActive(e)) {
+                    continue;
+                }
+                RelationshipTypeEnum type = snapshot.edgeType(e);
+                if ((param.getRelationshipType() != null && type != param.getRelationshipType())
+                        || (nameCode >= 0 && snapshot.edgeNameCode(e) != nameCode)) {
+                    continue;
+                }
+                int source = snapshot.edgeSource(e);
+                int target = snapshot.edgeTarget(e);
+                outDegree[source]++;
+                inDegree[target]++;
+                
+                // 与按节点查询关系一致，自环只计一次
+                degree[source]++;
+                if (target != source) {
+                    degree[target]++;
+                }
+                
+                if (typeDegree != null && type != null) {
+                    double[] counts = typeDegree[type.ordinal()];
+                    if (counts == null) {
+                        counts = new double[nodeCount];
+                        typeDegree[type.ordinal()] = counts;
+                    }
+                    if (direction != DegreeDirectionEnum.IN) {
+                        counts[source]++;
+                    }
+                    if (direction == DegreeDirectionEnum.IN || (direction == DegreeDirectionEnum.BOTH && target != source)) {
+                        counts[target]++;
+                    }
                 }
             }
-            
-            double closenessCentrality = 0.0;
-            if (reachableNodes > 0) {
-                closenessCentrality = (double) reachableNodes / totalDistance;
-            }
-            
-            centralityValues.put(nodeId, closenessCentrality);
         }
         
-        // 找出最重要的节点（接近中心性最高的节点）
-        Map<Long, String> importantNodes = findImportantNodes(centralityValues, nodes);
+        double[] values = direction == DegreeDirectionEnum.OUT ? outDegree
+                : direction == DegreeDirectionEnum.IN ? inDegree : degree;
+        Map<Long, Double> centralityValues = toCentralityValues(snapshot, values);
         
         CentralityResult result = new CentralityResult();
         result.setCentralityValues(centralityValues);
-        result.setImportantNodes(importantNodes);
+        result.setImportantNodes(findImportantNodes(snapshot, values, param));
+        
+        if (breakdown) {
+            result.setInDegreeValues(toCentralityValues(snapshot, inDegree));
+            result.setOutDegreeValues(toCentralityValues(snapshot, outDegree));
+            Map<String, Map<Long, Double>> relationshipTypeValues = new LinkedHashMap<>();
+            for (RelationshipTypeEnum type : RelationshipTypeEnum.values()) {
+                if (typeDegree[type.ordinal()] != null) {
+                    relationshipTypeValues.put(type.name(), toCentralityValues(snapshot, typeDegree[type.ordinal()]));
+                }
+            }
+            result.setRelationshipTypeValues(relationshipTypeValues);
+        }
         
         return result;
     }
     
-    @Override
-    public CentralityResult analyzeBetweennessCentrality() {
-        List<Node> nodes = nodeRepository.findAll();
-        Map<Long, Double> centralityValues = new HashMap<>();
-        
-        // 初始化中介中心性为0
-        for (Node node : nodes) {
-            centralityValues.put(node.getId(), 0.0);
+    /**
+     * 接近中心性
+     */
+    private CentralityResult closenessCentrality(CentralityQueryParam centralityQueryParam, ProgressMonitor monitor) {
+        // 使用共享的内存图快照
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        if (isApproximate(centralityQueryParam)) {
+            return approximateClosenessCentrality(snapshot, centralityQueryParam, monitor);
         }
+        if (isIncremental(centralityQueryParam)) {
+            IncrementalCentralityManager.Scores scores = incrementalCentralityManager.getScores(monitor);
+            return toResult(scores.getSnapshot(), scores.getCloseness(), centralityQueryParam);
+        }
+        double[] closeness = new double[snapshot.nodeCount()];
         
-        // 构建邻接表表示图
-        Map<Long, List<Long>> adjacencyList = buildAdjacencyList();
-        
-        // 对每对节点计算最短路径，并统计每个节点作为中介的次数
-        for (Node source : nodes) {
-            Long sourceId = source.getId();
-            
-            // 使用广度优先搜索计算从源节点到所有其他节点的最短路径
-            Map<Long, List<List<Long>>> shortestPaths = calculateAllShortestPaths(sourceId, adjacencyList);
-            
-            // 更新中介中心性
-            for (Node target : nodes) {
-                Long targetId = target.getId();
-                
-                if (!sourceId.equals(targetId)) {
-                    List<List<Long>> paths = shortestPaths.getOrDefault(targetId, Collections.emptyList());
+        // 计算每个节点的接近中心性，各源节点只写入自己的位置，无需合并
+        ParallelSourceRunner.run(executionPool(centralityQueryParam), activeNodes(snapshot),
+                () -> new ShortestPathWorkspace(snapshot), (workspace, source) -> {
+                    // 使用广度优先搜索计算到所有其他节点的最短路径长度
+                    int reached = workspace.search(source, false);
                     
-                    if (!paths.isEmpty()) {
-                        // 计算每个中介节点出现在最短路径中的次数
-                        Map<Long, Integer> intermediateNodeCounts = new HashMap<>();
-                        
-                        for (List<Long> path : paths) {
-                            // 排除路径的起点和终点
-                            for (int i = 1; i < path.size() - 1; i++) {
-                                Long intermediateNodeId = path.get(i);
-                                intermediateNodeCounts.put(intermediateNodeId, 
-                                        intermediateNodeCounts.getOrDefault(intermediateNodeId, 0) + 1);
-                            }
-                        }
-                        
-                        // 更新中介中心性
-                        for (Map.Entry<Long, Integer> entry : intermediateNodeCounts.entrySet()) {
-                            Long nodeId = entry.getKey();
-                            double contribution = (double) entry.getValue() / paths.size();
-                            centralityValues.put(nodeId, centralityValues.get(nodeId) + contribution);
-                        }
+                    // 计算接近中心性：1 / 平均最短路径长度
+                    long totalDistance = 0;
+                    int reachableNodes = reached - 1;
+                    for (int i = 1; i < reached; i++) {
+                        totalDistance += workspace.distance(workspace.reachedNode(i));
                     }
-                }
+                    if (reachableNodes > 0) {
+                        closeness[source] = (double) reachableNodes / totalDistance;
+                    }
+                }, monitor);
+        
+        return toResult(snapshot, closeness, centralityQueryParam);
+    }
+    
+    /**
+     * 中介中心性
+     */
+    private CentralityResult betweennessCentrality(CentralityQueryParam centralityQueryParam, ProgressMonitor monitor) {
+        // 使用共享的内存图快照
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        if (isApproximate(centralityQueryParam)) {
+            return approximateBetweennessCentrality(snapshot, centralityQueryParam, monitor);
+        }
+        if (isIncremental(centralityQueryParam)) {
+            IncrementalCentralityManager.Scores scores = incrementalCentralityManager.getScores(monitor);
+            return toResult(scores.getSnapshot(), scores.getBetweenness(), centralityQueryParam);
+        }
+        double[] betweenness = exactBetweenness(snapshot, centralityQueryParam, monitor);
+        return toResult(snapshot, betweenness, centralityQueryParam);
+    }
+    
+    /**
+     * 精确计算中介中心性
+     */
+    private double[] exactBetweenness(GraphSnapshot snapshot, CentralityQueryParam centralityQueryParam,
+                                      ProgressMonitor monitor) {
+        int nodeCount = snapshot.nodeCount();
+        
+        // Brandes 算法：对每个源节点统计最短路径数，再按距离从远到近反向累加依赖值。
+        // 结果与逐对枚举所有最短路径一致（有序节点对，平行边产生的路径分别计数，不做归一化）
+        List<BetweennessWorkspace> workspaces = ParallelSourceRunner.run(executionPool(centralityQueryParam),
+                activeNodes(snapshot), () -> new BetweennessWorkspace(snapshot), (workspace, source) -> {
+                    workspace.paths.search(source, true);
+                    workspace.paths.accumulate(workspace.betweenness, 1.0);
+                }, monitor);
+        
+        // 合并各工作线程的局部结果
+        double[] betweenness = new double[nodeCount];
+        for (BetweennessWorkspace workspace : workspaces) {
+            for (int v = 0; v < nodeCount; v++) {
+                betweenness[v] += workspace.betweenness[v];
             }
         }
+        return betweenness;
+    }
+    
+    /**
+     * PageRank
+     */
+    private CentralityResult pageRank(CentralityQueryParam param, ProgressMonitor monitor) {
+        double damping = param.getDampingFactor() != null ? param.getDampingFactor() : DEFAULT_DAMPING_FACTOR;
+        if (!(damping >= 0 && damping < 1)) {
+            throw new IllegalArgumentException("阻尼系数必须在0（含）和1之间: " + damping);
+        }
+        
+        // 使用共享的内存图快照
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        double[] personalization = personalization(snapshot, param);
+        PowerIteration.Result iteration = PowerIteration.pageRank(snapshot, executionPool(param), damping,
+                personalization, tolerance(param), maxIterations(param), monitor);
+        
+        return toIterationResult(snapshot, iteration, param);
+    }
+    
+    /**
+     * 特征向量中心性
+     */
+    private CentralityResult eigenvectorCentrality(CentralityQueryParam param, ProgressMonitor monitor) {
+        // 使用共享的内存图快照
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        PowerIteration.Result iteration = PowerIteration.eigenvector(snapshot, executionPool(param),
+                tolerance(param), maxIterations(param), monitor);
         
-        // 找出最重要的节点（中介中心性最高的节点）
-        Map<Long, String> importantNodes = findImportantNodes(centralityValues, nodes);
+        return toIterationResult(snapshot, iteration, param);
+    }
+    
+    /**
+     * 由个性化节点ID及权重构建按节点下标的个性化向量，未指定时返回null
+     */
+    private double[] personalization(GraphSnapshot snapshot, CentralityQueryParam param) {
+        List<Long> nodeIds = param.getPersonalizationNodeIds();
+        if (nodeIds == null || nodeIds.isEmpty()) {
+            return null;
+        }
+        List<Double> weights = param.getPersonalizationWeights();
+        if (weights != null && weights.size() != nodeIds.size()) {
+            throw new IllegalArgumentException("个性化节点ID与权重数量不一致");
+        }
+        double[] personalization = new double[snapshot.nodeCount()];
+        for (int i = 0; i < nodeIds.size(); i++) {
+            int v = snapshot.indexOf(nodeIds.get(i));
+            if (v < 0) {
+                throw new IllegalArgumentException("个性化节点不存在: " + nodeIds.get(i));
+            }
+            personalization[v] += weights != null && weights.get(i) != null ? weights.get(i) : 1.0;
+        }
+        double[] normalized = PowerIteration.normalize(snapshot, personalization);
+        if (normalized == null) {
+            throw new IllegalArgumentException("个性化权重之和必须大于0");
+        }
+        return normalized;
+    }
+    
+    private double tolerance(CentralityQueryParam param) {
+        double tolerance = param.getTolerance() != null ? param.getTolerance() : DEFAULT_TOLERANCE;
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("收敛阈值必须大于0: " + tolerance);
+        }
+        return tolerance;
+    }
+    
+    private int maxIterations(CentralityQueryParam param) {
+        int maxIterations = param.getMaxIterations() != null ? param.getMaxIterations() : DEFAULT_MAX_ITERATIONS;
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("最大迭代次数必须大于0: " + maxIterations);
+        }
+        return maxIterations;
+    }
+    
+    private CentralityResult toIterationResult(GraphSnapshot snapshot, PowerIteration.Result iteration,
+                                               CentralityQueryParam param) {
+        Map<Long, Double> centralityValues = toCentralityValues(snapshot, iteration.getValues());
         
         CentralityResult result = new CentralityResult();
         result.setCentralityValues(centralityValues);
-        result.setImportantNodes(importantNodes);
-        
+        result.setImportantNodes(findImportantNodes(snapshot, iteration.getValues(), param));
+        result.setIterations(iteration.getIterations());
+        result.setConverged(iteration.isConverged());
         return result;
     }
     
     /**
-     * 构建图的邻接表表示
+     * 采样近似计算接近中心性（枢轴采样）
      */
-    private Map<Long, List<Long>> buildAdjacencyList() {
-        List<Node> nodes = nodeRepository.findAll();
-        List<Relationship> relationships = relationshipRepository.findAll();
-        Map<Long, List<Long>> adjacencyList = new HashMap<>();
+    private CentralityResult approximateClosenessCentrality(GraphSnapshot snapshot,
+                                                            CentralityQueryParam centralityQueryParam,
+                                                            ProgressMonitor monitor) {
+        int[] activeNodes = activeNodes(snapshot);
+        double confidence = confidence(centralityQueryParam);
+        int sampleSize = centralityQueryParam.getSampleSize() != null
+                ? centralityQueryParam.getSampleSize()
+                : CentralitySampler.closenessSampleSize(errorBound(centralityQueryParam), confidence, activeNodes.length);
+        checkSampleSize(sampleSize);
+        sampleSize = Math.min(sampleSize, activeNodes.length);
         
-        // 初始化邻接表
-        for (Node node : nodes) {
-            adjacencyList.put(node.getId(), new ArrayList<>());
-        }
+        double[] closeness = CentralitySampler.sampleCloseness(snapshot, executionPool(centralityQueryParam),
+                activeNodes, sampleSize, ThreadLocalRandom.current().nextLong(), monitor);
         
-        // 添加边到邻接表
-        for (Relationship relationship : relationships) {
-            Long sourceId = relationship.getSourceNodeId();
-            Long targetId = relationship.getTargetNodeId();
-            
-            // 添加双向边（无向图）
-            adjacencyList.get(sourceId).add(targetId);
-            adjacencyList.get(targetId).add(sourceId);
-        }
+        Map<Long, Double> centralityValues = toCentralityValues(snapshot, closeness);
         
-        return adjacencyList;
+        CentralityResult result = new CentralityResult();
+        result.setCentralityValues(centralityValues);
+        result.setImportantNodes(findImportantNodes(snapshot, closeness, centralityQueryParam));
+        result.setApproximate(true);
+        result.setSampleSize(sampleSize);
+        double distanceErrorBound = sampleSize >= activeNodes.length ? 0.0 : CentralitySampler.closenessErrorBound(
+                sampleSize, confidence, activeNodes.length, CentralitySampler.diameterBound(snapshot, activeNodes));
+        result.setErrorBound(CentralitySampler.closenessValueErrorBound(distanceErrorBound));
+        result.setDistanceErrorBound(distanceErrorBound);
+        result.setConfidence(confidence);
+        return result;
     }
     
     /**
-     * 使用广度优先搜索计算从源节点到所有其他节点的最短路径长度
+     * 采样近似计算中介中心性（Riondato–Kornaropoulos 节点对采样）
+     * <p>
+     * 每个样本需要一次单源最短路径搜索，采样数不少于节点数时精确计算的代价不会更高，
+     * 此时改用 Brandes 算法精确计算，采样数记为节点数，误差为0。
      */
-    private Map<Long, Integer> calculateShortestPaths(Long sourceId, Map<Long, List<Long>> adjacencyList) {
-        Map<Long, Integer> distances = new HashMap<>();
-        Queue<Long> queue = new LinkedList<>();
-        Set<Long> visited = new HashSet<>();
-        
-        // 初始化距离为无穷大
-        for (Long nodeId : adjacencyList.keySet()) {
-            distances.put(nodeId, Integer.MAX_VALUE);
+    private CentralityResult approximateBetweennessCentrality(GraphSnapshot snapshot,
+                                                              CentralityQueryParam centralityQueryParam,
+                                                              ProgressMonitor monitor) {
+        int[] activeNodes = activeNodes(snapshot);
+        double confidence = confidence(centralityQueryParam);
+        int diameter = CentralitySampler.diameterBound(snapshot, activeNodes);
+        int sampleSize = CentralitySampler.betweennessSampleSize(errorBound(centralityQueryParam), confidence, diameter);
+        if (centralityQueryParam.getSampleSize() != null) {
+            // 同时指定采样数和误差时取两者所需采样数的较小值，以采样数限定运行时间
+            sampleSize = centralityQueryParam.getErrorBound() != null
+                    ? Math.min(sampleSize, centralityQueryParam.getSampleSize()) : centralityQueryParam.getSampleSize();
         }
+        checkSampleSize(sampleSize);
+        boolean exact = sampleSize >= activeNodes.length;
         
-        // 源节点到自身的距离为0
-        distances.put(sourceId, 0);
-        queue.offer(sourceId);
-        visited.add(sourceId);
+        double[] betweenness = exact
+                ? exactBetweenness(snapshot, centralityQueryParam, monitor)
+                : CentralitySampler.sampleBetweenness(snapshot, executionPool(centralityQueryParam), activeNodes,
+                        sampleSize, ThreadLocalRandom.current().nextLong(), monitor);
         
-        while (!queue.isEmpty()) {
-            Long currentId = queue.poll();
-            int currentDistance = distances.get(currentId);
-            
-            for (Long neighborId : adjacencyList.get(currentId)) {
-                if (!visited.contains(neighborId)) {
-                    visited.add(neighborId);
-                    distances.put(neighborId, currentDistance + 1);
-                    queue.offer(neighborId);
-                }
+        Map<Long, Double> centralityValues = toCentralityValues(snapshot, betweenness);
+        
+        // 误差按节点对比例给出，换算为与中心度值相同的尺度（有序节点对数）
+        double pairCount = (double) activeNodes.length * (activeNodes.length - 1);
+        CentralityResult result = new CentralityResult();
+        result.setCentralityValues(centralityValues);
+        result.setImportantNodes(findImportantNodes(snapshot, betweenness, centralityQueryParam));
+        result.setApproximate(true);
+        result.setSampleSize(exact ? activeNodes.length : sampleSize);
+        result.setErrorBound(exact ? 0.0
+                : CentralitySampler.betweennessErrorBound(sampleSize, confidence, diameter) * pairCount);
+        result.setConfidence(confidence);
+        return result;
+    }
+    
+    /**
+     * 由按下标存储的中心度值构建结果
+     */
+    private CentralityResult toResult(GraphSnapshot snapshot, double[] values, CentralityQueryParam param) {
+        CentralityResult result = new CentralityResult();
+        result.setCentralityValues(toCentralityValues(snapshot, values));
+        result.setImportantNodes(findImportantNodes(snapshot, values, param));
+        return result;
+    }
+    
+    private boolean isIncremental(CentralityQueryParam centralityQueryParam) {
+        return centralityQueryParam != null && Boolean.TRUE.equals(centralityQueryParam.getIncremental());
+    }
+    
+    private boolean isApproximate(CentralityQueryParam centralityQueryParam) {
+        return centralityQueryParam != null && Boolean.TRUE.equals(centralityQueryParam.getApproximate());
+    }
+    
+    private double errorBound(CentralityQueryParam centralityQueryParam) {
+        double errorBound = centralityQueryParam.getErrorBound() != null
+                ? centralityQueryParam.getErrorBound() : DEFAULT_ERROR_BOUND;
+        if (!(errorBound > 0 && errorBound < 1)) {
+            throw new IllegalArgumentException("误差上界必须在0和1之间: " + errorBound);
+        }
+        return errorBound;
+    }
+    
+    private double confidence(CentralityQueryParam centralityQueryParam) {
+        double confidence = centralityQueryParam.getConfidence() != null
+                ? centralityQueryParam.getConfidence() : DEFAULT_CONFIDENCE;
+        if (!(confidence > 0 && confidence < 1)) {
+            throw new IllegalArgumentException("置信度必须在0和1之间: " + confidence);
+        }
+        return confidence;
+    }
+    
+    private void checkSampleSize(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("采样数必须大于0: " + sampleSize);
+        }
+    }
+    
+    /**
+     * 并行模式返回中心度线程池，否则返回null（在当前线程顺序执行）
+     */
+    private ForkJoinPool executionPool(CentralityQueryParam centralityQueryParam) {
+        return centralityQueryParam != null && Boolean.TRUE.equals(centralityQueryParam.getParallel())
+                ? centralityForkJoinPool : null;
+    }
+    
+    /**
+     * 快照中所有有效节点的下标
+     */
+    private int[] activeNodes(GraphSnapshot snapshot) {
+        int[] active = new int[snapshot.activeNodeCount()];
+        int count = 0;
+        for (int v = 0; v < snapshot.nodeCount() && count < active.length; v++) {
+            if (snapshot.isNodeActive(v)) {
+                active[count++] = v;
             }
         }
-        
-        return distances;
+        return count == active.length ? active : Arrays.copyOf(active, count);
     }
     
     /**
-     * 计算从源节点到所有其他节点的所有最短路径
+     * 将按下标存储的中心度值转换为节点ID到中心度值的映射
      */
-    private Map<Long, List<List<Long>>> calculateAllShortestPaths(Long sourceId, Map<Long, List<Long>> adjacencyList) {
-        Map<Long, List<List<Long>>> allPaths = new HashMap<>();
-        Map<Long, Integer> distances = calculateShortestPaths(sourceId, adjacencyList);
-        
-        // 对每个目标节点，使用回溯法找出所有最短路径
-        for (Long targetId : adjacencyList.keySet()) {
-            if (!sourceId.equals(targetId) && distances.get(targetId) < Integer.MAX_VALUE) {
-                List<List<Long>> paths = new ArrayList<>();
-                List<Long> currentPath = new ArrayList<>();
-                currentPath.add(targetId);
-                
-                findAllShortestPathsDFS(sourceId, targetId, distances.get(targetId), adjacencyList, distances, currentPath, paths);
-                
-                allPaths.put(targetId, paths);
+    private Map<Long, Double> toCentralityValues(GraphSnapshot snapshot, double[] values) {
+        Map<Long, Double> centralityValues = new HashMap<>();
+        for (int v = 0; v < snapshot.nodeCount(); v++) {
+            if (snapshot.isNodeActive(v)) {
+                centralityValues.put(snapshot.nodeId(v), values[v]);
             }
         }
-        
-        return allPaths;
+        return centralityValues;
     }
     
     /**
-     * 使用深度优先搜索找出所有最短路径
+     * 找出最重要的节点（中心度值最高的前 k 个节点，按中心度从高到低排列），只加载入选节点的名称
      */
-    private void findAllShortestPathsDFS(Long sourceId, Long currentId, int targetDistance, 
-                                        Map<Long, List<Long>> adjacencyList, Map<Long, Integer> distances, 
-                                        List<Long> currentPath, List<List<Long>> paths) {
-        // 如果到达源节点，添加路径到结果
-        if (currentId.equals(sourceId)) {
-            List<Long> completePath = new ArrayList<>(currentPath);
-            Collections.reverse(completePath); // 反转路径，使其从源节点开始
-            paths.add(completePath);
-            return;
+    private List<RankedNode> findImportantNodes(GraphSnapshot snapshot, double[] values, CentralityQueryParam param) {
+        int[] top = TopK.select(snapshot, values, param.getTopK() != null ? param.getTopK() : DEFAULT_TOP_K);
+        List<Long> nodeIds = new ArrayList<>(top.length);
+        for (int v : top) {
+            nodeIds.add(snapshot.nodeId(v));
+        }
+        Map<Long, String> nodeNames = new HashMap<>();
+        for (Node node : nodeRepository.findAllById(nodeIds)) {
+            nodeNames.put(node.getId(), node.getName());
         }
         
-        // 继续搜索
-        for (Long neighborId : adjacencyList.get(currentId)) {
-            if (distances.get(neighborId) == targetDistance - 1) {
-                currentPath.add(neighborId);
-                findAllShortestPathsDFS(sourceId, neighborId, targetDistance - 1, adjacencyList, distances, currentPath, paths);
-                currentPath.remove(currentPath.size() - 1); // 回溯
-            }
+        List<RankedNode> importantNodes = new ArrayList<>(top.length);
+        for (int i = 0; i < top.length; i++) {
+            Long nodeId = nodeIds.get(i);
+            importantNodes.add(new RankedNode(i + 1, nodeId, nodeNames.get(nodeId), values[top[i]]));
         }
+        return importantNodes;
     }
     
     /**
-     * 找出最重要的节点（中心度值最高的节点）
+     * 中介中心性的工作线程工作区：最短路径工作数组及局部累加结果
      */
-    private Map<Long, String> findImportantNodes(Map<Long, Double> centralityValues, List<Node> nodes) {
-        // 创建节点ID到名称的映射
-        Map<Long, String> nodeNames = nodes.stream()
-                .collect(Collectors.toMap(Node::getId, Node::getName));
+    private static class BetweennessWorkspace {
+        private final ShortestPathWorkspace paths;
+        private final double[] betweenness;
         
-        // 按中心度值排序
-        List<Map.Entry<Long, Double>> sortedEntries = new ArrayList<>(centralityValues.entrySet());
-        sortedEntries.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
-        
-        // 取前5个或更少
-        int limit = Math.min(5, sortedEntries.size());
-        Map<Long, String> importantNodes = new HashMap<>();
-        
-        for (int i = 0; i < limit; i++) {
-            Map.Entry<Long, Double> entry = sortedEntries.get(i);
-            Long nodeId = entry.getKey();
-            importantNodes.put(nodeId, nodeNames.get(nodeId));
+        BetweennessWorkspace(GraphSnapshot snapshot) {
+            this.paths = new ShortestPathWorkspace(snapshot);
+            this.betweenness = new double[snapshot.nodeCount()];
         }
-        
-        return importantNodes;
     }
 }
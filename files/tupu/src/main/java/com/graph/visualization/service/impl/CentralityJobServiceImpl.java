@@ -0,0 +1,301 @@
+package com.graph.visualization.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.graph.visualization.dto.CentralityJob;
+import com.graph.visualization.dto.CentralityQueryParam;
+import com.graph.visualization.dto.CentralityResult;
+import com.graph.visualization.dto.RankedNode;
+import com.graph.visualization.entity.CentralityResultRecord;
+import com.graph.visualization.entity.Node;
+import com.graph.visualization.enums.CentralityAlgorithmEnum;
+import com.graph.visualization.enums.CentralityJobStatusEnum;
+import com.graph.visualization.graph.GraphSnapshotManager;
+import com.graph.visualization.graph.ProgressMonitor;
+import com.graph.visualization.repository.CentralityResultRecordRepository;
+import com.graph.visualization.repository.NodeRepository;
+import com.graph.visualization.service.CentralityAnalysisService;
+import com.graph.visualization.service.CentralityJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 中心度异步计算任务服务实现类
+ * <p>
+ * 任务在独立的线程池中执行，任务本身作为 {@link ProgressMonitor} 传入算法以记录进度和响应取消。
+ * 计算结果按（算法、参数摘要、图内容指纹）保存到 centrality_results 表，
+ * 图内容未变化时相同的任务直接读取保存的结果而不重新计算。
+ * 任务状态只保存在内存中，结束的任务在保留时间过后被清理。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CentralityJobServiceImpl implements CentralityJobService {
+
+    private final CentralityAnalysisService centralityAnalysisService;
+    private final CentralityResultRecordRepository centralityResultRecordRepository;
+    private final NodeRepository nodeRepository;
+    private final GraphSnapshotManager graphSnapshotManager;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor centralityJobExecutor;
+
+    @Value("${graph.centrality.job-retention-ms:3600000}")
+    private long jobRetentionMillis;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public CentralityJob submit(CentralityAlgorithmEnum algorithm, CentralityQueryParam centralityQueryParam) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("中心度算法不能为空");
+        }
+        CentralityQueryParam param = centralityQueryParam != null ? centralityQueryParam : new CentralityQueryParam();
+        String params = paramsJson(param);
+        String paramsKey = sha256(params);
+        String graphVersion = graphSnapshotManager.getSnapshot().fingerprint();
+
+        synchronized (jobs) {
+            // 相同的任务正在执行时直接返回，避免重复计算
+            for (Job job : jobs.values()) {
+                if (job.algorithm == algorithm && job.paramsKey.equals(paramsKey)
+                        && job.graphVersion.equals(graphVersion) && !job.isFinished()) {
+                    return job.toDto();
+                }
+            }
+
+            Job job = new Job(algorithm, param, params, paramsKey, graphVersion);
+            Optional<CentralityResultRecord> stored = centralityResultRecordRepository
+                    .findFirstByAlgorithmAndParamsKeyAndGraphVersionOrderByIdDesc(algorithm, paramsKey, graphVersion);
+            CentralityResult storedResult = stored.map(record -> readResult(record.getResult())).orElse(null);
+            if (storedResult != null) {
+                job.result = storedResult;
+                job.fromStore = true;
+                job.finish(CentralityJobStatusEnum.COMPLETED);
+                jobs.put(job.jobId, job);
+                return job.toDto();
+            }
+
+            // 先提交再放入任务表，其他线程通过 jobs 取到任务时 future 一定已赋值
+            job.future = centralityJobExecutor.submit(() -> run(job));
+            jobs.put(job.jobId, job);
+            return job.toDto();
+        }
+    }
+
+    @Override
+    public Optional<CentralityJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDto);
+    }
+
+    @Override
+    public Optional<CentralityJob> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        synchronized (job) {
+            if (!job.isFinished()) {
+                job.cancelled = true;
+                // 尚未开始执行的任务直接取消，执行中的任务在下一次进度检查时停止
+                if (job.status == CentralityJobStatusEnum.PENDING && job.future.cancel(false)) {
+                    job.finish(CentralityJobStatusEnum.CANCELLED);
+                }
+            }
+        }
+        return Optional.of(job.toDto());
+    }
+
+    @Override
+    public Optional<CentralityResult> findResult(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || job.status != CentralityJobStatusEnum.COMPLETED) {
+            return Optional.empty();
+        }
+        return Optional.of(refreshNodeNames(job.result));
+    }
+
+    /**
+     * 清理保留时间已过的已结束任务
+     */
+    @Scheduled(fixedDelayString = "${graph.centrality.job-cleanup-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        LocalDateTime expiry = LocalDateTime.now().minusNanos(jobRetentionMillis * 1_000_000L);
+        jobs.values().removeIf(job -> job.isFinished() && job.finishedAt.isBefore(expiry));
+    }
+
+    /**
+     * 执行任务并保存结果
+     */
+    private void run(Job job) {
+        synchronized (job) {
+            if (job.cancelled) {
+                job.finish(CentralityJobStatusEnum.CANCELLED);
+                return;
+            }
+            job.status = CentralityJobStatusEnum.RUNNING;
+        }
+        try {
+            CentralityResult result = centralityAnalysisService.analyze(job.algorithm, job.param, job);
+            job.result = result;
+            // 计算期间图发生变化时结果不对应任何一个版本，只返回给本任务而不保存
+            if (job.graphVersion.equals(graphSnapshotManager.getSnapshot().fingerprint())) {
+                store(job, result);
+            }
+            job.finish(CentralityJobStatusEnum.COMPLETED);
+        } catch (CancellationException e) {
+            job.finish(CentralityJobStatusEnum.CANCELLED);
+        } catch (Throwable e) {
+            // 包括 OutOfMemoryError、StackOverflowError 等错误：不记录最终状态时任务一直停留在执行中，
+            // 相同参数的后续提交都会返回这个永远不会结束的任务
+            log.error("中心度计算任务失败: jobId={}, algorithm={}", job.jobId, job.algorithm, e);
+            job.errorMessage = e.getMessage();
+            job.finish(CentralityJobStatusEnum.FAILED);
+        }
+    }
+
+    private void store(Job job, CentralityResult result) {
+        try {
+            centralityResultRecordRepository.save(new CentralityResultRecord(null, job.algorithm, job.paramsKey,
+                    job.params, job.graphVersion, objectMapper.writeValueAsString(result), LocalDateTime.now()));
+            centralityResultRecordRepository.deleteStale(job.algorithm, job.paramsKey, job.graphVersion);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 保存失败不影响本次任务的结果
+            log.warn("保存中心度计算结果失败: jobId={}", job.jobId, e);
+        }
+    }
+
+    /**
+     * 参数的规范JSON（并行与否不影响结果，不参与比较）
+     */
+    private String paramsJson(CentralityQueryParam param) {
+        ObjectNode tree = objectMapper.valueToTree(param);
+        tree.remove("parallel");
+        try {
+            return objectMapper.writeValueAsString(tree);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("无法序列化中心度参数", e);
+        }
+    }
+
+    /**
+     * 解析保存的结果，格式不兼容时返回null（重新计算）
+     */
+    private CentralityResult readResult(String json) {
+        try {
+            return objectMapper.readValue(json, CentralityResult.class);
+        } catch (JsonProcessingException e) {
+            log.warn("无法解析已保存的中心度结果，将重新计算", e);
+            return null;
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 图版本只反映拓扑，节点名称以当前数据库为准
+     */
+    private CentralityResult refreshNodeNames(CentralityResult result) {
+        if (result.getImportantNodes() == null || result.getImportantNodes().isEmpty()) {
+            return result;
+        }
+        List<Long> nodeIds = result.getImportantNodes().stream().map(RankedNode::getNodeId).collect(Collectors.toList());
+        Map<Long, String> names = nodeRepository.findAllById(nodeIds).stream()
+                .collect(Collectors.toMap(Node::getId, Node::getName));
+        for (RankedNode node : result.getImportantNodes()) {
+            node.setNodeName(names.getOrDefault(node.getNodeId(), node.getNodeName()));
+        }
+        return result;
+    }
+
+    /**
+     * 任务状态，同时作为算法的进度回调
+     */
+    private static final class Job implements ProgressMonitor {
+        private final String jobId = UUID.randomUUID().toString();
+        private final CentralityAlgorithmEnum algorithm;
+        private final CentralityQueryParam param;
+        private final String params;
+        private final String paramsKey;
+        private final String graphVersion;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private volatile long total;
+        private volatile CentralityJobStatusEnum status = CentralityJobStatusEnum.PENDING;
+        private volatile boolean cancelled;
+        private volatile boolean fromStore;
+        private volatile String errorMessage;
+        private volatile LocalDateTime finishedAt;
+        private volatile CentralityResult result;
+        private volatile Future<?> future;
+
+        private Job(CentralityAlgorithmEnum algorithm, CentralityQueryParam param, String params, String paramsKey,
+                    String graphVersion) {
+            this.algorithm = algorithm;
+            this.param = param;
+            this.params = params;
+            this.paramsKey = paramsKey;
+            this.graphVersion = graphVersion;
+        }
+
+        @Override
+        public void start(long total) {
+            this.processed.set(0);
+            this.total = total;
+        }
+
+        @Override
+        public void advance(long amount) {
+            processed.addAndGet(amount);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private synchronized void finish(CentralityJobStatusEnum finalStatus) {
+            if (finalStatus == CentralityJobStatusEnum.COMPLETED) {
+                // 迭代算法提前收敛时将进度补齐
+                processed.set(total);
+            }
+            status = finalStatus;
+            finishedAt = LocalDateTime.now();
+        }
+
+        private CentralityJob toDto() {
+            return new CentralityJob(jobId, algorithm, status, processed.get(), total, graphVersion, fromStore,
+                    errorMessage, submittedAt, finishedAt);
+        }
+    }
+}
@@ -2,21 +2,26 @@ package com.graph.visualization.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.graph.visualization.dto.ImportResult;
+import com.graph.visualization.dto.ImportStageMetrics;
 import com.graph.visualization.entity.Node;
 import com.graph.visualization.entity.Relationship;
 import com.graph.visualization.enums.ExportFormatEnum;
-import com.graph.visualization.enums.NodeTypeEnum;
-import com.graph.visualization.enums.RelationshipTypeEnum;
+import com.graph.visualization.enums.RdfFormatEnum;
+import com.graph.visualization.graph.GraphChange;
+import com.graph.visualization.importer.ImportPipeline;
+import com.graph.visualization.importer.ImportPipelineFactory;
+import com.graph.visualization.importer.IriResolver;
 import com.graph.visualization.repository.NodeRepository;
 import com.graph.visualization.repository.RelationshipRepository;
 import com.graph.visualization.service.GraphImportExportService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.*;
@@ -30,7 +35,12 @@ import java.util.*;
 
 /**
  * 图谱导入导出服务实现类
+ * <p>
+ * 三元组导入由 {@link ImportPipeline} 完成（N-Triples、Turtle、N-Quads）：上传文件按行切分后由多个线程并行解析，
+ * IRI 由 {@link IriResolver} 在导入开始时一次扫描节点表建立缓存和布隆过滤器后单线程解析，
+ * 再由多个线程以 JDBC 批量插入写入关系和节点数据属性；阶段之间为有界队列，内存占用与文件大小无关。
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GraphImportExportServiceImpl implements GraphImportExportService {
@@ -38,100 +48,63 @@ public class GraphImportExportServiceImpl implements GraphImportExportService {
     private final NodeRepository nodeRepository;
     private final RelationshipRepository relationshipRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImportPipelineFactory importPipelineFactory;
     
     @Value("${graph.export.path}")
     private String exportPath;
     
     @Override
-    @Transactional
-    public ImportResult importTriples(MultipartFile file) throws IOException {
+    public ImportResult importTriples(MultipartFile file, RdfFormatEnum format) throws IOException {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("上传的文件为空");
         }
-        
-        // 读取文件内容
-        List<String> lines = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!line.trim().isEmpty()) {
-                    lines.add(line.trim());
-                }
-            }
+        RdfFormatEnum rdfFormat = format != null ? format : detectFormat(file.getOriginalFilename());
+        
+        // 单遍读取输入流，经流水线分批写入数据库，不把整个文件读入内存
+        long startTime = System.currentTimeMillis();
+        IriResolver iriResolver = importPipelineFactory.createResolver();
+        long existingNodeCount = iriResolver.preload();
+        ImportPipeline pipeline = importPipelineFactory.create(iriResolver);
+        try (InputStream in = file.getInputStream()) {
+            pipeline.run(in, rdfFormat);
+        } finally {
+            // 失败前已提交的批次保留在数据库中，同样需要重新加载快照
+            eventPublisher.publishEvent(GraphChange.reload());
         }
+        long elapsedMillis = System.currentTimeMillis() - startTime;
         
-        // 解析三元组并导入到数据库
-        int nodeCount = 0;
-        int relationshipCount = 0;
-        
-        Map<String, Long> nodeIriToIdMap = new HashMap<>();
-        
-        // 第一遍扫描：创建所有节点
-        for (String line : lines) {
-            String[] parts = line.split("\\s+", 3);
-            if (parts.length < 3) {
-                continue; // 跳过格式不正确的行
-            }
-            
-            String subjectIri = parts[0];
-            String objectIri = parts[2];
-            
-            // 处理主语节点
-            if (!nodeIriToIdMap.containsKey(subjectIri)) {
-                Node subjectNode = new Node();
-                subjectNode.setIri(subjectIri);
-                subjectNode.setName(extractNameFromIri(subjectIri));
-                subjectNode.setNodeType(NodeTypeEnum.INDIVIDUAL);
-                subjectNode.setStatus(true);
-                
-                Node savedSubject = nodeRepository.save(subjectNode);
-                nodeIriToIdMap.put(subjectIri, savedSubject.getId());
-                nodeCount++;
-            }
-            
-            // 处理宾语节点
-            if (!nodeIriToIdMap.containsKey(objectIri)) {
-                Node objectNode = new Node();
-                objectNode.setIri(objectIri);
-                objectNode.setName(extractNameFromIri(objectIri));
-                objectNode.setNodeType(NodeTypeEnum.INDIVIDUAL);
-                objectNode.setStatus(true);
-                
-                Node savedObject = nodeRepository.save(objectNode);
-                nodeIriToIdMap.put(objectIri, savedObject.getId());
-                nodeCount++;
-            }
+        if (pipeline.skippedCount() > 0) {
+            log.warn("三元组导入跳过了{}条格式不正确的语句，第一条错误：{}", pipeline.skippedCount(), pipeline.firstError());
         }
-        
-        // 第二遍扫描：创建所有关系
-        for (String line : lines) {
-            String[] parts = line.split("\\s+", 3);
-            if (parts.length < 3) {
-                continue; // 跳过格式不正确的行
-            }
-            
-            String subjectIri = parts[0];
-            String predicateIri = parts[1];
-            String objectIri = parts[2];
-            
-            Long sourceNodeId = nodeIriToIdMap.get(subjectIri);
-            Long targetNodeId = nodeIriToIdMap.get(objectIri);
-            
-            if (sourceNodeId != null && targetNodeId != null) {
-                Relationship relationship = new Relationship();
-                relationship.setSourceNodeId(sourceNodeId);
-                relationship.setTargetNodeId(targetNodeId);
-                relationship.setRelationshipName(extractNameFromIri(predicateIri));
-                relationship.setRelationshipType(RelationshipTypeEnum.OBJECT_RELATION);
-                relationship.setDescription(predicateIri);
-                relationship.setStatus(true);
-                
-                relationshipRepository.save(relationship);
-                relationshipCount++;
-            }
+        List<ImportStageMetrics> stages = new ArrayList<>();
+        for (ImportPipeline.Stage stage : pipeline.stages()) {
+            stages.add(new ImportStageMetrics(stage.name(), stage.threadCount(), stage.unitCount(), stage.tripleCount(),
+                    stage.busyMillis(), stage.blockedMillis()));
         }
-        
-        return new ImportResult(nodeCount, relationshipCount);
+        log.info("三元组导入完成：格式={}，字节数={}，三元组数={}，已有节点数={}，新建节点数={}，新建关系数={}，新建属性数={}，" +
+                        "IRI缓存命中={}，IRI查询次数={}，布隆过滤器误判={}，耗时={}ms，各阶段={}",
+                rdfFormat, pipeline.bytesRead(), pipeline.tripleCount(), existingNodeCount, pipeline.nodeCount(),
+                pipeline.relationshipCount(), pipeline.propertyCount(), iriResolver.cacheHits(),
+                iriResolver.databaseLookups(), iriResolver.falsePositives(), elapsedMillis, stages);
+        
+        return new ImportResult(Math.toIntExact(pipeline.nodeCount()), Math.toIntExact(pipeline.relationshipCount()),
+                Math.toIntExact(pipeline.propertyCount()), Math.toIntExact(pipeline.skippedCount()), elapsedMillis,
+                stages);
+    }
+    
+    /**
+     * 按文件扩展名判断格式：.ttl 为 Turtle，.nq 为 N-Quads，其余按 N-Triples 解析
+     */
+    static RdfFormatEnum detectFormat(String filename) {
+        String name = filename != null ? filename.toLowerCase() : "";
+        if (name.endsWith(".ttl")) {
+            return RdfFormatEnum.TURTLE;
+        }
+        if (name.endsWith(".nq")) {
+            return RdfFormatEnum.NQUADS;
+        }
+        return RdfFormatEnum.NTRIPLES;
     }
     
     @Override
@@ -217,21 +190,4 @@ public class GraphImportExportServiceImpl implements GraphImportExportService {
         
         Files.write(filePath, rdfContent.toString().getBytes(StandardCharsets.UTF_8));
     }
-    
-    /**
-     * 从IRI中提取名称
-     */
-    private String extractNameFromIri(String iri) {
-        // 简单实现：取IRI最后一部分作为名称
-        int lastSlashIndex = iri.lastIndexOf('/');
-        int lastHashIndex = iri.lastIndexOf('#');
-        
-        int lastSeparatorIndex = Math.max(lastSlashIndex, lastHashIndex);
-        
-        if (lastSeparatorIndex >= 0 && lastSeparatorIndex < iri.length() - 1) {
-            return iri.substring(lastSeparatorIndex + 1);
-        } else {
-            return iri;
-        }
-    }
 }
@@ -0,0 +1,564 @@
+package com.graph.visualization.service.impl;
+
+import com.graph.visualization.dto.ImportJob;
+import com.graph.visualization.entity.ImportJobRecord;
+import com.graph.visualization.enums.ImportJobStatusEnum;
+import com.graph.visualization.enums.RdfFormatEnum;
+import com.graph.visualization.graph.GraphChange;
+import com.graph.visualization.importer.ImportPipeline;
+import com.graph.visualization.importer.ImportPipelineFactory;
+import com.graph.visualization.importer.IriResolver;
+import com.graph.visualization.importer.RdfStreamParser;
+import com.graph.visualization.repository.ImportJobRecordRepository;
+import com.graph.visualization.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 三元组异步导入任务服务实现类
+ * <p>
+ * 上传的内容按偏移量写入暂存目录下的任务文件，任务状态、上传进度和检查点保存在 import_jobs 表。
+ * 处理时把文件按行对齐切分为约 graph.import.checkpoint-bytes 字节的分段，每段经 {@link ImportPipeline} 导入并全部提交后
+ * 保存检查点。Turtle 的前缀声明作用于之后的全部内容，整个文件作为一个分段。
+ * <p>
+ * 服务器本地文件不复制，逐段以只读方式内存映射后直接解析映射的缓冲区，数据块是缓冲区的切片；
+ * 暂存文件仍以流读取，映射在回收前不能删除文件（Windows），完成后无法及时清理暂存目录。
+ * 超过 2GB 的 Turtle 文件无法整体映射，同样以流读取。
+ * <p>
+ * 服务停止时正在执行或排队的任务在启动后自动从检查点继续，失败的任务可手动恢复。检查点之后的分段在中断前可能已部分提交，
+ * 恢复后的第一个分段以重放模式导入，跳过数据库中已存在的相同关系和数据属性，节点按IRI去重，不会重复写入。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportJobServiceImpl implements ImportJobService {
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 分段字节数上限，延伸到行尾后仍不超过单个映射的 2GB 上限
+     */
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final ImportJobRecordRepository importJobRecordRepository;
+    private final ImportPipelineFactory importPipelineFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor importJobExecutor;
+
+    @Value("${graph.import.staging-path:./import-staging}")
+    private String stagingPath;
+
+    @Value("${graph.import.checkpoint-bytes:67108864}")
+    private long checkpointBytes;
+
+    @Value("${graph.import.upload-expiry-ms:86400000}")
+    private long uploadExpiryMillis;
+
+    @Value("${graph.import.local-dirs:}")
+    private String[] localDirs;
+
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private final Map<String, RunningJob> runningJobs = new ConcurrentHashMap<>();
+
+    @Override
+    public ImportJob create(String fileName, RdfFormatEnum format, Long totalBytes) throws IOException {
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("文件名不能为空");
+        }
+        if (totalBytes != null && totalBytes <= 0) {
+            throw new IllegalArgumentException("文件大小必须大于0");
+        }
+        ImportJobRecord record = newRecord(fileName, format, totalBytes);
+        Files.createDirectories(Paths.get(stagingPath));
+        Files.deleteIfExists(stagingFile(record.getJobId()));
+        Files.createFile(stagingFile(record.getJobId()));
+        importJobRecordRepository.save(record);
+        return toDto(record, null);
+    }
+
+    @Override
+    public ImportJob createFromLocalFile(String path, RdfFormatEnum format) throws IOException {
+        Path file = resolveLocalFile(path);
+        long size = Files.size(file);
+        if (size == 0) {
+            throw new IllegalArgumentException("文件为空: " + path);
+        }
+        ImportJobRecord record = newRecord(file.getFileName().toString(), format, size);
+        record.setSourcePath(file.toString());
+        record.setUploadedBytes(size);
+        synchronized (lock(record.getJobId())) {
+            return submit(record);
+        }
+    }
+
+    private ImportJobRecord newRecord(String fileName, RdfFormatEnum format, Long totalBytes) {
+        ImportJobRecord record = new ImportJobRecord();
+        record.setJobId(UUID.randomUUID().toString());
+        record.setFileName(fileName);
+        record.setFormat(format != null ? format : GraphImportExportServiceImpl.detectFormat(fileName));
+        record.setStatus(ImportJobStatusEnum.UPLOADING);
+        record.setTotalBytes(totalBytes);
+        record.setUploadedBytes(0L);
+        record.setCheckpointOffset(0L);
+        record.setTripleCount(0L);
+        record.setSkippedCount(0L);
+        record.setNodeCount(0L);
+        record.setRelationshipCount(0L);
+        record.setPropertyCount(0L);
+        record.setBlankNodeScope(RdfStreamParser.newBlankNodeScope());
+        record.setAttemptCount(0);
+        record.setCreatedAt(LocalDateTime.now());
+        record.setUpdatedAt(record.getCreatedAt());
+        return record;
+    }
+
+    /**
+     * 解析服务器本地文件路径（包括符号链接），须为允许导入的目录下的普通文件
+     */
+    private Path resolveLocalFile(String path) throws IOException {
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("文件路径不能为空");
+        }
+        if (Arrays.stream(localDirs).allMatch(String::isBlank)) {
+            throw new IllegalArgumentException("未配置允许导入的服务器目录（graph.import.local-dirs）");
+        }
+        Path file;
+        try {
+            file = Paths.get(path).toRealPath();
+        } catch (NoSuchFileException | InvalidPathException e) {
+            throw new IllegalArgumentException("文件不存在: " + path);
+        }
+        for (String dir : localDirs) {
+            if (dir.isBlank()) {
+                continue;
+            }
+            Path allowed;
+            try {
+                allowed = Paths.get(dir.trim()).toRealPath();
+            } catch (NoSuchFileException | InvalidPathException e) {
+                log.warn("允许导入的目录不存在: {}", dir);
+                continue;
+            }
+            if (file.startsWith(allowed)) {
+                if (!Files.isRegularFile(file)) {
+                    throw new IllegalArgumentException("不是普通文件: " + path);
+                }
+                return file;
+            }
+        }
+        throw new IllegalArgumentException("文件不在允许导入的目录中: " + path);
+    }
+
+    @Override
+    public Optional<ImportJob> upload(String jobId, long offset, InputStream content) throws IOException {
+        synchronized (lock(jobId)) {
+            ImportJobRecord record = importJobRecordRepository.findById(jobId).orElse(null);
+            if (record == null) {
+                locks.remove(jobId);
+                return Optional.empty();
+            }
+            if (record.getStatus() != ImportJobStatusEnum.UPLOADING) {
+                throw new IllegalArgumentException("任务已结束上传，当前状态: " + record.getStatus());
+            }
+            if (offset < 0 || offset > record.getUploadedBytes()) {
+                throw new IllegalArgumentException("上传偏移量必须在0和已上传字节数" + record.getUploadedBytes() + "之间");
+            }
+            long size;
+            try (FileChannel channel = FileChannel.open(stagingFile(jobId), StandardOpenOption.WRITE)) {
+                // 从偏移量处覆盖：重传的块替换上次写入的内容，上次未记录的残留内容一并丢弃
+                channel.truncate(offset);
+                channel.position(offset);
+                byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) >= 0) {
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                }
+                size = channel.position();
+                if (record.getTotalBytes() != null && size > record.getTotalBytes()) {
+                    channel.truncate(offset);
+                    throw new IllegalArgumentException("上传的内容超过声明的文件大小" + record.getTotalBytes() + "字节");
+                }
+                channel.force(false);
+            }
+            record.setUploadedBytes(size);
+            record.setUpdatedAt(LocalDateTime.now());
+            importJobRecordRepository.save(record);
+            return Optional.of(toDto(record, null));
+        }
+    }
+
+    @Override
+    public Optional<ImportJob> start(String jobId) throws IOException {
+        synchronized (lock(jobId)) {
+            ImportJobRecord record = importJobRecordRepository.findById(jobId).orElse(null);
+            if (record == null) {
+                locks.remove(jobId);
+                return Optional.empty();
+            }
+            if (record.getStatus() != ImportJobStatusEnum.UPLOADING) {
+                throw new IllegalArgumentException("任务已开始处理，当前状态: " + record.getStatus());
+            }
+            if (record.getUploadedBytes() == 0) {
+                throw new IllegalArgumentException("上传的文件为空");
+            }
+            if (record.getTotalBytes() != null && !record.getTotalBytes().equals(record.getUploadedBytes())) {
+                throw new IllegalArgumentException("文件尚未上传完整：已上传" + record.getUploadedBytes() + "字节，共"
+                        + record.getTotalBytes() + "字节");
+            }
+            try (FileChannel channel = FileChannel.open(stagingFile(jobId), StandardOpenOption.WRITE)) {
+                channel.truncate(record.getUploadedBytes());
+            }
+            return Optional.of(submit(record));
+        }
+    }
+
+    @Override
+    public Optional<ImportJob> findJob(String jobId) {
+        RunningJob job = runningJobs.get(jobId);
+        if (job != null) {
+            synchronized (job) {
+                return Optional.of(toDto(job.record, job));
+            }
+        }
+        return importJobRecordRepository.findById(jobId).map(record -> toDto(record, null));
+    }
+
+    @Override
+    public Optional<ImportJob> cancel(String jobId) {
+        synchronized (lock(jobId)) {
+            RunningJob job = runningJobs.get(jobId);
+            if (job != null) {
+                // 执行中的任务中止当前分段，由执行线程记录最终状态
+                synchronized (job) {
+                    job.cancelled = true;
+                    if (job.pipeline != null) {
+                        job.pipeline.cancel();
+                    }
+                    return Optional.of(toDto(job.record, job));
+                }
+            }
+            ImportJobRecord record = importJobRecordRepository.findById(jobId).orElse(null);
+            if (record == null) {
+                locks.remove(jobId);
+                return Optional.empty();
+            }
+            if (record.getStatus() == ImportJobStatusEnum.UPLOADING || record.getStatus() == ImportJobStatusEnum.PENDING
+                    || record.getStatus() == ImportJobStatusEnum.FAILED) {
+                finish(record, ImportJobStatusEnum.CANCELLED, null);
+            }
+            return Optional.of(toDto(record, null));
+        }
+    }
+
+    @Override
+    public Optional<ImportJob> resume(String jobId) {
+        synchronized (lock(jobId)) {
+            ImportJobRecord record = importJobRecordRepository.findById(jobId).orElse(null);
+            if (record == null) {
+                locks.remove(jobId);
+                return Optional.empty();
+            }
+            if (record.getStatus() != ImportJobStatusEnum.FAILED) {
+                throw new IllegalArgumentException("只能恢复执行失败的任务，当前状态: " + record.getStatus());
+            }
+            record.setFinishedAt(null);
+            return Optional.of(submit(record));
+        }
+    }
+
+    /**
+     * 服务启动后，从检查点继续上次停止时正在执行或排队的任务
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJobs() {
+        List<ImportJobRecord> records = importJobRecordRepository.findByStatusIn(
+                List.of(ImportJobStatusEnum.PENDING, ImportJobStatusEnum.RUNNING));
+        for (ImportJobRecord record : records) {
+            synchronized (lock(record.getJobId())) {
+                log.info("从检查点恢复导入任务: jobId={}, 检查点={}/{}字节", record.getJobId(),
+                        record.getCheckpointOffset(), record.getUploadedBytes());
+                submit(record);
+            }
+        }
+    }
+
+    /**
+     * 取消超过有效期未继续上传的任务并删除暂存文件
+     */
+    @Scheduled(fixedDelayString = "${graph.import.job-cleanup-interval-ms:600000}")
+    public void expireUploads() {
+        LocalDateTime expiry = LocalDateTime.now().minusNanos(uploadExpiryMillis * 1_000_000L);
+        for (ImportJobRecord expired : importJobRecordRepository.findByStatusAndUpdatedAtBefore(
+                ImportJobStatusEnum.UPLOADING, expiry)) {
+            synchronized (lock(expired.getJobId())) {
+                importJobRecordRepository.findById(expired.getJobId())
+                        .filter(record -> record.getStatus() == ImportJobStatusEnum.UPLOADING
+                                && record.getUpdatedAt().isBefore(expiry))
+                        .ifPresent(record -> finish(record, ImportJobStatusEnum.CANCELLED, "上传超时"));
+            }
+        }
+    }
+
+    private ImportJob submit(ImportJobRecord record) {
+        record.setStatus(ImportJobStatusEnum.PENDING);
+        record.setErrorMessage(null);
+        record.setUpdatedAt(LocalDateTime.now());
+        importJobRecordRepository.save(record);
+        String jobId = record.getJobId();
+        importJobExecutor.execute(() -> run(jobId));
+        return toDto(record, null);
+    }
+
+    /**
+     * 执行任务：逐段导入并保存检查点
+     */
+    private void run(String jobId) {
+        RunningJob job;
+        synchronized (lock(jobId)) {
+            ImportJobRecord record = importJobRecordRepository.findById(jobId).orElse(null);
+            if (record == null || record.getStatus() != ImportJobStatusEnum.PENDING) {
+                // 排队期间已取消
+                return;
+            }
+            record.setStatus(ImportJobStatusEnum.RUNNING);
+            record.setAttemptCount(record.getAttemptCount() + 1);
+            record.setUpdatedAt(LocalDateTime.now());
+            importJobRecordRepository.save(record);
+            job = new RunningJob(record);
+            runningJobs.put(jobId, job);
+        }
+        ImportJobStatusEnum finalStatus;
+        String errorMessage = null;
+        try {
+            process(job);
+            finalStatus = ImportJobStatusEnum.COMPLETED;
+        } catch (CancellationException e) {
+            finalStatus = ImportJobStatusEnum.CANCELLED;
+        } catch (Throwable e) {
+            // 包括 OutOfMemoryError 等错误：不记录最终状态时记录停留在执行中，服务重启后会被再次执行
+            log.error("导入任务失败: jobId={}, 检查点={}字节", jobId, job.record.getCheckpointOffset(), e);
+            finalStatus = ImportJobStatusEnum.FAILED;
+            errorMessage = e.getMessage();
+        }
+        synchronized (lock(jobId)) {
+            try {
+                synchronized (job) {
+                    finish(job.record, finalStatus, errorMessage);
+                }
+            } finally {
+                runningJobs.remove(jobId);
+            }
+        }
+        // 已提交的数据（包括失败或取消前提交的批次）需要重新加载到内存图快照
+        eventPublisher.publishEvent(GraphChange.reload());
+        log.info("导入任务结束: jobId={}, 状态={}, 三元组数={}, 新建节点数={}, 新建关系数={}, 新建属性数={}, 跳过语句数={}",
+                jobId, finalStatus, job.record.getTripleCount(), job.record.getNodeCount(),
+                job.record.getRelationshipCount(), job.record.getPropertyCount(), job.record.getSkippedCount());
+    }
+
+    private void process(RunningJob job) throws IOException {
+        ImportJobRecord record = job.record;
+        IriResolver iriResolver = importPipelineFactory.createResolver();
+        iriResolver.preload();
+        // 之前执行过的任务，检查点之后的分段可能已部分提交
+        boolean replay = record.getAttemptCount() > 1;
+        long size = record.getUploadedBytes();
+        boolean localFile = record.getSourcePath() != null;
+        Path file = localFile ? Paths.get(record.getSourcePath()) : stagingFile(record.getJobId());
+        if (localFile && Files.size(file) != size) {
+            throw new IllegalStateException("服务器文件在任务创建后已被修改，请重新创建任务: " + file);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (record.getCheckpointOffset() < size) {
+                long start = record.getCheckpointOffset();
+                long end = record.getFormat() == RdfFormatEnum.TURTLE ? size : segmentEnd(channel, start, size);
+                ImportPipeline pipeline = importPipelineFactory.create(iriResolver);
+                pipeline.setBlankNodeScope(record.getBlankNodeScope());
+                pipeline.setInputOffset(start);
+                pipeline.setSkipExisting(replay);
+                synchronized (job) {
+                    if (job.cancelled) {
+                        throw new CancellationException("导入已取消");
+                    }
+                    job.pipeline = pipeline;
+                }
+
+                try {
+                    if (localFile && end - start <= Integer.MAX_VALUE) {
+                        pipeline.run(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start),
+                                record.getFormat());
+                    } else {
+                        channel.position(start);
+                        pipeline.run(new BoundedInputStream(Channels.newInputStream(channel), end - start),
+                                record.getFormat());
+                    }
+                } catch (IOException | RuntimeException | Error e) {
+                    // 中断前已提交的行计入结果，重放时跳过，不会重复计数；解析计数在重放时重新累计
+                    synchronized (job) {
+                        addWrittenCounts(record, pipeline);
+                        job.pipeline = null;
+                    }
+                    throw e;
+                }
+
+                synchronized (job) {
+                    record.setCheckpointOffset(end);
+                    record.setTripleCount(record.getTripleCount() + pipeline.tripleCount());
+                    record.setSkippedCount(record.getSkippedCount() + pipeline.skippedCount());
+                    addWrittenCounts(record, pipeline);
+                    if (record.getFirstError() == null) {
+                        record.setFirstError(pipeline.firstError());
+                    }
+                    record.setUpdatedAt(LocalDateTime.now());
+                    job.pipeline = null;
+                }
+                importJobRecordRepository.save(record);
+                replay = false;
+            }
+        }
+    }
+
+    private static void addWrittenCounts(ImportJobRecord record, ImportPipeline pipeline) {
+        record.setNodeCount(record.getNodeCount() + pipeline.nodeCount());
+        record.setRelationshipCount(record.getRelationshipCount() + pipeline.relationshipCount());
+        record.setPropertyCount(record.getPropertyCount() + pipeline.propertyCount());
+    }
+
+    /**
+     * 分段的结束位置：从 start 起约 checkpointBytes 字节之后的第一个行尾
+     */
+    private long segmentEnd(FileChannel channel, long start, long size) throws IOException {
+        long position = start + Math.min(checkpointBytes, MAX_SEGMENT_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * 记录任务的最终状态；完成或取消的任务删除暂存文件，失败的任务保留以便恢复
+     * <p>
+     * 完成和取消是终态，之后对该任务的操作只读取记录，因此同时移除任务的锁对象；
+     * 失败的任务还可以恢复或取消，保留锁对象。调用方持有该任务的锁
+     */
+    private void finish(ImportJobRecord record, ImportJobStatusEnum status, String errorMessage) {
+        record.setStatus(status);
+        record.setErrorMessage(errorMessage);
+        record.setUpdatedAt(LocalDateTime.now());
+        record.setFinishedAt(record.getUpdatedAt());
+        importJobRecordRepository.save(record);
+        if (status != ImportJobStatusEnum.FAILED) {
+            try {
+                Files.deleteIfExists(stagingFile(record.getJobId()));
+            } catch (IOException e) {
+                log.warn("删除导入暂存文件失败: jobId={}", record.getJobId(), e);
+            }
+            locks.remove(record.getJobId());
+        }
+    }
+
+    private Path stagingFile(String jobId) {
+        return Paths.get(stagingPath, jobId + ".part");
+    }
+
+    /**
+     * 按任务ID加锁的锁对象；不存在的任务ID在查询后立即移除
+     */
+    private Object lock(String jobId) {
+        return locks.computeIfAbsent(jobId, id -> new Object());
+    }
+
+    /**
+     * 执行中的任务加上当前分段的实时进度；调用方持有 job 的锁
+     */
+    private static ImportJob toDto(ImportJobRecord record, RunningJob job) {
+        long processedBytes = record.getCheckpointOffset();
+        long tripleCount = record.getTripleCount();
+        long skippedCount = record.getSkippedCount();
+        long nodeCount = record.getNodeCount();
+        long relationshipCount = record.getRelationshipCount();
+        long propertyCount = record.getPropertyCount();
+        String firstError = record.getFirstError();
+        Double triplesPerSecond = null;
+        if (job != null) {
+            ImportPipeline pipeline = job.pipeline;
+            if (pipeline != null) {
+                processedBytes += pipeline.bytesRead();
+                tripleCount += pipeline.tripleCount();
+                skippedCount += pipeline.skippedCount();
+                nodeCount += pipeline.nodeCount();
+                relationshipCount += pipeline.relationshipCount();
+                propertyCount += pipeline.propertyCount();
+                if (firstError == null) {
+                    firstError = pipeline.firstError();
+                }
+            }
+            double seconds = (System.nanoTime() - job.startNanos) / 1e9;
+            triplesPerSecond = seconds > 0 ? Math.round((tripleCount - job.initialTripleCount) / seconds * 10) / 10.0
+                    : 0.0;
+        }
+        return new ImportJob(record.getJobId(), record.getFileName(), record.getSourcePath(), record.getFormat(),
+                record.getStatus(), record.getTotalBytes(), record.getUploadedBytes(), processedBytes,
+                record.getCheckpointOffset(), tripleCount, skippedCount, nodeCount, relationshipCount, propertyCount,
+                triplesPerSecond, record.getAttemptCount(), firstError, record.getErrorMessage(), record.getCreatedAt(),
+                record.getFinishedAt());
+    }
+
+    /**
+     * 执行中的任务：持久化记录和当前分段的流水线，状态修改和读取都持有本对象的锁
+     */
+    private static final class RunningJob {
+        private final ImportJobRecord record;
+        private final long startNanos = System.nanoTime();
+        private final long initialTripleCount;
+        private ImportPipeline pipeline;
+        private boolean cancelled;
+
+        private RunningJob(ImportJobRecord record) {
+            this.record = record;
+            this.initialTripleCount = record.getTripleCount();
+        }
+    }
+}
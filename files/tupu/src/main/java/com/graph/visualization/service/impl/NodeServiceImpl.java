@@ -1,10 +1,14 @@
 package com.graph.visualization.service.impl;
 
 import com.graph.visualization.entity.Node;
+import com.graph.visualization.entity.NodeProperty;
 import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.graph.GraphChange;
+import com.graph.visualization.repository.NodePropertyRepository;
 import com.graph.visualization.repository.NodeRepository;
 import com.graph.visualization.service.NodeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +23,8 @@ import java.util.Optional;
 public class NodeServiceImpl implements NodeService {
     
     private final NodeRepository nodeRepository;
+    private final NodePropertyRepository nodePropertyRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -27,7 +33,9 @@ public class NodeServiceImpl implements NodeService {
         if (nodeRepository.findByIri(node.getIri()).isPresent()) {
             throw new IllegalArgumentException("节点IRI已存在: " + node.getIri());
         }
-        return nodeRepository.save(node);
+        Node savedNode = nodeRepository.save(node);
+        eventPublisher.publishEvent(GraphChange.nodeUpserted(savedNode));
+        return savedNode;
     }
     
     @Override
@@ -51,7 +59,9 @@ public class NodeServiceImpl implements NodeService {
                     }
                 });
         
-        return nodeRepository.save(node);
+        Node savedNode = nodeRepository.save(node);
+        eventPublisher.publishEvent(GraphChange.nodeUpserted(savedNode));
+        return savedNode;
     }
     
     @Override
@@ -62,6 +72,7 @@ public class NodeServiceImpl implements NodeService {
             throw new IllegalArgumentException("节点不存在: " + id);
         }
         nodeRepository.deleteById(id);
+        eventPublisher.publishEvent(GraphChange.nodeDeleted(id));
     }
     
     @Override
@@ -78,4 +89,9 @@ public class NodeServiceImpl implements NodeService {
     public List<Node> searchNodesByKeyword(String keyword) {
         return nodeRepository.findByKeyword(keyword);
     }
+    
+    @Override
+    public List<NodeProperty> findNodeProperties(Long nodeId) {
+        return nodePropertyRepository.findByNodeId(nodeId);
+    }
 }
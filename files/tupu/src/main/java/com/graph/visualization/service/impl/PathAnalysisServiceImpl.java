@@ -1,16 +1,29 @@
 package com.graph.visualization.service.impl;
 
+import com.graph.visualization.dto.PathIdResult;
 import com.graph.visualization.dto.PathQueryParam;
 import com.graph.visualization.dto.PathResult;
 import com.graph.visualization.entity.Node;
 import com.graph.visualization.entity.Relationship;
+import com.graph.visualization.graph.EdgeCostModel;
+import com.graph.visualization.graph.GraphPath;
+import com.graph.visualization.graph.GraphSnapshot;
+import com.graph.visualization.graph.GraphSnapshotManager;
+import com.graph.visualization.graph.KShortestPaths;
+import com.graph.visualization.graph.LandmarkIndex;
+import com.graph.visualization.graph.WeightedPathSearch;
 import com.graph.visualization.repository.NodeRepository;
 import com.graph.visualization.repository.RelationshipRepository;
 import com.graph.visualization.service.PathAnalysisService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Predicate;
 
 /**
  * 路径分析服务实现类
@@ -19,8 +32,39 @@ import java.util.*;
 @RequiredArgsConstructor
 public class PathAnalysisServiceImpl implements PathAnalysisService {
     
+    /**
+     * 前K条最短路径查询未指定路径数时的默认值
+     */
+    private static final int DEFAULT_K = 10;
+    
     private final NodeRepository nodeRepository;
     private final RelationshipRepository relationshipRepository;
+    private final GraphSnapshotManager graphSnapshotManager;
+    
+    @Value("${graph.path.stream-timeout-ms:30000}")
+    private long streamTimeoutMillis;
+    
+    @Value("${graph.path.stream-max-timeout-ms:120000}")
+    private long streamMaxTimeoutMillis;
+    
+    @Value("${graph.path.k-shortest-max:1000}")
+    private int kShortestMax;
+    
+    @Value("${graph.path.landmark-count:4}")
+    private int landmarkCount;
+    
+    @Value("${graph.path.landmark-cache-size:8}")
+    private int landmarkCacheSize;
+    
+    /**
+     * 路标索引缓存（按代价模型，LRU）
+     */
+    private final Map<String, LandmarkIndexEntry> landmarkIndexes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LandmarkIndexEntry> eldest) {
+            return size() > landmarkCacheSize;
+        }
+    };
     
     @Override
     public PathResult findShortestPath(PathQueryParam pathQueryParam) {
@@ -28,189 +72,527 @@ public class PathAnalysisServiceImpl implements PathAnalysisService {
         Long targetNodeId = pathQueryParam.getTargetNodeId();
         Integer maxDepth = pathQueryParam.getMaxDepth();
         
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        
         // 验证源节点和目标节点是否存在
-        if (!nodeRepository.existsById(sourceNodeId)) {
+        int source = snapshot.indexOf(sourceNodeId);
+        if (source < 0) {
             throw new IllegalArgumentException("源节点不存在: " + sourceNodeId);
         }
-        if (!nodeRepository.existsById(targetNodeId)) {
+        int target = snapshot.indexOf(targetNodeId);
+        if (target < 0) {
             throw new IllegalArgumentException("目标节点不存在: " + targetNodeId);
         }
         
-        // 使用广度优先搜索查找最短路径
-        Map<Long, Long> parentMap = new HashMap<>(); // 记录节点的父节点
-        Map<Long, Relationship> relationshipMap = new HashMap<>(); // 记录节点之间的关系
+        // 加权模式使用 Dijkstra / A* 搜索，路径长度同样不超过最大深度
+        EdgeCostModel costModel = EdgeCostModel.of(snapshot, pathQueryParam.getWeightMode(),
+                pathQueryParam.getCosts(), pathQueryParam.getDefaultCost());
+        if (!costModel.isUnit()) {
+            IntToDoubleFunction heuristic = null;
+            if (Boolean.TRUE.equals(pathQueryParam.getUseLandmarks())) {
+                LandmarkIndex landmarkIndex = getLandmarkIndex(snapshot, costModel);
+                heuristic = v -> landmarkIndex.estimate(v, target);
+            }
+            GraphPath path = new WeightedPathSearch(snapshot, costModel)
+                    .search(source, target, maxDepth, heuristic, null, null);
+            return path == null ? null : toPathResults(snapshot, List.of(path)).get(0);
+        }
+        
+        // 使用双向广度优先搜索查找最短路径（路径长度不超过最大深度）
+        int[] path = bidirectionalSearch(snapshot, source, target, maxDepth);
+        
+        // 如果未找到路径，返回空结果
+        if (path == null) {
+            return null;
+        }
+        
+        // path 中偶数位为节点下标，奇数位为边下标
+        int length = path.length / 2;
+        int[] pathNodes = new int[length + 1];
+        int[] pathEdges = new int[length];
+        for (int i = 0; i < length; i++) {
+            pathNodes[i] = path[2 * i];
+            pathEdges[i] = path[2 * i + 1];
+        }
+        pathNodes[length] = path[path.length - 1];
+        
+        return toPathResults(snapshot, List.of(new GraphPath(pathNodes, pathEdges, length))).get(0);
+    }
+    
+    @Override
+    public List<PathResult> findKShortestPaths(PathQueryParam pathQueryParam) {
+        Long sourceNodeId = pathQueryParam.getSourceNodeId();
+        Long targetNodeId = pathQueryParam.getTargetNodeId();
+        Integer maxDepth = pathQueryParam.getMaxDepth();
+        int k = pathQueryParam.getMaxPathCount() != null ? pathQueryParam.getMaxPathCount() : DEFAULT_K;
+        if (k <= 0) {
+            throw new IllegalArgumentException("路径数量必须大于0");
+        }
+        // Yen 算法每求一条路径都要对前一条路径的每个偏离点做一次最短路径搜索，K 不设上限时单个请求可占满一个线程
+        if (k > kShortestMax) {
+            throw new IllegalArgumentException("路径数量不能超过" + kShortestMax);
+        }
         
-        Queue<Long> queue = new LinkedList<>();
-        Set<Long> visited = new HashSet<>();
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
         
-        queue.offer(sourceNodeId);
-        visited.add(sourceNodeId);
+        // 验证源节点和目标节点是否存在
+        int source = snapshot.indexOf(sourceNodeId);
+        if (source < 0) {
+            throw new IllegalArgumentException("源节点不存在: " + sourceNodeId);
+        }
+        int target = snapshot.indexOf(targetNodeId);
+        if (target < 0) {
+            throw new IllegalArgumentException("目标节点不存在: " + targetNodeId);
+        }
         
-        boolean found = false;
-        while (!queue.isEmpty() && !found) {
-            Long currentNodeId = queue.poll();
+        EdgeCostModel costModel = EdgeCostModel.of(snapshot, pathQueryParam.getWeightMode(),
+                pathQueryParam.getCosts(), pathQueryParam.getDefaultCost());
+        List<GraphPath> paths = KShortestPaths.find(snapshot, costModel, source, target, k, maxDepth);
+        return toPathResults(snapshot, paths);
+    }
+    
+    /**
+     * 获取快照与代价模型对应的路标索引，不存在时构建并缓存
+     */
+    private LandmarkIndex getLandmarkIndex(GraphSnapshot snapshot, EdgeCostModel costModel) {
+        String key = costModel.cacheKey();
+        synchronized (landmarkIndexes) {
+            LandmarkIndexEntry entry = landmarkIndexes.get(key);
+            if (entry != null && entry.snapshot == snapshot) {
+                return entry.index;
+            }
+        }
+        // 构建在锁外进行，并发构建同一索引时以后写入者为准
+        LandmarkIndex index = LandmarkIndex.build(snapshot, costModel, landmarkCount);
+        synchronized (landmarkIndexes) {
+            landmarkIndexes.put(key, new LandmarkIndexEntry(snapshot, index));
+        }
+        return index;
+    }
+    
+    /**
+     * 双向广度优先搜索（无向）
+     * <p>
+     * 每轮扩展两侧中较小的一层前沿，整层扩展完成后若两侧相遇则取该层中最短的相遇路径。
+     * 两侧已扩展深度之和达到 maxDepth 仍未相遇时，说明不存在长度不超过 maxDepth 的路径。
+     *
+     * @return 交替排列的节点下标和边下标（节点, 边, 节点, ..., 节点），未找到时返回null
+     */
+    private int[] bidirectionalSearch(GraphSnapshot snapshot, int source, int target, Integer maxDepth) {
+        if (source == target) {
+            return new int[]{source};
+        }
+        if (maxDepth != null && maxDepth <= 0) {
+            return null;
+        }
+        
+        int nodeCount = snapshot.nodeCount();
+        int[] forwardDistance = new int[nodeCount];
+        int[] backwardDistance = new int[nodeCount];
+        Arrays.fill(forwardDistance, -1);
+        Arrays.fill(backwardDistance, -1);
+        int[] forwardParent = new int[nodeCount]; // 记录到达节点所经过的边
+        int[] backwardParent = new int[nodeCount];
+        int[] forwardQueue = new int[nodeCount];
+        int[] backwardQueue = new int[nodeCount];
+        
+        forwardDistance[source] = 0;
+        backwardDistance[target] = 0;
+        forwardQueue[0] = source;
+        backwardQueue[0] = target;
+        // 每侧当前层在队列中的范围 [levelStart, levelEnd)
+        int forwardStart = 0, forwardEnd = 1, forwardDepth = 0;
+        int backwardStart = 0, backwardEnd = 1, backwardDepth = 0;
+        
+        int meetingNode = -1;
+        int bestLength = Integer.MAX_VALUE;
+        while (forwardStart < forwardEnd && backwardStart < backwardEnd) {
+            if (maxDepth != null && forwardDepth + backwardDepth >= maxDepth) {
+                break;
+            }
             
-            // 获取当前节点的所有关系
-            List<Relationship> relationships = relationshipRepository.findRelationshipsByNodeId(currentNodeId);
+            boolean expandForward = forwardEnd - forwardStart <= backwardEnd - backwardStart;
+            int[] distance = expandForward ? forwardDistance : backwardDistance;
+            int[] otherDistance = expandForward ? backwardDistance : forwardDistance;
+            int[] parent = expandForward ? forwardParent : backwardParent;
+            int[] queue = expandForward ? forwardQueue : backwardQueue;
+            int levelStart = expandForward ? forwardStart : backwardStart;
+            int levelEnd = expandForward ? forwardEnd : backwardEnd;
+            int tail = levelEnd;
             
-            for (Relationship relationship : relationships) {
-                Long nextNodeId;
-                
-                // 确定关系的另一端节点
-                if (relationship.getSourceNodeId().equals(currentNodeId)) {
-                    nextNodeId = relationship.getTargetNodeId();
-                } else if (relationship.getTargetNodeId().equals(currentNodeId)) {
-                    nextNodeId = relationship.getSourceNodeId();
-                } else {
-                    continue; // 跳过不相关的关系
-                }
-                
-                // 如果节点未访问过，则加入队列
-                if (!visited.contains(nextNodeId)) {
-                    visited.add(nextNodeId);
-                    queue.offer(nextNodeId);
-                    parentMap.put(nextNodeId, currentNodeId);
-                    relationshipMap.put(nextNodeId, relationship);
-                    
-                    // 如果找到目标节点，结束搜索
-                    if (nextNodeId.equals(targetNodeId)) {
-                        found = true;
-                        break;
+            for (int i = levelStart; i < levelEnd; i++) {
+                int current = queue[i];
+                int nextDistance = distance[current] + 1;
+                for (int direction = 0; direction < 2; direction++) {
+                    boolean outgoing = direction == 0;
+                    int[] edges = snapshot.rowEdges(current, outgoing);
+                    for (int p = snapshot.rowStart(current, outgoing), end = snapshot.rowEnd(current, outgoing); p < end; p++) {
+                        int edge = edges[p];
+                        int next = snapshot.opposite(edge, current);
+                        if (distance[next] >= 0) {
+                            continue;
+                        }
+                        distance[next] = nextDistance;
+                        parent[next] = edge;
+                        queue[tail++] = next;
+                        
+                        // 与另一侧相遇，记录当前层中最短的相遇路径
+                        if (otherDistance[next] >= 0 && nextDistance + otherDistance[next] < bestLength) {
+                            bestLength = nextDistance + otherDistance[next];
+                            meetingNode = next;
+                        }
                     }
                 }
             }
+            
+            if (expandForward) {
+                forwardStart = levelEnd;
+                forwardEnd = tail;
+                forwardDepth++;
+            } else {
+                backwardStart = levelEnd;
+                backwardEnd = tail;
+                backwardDepth++;
+            }
+            
+            if (meetingNode >= 0) {
+                break;
+            }
         }
         
-        // 如果未找到路径，返回空结果
-        if (!found) {
+        if (meetingNode < 0) {
             return null;
         }
         
-        // 重建路径
-        List<Node> pathNodes = new ArrayList<>();
-        List<Relationship> pathRelationships = new ArrayList<>();
+        // 从相遇节点分别回溯到源节点和目标节点
+        int[] path = new int[2 * bestLength + 1];
+        int position = 2 * forwardDistance[meetingNode];
+        path[position] = meetingNode;
+        for (int v = meetingNode; v != source; ) {
+            int edge = forwardParent[v];
+            v = snapshot.opposite(edge, v);
+            path[--position] = edge;
+            path[--position] = v;
+        }
+        position = 2 * forwardDistance[meetingNode];
+        for (int v = meetingNode; v != target; ) {
+            int edge = backwardParent[v];
+            v = snapshot.opposite(edge, v);
+            path[++position] = edge;
+            path[++position] = v;
+        }
+        return path;
+    }
+    
+    @Override
+    public List<PathResult> findAllPaths(PathQueryParam pathQueryParam) {
+        Long sourceNodeId = pathQueryParam.getSourceNodeId();
+        Long targetNodeId = pathQueryParam.getTargetNodeId();
+        Integer maxDepth = pathQueryParam.getMaxDepth();
+        Integer maxPathCount = pathQueryParam.getMaxPathCount();
         
-        Long currentNodeId = targetNodeId;
-        while (!currentNodeId.equals(sourceNodeId)) {
-            final Long nodeIdForLambda = currentNodeId; // 创建一个final变量用于lambda表达式
-            Node node = nodeRepository.findById(nodeIdForLambda)
-                    .orElseThrow(() -> new IllegalStateException("节点不存在: " + nodeIdForLambda));
-            pathNodes.add(0, node); // 添加到列表开头
-            
-            Relationship relationship = relationshipMap.get(currentNodeId);
-            pathRelationships.add(0, relationship); // 添加到列表开头
-            
-            currentNodeId = parentMap.get(currentNodeId);
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        
+        // 验证源节点和目标节点是否存在
+        int source = snapshot.indexOf(sourceNodeId);
+        if (source < 0) {
+            throw new IllegalArgumentException("源节点不存在: " + sourceNodeId);
+        }
+        int target = snapshot.indexOf(targetNodeId);
+        if (target < 0) {
+            throw new IllegalArgumentException("目标节点不存在: " + targetNodeId);
         }
         
-        // 添加源节点
-        Node sourceNode = nodeRepository.findById(sourceNodeId)
-                .orElseThrow(() -> new IllegalStateException("源节点不存在: " + sourceNodeId));
-        pathNodes.add(0, sourceNode);
+        List<GraphPath> paths = new ArrayList<>();
+        boolean[] visited = new boolean[snapshot.nodeCount()];
+        int pathCapacity = maxDepth != null ? Math.max(maxDepth, 0) + 1 : snapshot.nodeCount();
+        int[] currentNodes = new int[pathCapacity + 1];
+        int[] currentEdges = new int[pathCapacity];
+        
+        // 开始深度优先搜索
+        visited[source] = true;
+        currentNodes[0] = source;
         
-        // 创建结果
-        PathResult result = new PathResult();
-        result.setPathLength(pathRelationships.size());
-        result.setNodes(pathNodes);
-        result.setRelationships(pathRelationships);
+        findAllPathsDFS(snapshot, target, maxDepth, maxPathCount, visited, currentNodes, currentEdges, 0, paths);
         
-        return result;
+        return toPathResults(snapshot, paths);
     }
     
     @Override
-    public List<PathResult> findAllPaths(PathQueryParam pathQueryParam) {
+    public Consumer<Predicate<PathIdResult>> streamAllPaths(PathQueryParam pathQueryParam) {
         Long sourceNodeId = pathQueryParam.getSourceNodeId();
         Long targetNodeId = pathQueryParam.getTargetNodeId();
         Integer maxDepth = pathQueryParam.getMaxDepth();
         Integer maxPathCount = pathQueryParam.getMaxPathCount();
+        long timeoutMillis = pathQueryParam.getTimeoutMillis() != null
+                ? Math.min(pathQueryParam.getTimeoutMillis(), streamMaxTimeoutMillis) : streamTimeoutMillis;
         
-        // 验证源节点和目标节点是否存在
-        if (!nodeRepository.existsById(sourceNodeId)) {
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        
+        // 验证源节点和目标节点是否存在，节点下标只在同一快照内有效，搜索沿用这里取得的快照
+        int source = snapshot.indexOf(sourceNodeId);
+        if (source < 0) {
             throw new IllegalArgumentException("源节点不存在: " + sourceNodeId);
         }
-        if (!nodeRepository.existsById(targetNodeId)) {
+        int target = snapshot.indexOf(targetNodeId);
+        if (target < 0) {
             throw new IllegalArgumentException("目标节点不存在: " + targetNodeId);
         }
         
-        List<PathResult> allPaths = new ArrayList<>();
-        Set<Long> visited = new HashSet<>();
-        List<Node> currentPath = new ArrayList<>();
-        List<Relationship> currentRelationships = new ArrayList<>();
+        return consumer -> streamAllPaths(snapshot, source, target, maxDepth, maxPathCount,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), consumer);
+    }
+    
+    /**
+     * 从已解析的源节点下标出发，迭代式深度优先搜索到目标节点的所有路径
+     */
+    private void streamAllPaths(GraphSnapshot snapshot, int source, int target, Integer maxDepth,
+                                Integer maxPathCount, long deadline, Predicate<PathIdResult> consumer) {
+        // 到目标节点的跳数作为剪枝下界：无法在剩余深度内到达目标的分支不再展开
+        int[] distanceToTarget = hopDistances(snapshot, target, maxDepth);
+        if (distanceToTarget[source] < 0) {
+            return;
+        }
         
-        // 获取源节点
-        Node sourceNode = nodeRepository.findById(sourceNodeId)
-                .orElseThrow(() -> new IllegalStateException("源节点不存在: " + sourceNodeId));
+        // 迭代式深度优先搜索，每层记录当前遍历的方向和行内位置
+        int pathCapacity = maxDepth != null ? Math.max(maxDepth, 0) + 1 : snapshot.nodeCount();
+        int[] currentNodes = new int[pathCapacity + 1];
+        int[] currentEdges = new int[pathCapacity];
+        boolean[] outgoing = new boolean[pathCapacity + 1];
+        int[] cursor = new int[pathCapacity + 1];
+        boolean[] visited = new boolean[snapshot.nodeCount()];
         
-        // 开始深度优先搜索
-        visited.add(sourceNodeId);
-        currentPath.add(sourceNode);
+        int depth = 0;
+        currentNodes[0] = source;
+        outgoing[0] = true;
+        cursor[0] = snapshot.rowStart(source, true);
+        visited[source] = true;
+        int pathCount = 0;
+        long steps = 0;
+        while (depth >= 0) {
+            // 每隔一定步数检查一次时间预算
+            if ((++steps & 0x3FF) == 0 && System.nanoTime() - deadline > 0) {
+                break;
+            }
+            
+            int current = currentNodes[depth];
+            if (current == target) {
+                if (!consumer.test(toPathIdResult(snapshot, currentNodes, currentEdges, depth))) {
+                    break;
+                }
+                if (maxPathCount != null && ++pathCount >= maxPathCount) {
+                    break;
+                }
+                visited[current] = false;
+                depth--;
+                continue;
+            }
+            
+            if (cursor[depth] >= snapshot.rowEnd(current, outgoing[depth])) {
+                if (outgoing[depth]) {
+                    // 出边遍历完毕，继续遍历入边（无向）
+                    outgoing[depth] = false;
+                    cursor[depth] = snapshot.rowStart(current, false);
+                } else {
+                    // 回溯
+                    visited[current] = false;
+                    depth--;
+                }
+                continue;
+            }
+            
+            int edge = snapshot.rowEdges(current, outgoing[depth])[cursor[depth]++];
+            int next = snapshot.opposite(edge, current);
+            if (visited[next] || distanceToTarget[next] < 0
+                    || (maxDepth != null && depth + 1 + distanceToTarget[next] > maxDepth)) {
+                continue;
+            }
+            currentEdges[depth] = edge;
+            depth++;
+            currentNodes[depth] = next;
+            outgoing[depth] = true;
+            cursor[depth] = snapshot.rowStart(next, true);
+            visited[next] = true;
+        }
+    }
+    
+    /**
+     * 从指定节点出发的广度优先跳数（不可达或超过最大深度为-1）
+     */
+    private int[] hopDistances(GraphSnapshot snapshot, int start, Integer maxDepth) {
+        int nodeCount = snapshot.nodeCount();
+        int[] distance = new int[nodeCount];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[nodeCount];
+        int head = 0, tail = 0;
+        distance[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int current = queue[head++];
+            if (maxDepth != null && distance[current] >= maxDepth) {
+                continue;
+            }
+            for (int direction = 0; direction < 2; direction++) {
+                boolean outgoing = direction == 0;
+                int[] edges = snapshot.rowEdges(current, outgoing);
+                for (int p = snapshot.rowStart(current, outgoing), end = snapshot.rowEnd(current, outgoing); p < end; p++) {
+                    int next = snapshot.opposite(edges[p], current);
+                    if (distance[next] < 0) {
+                        distance[next] = distance[current] + 1;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+        return distance;
+    }
+    
+    private PathIdResult toPathIdResult(GraphSnapshot snapshot, int[] currentNodes, int[] currentEdges, int length) {
+        List<Long> nodeIds = new ArrayList<>(length + 1);
+        for (int i = 0; i <= length; i++) {
+            nodeIds.add(snapshot.nodeId(currentNodes[i]));
+        }
+        List<Long> relationshipIds = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            relationshipIds.add(snapshot.edgeId(currentEdges[i]));
+        }
+        return new PathIdResult(length, nodeIds, relationshipIds);
+    }
+    
+    @Override
+    public PathResult hydratePath(PathIdResult pathIdResult) {
+        List<Long> nodeIds = pathIdResult.getNodeIds() != null ? pathIdResult.getNodeIds() : List.of();
+        List<Long> relationshipIds = pathIdResult.getRelationshipIds() != null
+                ? pathIdResult.getRelationshipIds() : List.of();
+        
+        Map<Long, Node> nodeMap = new HashMap<>();
+        for (Node node : nodeRepository.findAllById(nodeIds)) {
+            nodeMap.put(node.getId(), node);
+        }
+        Map<Long, Relationship> relationshipMap = new HashMap<>();
+        for (Relationship relationship : relationshipRepository.findAllById(relationshipIds)) {
+            relationshipMap.put(relationship.getId(), relationship);
+        }
         
-        findAllPathsDFS(sourceNodeId, targetNodeId, maxDepth, maxPathCount, visited, currentPath, 
-                currentRelationships, allPaths);
+        List<Node> pathNodes = new ArrayList<>(nodeIds.size());
+        for (Long nodeId : nodeIds) {
+            pathNodes.add(nodeMap.get(nodeId));
+        }
+        List<Relationship> pathRelationships = new ArrayList<>(relationshipIds.size());
+        for (Long relationshipId : relationshipIds) {
+            pathRelationships.add(relationshipMap.get(relationshipId));
+        }
         
-        return allPaths;
+        PathResult pathResult = new PathResult();
+        pathResult.setPathLength(pathRelationships.size());
+        pathResult.setNodes(pathNodes);
+        pathResult.setRelationships(pathRelationships);
+        pathResult.setTotalCost((double) pathRelationships.size());
+        return pathResult;
     }
     
     /**
      * 使用深度优先搜索查找所有路径
+     *
+     * @param depth 当前路径中的关系数量，currentNodes[depth] 为当前节点
      */
-    private void findAllPathsDFS(Long currentNodeId, Long targetNodeId, Integer maxDepth, Integer maxPathCount,
-                                Set<Long> visited, List<Node> currentPath, List<Relationship> currentRelationships,
-                                List<PathResult> allPaths) {
+    private void findAllPathsDFS(GraphSnapshot snapshot, int target, Integer maxDepth, Integer maxPathCount,
+                                 boolean[] visited, int[] currentNodes, int[] currentEdges, int depth,
+                                 List<GraphPath> paths) {
         // 如果达到最大路径数，停止搜索
-        if (maxPathCount != null && allPaths.size() >= maxPathCount) {
+        if (maxPathCount != null && paths.size() >= maxPathCount) {
             return;
         }
         
+        int current = currentNodes[depth];
+        
         // 如果达到目标节点，添加路径到结果
-        if (currentNodeId.equals(targetNodeId)) {
-            PathResult pathResult = new PathResult();
-            pathResult.setPathLength(currentRelationships.size());
-            pathResult.setNodes(new ArrayList<>(currentPath));
-            pathResult.setRelationships(new ArrayList<>(currentRelationships));
-            allPaths.add(pathResult);
+        if (current == target) {
+            paths.add(new GraphPath(Arrays.copyOf(currentNodes, depth + 1), Arrays.copyOf(currentEdges, depth), depth));
             return;
         }
         
         // 如果达到最大深度，停止搜索
-        if (maxDepth != null && currentPath.size() > maxDepth) {
+        if (maxDepth != null && depth + 1 > maxDepth) {
             return;
         }
         
-        // 获取当前节点的所有关系
-        List<Relationship> relationships = relationshipRepository.findRelationshipsByNodeId(currentNodeId);
+        // 遍历当前节点的出边和入边（无向）
+        for (int direction = 0; direction < 2; direction++) {
+            boolean outgoing = direction == 0;
+            int[] edges = snapshot.rowEdges(current, outgoing);
+            for (int p = snapshot.rowStart(current, outgoing), end = snapshot.rowEnd(current, outgoing); p < end; p++) {
+                int edge = edges[p];
+                int next = snapshot.opposite(edge, current);
+                
+                // 如果节点未访问过，则继续搜索
+                if (!visited[next]) {
+                    visited[next] = true;
+                    currentNodes[depth + 1] = next;
+                    currentEdges[depth] = edge;
+                    
+                    // 继续深度优先搜索
+                    findAllPathsDFS(snapshot, target, maxDepth, maxPathCount, visited, currentNodes, currentEdges,
+                            depth + 1, paths);
+                    
+                    // 回溯
+                    visited[next] = false;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 将以下标表示的路径转换为路径结果，路径中涉及的节点和关系实体各通过一次批量查询获取
+     */
+    private List<PathResult> toPathResults(GraphSnapshot snapshot, List<GraphPath> paths) {
+        Set<Long> nodeIds = new HashSet<>();
+        Set<Long> relationshipIds = new HashSet<>();
+        for (GraphPath path : paths) {
+            for (int v : path.getNodes()) {
+                nodeIds.add(snapshot.nodeId(v));
+            }
+            for (int e : path.getEdges()) {
+                relationshipIds.add(snapshot.edgeId(e));
+            }
+        }
         
-        for (Relationship relationship : relationships) {
-            Long nextNodeId;
-            
-            // 确定关系的另一端节点
-            if (relationship.getSourceNodeId().equals(currentNodeId)) {
-                nextNodeId = relationship.getTargetNodeId();
-            } else if (relationship.getTargetNodeId().equals(currentNodeId)) {
-                nextNodeId = relationship.getSourceNodeId();
-            } else {
-                continue; // 跳过不相关的关系
+        Map<Long, Node> nodeMap = new HashMap<>();
+        for (Node node : nodeRepository.findAllById(nodeIds)) {
+            nodeMap.put(node.getId(), node);
+        }
+        Map<Long, Relationship> relationshipMap = new HashMap<>();
+        for (Relationship relationship : relationshipRepository.findAllById(relationshipIds)) {
+            relationshipMap.put(relationship.getId(), relationship);
+        }
+        
+        List<PathResult> results = new ArrayList<>(paths.size());
+        for (GraphPath path : paths) {
+            List<Node> pathNodes = new ArrayList<>();
+            for (int v : path.getNodes()) {
+                pathNodes.add(nodeMap.get(snapshot.nodeId(v)));
             }
-            
-            // 如果节点未访问过，则继续搜索
-            if (!visited.contains(nextNodeId)) {
-                Node nextNode = nodeRepository.findById(nextNodeId)
-                        .orElseThrow(() -> new IllegalStateException("节点不存在: " + nextNodeId));
-                
-                // 添加到当前路径
-                visited.add(nextNodeId);
-                currentPath.add(nextNode);
-                currentRelationships.add(relationship);
-                
-                // 继续深度优先搜索
-                findAllPathsDFS(nextNodeId, targetNodeId, maxDepth, maxPathCount, visited, currentPath,
-                        currentRelationships, allPaths);
-                
-                // 回溯
-                visited.remove(nextNodeId);
-                currentPath.remove(currentPath.size() - 1);
-                currentRelationships.remove(currentRelationships.size() - 1);
+            List<Relationship> pathRelationships = new ArrayList<>();
+            for (int e : path.getEdges()) {
+                pathRelationships.add(relationshipMap.get(snapshot.edgeId(e)));
             }
+            
+            PathResult pathResult = new PathResult();
+            pathResult.setPathLength(pathRelationships.size());
+            pathResult.setNodes(pathNodes);
+            pathResult.setRelationships(pathRelationships);
+            pathResult.setTotalCost(path.getCost());
+            results.add(pathResult);
         }
+        return results;
+    }
+    
+    /**
+     * 路标索引缓存项，仅对构建时所用的快照有效
+     */
+    @RequiredArgsConstructor
+    private static class LandmarkIndexEntry {
+        private final GraphSnapshot snapshot;
+        private final LandmarkIndex index;
     }
 }
@@ -1,448 +1,449 @@
 package com.graph.visualization.service.impl;
 
+import com.graph.visualization.dto.PatternMatchIdResult;
 import com.graph.visualization.dto.PatternMatchParam;
+import com.graph.visualization.dto.PatternMatchTrace;
+import com.graph.visualization.dto.PatternQueryParam;
+import com.graph.visualization.dto.PatternTraceSample;
 import com.graph.visualization.entity.Node;
 import com.graph.visualization.entity.Relationship;
+import com.graph.visualization.graph.GraphSnapshot;
+import com.graph.visualization.graph.GraphSnapshotManager;
+import com.graph.visualization.graph.ParallelSourceRunner;
+import com.graph.visualization.graph.match.CanonicalMatchSet;
+import com.graph.visualization.graph.match.MatchTrace;
+import com.graph.visualization.graph.match.Pattern;
+import com.graph.visualization.graph.match.PatternIndex;
+import com.graph.visualization.graph.match.PatternPlan;
+import com.graph.visualization.graph.match.PatternQuery;
+import com.graph.visualization.graph.match.PatternQueryParser;
+import com.graph.visualization.graph.match.SubgraphMatcher;
 import com.graph.visualization.repository.NodeRepository;
 import com.graph.visualization.repository.RelationshipRepository;
 import com.graph.visualization.service.PatternMatchService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * 模式匹配服务实现类
+ * <p>
+ * 所选节点和关系构成模式图：模式节点限定节点类型（类型为空时匹配任意类型），
+ * 模式边限定方向、关系类型和关系名称。匹配在共享的内存图快照上由 {@link SubgraphMatcher} 完成，
+ * 只在最后按ID批量读取命中的节点和关系。
+ * <p>
+ * 枚举全部匹配（嵌入），模式存在自同构时覆盖相同节点集合和关系集合的匹配只返回一次，
+ * 结果数量和搜索时间分别受最大匹配数和时间预算限制。
+ * 并行模式下各起点候选由 {@link ParallelSourceRunner} 分发到共享的 ForkJoin 线程池。
+ * <p>
+ * 模式也可以用查询语言描述（见 {@link PatternQueryParser}），查询按规范化文本缓存编译后的计划，
+ * 节点名称和本体名称条件在每次执行时查询数据库得到候选限制。
+ * <p>
+ * 请求指定 debug 时为每个搜索线程记录 {@link MatchTrace}（计数器和采样事件），结束后合并输出到日志；
+ * explain 接口执行同样的搜索但只返回跟踪结果，用于诊断慢模式。
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PatternMatchServiceImpl implements PatternMatchService {
-    
+
     private final NodeRepository nodeRepository;
     private final RelationshipRepository relationshipRepository;
-    
+    private final GraphSnapshotManager graphSnapshotManager;
+    private final ForkJoinPool centralityForkJoinPool;
+
+    @Value("${graph.pattern.max-match-count:1000}")
+    private int defaultMaxMatchCount;
+
+    @Value("${graph.pattern.timeout-ms:10000}")
+    private long defaultTimeoutMillis;
+
+    @Value("${graph.pattern.max-timeout-ms:120000}")
+    private long maxTimeoutMillis;
+
+    @Value("${graph.pattern.plan-cache-size:64}")
+    private int planCacheSize;
+
+    @Value("${graph.pattern.trace-sample-interval:64}")
+    private int traceSampleInterval;
+
+    @Value("${graph.pattern.trace-buffer-size:256}")
+    private int traceBufferSize;
+
+    /**
+     * 最近一次构建的标签索引，仅对构建时所用的快照有效
+     */
+    private PatternIndexEntry patternIndexEntry;
+
+    /**
+     * 按规范化查询文本缓存的查询计划（LRU）
+     */
+    private final Map<String, PatternPlan> plans = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PatternPlan> eldest) {
+            return size() > planCacheSize;
+        }
+    };
+
     @Override
     public List<Map<String, Object>> findPatternMatches(PatternMatchParam patternMatchParam) {
-        List<Long> selectedNodeIds = patternMatchParam.getSelectedNodeIds();
-        List<Long> selectedRelationshipIds = patternMatchParam.getSelectedRelationships();
-        
-        System.out.println("模式匹配请求参数：节点IDs=" + selectedNodeIds + ", 关系IDs=" + selectedRelationshipIds);
-        
-        // 验证输入参数
-        if (selectedNodeIds == null || selectedNodeIds.isEmpty() || 
-            selectedRelationshipIds == null || selectedRelationshipIds.isEmpty()) {
-            throw new IllegalArgumentException("必须至少选择一个节点和一个关系");
-        }
-        
-        // 获取模式中的节点和关系
-        List<Node> patternNodes = nodeRepository.findAllById(selectedNodeIds);
-        List<Relationship> patternRelationships = relationshipRepository.findAllById(selectedRelationshipIds);
-        
-        System.out.println("找到节点数量：" + patternNodes.size() + "/" + selectedNodeIds.size());
-        System.out.println("找到关系数量：" + patternRelationships.size() + "/" + selectedRelationshipIds.size());
-        
-        if (patternNodes.size() != selectedNodeIds.size() || 
-            patternRelationships.size() != selectedRelationshipIds.size()) {
-            throw new IllegalArgumentException("部分选定的节点或关系不存在");
-        }
-        
-        // 验证关系是否连接所选节点
-        boolean isConnectedSubgraph = true;
-        for (Relationship relationship : patternRelationships) {
-            if (!selectedNodeIds.contains(relationship.getSourceNodeId()) || 
-                !selectedNodeIds.contains(relationship.getTargetNodeId())) {
-                System.out.println("警告：关系 " + relationship.getId() + " 不连接所选节点。源节点ID=" + 
-                                 relationship.getSourceNodeId() + ", 目标节点ID=" + relationship.getTargetNodeId());
-                isConnectedSubgraph = false;
-            }
-        }
-        
-        if (!isConnectedSubgraph) {
-            System.out.println("警告：所选节点和关系不构成连通子图，这可能导致模式匹配失败。");
-        }
-        
-        // 打印节点类型信息
-        System.out.println("节点类型信息：");
-        for (Node node : patternNodes) {
-            System.out.println("节点ID=" + node.getId() + ", 类型=" + node.getNodeType() + ", 名称=" + node.getName());
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        SubgraphMatcher matcher = new SubgraphMatcher(getPatternIndex(snapshot), buildPattern(patternMatchParam));
+        List<int[]> matchedNodes = new ArrayList<>();
+        List<int[]> matchedEdges = new ArrayList<>();
+        enumerateMatches(snapshot, matcher, patternMatchParam.getMaxMatchCount(), patternMatchParam.getTimeoutMillis(),
+                patternMatchParam.getParallel(), patternMatchParam.getDebug(), (nodes, edges) -> {
+                    matchedNodes.add(nodes.clone());
+                    matchedEdges.add(edges.clone());
+                    return true;
+                });
+        return toMatches(snapshot, matchedNodes, matchedEdges, null);
+    }
+
+    @Override
+    public List<Map<String, Object>> queryPattern(PatternQueryParam patternQueryParam) {
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        PatternPlan plan = getPlan(snapshot, patternQueryParam.getQuery());
+        SubgraphMatcher matcher = createMatcher(snapshot, plan);
+        List<int[]> matchedNodes = new ArrayList<>();
+        List<int[]> matchedEdges = new ArrayList<>();
+        enumerateMatches(snapshot, matcher, patternQueryParam.getMaxMatchCount(), patternQueryParam.getTimeoutMillis(),
+                patternQueryParam.getParallel(), patternQueryParam.getDebug(), (nodes, edges) -> {
+                    matchedNodes.add(nodes.clone());
+                    matchedEdges.add(edges.clone());
+                    return true;
+                });
+        return toMatches(snapshot, matchedNodes, matchedEdges, plan.query());
+    }
+
+    @Override
+    public void streamPatternMatches(PatternMatchParam patternMatchParam, Predicate<PatternMatchIdResult> consumer) {
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        SubgraphMatcher matcher = new SubgraphMatcher(getPatternIndex(snapshot), buildPattern(patternMatchParam));
+        enumerateMatches(snapshot, matcher, patternMatchParam.getMaxMatchCount(), patternMatchParam.getTimeoutMillis(),
+                patternMatchParam.getParallel(), patternMatchParam.getDebug(), (nodes, edges) -> {
+                    List<Long> nodeIds = new ArrayList<>(nodes.length);
+                    for (int v : nodes) {
+                        nodeIds.add(snapshot.nodeId(v));
+                    }
+                    List<Long> relationshipIds = new ArrayList<>(edges.length);
+                    for (int e : edges) {
+                        relationshipIds.add(snapshot.edgeId(e));
+                    }
+                    return consumer.test(new PatternMatchIdResult(nodeIds, relationshipIds));
+                });
+    }
+
+    @Override
+    public PatternMatchTrace explainPatternMatch(PatternMatchParam patternMatchParam) {
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        SubgraphMatcher matcher = new SubgraphMatcher(getPatternIndex(snapshot), buildPattern(patternMatchParam));
+        return enumerateMatches(snapshot, matcher, patternMatchParam.getMaxMatchCount(),
+                patternMatchParam.getTimeoutMillis(), patternMatchParam.getParallel(), true, (nodes, edges) -> true);
+    }
+
+    @Override
+    public PatternMatchTrace explainPatternQuery(PatternQueryParam patternQueryParam) {
+        GraphSnapshot snapshot = graphSnapshotManager.getSnapshot();
+        SubgraphMatcher matcher = createMatcher(snapshot, getPlan(snapshot, patternQueryParam.getQuery()));
+        return enumerateMatches(snapshot, matcher, patternQueryParam.getMaxMatchCount(),
+                patternQueryParam.getTimeoutMillis(), patternQueryParam.getParallel(), true, (nodes, edges) -> true);
+    }
+
+    /**
+     * 从匹配器的全部起点枚举匹配，相同的节点集合和关系集合只交给 handler 一次
+     * <p>
+     * handler 返回false、达到最大匹配数或超出时间预算时停止
+     *
+     * @param debug 是否记录跟踪；不记录时搜索中不产生任何跟踪开销
+     * @return 跟踪结果，不记录跟踪时为null
+     */
+    private PatternMatchTrace enumerateMatches(GraphSnapshot snapshot, SubgraphMatcher matcher,
+                                               Integer maxMatchCountParam, Long timeoutMillisParam,
+                                               Boolean parallel, Boolean debug, SubgraphMatcher.MatchHandler handler) {
+        int maxMatchCount = maxMatchCountParam != null ? maxMatchCountParam : defaultMaxMatchCount;
+        if (maxMatchCount <= 0) {
+            throw new IllegalArgumentException("最大匹配数必须大于0");
         }
-        
-        // 构建模式图
-        Map<Long, List<PatternEdge>> patternGraph = buildPatternGraph(patternRelationships);
-        System.out.println("模式图构建完成，节点数量：" + patternGraph.size());
-        
-        // 打印模式图结构
-        for (Map.Entry<Long, List<PatternEdge>> entry : patternGraph.entrySet()) {
-            System.out.println("模式节点ID=" + entry.getKey() + ", 邻居数量=" + entry.getValue().size());
-            for (PatternEdge edge : entry.getValue()) {
-                System.out.println("  -> 目标节点ID=" + edge.getTargetNodeId() + 
-                                 ", 关系ID=" + edge.getRelationshipId() + 
-                                 ", 方向=" + (edge.isForward() ? "正向" : "反向"));
+        long timeoutMillis = timeoutMillisParam != null
+                ? Math.min(timeoutMillisParam, maxTimeoutMillis) : defaultTimeoutMillis;
+        long startTime = System.nanoTime();
+        long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        boolean tracing = Boolean.TRUE.equals(debug);
+        int patternSize = matcher.order().length;
+
+        // 各起点候选相互独立，并行时每个工作线程持有自己的搜索状态，去重集合和匹配计数全局共享
+        ForkJoinPool pool = Boolean.TRUE.equals(parallel) ? centralityForkJoinPool : null;
+        CanonicalMatchSet seen = new CanonicalMatchSet();
+        AtomicInteger matchCount = new AtomicInteger();
+        AtomicBoolean stopped = new AtomicBoolean();
+        int[] startCandidates = matcher.startCandidates();
+        List<SubgraphMatcher.Search> searches = ParallelSourceRunner.run(pool, startCandidates, () -> {
+            SubgraphMatcher.Search search = matcher.newSearch();
+            search.setDeadline(deadline);
+            if (tracing) {
+                search.setTrace(new MatchTrace(patternSize, traceSampleInterval, traceBufferSize));
             }
-        }
-        
-        // 查找所有可能的起始节点（与模式中的节点具有相同类型的节点）
-        List<Node> allNodes = nodeRepository.findAll();
-        List<Relationship> allRelationships = relationshipRepository.findAll();
-        
-        System.out.println("数据库中总节点数量：" + allNodes.size());
-        System.out.println("数据库中总关系数量：" + allRelationships.size());
-        
-        // 构建完整图
-        Map<Long, List<GraphEdge>> completeGraph = buildCompleteGraph(allRelationships);
-        System.out.println("完整图构建完成，节点数量：" + completeGraph.size());
-        
-        // 查找匹配
-        List<Map<String, Object>> matches = new ArrayList<>();
-        
-        // 从模式中选择一个节点作为起点
-        Long startNodeId = patternNodes.get(0).getId();
-        Node startPatternNode = getNodeById(patternNodes, startNodeId);
-        System.out.println("选择起始模式节点：ID=" + startNodeId + 
-                         ", 类型=" + startPatternNode.getNodeType() + 
-                         ", 名称=" + startPatternNode.getName());
-        
-        // 统计可能的起始节点
-        int potentialStartNodeCount = 0;
-        for (Node node : allNodes) {
-            if (isSimilarNode(node, startPatternNode)) {
-                potentialStartNodeCount++;
+            return search;
+        }, (search, start) -> {
+            if (stopped.get()) {
+                return;
             }
-        }
-        System.out.println("找到可能的起始节点数量：" + potentialStartNodeCount);
-        
-        // 对于每个可能的起始节点，尝试匹配模式
-        int attemptCount = 0;
-        for (Node potentialStartNode : allNodes) {
-            if (isSimilarNode(potentialStartNode, startPatternNode)) {
-                attemptCount++;
-                System.out.println("尝试匹配 #" + attemptCount + ": 起始节点ID=" + potentialStartNode.getId() + 
-                                 ", 类型=" + potentialStartNode.getNodeType() + 
-                                 ", 名称=" + potentialStartNode.getName());
-                
-                Map<Long, Long> nodeMapping = new HashMap<>(); // 模式节点ID到图中节点ID的映射
-                Set<Long> visitedNodes = new HashSet<>();
-                Set<Long> visitedEdges = new HashSet<>();
-                
-                nodeMapping.put(startNodeId, potentialStartNode.getId());
-                visitedNodes.add(potentialStartNode.getId());
-                
-                if (matchPattern(startNodeId, potentialStartNode.getId(), patternGraph, completeGraph, 
-                        nodeMapping, visitedNodes, visitedEdges, patternNodes, allNodes)) {
-                    System.out.println("找到匹配！节点映射：" + nodeMapping);
-                    
-                    // 找到匹配，收集匹配的节点和关系
-                    Map<String, Object> match = new HashMap<>();
-                    
-                    List<Node> matchedNodes = new ArrayList<>();
-                    for (Long patternNodeId : nodeMapping.keySet()) {
-                        matchedNodes.add(getNodeById(allNodes, nodeMapping.get(patternNodeId)));
+            boolean finished = search.run(start, (nodes, edges) -> {
+                if (stopped.get()) {
+                    return false;
+                }
+                if (!seen.add(nodes, edges)) {
+                    return true; // 自同构产生的重复匹配
+                }
+                // handler 不要求线程安全，逐个调用
+                synchronized (seen) {
+                    if (stopped.get()) {
+                        return false;
                     }
-                    
-                    List<Relationship> matchedRelationships = new ArrayList<>();
-                    for (Long relationshipId : visitedEdges) {
-                        matchedRelationships.add(getRelationshipById(allRelationships, relationshipId));
+                    if (!handler.onMatch(nodes, edges) || matchCount.incrementAndGet() >= maxMatchCount) {
+                        stopped.set(true);
+                        return false;
                     }
-                    
-                    match.put("nodes", matchedNodes);
-                    match.put("relationships", matchedRelationships);
-                    matches.add(match);
-                } else {
-                    System.out.println("匹配失败");
                 }
+                return true;
+            });
+            if (!finished) {
+                stopped.set(true); // 超出时间预算
             }
+        });
+        boolean timedOut = searches.stream().anyMatch(SubgraphMatcher.Search::isTimedOut);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        log.debug("模式匹配完成：起点候选数={}，匹配数={}，超时={}，耗时={}ms，工作线程数={}", startCandidates.length,
+                matchCount.get(), timedOut, elapsedMillis, searches.size());
+        if (!tracing) {
+            return null;
         }
-        
-        System.out.println("模式匹配完成，找到匹配数量：" + matches.size());
-        return matches;
+
+        MatchTrace merged = MatchTrace.merge(searches.stream().map(SubgraphMatcher.Search::trace)
+                .collect(Collectors.toList()), patternSize, traceSampleInterval, traceBufferSize);
+        PatternMatchTrace trace = toTrace(snapshot, matcher, merged, matchCount.get(), seen.size(), timedOut,
+                elapsedMillis, searches.size());
+        log.info("模式匹配跟踪：顺序={}，候选数={}，尝试候选={}，检查关系={}，回溯={}，匹配数={}，超时={}，耗时={}ms",
+                trace.getOrder(), trace.getCandidateCounts(), trace.getCandidatesTried(), trace.getEdgesChecked(),
+                trace.getBacktracks(), trace.getMatchCount(), timedOut, elapsedMillis);
+        return trace;
+    }
+
+    private PatternMatchTrace toTrace(GraphSnapshot snapshot, SubgraphMatcher matcher, MatchTrace merged,
+                                      int matchCount, int distinctCount, boolean timedOut, long elapsedMillis,
+                                      int workerCount) {
+        int[] order = matcher.order();
+        List<Integer> candidateCounts = new ArrayList<>(order.length);
+        List<Long> candidatesTriedByDepth = new ArrayList<>(order.length);
+        for (int i = 0; i < order.length; i++) {
+            candidateCounts.add(matcher.candidateCount(i));
+            candidatesTriedByDepth.add(merged.candidatesTriedAtDepth(i));
+        }
+        List<PatternTraceSample> samples = new ArrayList<>(merged.sampleSize());
+        for (int i = 0; i < merged.sampleSize(); i++) {
+            samples.add(new PatternTraceSample(merged.sampleDepth(i), merged.samplePatternNode(i),
+                    snapshot.nodeId(merged.sampleGraphNode(i)), merged.isSampleAccepted(i)));
+        }
+        return new PatternMatchTrace(Arrays.stream(order).boxed().collect(Collectors.toList()), candidateCounts,
+                merged.candidatesTried(), candidatesTriedByDepth, merged.edgesChecked(), merged.backtracks(),
+                matchCount, Math.max(0, merged.matches() - distinctCount), timedOut, elapsedMillis, workerCount,
+                samples);
     }
-    
+
     /**
-     * 构建模式图（邻接表表示）
+     * 按编译好的计划创建匹配器，节点名称和本体名称条件在此时查询数据库
      */
-    private Map<Long, List<PatternEdge>> buildPatternGraph(List<Relationship> relationships) {
-        Map<Long, List<PatternEdge>> graph = new HashMap<>();
-        
-        for (Relationship relationship : relationships) {
-            Long sourceId = relationship.getSourceNodeId();
-            Long targetId = relationship.getTargetNodeId();
-            Long relationshipId = relationship.getId();
-            
-            // 添加从源节点到目标节点的边
-            if (!graph.containsKey(sourceId)) {
-                graph.put(sourceId, new ArrayList<>());
-            }
-            graph.get(sourceId).add(new PatternEdge(targetId, relationshipId, true));
-            
-            // 添加从目标节点到源节点的边（反向）
-            if (!graph.containsKey(targetId)) {
-                graph.put(targetId, new ArrayList<>());
-            }
-            graph.get(targetId).add(new PatternEdge(sourceId, relationshipId, false));
-        }
-        
-        return graph;
+    private SubgraphMatcher createMatcher(GraphSnapshot snapshot, PatternPlan plan) {
+        PatternQuery query = plan.query();
+        return new SubgraphMatcher(getPatternIndex(snapshot), query.pattern(), plan.order(),
+                resolveNodePredicates(snapshot, query));
     }
-    
+
     /**
-     * 构建完整图（邻接表表示）
+     * 由所选节点和关系构建模式图，模式节点按所选顺序编号
      */
-    private Map<Long, List<GraphEdge>> buildCompleteGraph(List<Relationship> relationships) {
-        Map<Long, List<GraphEdge>> graph = new HashMap<>();
-        
-        for (Relationship relationship : relationships) {
-            Long sourceId = relationship.getSourceNodeId();
-            Long targetId = relationship.getTargetNodeId();
-            Long relationshipId = relationship.getId();
-            
-            // 添加从源节点到目标节点的边
-            if (!graph.containsKey(sourceId)) {
-                graph.put(sourceId, new ArrayList<>());
-            }
-            graph.get(sourceId).add(new GraphEdge(targetId, relationshipId, relationship.getRelationshipType(), true));
-            
-            // 添加从目标节点到源节点的边（反向）
-            if (!graph.containsKey(targetId)) {
-                graph.put(targetId, new ArrayList<>());
+    private Pattern buildPattern(PatternMatchParam patternMatchParam) {
+        List<Long> selectedNodeIds = patternMatchParam.getSelectedNodeIds();
+        List<Long> selectedRelationshipIds = patternMatchParam.getSelectedRelationships();
+
+        // 验证输入参数
+        if (selectedNodeIds == null || selectedNodeIds.isEmpty() ||
+            selectedRelationshipIds == null || selectedRelationshipIds.isEmpty()) {
+            throw new IllegalArgumentException("必须至少选择一个节点和一个关系");
+        }
+        List<Long> nodeIds = selectedNodeIds.stream().distinct().collect(Collectors.toList());
+        List<Long> relationshipIds = selectedRelationshipIds.stream().distinct().collect(Collectors.toList());
+
+        // 获取模式中的节点和关系
+        Map<Long, Node> patternNodes = nodeRepository.findAllById(nodeIds).stream()
+                .collect(Collectors.toMap(Node::getId, Function.identity()));
+        List<Relationship> patternRelationships = relationshipRepository.findAllById(relationshipIds);
+        if (patternNodes.size() != nodeIds.size() || patternRelationships.size() != relationshipIds.size()) {
+            throw new IllegalArgumentException("部分选定的节点或关系不存在");
+        }
+
+        Pattern pattern = new Pattern();
+        Map<Long, Integer> patternNodeIndexes = new HashMap<>();
+        for (Long nodeId : nodeIds) {
+            patternNodeIndexes.put(nodeId, pattern.addNode(patternNodes.get(nodeId).getNodeType()));
+        }
+        // 关系按所选顺序加入模式
+        Map<Long, Relationship> relationshipsById = patternRelationships.stream()
+                .collect(Collectors.toMap(Relationship::getId, Function.identity()));
+        for (Long relationshipId : relationshipIds) {
+            Relationship relationship = relationshipsById.get(relationshipId);
+            Integer source = patternNodeIndexes.get(relationship.getSourceNodeId());
+            Integer target = patternNodeIndexes.get(relationship.getTargetNodeId());
+            if (source == null || target == null) {
+                throw new IllegalArgumentException("关系 " + relationship.getId() + " 不连接所选节点");
             }
-            graph.get(targetId).add(new GraphEdge(sourceId, relationshipId, relationship.getRelationshipType(), false));
+            pattern.addEdge(source, target, relationship.getRelationshipType(), relationship.getRelationshipName());
         }
-        
-        return graph;
+        return pattern;
     }
-    
+
     /**
-     * 递归匹配模式
+     * 获取查询语句的计划，按规范化的查询文本缓存，命中时不再解析和规划
      */
-    private boolean matchPattern(Long patternNodeId, Long graphNodeId, 
-                                Map<Long, List<PatternEdge>> patternGraph, 
-                                Map<Long, List<GraphEdge>> completeGraph,
-                                Map<Long, Long> nodeMapping, 
-                                Set<Long> visitedNodes,
-                                Set<Long> visitedEdges,
-                                List<Node> patternNodes,
-                                List<Node> allNodes) {
-        System.out.println("  递归匹配：模式节点ID=" + patternNodeId + ", 图节点ID=" + graphNodeId + 
-                         ", 当前映射大小=" + nodeMapping.size() + "/" + patternGraph.size());
-        
-        // 如果已经访问了所有模式节点，则匹配成功
-        if (nodeMapping.size() == patternGraph.size()) {
-            System.out.println("  匹配成功：已映射所有模式节点");
-            return true;
+    private PatternPlan getPlan(GraphSnapshot snapshot, String queryText) {
+        if (queryText == null || queryText.isBlank()) {
+            throw new IllegalArgumentException("查询语句不能为空");
         }
-        
-        // 获取模式节点的邻居
-        List<PatternEdge> patternNeighbors = patternGraph.getOrDefault(patternNodeId, Collections.emptyList());
-        System.out.println("  模式节点邻居数量：" + patternNeighbors.size());
-        
-        // 获取图中节点的邻居
-        List<GraphEdge> graphNeighbors = completeGraph.getOrDefault(graphNodeId, Collections.emptyList());
-        System.out.println("  图节点邻居数量：" + graphNeighbors.size());
-        
-        // 尝试匹配每个模式邻居
-        for (PatternEdge patternEdge : patternNeighbors) {
-            Long patternNeighborId = patternEdge.getTargetNodeId();
-            System.out.println("    尝试匹配模式邻居：ID=" + patternNeighborId + 
-                             ", 关系ID=" + patternEdge.getRelationshipId() + 
-                             ", 方向=" + (patternEdge.isForward() ? "正向" : "反向"));
-            
-            // 如果已经映射了这个模式节点，检查映射是否一致
-            if (nodeMapping.containsKey(patternNeighborId)) {
-                Long mappedGraphNodeId = nodeMapping.get(patternNeighborId);
-                System.out.println("    模式节点已映射：" + patternNeighborId + " -> " + mappedGraphNodeId);
-                
-                // 检查图中是否存在从当前节点到已映射节点的边
-                boolean edgeExists = false;
-                for (GraphEdge graphEdge : graphNeighbors) {
-                    if (graphEdge.getTargetNodeId().equals(mappedGraphNodeId) && 
-                        !visitedEdges.contains(graphEdge.getRelationshipId()) &&
-                        graphEdge.isForward() == patternEdge.isForward()) {
-                        
-                        // 找到匹配的边，标记为已访问
-                        visitedEdges.add(graphEdge.getRelationshipId());
-                        edgeExists = true;
-                        System.out.println("    找到匹配的边：" + graphEdge.getRelationshipId());
-                        break;
-                    }
-                }
-                
-                if (!edgeExists) {
-                    System.out.println("    未找到匹配的边，匹配失败");
-                    return false; // 不一致，匹配失败
-                }
-            } else {
-                // 尝试为这个模式节点找到一个匹配
-                Node patternNeighborNode = getNodeById(patternNodes, patternNeighborId);
-                System.out.println("    模式节点未映射，尝试查找匹配：" + patternNeighborId + 
-                                 ", 类型=" + patternNeighborNode.getNodeType());
-                
-                for (GraphEdge graphEdge : graphNeighbors) {
-                    Long graphNeighborId = graphEdge.getTargetNodeId();
-                    
-                    // 如果这个图节点已经被映射到其他模式节点，跳过
-                    if (visitedNodes.contains(graphNeighborId)) {
-                        System.out.println("      跳过已访问的图节点：" + graphNeighborId);
-                        continue;
-                    }
-                    
-                    // 检查节点是否相似且边方向一致
-                    Node graphNeighborNode = getNodeById(allNodes, graphNeighborId);
-                    System.out.println("      检查图节点：" + graphNeighborId + 
-                                     ", 类型=" + graphNeighborNode.getNodeType() + 
-                                     ", 方向匹配=" + (graphEdge.isForward() == patternEdge.isForward()));
-                    
-                    if (isSimilarNode(graphNeighborNode, patternNeighborNode) && 
-                        graphEdge.isForward() == patternEdge.isForward()) {
-                        
-                        System.out.println("      节点相似，尝试映射：" + patternNeighborId + " -> " + graphNeighborId);
-                        
-                        // 尝试这个映射
-                        nodeMapping.put(patternNeighborId, graphNeighborId);
-                        visitedNodes.add(graphNeighborId);
-                        visitedEdges.add(graphEdge.getRelationshipId());
-                        
-                        // 递归匹配剩余部分
-                        if (matchPattern(patternNeighborId, graphNeighborId, patternGraph, completeGraph, 
-                                nodeMapping, visitedNodes, visitedEdges, patternNodes, allNodes)) {
-                            return true;
-                        }
-                        
-                        // 回溯
-                        System.out.println("      回溯：移除映射 " + patternNeighborId + " -> " + graphNeighborId);
-                        nodeMapping.remove(patternNeighborId);
-                        visitedNodes.remove(graphNeighborId);
-                        visitedEdges.remove(graphEdge.getRelationshipId());
-                    } else {
-                        System.out.println("      节点不匹配，跳过");
-                    }
-                }
-                
-                System.out.println("    未找到匹配的邻居节点");
+        String key = PatternQueryParser.normalize(queryText);
+        synchronized (plans) {
+            PatternPlan plan = plans.get(key);
+            if (plan != null) {
+                return plan;
             }
         }
-        
-        // 如果已经匹配了所有邻居，则当前节点匹配成功
-        boolean success = nodeMapping.size() == patternGraph.size();
-        System.out.println("  当前节点匹配" + (success ? "成功" : "失败") + 
-                         "：映射大小=" + nodeMapping.size() + "/" + patternGraph.size());
-        return success;
+        PatternPlan plan = PatternPlan.compile(PatternQueryParser.parse(queryText), getPatternIndex(snapshot));
+        log.debug("模式查询已编译：query={}，plan={}", key, plan);
+        synchronized (plans) {
+            plans.put(key, plan);
+        }
+        return plan;
     }
-    
+
     /**
-     * 检查两个节点是否相似
+     * 查询数据库，将节点名称和本体名称条件转换为按模式节点编号的候选限制（有序的节点下标）
      */
-    private boolean isSimilarNode(Node node1, Node node2) {
-        // 原始条件：只比较节点类型
-        // return node1.getNodeType() == node2.getNodeType();
-        
-        // 放宽条件：
-        // 1. 如果节点类型为null，则认为匹配任何类型
-        // 2. 如果节点类型相同，则匹配
-        // 3. 如果节点名称相同，也认为匹配
-        
-        boolean typeMatch = node1.getNodeType() == null || 
-                           node2.getNodeType() == null || 
-                           node1.getNodeType() == node2.getNodeType();
-        
-        boolean nameMatch = node1.getName() != null && 
-                           node2.getName() != null && 
-                           node1.getName().equals(node2.getName());
-        
-        boolean result = typeMatch || nameMatch;
-        
-        System.out.println("节点相似度比较：" + 
-                         "节点1(ID=" + node1.getId() + 
-                         ", 类型=" + node1.getNodeType() + 
-                         ", 名称=" + node1.getName() + ") 与 " +
-                         "节点2(ID=" + node2.getId() + 
-                         ", 类型=" + node2.getNodeType() + 
-                         ", 名称=" + node2.getName() + ") " +
-                         (result ? "相似" : "不相似"));
-        
-        return result;
+    private int[][] resolveNodePredicates(GraphSnapshot snapshot, PatternQuery query) {
+        int[][] allowedNodes = new int[query.pattern().nodeCount()][];
+        for (int p = 0; p < allowedNodes.length; p++) {
+            if (!query.hasNodePredicate(p)) {
+                continue;
+            }
+            List<Long> nodeIds = nodeRepository.findIdsByNameAndOntologyName(
+                    toLikePattern(query.nodeName(p)), toLikePattern(query.nodeOntologyName(p)));
+            allowedNodes[p] = nodeIds.stream().mapToInt(snapshot::indexOf).filter(v -> v >= 0)
+                    .sorted().distinct().toArray();
+        }
+        return allowedNodes;
     }
-    
+
     /**
-     * 根据ID获取节点
+     * 将查询中的通配符 * 转换为 LIKE 模式（以 ! 转义）
      */
-    private Node getNodeById(List<Node> nodes, Long id) {
-        for (Node node : nodes) {
-            if (node.getId().equals(id)) {
-                return node;
-            }
+    private static String toLikePattern(String value) {
+        if (value == null) {
+            return null;
         }
-        return null;
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_").replace('*', '%');
     }
-    
+
     /**
-     * 根据ID获取关系
+     * 获取快照对应的标签索引，不存在时构建并缓存
      */
-    private Relationship getRelationshipById(List<Relationship> relationships, Long id) {
-        for (Relationship relationship : relationships) {
-            if (relationship.getId().equals(id)) {
-                return relationship;
+    private PatternIndex getPatternIndex(GraphSnapshot snapshot) {
+        synchronized (this) {
+            if (patternIndexEntry != null && patternIndexEntry.snapshot == snapshot) {
+                return patternIndexEntry.index;
             }
         }
-        return null;
+        // 构建在锁外进行，并发构建同一索引时以后写入者为准
+        PatternIndex index = PatternIndex.build(snapshot);
+        synchronized (this) {
+            patternIndexEntry = new PatternIndexEntry(snapshot, index);
+        }
+        return index;
     }
-    
+
     /**
-     * 模式图中的边
+     * 将按下标的匹配结果转换为节点和关系实体，实体按ID一次性批量读取
      */
-    private static class PatternEdge {
-        private final Long targetNodeId;
-        private final Long relationshipId;
-        private final boolean forward;
-        
-        public PatternEdge(Long targetNodeId, Long relationshipId, boolean forward) {
-            this.targetNodeId = targetNodeId;
-            this.relationshipId = relationshipId;
-            this.forward = forward;
-        }
-        
-        public Long getTargetNodeId() {
-            return targetNodeId;
-        }
-        
-        public Long getRelationshipId() {
-            return relationshipId;
+    private List<Map<String, Object>> toMatches(GraphSnapshot snapshot, List<int[]> matchedNodes,
+                                                List<int[]> matchedEdges, PatternQuery query) {
+        Set<Long> nodeIds = new HashSet<>();
+        Set<Long> relationshipIds = new HashSet<>();
+        for (int i = 0; i < matchedNodes.size(); i++) {
+            for (int v : matchedNodes.get(i)) {
+                nodeIds.add(snapshot.nodeId(v));
+            }
+            for (int e : matchedEdges.get(i)) {
+                relationshipIds.add(snapshot.edgeId(e));
+            }
         }
-        
-        public boolean isForward() {
-            return forward;
+        Map<Long, Node> nodes = nodeRepository.findAllById(nodeIds).stream()
+                .collect(Collectors.toMap(Node::getId, Function.identity()));
+        Map<Long, Relationship> relationships = relationshipRepository.findAllById(relationshipIds).stream()
+                .collect(Collectors.toMap(Relationship::getId, Function.identity()));
+
+        List<Map<String, Object>> matches = new ArrayList<>(matchedNodes.size());
+        for (int i = 0; i < matchedNodes.size(); i++) {
+            List<Node> matchNodes = new ArrayList<>();
+            for (int v : matchedNodes.get(i)) {
+                matchNodes.add(nodes.get(snapshot.nodeId(v)));
+            }
+            List<Relationship> matchRelationships = new ArrayList<>();
+            for (int e : matchedEdges.get(i)) {
+                matchRelationships.add(relationships.get(snapshot.edgeId(e)));
+            }
+            Map<String, Object> match = new HashMap<>();
+            match.put("nodes", matchNodes);
+            match.put("relationships", matchRelationships);
+            if (query != null) {
+                match.put("variables", toVariables(snapshot, query, matchedNodes.get(i), matchedEdges.get(i)));
+            }
+            matches.add(match);
         }
+        return matches;
     }
-    
+
     /**
-     * 完整图中的边
+     * 查询中具名变量绑定的节点ID和关系ID
      */
-    private static class GraphEdge {
-        private final Long targetNodeId;
-        private final Long relationshipId;
-        private final Object relationshipType;
-        private final boolean forward;
-        
-        public GraphEdge(Long targetNodeId, Long relationshipId, Object relationshipType, boolean forward) {
-            this.targetNodeId = targetNodeId;
-            this.relationshipId = relationshipId;
-            this.relationshipType = relationshipType;
-            this.forward = forward;
-        }
-        
-        public Long getTargetNodeId() {
-            return targetNodeId;
-        }
-        
-        public Long getRelationshipId() {
-            return relationshipId;
-        }
-        
-        public Object getRelationshipType() {
-            return relationshipType;
+    private Map<String, Long> toVariables(GraphSnapshot snapshot, PatternQuery query, int[] nodes, int[] edges) {
+        Map<String, Long> variables = new LinkedHashMap<>();
+        for (int p = 0; p < nodes.length; p++) {
+            if (query.nodeVariables().get(p) != null) {
+                variables.put(query.nodeVariables().get(p), snapshot.nodeId(nodes[p]));
+            }
         }
-        
-        public boolean isForward() {
-            return forward;
+        for (int pe = 0; pe < edges.length; pe++) {
+            if (query.edgeVariables().get(pe) != null) {
+                variables.put(query.edgeVariables().get(pe), snapshot.edgeId(edges[pe]));
+            }
         }
+        return variables;
+    }
+
+    /**
+     * 标签索引缓存项
+     */
+    @RequiredArgsConstructor
+    private static class PatternIndexEntry {
+        private final GraphSnapshot snapshot;
+        private final PatternIndex index;
     }
 }
@@ -2,10 +2,12 @@ package com.graph.visualization.service.impl;
 
 import com.graph.visualization.entity.Relationship;
 import com.graph.visualization.enums.RelationshipTypeEnum;
+import com.graph.visualization.graph.GraphChange;
 import com.graph.visualization.repository.NodeRepository;
 import com.graph.visualization.repository.RelationshipRepository;
 import com.graph.visualization.service.RelationshipService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class RelationshipServiceImpl implements RelationshipService {
     
     private final RelationshipRepository relationshipRepository;
     private final NodeRepository nodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -32,7 +35,9 @@ public class RelationshipServiceImpl implements RelationshipService {
         if (!nodeRepository.existsById(relationship.getTargetNodeId())) {
             throw new IllegalArgumentException("目标节点不存在: " + relationship.getTargetNodeId());
         }
-        return relationshipRepository.save(relationship);
+        Relationship savedRelationship = relationshipRepository.save(relationship);
+        eventPublisher.publishEvent(GraphChange.relationshipUpserted(savedRelationship));
+        return savedRelationship;
     }
     
     @Override
@@ -56,7 +61,9 @@ public class RelationshipServiceImpl implements RelationshipService {
             throw new IllegalArgumentException("目标节点不存在: " + relationship.getTargetNodeId());
         }
         
-        return relationshipRepository.save(relationship);
+        Relationship savedRelationship = relationshipRepository.save(relationship);
+        eventPublisher.publishEvent(GraphChange.relationshipUpserted(savedRelationship));
+        return savedRelationship;
     }
     
     @Override
@@ -67,6 +74,7 @@ public class RelationshipServiceImpl implements RelationshipService {
             throw new IllegalArgumentException("关系不存在: " + id);
         }
         relationshipRepository.deleteById(id);
+        eventPublisher.publishEvent(GraphChange.relationshipDeleted(id));
     }
     
     @Override
@@ -0,0 +1,185 @@
+package com.graph.visualization.graph;
+
+import com.graph.visualization.entity.Relationship;
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IncrementalCentrality 单元测试：每次新增、删除或移动关系后与在新快照上从头计算的 Brandes 结果比较
+ */
+class IncrementalCentralityTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void matchesFullRecomputationAfterEdgeChanges() {
+        runScenario(new Random(7L), null);
+    }
+
+    @Test
+    void matchesFullRecomputationInParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            runScenario(new Random(11L), pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void runScenario(Random random, ForkJoinPool pool) {
+        int nodeCount = 60;
+        GraphSnapshot.Builder builder = new GraphSnapshot.Builder();
+        for (long v = 1; v <= nodeCount; v++) {
+            builder.addNode(v, NodeTypeEnum.INDIVIDUAL);
+        }
+        List<Long> relationshipIds = new ArrayList<>();
+        long nextRelationshipId = 1000;
+        for (int e = 0; e < 70; e++) {
+            long id = nextRelationshipId++;
+            builder.addEdge(id, 1 + random.nextInt(nodeCount), 1 + random.nextInt(nodeCount),
+                    RelationshipTypeEnum.CLASS_RELATION, "r", null);
+            relationshipIds.add(id);
+        }
+        GraphSnapshot snapshot = builder.build();
+        IncrementalCentrality centrality = IncrementalCentrality.compute(snapshot, pool, ProgressMonitor.NONE);
+        assertMatches(snapshot, centrality, "initial");
+
+        int partialUpdates = 0;
+        for (int step = 0; step < 300; step++) {
+            GraphChange change;
+            int operation = random.nextInt(3);
+            if (operation == 0 || relationshipIds.isEmpty()) {
+                // 新增关系，偶尔为自环或与已有关系平行
+                long id = nextRelationshipId++;
+                relationshipIds.add(id);
+                change = GraphChange.relationshipUpserted(relationship(id, 1 + random.nextInt(nodeCount),
+                        1 + random.nextInt(nodeCount)));
+            } else if (operation == 1) {
+                long id = relationshipIds.remove(random.nextInt(relationshipIds.size()));
+                change = GraphChange.relationshipDeleted(id);
+            } else {
+                // 修改已有关系的端点
+                long id = relationshipIds.get(random.nextInt(relationshipIds.size()));
+                change = GraphChange.relationshipUpserted(relationship(id, 1 + random.nextInt(nodeCount),
+                        1 + random.nextInt(nodeCount)));
+            }
+
+            GraphSnapshot after = snapshot.apply(change);
+            int[][] edges = changedEdges(snapshot, after, change);
+            int processed = centrality.update(after, edges[0], edges[1], pool);
+            if (processed > 0 && processed < after.activeNodeCount()) {
+                partialUpdates++;
+            }
+            snapshot = after;
+            assertMatches(snapshot, centrality, "step " + step + " " + change.getChangeType());
+
+            if (step % 50 == 49) {
+                GraphSnapshot compacted = snapshot.compact();
+                centrality.remap(compacted);
+                snapshot = compacted;
+                assertMatches(snapshot, centrality, "compacted at step " + step);
+            }
+        }
+        assertTrue(partialUpdates > 0, "no update was handled incrementally");
+    }
+
+    private static Relationship relationship(long id, long source, long target) {
+        Relationship relationship = new Relationship();
+        relationship.setId(id);
+        relationship.setSourceNodeId(source);
+        relationship.setTargetNodeId(target);
+        relationship.setRelationshipType(RelationshipTypeEnum.CLASS_RELATION);
+        relationship.setRelationshipName("r");
+        return relationship;
+    }
+
+    /**
+     * 变更删除的边（before 中的下标）和新增的边（after 中的下标）
+     */
+    private static int[][] changedEdges(GraphSnapshot before, GraphSnapshot after, GraphChange change) {
+        int removed = before.edgeIndexOf(change.getRelationshipId());
+        int added = after.edgeIndexOf(change.getRelationshipId());
+        return new int[][]{removed >= 0 ? new int[]{removed} : new int[0], added >= 0 ? new int[]{added} : new int[0]};
+    }
+
+    private static void assertMatches(GraphSnapshot snapshot, IncrementalCentrality centrality, String context) {
+        assertSame(snapshot, centrality.snapshot(), context);
+        double[][] expected = brandes(snapshot);
+        for (int v = 0; v < snapshot.nodeCount(); v++) {
+            assertEquals(expected[0][v], centrality.betweenness()[v], TOLERANCE, context + " betweenness of " + v);
+            assertEquals(expected[1][v], centrality.closeness()[v], TOLERANCE, context + " closeness of " + v);
+        }
+    }
+
+    /**
+     * 从头计算的无向 Brandes 中介中心性（有序节点对，平行边各算一条最短路径）和接近中心性
+     */
+    private static double[][] brandes(GraphSnapshot snapshot) {
+        int n = snapshot.nodeCount();
+        double[] betweenness = new double[n];
+        double[] closeness = new double[n];
+        for (int s = 0; s < n; s++) {
+            if (!snapshot.isNodeActive(s)) {
+                continue;
+            }
+            int[] distance = new int[n];
+            Arrays.fill(distance, -1);
+            double[] sigma = new double[n];
+            List<List<Integer>> predecessors = new ArrayList<>();
+            for (int v = 0; v < n; v++) {
+                predecessors.add(new ArrayList<>());
+            }
+            Deque<Integer> order = new ArrayDeque<>();
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            distance[s] = 0;
+            sigma[s] = 1;
+            queue.add(s);
+            long totalDistance = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                order.push(v);
+                totalDistance += distance[v];
+                for (boolean outgoing : new boolean[]{true, false}) {
+                    int[] edges = snapshot.rowEdges(v, outgoing);
+                    for (int p = snapshot.rowStart(v, outgoing); p < snapshot.rowEnd(v, outgoing); p++) {
+                        int w = snapshot.opposite(edges[p], v);
+                        if (distance[w] < 0) {
+                            distance[w] = distance[v] + 1;
+                            queue.add(w);
+                        }
+                        if (distance[w] == distance[v] + 1) {
+                            sigma[w] += sigma[v];
+                            predecessors.get(w).add(v);
+                        }
+                    }
+                }
+            }
+            int reachable = order.size() - 1;
+            if (reachable > 0) {
+                closeness[s] = (double) reachable / totalDistance;
+            }
+            double[] delta = new double[n];
+            while (!order.isEmpty()) {
+                int w = order.pop();
+                for (int v : predecessors.get(w)) {
+                    delta[v] += sigma[v] / sigma[w] * (1 + delta[w]);
+                }
+                if (w != s) {
+                    betweenness[w] += delta[w];
+                }
+            }
+        }
+        return new double[][]{betweenness, closeness};
+    }
+}
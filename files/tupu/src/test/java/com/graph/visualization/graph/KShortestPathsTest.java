@@ -0,0 +1,141 @@
+package com.graph.visualization.graph;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.PathWeightModeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KShortestPaths 单元测试：在小型随机图上与枚举全部无环路径的结果比较
+ */
+class KShortestPathsTest {
+
+    @Test
+    void matchesBruteForceOnRandomGraphs() {
+        Random random = new Random(20240501L);
+        for (int round = 0; round < 200; round++) {
+            int nodeCount = 4 + random.nextInt(5);
+            GraphSnapshot snapshot = randomGraph(random, nodeCount, nodeCount + random.nextInt(2 * nodeCount));
+            EdgeCostModel costModel = round % 2 == 0 ? EdgeCostModel.hops()
+                    : EdgeCostModel.of(snapshot, PathWeightModeEnum.PROPERTY, null, null);
+            int source = random.nextInt(nodeCount);
+            int target = random.nextInt(nodeCount);
+            if (source == target) {
+                continue;
+            }
+            int k = 1 + random.nextInt(12);
+            Integer maxHops = round % 3 == 0 ? 1 + random.nextInt(4) : null;
+
+            List<GraphPath> paths = KShortestPaths.find(snapshot, costModel, source, target, k, maxHops);
+            List<Double> expected = allPathCosts(snapshot, costModel, source, target, maxHops);
+
+            String context = "round " + round;
+            assertEquals(Math.min(k, expected.size()), paths.size(), context);
+            Set<List<Integer>> distinct = new HashSet<>();
+            for (int i = 0; i < paths.size(); i++) {
+                GraphPath path = paths.get(i);
+                assertValidPath(snapshot, costModel, source, target, maxHops, path, context);
+                assertEquals(expected.get(i), path.getCost(), 1e-9, context + " path " + i);
+                assertTrue(distinct.add(Arrays.stream(path.getEdges()).boxed().toList()), context + " duplicate");
+            }
+        }
+    }
+
+    @Test
+    void returnsEmptyWhenTargetIsUnreachable() {
+        GraphSnapshot snapshot = new GraphSnapshot.Builder()
+                .addNode(1, NodeTypeEnum.INDIVIDUAL).addNode(2, NodeTypeEnum.INDIVIDUAL)
+                .addNode(3, NodeTypeEnum.INDIVIDUAL)
+                .addEdge(10, 1, 2, RelationshipTypeEnum.CLASS_RELATION, "r", null)
+                .build();
+
+        assertTrue(KShortestPaths.find(snapshot, EdgeCostModel.hops(), snapshot.indexOf(1L), snapshot.indexOf(3L),
+                3, null).isEmpty());
+    }
+
+    /**
+     * 随机生成的图，包含平行边和自环，边权为 1 到 5 的整数
+     */
+    private static GraphSnapshot randomGraph(Random random, int nodeCount, int edgeCount) {
+        GraphSnapshot.Builder builder = new GraphSnapshot.Builder();
+        for (int v = 1; v <= nodeCount; v++) {
+            builder.addNode(v, NodeTypeEnum.INDIVIDUAL);
+        }
+        for (int e = 1; e <= edgeCount; e++) {
+            builder.addEdge(100 + e, 1 + random.nextInt(nodeCount), 1 + random.nextInt(nodeCount),
+                    RelationshipTypeEnum.CLASS_RELATION, "r", (double) (1 + random.nextInt(5)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * 深度优先枚举全部无环路径（无向，平行边各自成为不同路径），返回按代价排序的代价列表
+     */
+    private static List<Double> allPathCosts(GraphSnapshot snapshot, EdgeCostModel costModel, int source,
+                                             int target, Integer maxHops) {
+        List<Double> costs = new ArrayList<>();
+        boolean[] visited = new boolean[snapshot.nodeCount()];
+        visited[source] = true;
+        enumerate(snapshot, costModel, source, target, maxHops, 0, 0.0, visited, costs);
+        costs.sort(null);
+        return costs;
+    }
+
+    private static void enumerate(GraphSnapshot snapshot, EdgeCostModel costModel, int current, int target,
+                                  Integer maxHops, int hops, double cost, boolean[] visited, List<Double> costs) {
+        if (current == target) {
+            costs.add(cost);
+            return;
+        }
+        if (maxHops != null && hops >= maxHops) {
+            return;
+        }
+        for (boolean outgoing : new boolean[]{true, false}) {
+            int[] edges = snapshot.rowEdges(current, outgoing);
+            for (int p = snapshot.rowStart(current, outgoing); p < snapshot.rowEnd(current, outgoing); p++) {
+                int edge = edges[p];
+                int next = snapshot.opposite(edge, current);
+                if (visited[next]) {
+                    continue;
+                }
+                visited[next] = true;
+                enumerate(snapshot, costModel, next, target, maxHops, hops + 1,
+                        cost + costModel.cost(snapshot, edge), visited, costs);
+                visited[next] = false;
+            }
+        }
+    }
+
+    private static void assertValidPath(GraphSnapshot snapshot, EdgeCostModel costModel, int source, int target,
+                                        Integer maxHops, GraphPath path, String context) {
+        int[] nodes = path.getNodes();
+        int[] edges = path.getEdges();
+        assertEquals(edges.length + 1, nodes.length, context);
+        assertEquals(source, nodes[0], context);
+        assertEquals(target, nodes[nodes.length - 1], context);
+        if (maxHops != null) {
+            assertTrue(edges.length <= maxHops, context);
+        }
+        Set<Integer> seen = new HashSet<>();
+        double cost = 0;
+        for (int i = 0; i < edges.length; i++) {
+            assertEquals(nodes[i + 1], snapshot.opposite(edges[i], nodes[i]), context);
+            assertTrue(Set.of(snapshot.edgeSource(edges[i]), snapshot.edgeTarget(edges[i])).contains(nodes[i]),
+                    context);
+            cost += costModel.cost(snapshot, edges[i]);
+        }
+        for (int node : nodes) {
+            assertTrue(seen.add(node), context + " repeated node");
+        }
+        assertEquals(cost, path.getCost(), 1e-9, context);
+    }
+}
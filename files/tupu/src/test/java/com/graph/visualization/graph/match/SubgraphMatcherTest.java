@@ -0,0 +1,254 @@
+package com.graph.visualization.graph.match;
+
+import com.graph.visualization.enums.NodeTypeEnum;
+import com.graph.visualization.enums.RelationshipTypeEnum;
+import com.graph.visualization.graph.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SubgraphMatcher 单元测试
+ */
+class SubgraphMatcherTest {
+
+    private static final NodeTypeEnum[] NODE_TYPES = {NodeTypeEnum.CLASS, NodeTypeEnum.INDIVIDUAL};
+    private static final RelationshipTypeEnum[] EDGE_TYPES =
+            {RelationshipTypeEnum.CLASS_RELATION, RelationshipTypeEnum.OBJECT_RELATION};
+    private static final String[] EDGE_NAMES = {"r", "s"};
+
+    @Test
+    void reportsEachAutomorphicMappingOnceAndDedupsCanonically() {
+        // 有向三角形 1→2→3→1，模式为有向三角形：三种旋转各报告一次，覆盖的是同一组节点和边
+        GraphSnapshot snapshot = graph(3, new long[][]{{1, 2}, {2, 3}, {3, 1}});
+        Pattern pattern = new Pattern();
+        int a = pattern.addNode(null);
+        int b = pattern.addNode(null);
+        int c = pattern.addNode(null);
+        pattern.addEdge(a, b, null, null);
+        pattern.addEdge(b, c, null, null);
+        pattern.addEdge(c, a, null, null);
+
+        List<int[][]> matches = match(snapshot, pattern);
+        CanonicalMatchSet canonical = new CanonicalMatchSet();
+        matches.forEach(m -> canonical.add(m[0], m[1]));
+
+        assertEquals(3, matches.size());
+        assertEquals(3, distinctMappings(matches).size());
+        assertEquals(1, canonical.size());
+    }
+
+    @Test
+    void dedupsSymmetricLeaves() {
+        // 模式 a→b、a→c 中 b 与 c 可以互换
+        GraphSnapshot snapshot = graph(3, new long[][]{{1, 2}, {1, 3}});
+        Pattern pattern = new Pattern();
+        int a = pattern.addNode(null);
+        int b = pattern.addNode(null);
+        int c = pattern.addNode(null);
+        pattern.addEdge(a, b, null, null);
+        pattern.addEdge(a, c, null, null);
+
+        List<int[][]> matches = match(snapshot, pattern);
+        CanonicalMatchSet canonical = new CanonicalMatchSet();
+        matches.forEach(m -> canonical.add(m[0], m[1]));
+
+        assertEquals(2, matches.size());
+        assertEquals(1, canonical.size());
+    }
+
+    @Test
+    void assignsParallelPatternEdgesToDistinctGraphEdges() {
+        Pattern pattern = new Pattern();
+        int a = pattern.addNode(null);
+        int b = pattern.addNode(null);
+        pattern.addEdge(a, b, null, null);
+        pattern.addEdge(a, b, null, null);
+
+        assertTrue(match(graph(2, new long[][]{{1, 2}}), pattern).isEmpty());
+
+        List<int[][]> matches = match(graph(2, new long[][]{{1, 2}, {1, 2}, {1, 2}}), pattern);
+        assertEquals(1, matches.size(), "node mapping must be reported once");
+        int[] edges = matches.get(0)[1];
+        assertNotEquals(edges[0], edges[1]);
+    }
+
+    @Test
+    void matchesSelfLoopsOnlyOnSelfLoops() {
+        GraphSnapshot snapshot = graph(3, new long[][]{{1, 1}, {1, 2}, {2, 3}});
+        Pattern loop = new Pattern();
+        int a = loop.addNode(null);
+        loop.addEdge(a, a, null, null);
+
+        List<int[][]> loopMatches = match(snapshot, loop);
+        assertEquals(1, loopMatches.size());
+        assertEquals(snapshot.indexOf(1L), loopMatches.get(0)[0][0]);
+
+        // 非自环的模式边不能映射到自环（节点映射是单射）
+        Pattern edge = new Pattern();
+        int x = edge.addNode(null);
+        int y = edge.addNode(null);
+        edge.addEdge(x, y, null, null);
+        assertEquals(2, match(snapshot, edge).size());
+    }
+
+    @Test
+    void matchesBruteForceOnRandomGraphs() {
+        Random random = new Random(42L);
+        for (int round = 0; round < 300; round++) {
+            int nodeCount = 3 + random.nextInt(4);
+            GraphSnapshot snapshot = randomGraph(random, nodeCount, nodeCount + random.nextInt(2 * nodeCount));
+            Pattern pattern = randomPattern(random, 1 + random.nextInt(Math.min(4, nodeCount)));
+
+            List<int[][]> matches = match(snapshot, pattern);
+            String context = "round " + round;
+            for (int[][] m : matches) {
+                assertTrue(isValidMatch(snapshot, pattern, m[0], m[1]), context + " invalid " + Arrays.deepToString(m));
+            }
+            Set<List<Integer>> mappings = distinctMappings(matches);
+            assertEquals(matches.size(), mappings.size(), context + " duplicate mapping");
+            assertEquals(bruteForceMappings(snapshot, pattern), mappings, context);
+        }
+    }
+
+    private static List<int[][]> match(GraphSnapshot snapshot, Pattern pattern) {
+        SubgraphMatcher matcher = new SubgraphMatcher(PatternIndex.build(snapshot), pattern);
+        List<int[][]> matches = new ArrayList<>();
+        matcher.match((nodes, edges) -> {
+            matches.add(new int[][]{nodes.clone(), edges.clone()});
+            return true;
+        });
+        return matches;
+    }
+
+    private static Set<List<Integer>> distinctMappings(List<int[][]> matches) {
+        Set<List<Integer>> mappings = new HashSet<>();
+        for (int[][] m : matches) {
+            mappings.add(Arrays.stream(m[0]).boxed().toList());
+        }
+        return mappings;
+    }
+
+    private static GraphSnapshot graph(int nodeCount, long[][] edges) {
+        GraphSnapshot.Builder builder = new GraphSnapshot.Builder();
+        for (long v = 1; v <= nodeCount; v++) {
+            builder.addNode(v, NodeTypeEnum.INDIVIDUAL);
+        }
+        for (int e = 0; e < edges.length; e++) {
+            builder.addEdge(100 + e, edges[e][0], edges[e][1], RelationshipTypeEnum.OBJECT_RELATION, "r", null);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 随机生成的图，包含平行边和自环
+     */
+    private static GraphSnapshot randomGraph(Random random, int nodeCount, int edgeCount) {
+        GraphSnapshot.Builder builder = new GraphSnapshot.Builder();
+        for (long v = 1; v <= nodeCount; v++) {
+            builder.addNode(v, NODE_TYPES[random.nextInt(2)]);
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            builder.addEdge(100 + e, 1 + random.nextInt(nodeCount), 1 + random.nextInt(nodeCount),
+                    EDGE_TYPES[random.nextInt(2)], EDGE_NAMES[random.nextInt(2)], null);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 随机生成的模式，部分节点和边带限定条件，可能包含平行边、自环和多个连通分量
+     */
+    private static Pattern randomPattern(Random random, int nodeCount) {
+        Pattern pattern = new Pattern();
+        for (int p = 0; p < nodeCount; p++) {
+            pattern.addNode(random.nextInt(3) == 0 ? NODE_TYPES[random.nextInt(2)] : null);
+        }
+        int edgeCount = random.nextInt(nodeCount + 2);
+        for (int pe = 0; pe < edgeCount; pe++) {
+            pattern.addEdge(random.nextInt(nodeCount), random.nextInt(nodeCount),
+                    random.nextInt(3) == 0 ? EDGE_TYPES[random.nextInt(2)] : null,
+                    random.nextInt(3) == 0 ? EDGE_NAMES[random.nextInt(2)] : null);
+        }
+        return pattern;
+    }
+
+    /**
+     * 枚举全部单射节点映射，保留存在一组互不相同的图边满足所有模式边的映射
+     */
+    private static Set<List<Integer>> bruteForceMappings(GraphSnapshot snapshot, Pattern pattern) {
+        Set<List<Integer>> mappings = new HashSet<>();
+        enumerateMappings(snapshot, pattern, new int[pattern.nodeCount()], 0,
+                new boolean[snapshot.nodeCount()], mappings);
+        return mappings;
+    }
+
+    private static void enumerateMappings(GraphSnapshot snapshot, Pattern pattern, int[] nodes, int p,
+                                          boolean[] used, Set<List<Integer>> mappings) {
+        if (p == pattern.nodeCount()) {
+            if (assignEdges(snapshot, pattern, nodes, 0, new int[pattern.edgeCount()],
+                    new boolean[snapshot.edgeCount()])) {
+                mappings.add(Arrays.stream(nodes).boxed().toList());
+            }
+            return;
+        }
+        for (int v = 0; v < snapshot.nodeCount(); v++) {
+            if (used[v] || (pattern.nodeType(p) != null && pattern.nodeType(p) != snapshot.nodeType(v))) {
+                continue;
+            }
+            used[v] = true;
+            nodes[p] = v;
+            enumerateMappings(snapshot, pattern, nodes, p + 1, used, mappings);
+            used[v] = false;
+        }
+    }
+
+    private static boolean assignEdges(GraphSnapshot snapshot, Pattern pattern, int[] nodes, int pe, int[] edges,
+                                       boolean[] used) {
+        if (pe == pattern.edgeCount()) {
+            return true;
+        }
+        for (int e = 0; e < snapshot.edgeCount(); e++) {
+            if (!used[e] && edgeMatches(snapshot, pattern, nodes, pe, e)) {
+                used[e] = true;
+                edges[pe] = e;
+                boolean found = assignEdges(snapshot, pattern, nodes, pe + 1, edges, used);
+                used[e] = false;
+                if (found) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean edgeMatches(GraphSnapshot snapshot, Pattern pattern, int[] nodes, int pe, int e) {
+        return snapshot.edgeSource(e) == nodes[pattern.edgeSource(pe)]
+                && snapshot.edgeTarget(e) == nodes[pattern.edgeTarget(pe)]
+                && (pattern.edgeType(pe) == null || pattern.edgeType(pe) == snapshot.edgeType(e))
+                && (pattern.edgeName(pe) == null || pattern.edgeName(pe).equals(snapshot.edgeName(e)));
+    }
+
+    private static boolean isValidMatch(GraphSnapshot snapshot, Pattern pattern, int[] nodes, int[] edges) {
+        Set<Integer> distinctNodes = new HashSet<>();
+        for (int p = 0; p < nodes.length; p++) {
+            if (!distinctNodes.add(nodes[p])
+                    || (pattern.nodeType(p) != null && pattern.nodeType(p) != snapshot.nodeType(nodes[p]))) {
+                return false;
+            }
+        }
+        Set<Integer> distinctEdges = new HashSet<>();
+        for (int pe = 0; pe < edges.length; pe++) {
+            if (!distinctEdges.add(edges[pe]) || !edgeMatches(snapshot, pattern, nodes, pe, edges[pe])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.graph.visualization.importer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BloomFilter 单元测试
+ */
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add(hash(i));
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain(hash(i)), "missing element " + i);
+        }
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add(hash(i));
+        }
+
+        int falsePositives = 0;
+        int trials = 100_000;
+        for (int i = 0; i < trials; i++) {
+            if (filter.mightContain(hash(-1 - i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < trials * 0.02, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void staysCorrectWhenOverfilled() {
+        // 超过预计元素数时误判率上升，但仍不会漏判
+        BloomFilter filter = new BloomFilter(10, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(hash(i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(hash(i)));
+        }
+    }
+
+    @Test
+    void rejectsInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+    }
+
+    private static long hash(int i) {
+        return IriIdMap.hash(IriIdMap.encode("http://example.org/resource/" + i));
+    }
+}
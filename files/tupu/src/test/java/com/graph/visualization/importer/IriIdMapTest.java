@@ -0,0 +1,94 @@
+package com.graph.visualization.importer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IriIdMap 单元测试
+ */
+class IriIdMapTest {
+
+    @Test
+    void keepsAllEntriesAcrossRehashesAndPages() {
+        // 20万个条目触发多次扩容，键的总长度超过一个 1MB 的页
+        IriIdMap map = new IriIdMap(1_000_000);
+        int count = 200_000;
+        for (int i = 0; i < count; i++) {
+            byte[] key = IriIdMap.encode(iri(i));
+            assertTrue(map.put(key, IriIdMap.hash(key), i));
+        }
+
+        assertEquals(count, map.size());
+        for (int i = 0; i < count; i++) {
+            byte[] key = IriIdMap.encode(iri(i));
+            assertEquals(i, map.get(key, IriIdMap.hash(key)));
+        }
+        byte[] missing = IriIdMap.encode(iri(count));
+        assertEquals(-1, map.get(missing, IriIdMap.hash(missing)));
+    }
+
+    @Test
+    void updatesExistingEntry() {
+        IriIdMap map = new IriIdMap(10);
+        byte[] key = IriIdMap.encode("http://x/节点");
+        long hash = IriIdMap.hash(key);
+        map.put(key, hash, 1);
+        assertTrue(map.put(key, hash, 2));
+
+        assertEquals(1, map.size());
+        assertEquals(2, map.get(IriIdMap.encode("http://x/节点"), hash));
+    }
+
+    @Test
+    void distinguishesKeysWithTheSameHash() {
+        IriIdMap map = new IriIdMap(100);
+        for (int i = 0; i < 50; i++) {
+            map.put(IriIdMap.encode(iri(i)), 42L, i);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, map.get(IriIdMap.encode(iri(i)), 42L));
+        }
+        assertEquals(-1, map.get(IriIdMap.encode(iri(50)), 42L));
+    }
+
+    @Test
+    void stopsAddingAtCapacity() {
+        IriIdMap map = new IriIdMap(3);
+        for (int i = 0; i < 3; i++) {
+            byte[] key = IriIdMap.encode(iri(i));
+            assertTrue(map.put(key, IriIdMap.hash(key), i));
+        }
+        assertTrue(map.isFull());
+
+        byte[] extra = IriIdMap.encode(iri(3));
+        assertFalse(map.put(extra, IriIdMap.hash(extra), 3));
+        assertEquals(-1, map.get(extra, IriIdMap.hash(extra)));
+        assertEquals(3, map.size());
+
+        // 已有条目仍可更新
+        byte[] existing = IriIdMap.encode(iri(1));
+        assertTrue(map.put(existing, IriIdMap.hash(existing), 100));
+        assertEquals(100, map.get(existing, IriIdMap.hash(existing)));
+    }
+
+    @Test
+    void rejectsOverlongKeys() {
+        IriIdMap map = new IriIdMap(10);
+        byte[] key = IriIdMap.encode("http://x/" + "a".repeat(70_000));
+
+        assertFalse(map.put(key, IriIdMap.hash(key), 1));
+        assertEquals(-1, map.get(key, IriIdMap.hash(key)));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IriIdMap(0));
+    }
+
+    private static String iri(int i) {
+        return "http://example.org/resource/" + i;
+    }
+}
@@ -0,0 +1,211 @@
+package com.graph.visualization.importer;
+
+import com.graph.visualization.enums.RdfFormatEnum;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RdfStreamParser 单元测试
+ * <p>
+ * 每个用例分别从整块的 ByteBuffer 和每次只返回少量字节的输入流解析，两者结果必须一致，
+ * 以覆盖词法单元跨越补充数据边界的情况。
+ */
+class RdfStreamParserTest {
+
+    private static final String XSD = RdfStreamParser.XSD_NAMESPACE;
+    private static final String RDF = RdfStreamParser.RDF_NAMESPACE;
+
+    @Test
+    void parsesNTriplesEscapes() throws IOException {
+        List<String> triples = parse(RdfFormatEnum.NTRIPLES,
+                "<http://x/s> <http://x/p> \"tab\\there \\\"quoted\\\" \\\\ \\u00e9\\U0001F600\\n\" .\n"
+                        + "<http://x/s\\u0041> <http://x/p> <http://x/o> .\n"
+                        + "<http://x/s> <http://x/p> \"你好\"@zh-Hans .\n"
+                        + "<http://x/s> <http://x/p> \"1\"^^<" + XSD + "int> .\n");
+
+        assertEquals(List.of(
+                "<http://x/s> <http://x/p> \"tab\there \"quoted\" \\ é😀\n\"",
+                "<http://x/sA> <http://x/p> <http://x/o>",
+                "<http://x/s> <http://x/p> \"你好\"@zh-Hans",
+                "<http://x/s> <http://x/p> \"1\"^^" + XSD + "int"), triples);
+    }
+
+    @Test
+    void skipsMalformedNTriplesLines() throws IOException {
+        Result result = parseWithCounts(RdfFormatEnum.NTRIPLES,
+                "<http://x/a> <http://x/p> <http://x/b> .\n"
+                        + "<http://x/a> <http://x/p> \"unterminated .\n"
+                        + "<http://x/a> <http://x/p> <http://x/c> . trailing\n"
+                        + "# comment\n"
+                        + "_:b1 <http://x/p> _:b2 .\n");
+
+        assertEquals(List.of("<http://x/a> <http://x/p> <http://x/b>", "_:t_b1 <http://x/p> _:t_b2"),
+                result.triples);
+        assertEquals(2, result.skipped);
+        assertTrue(result.firstError.startsWith("第 2 行"), result.firstError);
+    }
+
+    @Test
+    void ignoresNQuadsGraphName() throws IOException {
+        List<String> triples = parse(RdfFormatEnum.NQUADS,
+                "<http://x/a> <http://x/p> <http://x/b> <http://x/g> .\n"
+                        + "<http://x/a> <http://x/p> \"v\" _:g .\n"
+                        + "<http://x/a> <http://x/p> <http://x/c> .\n");
+
+        assertEquals(List.of("<http://x/a> <http://x/p> <http://x/b>", "<http://x/a> <http://x/p> \"v\"",
+                "<http://x/a> <http://x/p> <http://x/c>"), triples);
+    }
+
+    @Test
+    void parsesTurtlePrefixedNamesAndAbbreviations() throws IOException {
+        List<String> triples = parse(RdfFormatEnum.TURTLE,
+                "@prefix ex: <http://x/> .\n"
+                        + "PREFIX foaf: <http://xmlns.com/foaf/0.1/>\n"
+                        + "@base <http://base/dir/> .\n"
+                        + "ex:a a foaf:Person ;\n"
+                        + "     foaf:knows ex:b, <rel> ;\n"
+                        + "     ex:age 42 ; ex:height 1.5 ; ex:mass 1e3 ; ex:ok true .\n"
+                        + "ex:b ex:p [ ex:q ex:c ] .\n"
+                        + "ex:c ex:list ( ex:d ) .\n"
+                        + "ex:file%20x ex:local\\-name ex:e.f .\n");
+
+        assertEquals(List.of(
+                "<http://x/a> <" + RDF + "type> <http://xmlns.com/foaf/0.1/Person>",
+                "<http://x/a> <http://xmlns.com/foaf/0.1/knows> <http://x/b>",
+                "<http://x/a> <http://xmlns.com/foaf/0.1/knows> <http://base/dir/rel>",
+                "<http://x/a> <http://x/age> \"42\"^^" + XSD + "integer",
+                "<http://x/a> <http://x/height> \"1.5\"^^" + XSD + "decimal",
+                "<http://x/a> <http://x/mass> \"1e3\"^^" + XSD + "double",
+                "<http://x/a> <http://x/ok> \"true\"^^" + XSD + "boolean",
+                "_:t.1 <http://x/q> <http://x/c>",
+                "<http://x/b> <http://x/p> _:t.1",
+                "_:t.2 <" + RDF + "first> <http://x/d>",
+                "_:t.2 <" + RDF + "rest> <" + RDF + "nil>",
+                "<http://x/c> <http://x/list> _:t.2",
+                "<http://x/file%20x> <http://x/local-name> <http://x/e.f>"), triples);
+    }
+
+    @Test
+    void parsesTurtleLongStrings() throws IOException {
+        List<String> triples = parse(RdfFormatEnum.TURTLE,
+                "<http://x/s> <http://x/p> \"\"\"line one\n"
+                        + "line \"two\" with ''\n"
+                        + "end\"\"\"@en ; <http://x/q> '''single \\' quote''' .\n");
+
+        assertEquals(List.of("<http://x/s> <http://x/p> \"line one\nline \"two\" with ''\nend\"@en",
+                "<http://x/s> <http://x/q> \"single ' quote\""), triples);
+    }
+
+    @Test
+    void rejectsTurtleSyntaxErrors() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> parse(RdfFormatEnum.TURTLE, "<http://x/s> <http://x/p> <http://x/o> .\nex:a ex:b ex:c .\n"));
+        assertTrue(e.getMessage().contains("未定义的前缀"), e.getMessage());
+    }
+
+    @Test
+    void keepsTermsThatSpanRefills() throws IOException {
+        // 超过 64KB 的字面量和 IRI 迫使流式窗口扩容，多字节字符会被切分在两次读取之间
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            literal.append(i % 7 == 0 ? '图' : (char) ('a' + i % 26));
+        }
+        String longIri = "http://x/" + "n".repeat(70_000);
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            input.append("<http://x/s").append(i).append("> <http://x/p> <http://x/o").append(i % 10).append("> .\n");
+        }
+        input.append("<http://x/s> <http://x/p> \"").append(literal).append("\" .\n");
+        input.append("<").append(longIri).append("> <http://x/p> <http://x/o> .\n");
+
+        List<String> triples = parse(RdfFormatEnum.NTRIPLES, input.toString());
+
+        assertEquals(2_002, triples.size());
+        assertEquals("<http://x/s1999> <http://x/p> <http://x/o9>", triples.get(1_999));
+        assertEquals("<http://x/s> <http://x/p> \"" + literal + "\"", triples.get(2_000));
+        assertEquals("<" + longIri + "> <http://x/p> <http://x/o>", triples.get(2_001));
+    }
+
+    /**
+     * 分别以 ByteBuffer 和逐段读取的输入流解析，断言结果一致后返回
+     */
+    private static List<String> parse(RdfFormatEnum format, String content) throws IOException {
+        return parseWithCounts(format, content).triples;
+    }
+
+    private static Result parseWithCounts(RdfFormatEnum format, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        Result fromBuffer = new Result();
+        RdfStreamParser bufferParser = new RdfStreamParser(ByteBuffer.wrap(bytes), format, fromBuffer);
+        bufferParser.setBlankNodeScope("t");
+        bufferParser.parse();
+
+        Result fromStream = new Result();
+        RdfStreamParser streamParser = new RdfStreamParser(new TrickleInputStream(bytes, 7), format, fromStream);
+        streamParser.setBlankNodeScope("t");
+        streamParser.parse();
+
+        assertEquals(fromBuffer.triples, fromStream.triples);
+        assertEquals(bufferParser.skippedCount(), streamParser.skippedCount());
+        assertEquals(fromBuffer.triples.size(), bufferParser.tripleCount());
+        fromBuffer.skipped = bufferParser.skippedCount();
+        fromBuffer.firstError = bufferParser.firstError();
+        return fromBuffer;
+    }
+
+    /**
+     * 以文本形式记录解析出的三元组
+     */
+    private static final class Result implements RdfTripleHandler {
+        private final List<String> triples = new ArrayList<>();
+        private long skipped;
+        private String firstError;
+
+        @Override
+        public void onResource(String subject, String predicate, String object) {
+            triples.add(term(subject) + " <" + predicate + "> " + term(object));
+        }
+
+        @Override
+        public void onLiteral(String subject, String predicate, String value, String datatype, String language) {
+            triples.add(term(subject) + " <" + predicate + "> \"" + value + "\""
+                    + (language != null ? "@" + language : "") + (datatype != null ? "^^" + datatype : ""));
+        }
+
+        private static String term(String term) {
+            return term.startsWith("_:") ? term : "<" + term + ">";
+        }
+    }
+
+    /**
+     * 每次最多返回 chunkSize 个字节的输入流
+     */
+    private static final class TrickleInputStream extends InputStream {
+        private final ByteArrayInputStream in;
+        private final int chunkSize;
+
+        private TrickleInputStream(byte[] bytes, int chunkSize) {
+            this.in = new ByteArrayInputStream(bytes);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return in.read(b, off, Math.min(len, chunkSize));
+        }
+    }
+}